@@ -0,0 +1,55 @@
+package server.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import server.common.dto.Location2D;
+import server.items.inventory.model.CharacterItem;
+import server.items.inventory.model.Inventory;
+import server.items.inventory.model.InventoryAggregate;
+import server.items.inventory.service.InventoryService;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InventoryBenchmark {
+
+    private static final int SIZE = 10;
+
+    // how full the inventory is, the first free slot is right after the filled ones
+    @Param({"0", "50", "99"})
+    public int filledSlots;
+
+    private final InventoryService inventoryService = new InventoryService();
+    private final Location2D maxSize = new Location2D(SIZE, SIZE);
+    private List<CharacterItem> items;
+    private InventoryAggregate aggregate;
+
+    @Setup
+    public void setup() {
+        items = new ArrayList<>();
+        for (int i = 0; i < filledSlots; i++) {
+            items.add(new CharacterItem("CHARACTER_1", new Location2D(i / SIZE, i % SIZE), null));
+        }
+        aggregate = new InventoryAggregate(new Inventory("CHARACTER_1", items, 0, maxSize));
+    }
+
+    @Benchmark
+    public Location2D getNextAvailableSlot() {
+        return inventoryService.getNextAvailableSlot(maxSize, items);
+    }
+
+    @Benchmark
+    public Location2D nextFreeSlotOfCachedAggregate() {
+        // what a pickup costs once the inventory is loaded, the bitmap is already built
+        return aggregate.nextFreeSlot();
+    }
+}
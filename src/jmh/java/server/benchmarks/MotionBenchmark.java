@@ -0,0 +1,62 @@
+package server.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import server.common.dto.Location;
+import server.common.dto.Motion;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MotionBenchmark {
+
+    private Motion attacker;
+    private Motion target;
+    private Location attackerLocation;
+    private Location targetLocation;
+
+    @Setup
+    public void setup() {
+        attacker = motion(0, 0, 0, 45);
+        target = motion(150, 120, 10, 225);
+        attackerLocation = new Location(attacker);
+        targetLocation = new Location(target);
+    }
+
+    @Benchmark
+    public boolean withinRange() {
+        return attacker.withinRange(target, 200);
+    }
+
+    @Benchmark
+    public boolean facingMotion() {
+        return attacker.facingMotion(target);
+    }
+
+    @Benchmark
+    public boolean locationWithinThreshold() {
+        return attackerLocation.withinThreshold(targetLocation, 1000);
+    }
+
+    static Motion motion(int x, int y, int z, int yaw) {
+        return Motion.builder()
+                .map("map")
+                .x(x)
+                .y(y)
+                .z(z)
+                .pitch(0)
+                .roll(0)
+                .yaw(yaw)
+                .vx(0)
+                .vy(0)
+                .vz(0)
+                .isFalling(false)
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package server.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import server.combat.model.CombatData;
+import server.common.configuration.redis.JacksonCodecCombatData;
+import server.common.configuration.redis.JacksonCodecMotion;
+import server.common.dto.Motion;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RedisCodecBenchmark {
+
+    private JacksonCodecMotion motionCodec;
+    private JacksonCodecCombatData combatDataCodec;
+
+    private Motion motion;
+    private CombatData combatData;
+
+    private ByteBuffer encodedMotion;
+    private ByteBuffer encodedCombatData;
+
+    @Setup
+    public void setup() {
+        motionCodec =
+                new JacksonCodecMotion(new ObjectMapper().registerModule(new JavaTimeModule()));
+        combatDataCodec =
+                new JacksonCodecCombatData(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        motion = MotionBenchmark.motion(1200, -340, 90, 180);
+
+        combatData = new CombatData("CHARACTER_1");
+        combatData.setTargets(Set.of("a3f1c2de-52f4-4b2c-9a61-3d5f0e7b8c11"));
+        combatData.getAttackSent().put("MAIN", true);
+        combatData.getActivatedSkills().put("fireball", Instant.now());
+
+        encodedMotion = motionCodec.encodeValue(motion);
+        encodedCombatData = combatDataCodec.encodeValue(combatData);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeMotion() {
+        return motionCodec.encodeValue(motion);
+    }
+
+    @Benchmark
+    public Motion decodeMotion() {
+        return motionCodec.decodeValue(encodedMotion.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuffer encodeCombatData() {
+        return combatDataCodec.encodeValue(combatData);
+    }
+
+    @Benchmark
+    public CombatData decodeCombatData() {
+        return combatDataCodec.decodeValue(encodedCombatData.duplicate());
+    }
+}
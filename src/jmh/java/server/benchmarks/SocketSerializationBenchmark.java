@@ -0,0 +1,105 @@
+package server.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import server.monster.server_integration.model.Monster;
+import server.motion.dto.PlayerMotion;
+import server.socket.model.SocketMessage;
+import server.socket.model.SocketResponse;
+import server.socket.model.SocketResponseType;
+import server.socket.model.types.MessageType;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SocketSerializationBenchmark {
+
+    // number of actors carried by a single motion response
+    @Param({"1", "50"})
+    public int actors;
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private SocketMessage message;
+    private SocketResponse response;
+
+    private byte[] encodedMessage;
+    private byte[] encodedResponse;
+
+    @Setup
+    public void setup() throws IOException {
+        message = new SocketMessage();
+        message.setUpdateType(MessageType.PLAYER_MOTION.getType());
+        message.setActorId("CHARACTER_1");
+        message.setPlayerMotion(
+                new PlayerMotion(
+                        "CHARACTER_1",
+                        MotionBenchmark.motion(10, 20, 30, 90),
+                        true,
+                        Instant.now()));
+
+        Map<String, PlayerMotion> playerMotion = new HashMap<>();
+        Map<String, Monster> monsters = new HashMap<>();
+        for (int i = 0; i < actors; i++) {
+            String playerId = "CHARACTER_" + i;
+            playerMotion.put(
+                    playerId,
+                    new PlayerMotion(
+                            playerId, MotionBenchmark.motion(i, i, 0, 0), true, Instant.now()));
+            String mobId = "mob-" + i;
+            monsters.put(
+                    mobId,
+                    new Monster(
+                            null,
+                            mobId,
+                            MotionBenchmark.motion(i, -i, 0, 0),
+                            Instant.now(),
+                            null));
+        }
+        response =
+                SocketResponse.builder()
+                        .messageType(SocketResponseType.WORLD_UPDATE.getType())
+                        .playerMotion(playerMotion)
+                        .playerKeys(playerMotion.keySet())
+                        .monsters(monsters)
+                        .mobKeys(monsters.keySet())
+                        .build();
+
+        encodedMessage = objectMapper.writeValueAsBytes(message);
+        encodedResponse = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeSocketMessage() throws IOException {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public SocketMessage deserializeSocketMessage() throws IOException {
+        return objectMapper.readValue(encodedMessage, SocketMessage.class);
+    }
+
+    @Benchmark
+    public byte[] serializeSocketResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public SocketResponse deserializeSocketResponse() throws IOException {
+        return objectMapper.readValue(encodedResponse, SocketResponse.class);
+    }
+}
@@ -0,0 +1,64 @@
+package server.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import server.attribute.stats.model.Stats;
+import server.attribute.stats.types.StatsTypes;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StatsBenchmark {
+
+    private Stats stats;
+    private Map<String, Double> itemEffects;
+    private Map<String, Double> statusEffects;
+
+    @Setup
+    public void setup() {
+        stats = new Stats();
+        stats.setActorId("CHARACTER_1");
+        stats.setBase(StatsTypes.STR, 15);
+        stats.setBase(StatsTypes.STA, 15);
+        stats.setBase(StatsTypes.DEX, 15);
+        stats.setBase(StatsTypes.INT, 15);
+        stats.setDerived(StatsTypes.CURRENT_HP, 100.0);
+        stats.setDerived(StatsTypes.CURRENT_MP, 50.0);
+
+        itemEffects = new HashMap<>();
+        itemEffects.put(StatsTypes.WEAPON_DAMAGE.getType(), 20.0);
+        itemEffects.put(StatsTypes.MAIN_HAND_ATTACK_SPEED.getType(), 1.5);
+        itemEffects.put(StatsTypes.PHY_AMP.getType(), 0.1);
+
+        statusEffects = new HashMap<>();
+        statusEffects.put(StatsTypes.MAX_HP.getType(), 25.0);
+        statusEffects.put(StatsTypes.PHY_AMP.getType(), 0.05);
+
+        stats.setItemEffects(itemEffects);
+        stats.setStatusEffects(statusEffects);
+    }
+
+    @Benchmark
+    public boolean recalculateDerivedStats() {
+        return stats.recalculateDerivedStats();
+    }
+
+    @Benchmark
+    public Map<String, Double> takeDamageDelta() {
+        stats.setDerived(StatsTypes.CURRENT_HP, stats.getDerived(StatsTypes.CURRENT_HP) - 1);
+        return stats.drainDerivedChanges();
+    }
+
+    @Benchmark
+    public Map<String, Double> mergeStats() {
+        return Stats.mergeStats(itemEffects, statusEffects);
+    }
+}
@@ -1,34 +1,50 @@
 package server.attribute.stats.listener;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micronaut.configuration.kafka.annotation.KafkaListener;
 import io.micronaut.configuration.kafka.annotation.OffsetReset;
 import io.micronaut.configuration.kafka.annotation.OffsetStrategy;
 import io.micronaut.configuration.kafka.annotation.Topic;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.messaging.annotation.MessageHeader;
 import jakarta.inject.Inject;
+import java.io.IOException;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
-import server.attribute.stats.model.Stats;
-import server.socket.model.SocketResponse;
-import server.socket.model.SocketResponseType;
+import server.attribute.stats.model.StatsDeltaBatch;
+import server.session.SessionInterestIndex;
+import server.socket.producer.UpdateProducer;
 import server.socket.service.ClientUpdatesService;
 
 @Slf4j
 @KafkaListener(
-        groupId = "mmo-server",
-        offsetReset = OffsetReset.EARLIEST,
+        groupId = "mmo-server-${node.id}",
+        offsetReset = OffsetReset.LATEST,
         offsetStrategy = OffsetStrategy.SYNC,
         clientId = "stats_client")
 public class StatsListener {
 
     @Inject ClientUpdatesService clientUpdatesService;
 
-    @Topic("update-actor-stats")
-    public void receiveUpdatePlayerAttributes(Stats stats) {
-        SocketResponse socketResponse =
-                SocketResponse.builder()
-                        .messageType(SocketResponseType.STATS_UPDATE.getType())
-                        .stats(stats)
-                        .build();
+    @Inject SessionInterestIndex interestIndex;
+
+    @Inject ObjectMapper objectMapper;
 
-        clientUpdatesService.sendUpdateToListeningIncludingSelf(socketResponse, stats.getActorId());
+    @Topic("update-actor-stats")
+    public void receiveUpdatePlayerAttributes(
+            @Nullable @MessageHeader(UpdateProducer.ACTOR_IDS_HEADER) String actorIds,
+            byte[] payload) {
+        // every node reads every batch, one no local session observes is dropped unread
+        if (actorIds != null && !interestIndex.isAnyObserved(List.of(actorIds.split(",")))) {
+            return;
+        }
+        try {
+            // split per actor, stat changes are then merged per observer for the next network
+            // tick
+            clientUpdatesService.queueStatsUpdates(
+                    objectMapper.readValue(payload, StatsDeltaBatch.class));
+        } catch (IOException e) {
+            log.error("Failed to read stats batch, {}", e.getMessage());
+        }
     }
 }
@@ -0,0 +1,46 @@
+package server.attribute.stats.model;
+
+import server.attribute.stats.types.StatsTypes;
+
+final class DoubleStatSlots extends StatSlots<Double> {
+
+    final double[] values = new double[TYPES.length];
+
+    double get(StatsTypes type) {
+        return values[type.ordinal()];
+    }
+
+    boolean set(StatsTypes type, double value) {
+        // returns whether the value has changed or not
+        int slot = type.ordinal();
+        if (has(slot)
+                && Double.doubleToLongBits(values[slot]) == Double.doubleToLongBits(value)) {
+            return false;
+        }
+        values[slot] = value;
+        markChanged(slot);
+
+        return true;
+    }
+
+    void copyFrom(DoubleStatSlots other) {
+        System.arraycopy(other.values, 0, values, 0, values.length);
+        present = other.present;
+        copyExtraFrom(other);
+    }
+
+    @Override
+    Double boxed(int slot) {
+        return values[slot];
+    }
+
+    @Override
+    void store(int slot, Double value) {
+        set(TYPES[slot], value);
+    }
+
+    @Override
+    void reset(int slot) {
+        values[slot] = 0.0;
+    }
+}
@@ -0,0 +1,44 @@
+package server.attribute.stats.model;
+
+import server.attribute.stats.types.StatsTypes;
+
+final class IntStatSlots extends StatSlots<Integer> {
+
+    final int[] values = new int[TYPES.length];
+
+    int get(StatsTypes type) {
+        return values[type.ordinal()];
+    }
+
+    boolean set(StatsTypes type, int value) {
+        int slot = type.ordinal();
+        if (has(slot) && values[slot] == value) {
+            return false;
+        }
+        values[slot] = value;
+        markChanged(slot);
+
+        return true;
+    }
+
+    void copyFrom(IntStatSlots other) {
+        System.arraycopy(other.values, 0, values, 0, values.length);
+        present = other.present;
+        copyExtraFrom(other);
+    }
+
+    @Override
+    Integer boxed(int slot) {
+        return values[slot];
+    }
+
+    @Override
+    void store(int slot, Integer value) {
+        set(TYPES[slot], value);
+    }
+
+    @Override
+    void reset(int slot) {
+        values[slot] = 0;
+    }
+}
@@ -0,0 +1,273 @@
+package server.attribute.stats.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import server.attribute.stats.types.StatsTypes;
+
+/**
+ * Stat values held in a primitive array indexed by {@link StatsTypes} ordinal. A bit per slot
+ * records whether it is set and another whether it changed since the changes were last drained.
+ * The map view keeps the string keyed API (and the serialized format) working, keys that are not
+ * stats (class levels) are kept in a small overflow map.
+ */
+abstract class StatSlots<V> extends AbstractMap<String, V> {
+
+    static final StatsTypes[] TYPES = StatsTypes.values();
+
+    static {
+        if (TYPES.length > Long.SIZE) {
+            throw new IllegalStateException("Stat slots are tracked in a single long mask");
+        }
+    }
+
+    long present;
+    long dirty;
+
+    private Map<String, V> extra;
+    private Set<String> dirtyExtra;
+
+    abstract V boxed(int slot);
+
+    abstract void store(int slot, V value);
+
+    abstract void reset(int slot);
+
+    static long bit(int slot) {
+        return 1L << slot;
+    }
+
+    static int slotOf(Object key) {
+        if (!(key instanceof String name)) {
+            return -1;
+        }
+        StatsTypes type = StatsTypes.fromType(name);
+
+        return type == null ? -1 : type.ordinal();
+    }
+
+    final boolean has(int slot) {
+        return (present & bit(slot)) != 0;
+    }
+
+    final void markChanged(int slot) {
+        present |= bit(slot);
+        dirty |= bit(slot);
+    }
+
+    final void clearSlot(int slot) {
+        if (has(slot)) {
+            reset(slot);
+            present &= ~bit(slot);
+            dirty |= bit(slot);
+        }
+    }
+
+    final boolean hasChanges() {
+        return dirty != 0 || (dirtyExtra != null && !dirtyExtra.isEmpty());
+    }
+
+    /** Changed values since the last drain, removed entries are reported as zero. */
+    final Map<String, V> drainChanges(V removed) {
+        Map<String, V> changes = new HashMap<>();
+        for (long bits = dirty; bits != 0; bits &= bits - 1) {
+            int slot = Long.numberOfTrailingZeros(bits);
+            changes.put(TYPES[slot].getType(), has(slot) ? boxed(slot) : removed);
+        }
+        dirty = 0;
+
+        if (dirtyExtra != null) {
+            dirtyExtra.forEach(key -> changes.put(key, extra.getOrDefault(key, removed)));
+            dirtyExtra = null;
+        }
+
+        return changes;
+    }
+
+    final void copyExtraFrom(StatSlots<V> other) {
+        if (other.extra != null) {
+            extra = new HashMap<>(other.extra);
+        }
+    }
+
+    final Map<String, V> extra() {
+        return extra == null ? Map.of() : extra;
+    }
+
+    final void replaceWith(Map<String, ? extends V> values) {
+        if (values == this) {
+            return;
+        }
+        clear();
+        if (values != null) {
+            putAll(values);
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return extra == null ? null : extra.get(key);
+        }
+
+        return has(slot) ? boxed(slot) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int slot = slotOf(key);
+
+        return slot < 0 ? extra != null && extra.containsKey(key) : has(slot);
+    }
+
+    @Override
+    public V put(String key, V value) {
+        if (value == null) {
+            return remove(key);
+        }
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return putExtra(key, value);
+        }
+
+        V previous = has(slot) ? boxed(slot) : null;
+        store(slot, value);
+
+        return previous;
+    }
+
+    @Override
+    public V remove(Object key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return removeExtra(key);
+        }
+        if (!has(slot)) {
+            return null;
+        }
+
+        V previous = boxed(slot);
+        clearSlot(slot);
+
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        for (long bits = present; bits != 0; bits &= bits - 1) {
+            clearSlot(Long.numberOfTrailingZeros(bits));
+        }
+        if (extra != null) {
+            new HashSet<>(extra.keySet()).forEach(this::removeExtra);
+        }
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(present) + (extra == null ? 0 : extra.size());
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return StatSlots.this.size();
+            }
+        };
+    }
+
+    private V putExtra(String key, V value) {
+        if (extra == null) {
+            extra = new HashMap<>();
+        }
+        V previous = extra.put(key, value);
+        if (!value.equals(previous)) {
+            markExtraChanged(key);
+        }
+
+        return previous;
+    }
+
+    private V removeExtra(Object key) {
+        if (extra == null || !extra.containsKey(key)) {
+            return null;
+        }
+        markExtraChanged((String) key);
+
+        return extra.remove(key);
+    }
+
+    private void markExtraChanged(String key) {
+        if (dirtyExtra == null) {
+            dirtyExtra = new HashSet<>();
+        }
+        dirtyExtra.add(key);
+    }
+
+    private final class ViewEntry extends SimpleEntry<String, V> {
+
+        ViewEntry(String key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, V>> {
+
+        private long remaining = present;
+        private final Iterator<String> extraKeys =
+                extra == null
+                        ? Collections.emptyIterator()
+                        : new HashSet<>(extra.keySet()).iterator();
+        private String lastKey;
+
+        @Override
+        public boolean hasNext() {
+            return remaining != 0 || extraKeys.hasNext();
+        }
+
+        @Override
+        public Entry<String, V> next() {
+            if (remaining != 0) {
+                int slot = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                lastKey = TYPES[slot].getType();
+
+                return new ViewEntry(lastKey, boxed(slot));
+            }
+            if (!extraKeys.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastKey = extraKeys.next();
+
+            return new ViewEntry(lastKey, extra.get(lastKey));
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            StatSlots.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+}
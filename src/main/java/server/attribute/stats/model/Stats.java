@@ -1,131 +1,232 @@
 package server.attribute.stats.model;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.google.common.collect.MapDifference;
-import com.google.common.collect.Maps;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.micronaut.core.annotation.ReflectiveAccess;
 import io.micronaut.serde.annotation.Serdeable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import server.attribute.stats.types.StatsTypes;
 import server.common.uuid.UUIDHelper;
 
-@Data
-@Builder
+/**
+ * Stats are held in primitive arrays indexed by {@link StatsTypes}, the string keyed maps are views
+ * over them so the JSON and BSON documents keep their shape. Changes to derived stats are tracked
+ * per slot, {@link #drainDerivedChanges()} returns what changed since the last drain.
+ */
 @Serdeable
 @JsonInclude
 @ReflectiveAccess
+@JsonSerialize(using = StatsSerializer.class)
 public class Stats {
-    @Serdeable.Serializable private String actorId; // player name or mob id
-    @Serdeable.Serializable private Map<String, Integer> baseStats;
-    @Serdeable.Serializable private Map<String, Double> derivedStats;
-    @Serdeable.Serializable private Map<String, Double> itemEffects;
-    @Serdeable.Serializable private Map<String, Double> statusEffects;
 
-    @Serdeable.Serializable private Integer attributePoints;
+    // derived from base stats on every recalculation
+    private static final long FORMULA_SLOTS =
+            mask(
+                    StatsTypes.MAX_HP,
+                    StatsTypes.MAX_MP,
+                    StatsTypes.ATTACK_SPEED,
+                    StatsTypes.CAST_SPEED,
+                    StatsTypes.PHY_AMP,
+                    StatsTypes.MAG_AMP,
+                    StatsTypes.PHY_CRIT,
+                    StatsTypes.HP_REGEN,
+                    StatsTypes.MP_REGEN);
 
-    public Map<String, Double> getDerivedStats() {
-        if (this.derivedStats == null) {
-            this.derivedStats = new HashMap<>();
-        }
+    // set directly by gameplay, item and status effects never apply to them
+    private static final long RESOURCE_SLOTS =
+            mask(
+                    StatsTypes.CURRENT_HP,
+                    StatsTypes.CURRENT_MP,
+                    StatsTypes.XP,
+                    StatsTypes.LEVEL);
 
-        return this.derivedStats;
-    }
+    // every other slot (DEF, WEAPON_DAMAGE, ...) is its base value plus item and status effects
+    private static final long EFFECT_SLOTS = ~(FORMULA_SLOTS | RESOURCE_SLOTS);
+
+    @Getter @Setter private String actorId; // player name or mob id
 
+    final IntStatSlots base = new IntStatSlots();
+    final DoubleStatSlots derived = new DoubleStatSlots();
+    final DoubleStatSlots items = new DoubleStatSlots();
+    final DoubleStatSlots status = new DoubleStatSlots();
+    // values set directly on effect slots, e.g. a mob's weapon damage
+    final DoubleStatSlots baseDerived = new DoubleStatSlots();
+
+    @Getter @Setter private Integer attributePoints;
+
+    // slots whose derived value came from item or status effects on the last recalculation
+    private long effectSlots;
+
+    @Builder
     public Stats(
             String actorId,
             Map<String, Integer> baseStats,
             Map<String, Double> derivedStats,
             Map<String, Double> itemEffects,
             Map<String, Double> statusEffects,
+            Map<String, Double> baseDerivedStats,
             Integer attributePoints) {
         this.actorId = actorId;
-        this.baseStats = baseStats == null ? new HashMap<>() : baseStats;
-        this.derivedStats = derivedStats == null ? new HashMap<>() : derivedStats;
-        this.itemEffects = itemEffects == null ? new HashMap<>() : itemEffects;
-        this.statusEffects = statusEffects == null ? new HashMap<>() : statusEffects;
+        this.base.replaceWith(baseStats);
+        this.derived.replaceWith(derivedStats);
+        this.items.replaceWith(itemEffects);
+        this.status.replaceWith(statusEffects);
+        this.baseDerived.replaceWith(baseDerivedStats);
         this.attributePoints = attributePoints == null ? 0 : attributePoints;
     }
 
-    public Stats() {
-        baseStats = new HashMap<>();
-        derivedStats = new HashMap<>();
-        itemEffects = new HashMap<>();
-        statusEffects = new HashMap<>();
+    public Stats() {}
+
+    public Map<String, Integer> getBaseStats() {
+        return base;
+    }
+
+    public void setBaseStats(Map<String, Integer> baseStats) {
+        base.replaceWith(baseStats);
+    }
+
+    public Map<String, Double> getDerivedStats() {
+        return derived;
+    }
+
+    public void setDerivedStats(Map<String, Double> derivedStats) {
+        derived.replaceWith(derivedStats);
+    }
+
+    public Map<String, Double> getItemEffects() {
+        return items;
+    }
+
+    public void setItemEffects(Map<String, Double> itemEffects) {
+        // slots that lose their effect are cleared on the next recalculation
+        effectSlots |= items.present;
+        items.replaceWith(itemEffects);
+    }
+
+    public Map<String, Double> getStatusEffects() {
+        return status;
+    }
+
+    public void setStatusEffects(Map<String, Double> statusEffects) {
+        effectSlots |= status.present;
+        status.replaceWith(statusEffects);
+    }
+
+    public Map<String, Double> getBaseDerivedStats() {
+        return baseDerived;
+    }
+
+    public void setBaseDerivedStats(Map<String, Double> baseDerivedStats) {
+        baseDerived.replaceWith(baseDerivedStats);
+    }
+
+    /**
+     * Documents stored before baseDerivedStats existed only hold the derived value of a slot, its
+     * base value is taken from it so the next recalculation does not drop it.
+     */
+    public void fillMissingBaseDerived() {
+        if (baseDerived.present != 0) {
+            return;
+        }
+        for (long bits = derived.present & EFFECT_SLOTS; bits != 0; bits &= bits - 1) {
+            int slot = Long.numberOfTrailingZeros(bits);
+            // slots that only hold item / status effects have no base value
+            double value = derived.values[slot] - effect(slot);
+            if (value != 0) {
+                baseDerived.set(StatSlots.TYPES[slot], value);
+            }
+        }
     }
 
     public int getBaseStat(StatsTypes stat) {
-        return baseStats.getOrDefault(stat.getType(), 0);
+        return base.get(stat);
     }
 
-    public Double getDerived(StatsTypes type) {
-        return derivedStats.getOrDefault(type.getType(), 0.0);
+    public double getDerived(StatsTypes type) {
+        return derived.get(type);
     }
 
-    public boolean setDerived(StatsTypes type, Double val) {
+    public boolean setDerived(StatsTypes type, double val) {
         // returns whether the value has changed or not
-        if (derivedStats.containsKey(type.getType())
-                && derivedStats.get(type.getType()).equals(val)) {
-            return false;
-        } else {
-            derivedStats.put(type.getType(), val);
-            return true;
+        int slot = type.ordinal();
+        if ((EFFECT_SLOTS & StatSlots.bit(slot)) != 0) {
+            // kept as the slot's base value, effects are added on top of it
+            baseDerived.set(type, val);
+            return derived.set(type, val + effect(slot));
         }
+
+        return derived.set(type, val);
     }
 
     public void setBase(StatsTypes type, int value) {
-        baseStats.put(type.getType(), value);
+        base.set(type, value);
     }
 
-    public Map<String, Double> recalculateDerivedStats() {
-        Map<String, Double> updatedDerived = this.getDerivedStats();
+    public boolean recalculateDerivedStats() {
+        // returns whether any derived stat changed, the changes are read with drainDerivedChanges
         int strength = getBaseStat(StatsTypes.STR);
         int dexterity = getBaseStat(StatsTypes.DEX);
         int stamina = getBaseStat(StatsTypes.STA);
         int intelligence = getBaseStat(StatsTypes.INT);
 
-        updatedDerived.put(StatsTypes.MAX_HP.getType(), 100.0 + stamina * 10);
-        updatedDerived.put(StatsTypes.MAX_MP.getType(), 50.0 + intelligence * 5);
+        boolean changed = derive(StatsTypes.MAX_HP, 100.0 + stamina * 10);
+        changed |= derive(StatsTypes.MAX_MP, 50.0 + intelligence * 5);
+        changed |= derive(StatsTypes.ATTACK_SPEED, 50.0 + dexterity);
+        changed |= derive(StatsTypes.CAST_SPEED, 50.0 + intelligence);
+        changed |= derive(StatsTypes.PHY_AMP, 1 + strength * 0.01);
+        changed |= derive(StatsTypes.MAG_AMP, 1 + intelligence * 0.01);
+        changed |= derive(StatsTypes.PHY_CRIT, 5 + dexterity * 0.1);
+        changed |= derive(StatsTypes.HP_REGEN, 0.5 + (stamina / 100));
+        changed |= derive(StatsTypes.MP_REGEN, 1.0 + (intelligence / 100));
 
-        updatedDerived.put(
-                StatsTypes.CURRENT_HP.getType(),
-                getDerived(StatsTypes.CURRENT_HP) > updatedDerived.get(StatsTypes.MAX_HP.getType())
-                        ? updatedDerived.get(StatsTypes.MAX_HP.getType())
-                        : getDerived(StatsTypes.CURRENT_HP));
+        changed |= capAt(StatsTypes.CURRENT_HP, StatsTypes.MAX_HP);
+        changed |= capAt(StatsTypes.CURRENT_MP, StatsTypes.MAX_MP);
 
-        updatedDerived.put(
-                StatsTypes.CURRENT_MP.getType(),
-                getDerived(StatsTypes.CURRENT_MP) > updatedDerived.get(StatsTypes.MAX_MP.getType())
-                        ? updatedDerived.get(StatsTypes.MAX_MP.getType())
-                        : getDerived(StatsTypes.CURRENT_MP));
-
-        updatedDerived.put(StatsTypes.ATTACK_SPEED.getType(), 50.0 + dexterity);
-        updatedDerived.put(StatsTypes.CAST_SPEED.getType(), 50.0 + intelligence);
-        updatedDerived.put(StatsTypes.PHY_AMP.getType(), 1 + strength * 0.01);
-        updatedDerived.put(StatsTypes.MAG_AMP.getType(), 1 + intelligence * 0.01);
-        updatedDerived.put(StatsTypes.PHY_CRIT.getType(), 5 + dexterity * 0.1);
+        // other stats (DEF, WEAPON_DAMAGE, ...) are their base value plus the effects
+        long effects = (items.present | status.present) & EFFECT_SLOTS;
+        long values = effects | (baseDerived.present & EFFECT_SLOTS);
+        for (long bits = values | effectSlots; bits != 0; bits &= bits - 1) {
+            int slot = Long.numberOfTrailingZeros(bits);
+            if ((values & StatSlots.bit(slot)) != 0) {
+                changed |=
+                        derived.set(
+                                StatSlots.TYPES[slot], baseDerived.values[slot] + effect(slot));
+            } else if (derived.has(slot)) {
+                derived.clearSlot(slot);
+                changed = true;
+            }
+        }
+        effectSlots = effects;
 
-        updatedDerived.put(StatsTypes.HP_REGEN.getType(), 0.5 + (stamina / 100));
-        updatedDerived.put(StatsTypes.MP_REGEN.getType(), 1.0 + (intelligence / 100));
+        return changed;
+    }
 
-        // add other effects, such as item and statuses (buffs etc)
-        Map<String, Double> otherEffects = mergeStats(itemEffects, statusEffects);
-        updatedDerived = mergeStats(updatedDerived, otherEffects);
+    public boolean hasDerivedChanges() {
+        return derived.hasChanges();
+    }
 
-        // evaluate if new entries are different to old ones
-        MapDifference<String, Double> diff = Maps.difference(derivedStats, updatedDerived);
-        Map<String, Double> changedStats = new HashMap<>(diff.entriesOnlyOnRight());
-        diff.entriesOnlyOnLeft()
-                .forEach(
-                        (key, val) ->
-                                changedStats.put(key, 0.0)); // these values have been 'removed'
-        diff.entriesDiffering().forEach((key, val) -> changedStats.put(key, val.rightValue()));
+    public Map<String, Double> drainDerivedChanges() {
+        // removed stats are reported as 0
+        return derived.drainChanges(0.0);
+    }
 
-        derivedStats = updatedDerived;
+    public Stats copy() {
+        Stats copy = new Stats();
+        copy.actorId = actorId;
+        copy.base.copyFrom(base);
+        copy.derived.copyFrom(derived);
+        copy.items.copyFrom(items);
+        copy.status.copyFrom(status);
+        copy.baseDerived.copyFrom(baseDerived);
+        copy.attributePoints = attributePoints;
+        copy.effectSlots = effectSlots;
 
-        return changedStats;
+        return copy;
     }
 
     public static Map<String, Double> mergeStats(
@@ -143,10 +244,6 @@ public class Stats {
         return left;
     }
 
-    private Double getMaxHp() {
-        return getDerived(StatsTypes.MAX_HP);
-    }
-
     public boolean canAct() {
         // TODO: Refactor later to status effects, some cases may allow to act
         return this.getDerived(StatsTypes.CURRENT_HP) > 0;
@@ -155,4 +252,68 @@ public class Stats {
     public boolean isPlayer() {
         return !UUIDHelper.isValid(actorId);
     }
+
+    private boolean derive(StatsTypes type, double value) {
+        return derived.set(type, value + effect(type.ordinal()));
+    }
+
+    private double effect(int slot) {
+        // unset slots hold 0
+        return items.values[slot] + status.values[slot];
+    }
+
+    private boolean capAt(StatsTypes current, StatsTypes max) {
+        return derived.set(current, Math.min(getDerived(current), getDerived(max)));
+    }
+
+    private static long mask(StatsTypes... types) {
+        long mask = 0;
+        for (StatsTypes type : types) {
+            mask |= StatSlots.bit(type.ordinal());
+        }
+
+        return mask;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Stats other)) {
+            return false;
+        }
+
+        return Objects.equals(actorId, other.actorId)
+                && base.equals(other.base)
+                && derived.equals(other.derived)
+                && items.equals(other.items)
+                && status.equals(other.status)
+                && baseDerived.equals(other.baseDerived)
+                && Objects.equals(attributePoints, other.attributePoints);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(actorId, base, derived, items, status, baseDerived, attributePoints);
+    }
+
+    @Override
+    public String toString() {
+        return "Stats(actorId="
+                + actorId
+                + ", baseStats="
+                + base
+                + ", derivedStats="
+                + derived
+                + ", itemEffects="
+                + items
+                + ", statusEffects="
+                + status
+                + ", baseDerivedStats="
+                + baseDerived
+                + ", attributePoints="
+                + attributePoints
+                + ")";
+    }
 }
@@ -0,0 +1,21 @@
+package server.attribute.stats.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.micronaut.serde.annotation.Serdeable;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// derived stat changes of every actor that changed during a tick, keyed by actor id
+@Data
+@Serdeable
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude()
+@Builder
+public class StatsDeltaBatch {
+
+    Map<String, Map<String, Double>> actorStats;
+}
@@ -0,0 +1,63 @@
+package server.attribute.stats.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes {@link Stats} in the same shape as the map based bean did, straight from the slot arrays
+ * so no maps or boxed values are created. Reading goes through the map setters.
+ */
+public class StatsSerializer extends StdSerializer<Stats> {
+
+    public StatsSerializer() {
+        super(Stats.class);
+    }
+
+    @Override
+    public void serialize(Stats stats, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("actorId", stats.getActorId());
+        writeInts(gen, "baseStats", stats.base);
+        writeDoubles(gen, "derivedStats", stats.derived);
+        writeDoubles(gen, "itemEffects", stats.items);
+        writeDoubles(gen, "statusEffects", stats.status);
+        writeDoubles(gen, "baseDerivedStats", stats.baseDerived);
+        if (stats.getAttributePoints() == null) {
+            gen.writeNullField("attributePoints");
+        } else {
+            gen.writeNumberField("attributePoints", stats.getAttributePoints());
+        }
+        gen.writeBooleanField("player", stats.isPlayer());
+        gen.writeEndObject();
+    }
+
+    private static void writeInts(JsonGenerator gen, String field, IntStatSlots slots)
+            throws IOException {
+        gen.writeObjectFieldStart(field);
+        for (long bits = slots.present; bits != 0; bits &= bits - 1) {
+            int slot = Long.numberOfTrailingZeros(bits);
+            gen.writeNumberField(StatSlots.TYPES[slot].getType(), slots.values[slot]);
+        }
+        for (Map.Entry<String, Integer> entry : slots.extra().entrySet()) {
+            gen.writeNumberField(entry.getKey(), entry.getValue());
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeDoubles(JsonGenerator gen, String field, DoubleStatSlots slots)
+            throws IOException {
+        gen.writeObjectFieldStart(field);
+        for (long bits = slots.present; bits != 0; bits &= bits - 1) {
+            int slot = Long.numberOfTrailingZeros(bits);
+            gen.writeNumberField(StatSlots.TYPES[slot].getType(), slots.values[slot]);
+        }
+        for (Map.Entry<String, Double> entry : slots.extra().entrySet()) {
+            gen.writeNumberField(entry.getKey(), entry.getValue());
+        }
+        gen.writeEndObject();
+    }
+}
@@ -2,29 +2,30 @@ package server.attribute.stats.repository;
 
 import static com.mongodb.client.model.Filters.eq;
 
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
-import io.micronaut.cache.annotation.CacheConfig;
-import io.micronaut.cache.annotation.CacheInvalidate;
-import io.micronaut.cache.annotation.CachePut;
-import io.micronaut.cache.annotation.Cacheable;
 import io.reactivex.rxjava3.core.Single;
 import jakarta.inject.Singleton;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.conversions.Bson;
 import server.attribute.stats.model.Stats;
 import server.common.configuration.MongoConfiguration;
 
+// Online actors are served from ActorStatsStore, this is only the durable copy
 @Slf4j
 @Singleton
-@CacheConfig("actor-stats-cache")
 public class ActorStatsRepository {
 
-    private static final String ACTOR_STATS_CACHE = "actor-stats-cache";
-
     private final MongoConfiguration configuration;
     private final MongoClient mongoClient;
     private final MongoCollection<Stats> actorStats;
@@ -35,12 +36,11 @@ public class ActorStatsRepository {
         this.actorStats = getCollection();
     }
 
-    @Cacheable(value = ACTOR_STATS_CACHE, parameters = "actorId")
     public Single<Stats> fetchActorStats(String actorId) {
-        return Single.fromPublisher(actorStats.find(eq("actorId", actorId)));
+        return Single.fromPublisher(actorStats.find(eq("actorId", actorId)))
+                .doOnSuccess(Stats::fillMissingBaseDerived);
     }
 
-    @CachePut(value = ACTOR_STATS_CACHE, parameters = "actorId", async = true)
     public Single<Stats> updateStats(String actorId, Stats stats) {
         Bson filter = Filters.eq("actorId", stats.getActorId());
         ReplaceOptions options = new ReplaceOptions().upsert(true);
@@ -48,7 +48,20 @@ public class ActorStatsRepository {
                 .map(res -> stats);
     }
 
-    @CacheInvalidate(value = ACTOR_STATS_CACHE, parameters = "actorId", async = true)
+    public Single<BulkWriteResult> bulkReplaceStats(Collection<Stats> stats) {
+        ReplaceOptions options = new ReplaceOptions().upsert(true);
+        List<WriteModel<Stats>> replacements =
+                stats.stream()
+                        .map(
+                                s ->
+                                        new ReplaceOneModel<>(
+                                                eq("actorId", s.getActorId()), s, options))
+                        .collect(Collectors.toList());
+
+        return Single.fromPublisher(
+                actorStats.bulkWrite(replacements, new BulkWriteOptions().ordered(false)));
+    }
+
     public Single<DeleteResult> deleteStats(String actorId) {
         return Single.fromPublisher(actorStats.deleteOne(eq("actorId", actorId)));
     }
@@ -0,0 +1,171 @@
+package server.attribute.stats.repository;
+
+import io.micronaut.scheduling.annotation.Scheduled;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import server.attribute.stats.model.Stats;
+import server.common.configuration.StatsWriteBehindConfiguration;
+import server.common.metrics.WriteBehindMetrics;
+
+/**
+ * Source of truth for the stats of actors that are in play. Mutations are applied to the held
+ * {@link Stats} instance and the actor is marked dirty, the flusher then writes the latest state
+ * of every dirty actor in unordered bulk writes. Callers mutating a held instance should
+ * synchronize on it, the flusher snapshots under the same lock.
+ */
+@Slf4j
+@Singleton
+public class ActorStatsStore {
+
+    private final Map<String, Stats> liveStats = new ConcurrentHashMap<>();
+
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    private final WriteBehindMetrics writeBehindMetrics = new WriteBehindMetrics(dirty::size);
+
+    @Inject ActorStatsRepository repository;
+
+    @Inject StatsWriteBehindConfiguration writeBehindConfiguration;
+
+    public Single<Stats> get(String actorId) {
+        Stats stats = liveStats.get(actorId);
+        if (stats != null) {
+            return Single.just(stats);
+        }
+
+        // if two loads race, both callers get whichever instance was stored first
+        return repository
+                .fetchActorStats(actorId)
+                .map(loaded -> liveStats.computeIfAbsent(actorId, id -> loaded));
+    }
+
+    public Stats put(Stats stats) {
+        liveStats.put(stats.getActorId(), stats);
+        dirty.add(stats.getActorId());
+
+        return stats;
+    }
+
+    public void markDirty(String actorId) {
+        if (liveStats.containsKey(actorId)) {
+            dirty.add(actorId);
+        }
+    }
+
+    public boolean contains(String actorId) {
+        return liveStats.containsKey(actorId);
+    }
+
+    public Completable evict(String actorId) {
+        Stats stats = liveStats.remove(actorId);
+        if (stats == null || !dirty.remove(actorId)) {
+            return Completable.complete();
+        }
+
+        return writeBatch(Map.of(actorId, snapshot(stats)));
+    }
+
+    public void remove(String actorId) {
+        liveStats.remove(actorId);
+        dirty.remove(actorId);
+    }
+
+    public void clear() {
+        liveStats.clear();
+        dirty.clear();
+    }
+
+    @Scheduled(fixedDelay = "${stats-write-behind.flush-interval:1s}", initialDelay = "1s")
+    public void syncStatsWithRepo() {
+        flushDirtyStats()
+                .doOnError(err -> log.error("Failed to flush stats, {}", err.getMessage()))
+                .onErrorComplete()
+                .subscribe();
+    }
+
+    @Scheduled(
+            fixedDelay = "${stats-write-behind.report-interval:60s}",
+            initialDelay = "${stats-write-behind.report-interval:60s}")
+    public void reportWriteBehindMetrics() {
+        log.info("Stats write-behind, {}", writeBehindMetrics.summary());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        long timeout = writeBehindConfiguration.getShutdownTimeout().toMillis();
+        boolean done =
+                flushDirtyStats().onErrorComplete().blockingAwait(timeout, TimeUnit.MILLISECONDS);
+        if (!done) {
+            log.warn("Stats flush did not finish on shutdown, {} left", dirty.size());
+        }
+    }
+
+    public Completable flushDirtyStats() {
+        if (dirty.isEmpty()) {
+            return Completable.complete();
+        }
+
+        int batchSize = Math.max(1, writeBehindConfiguration.getBatchSize());
+        List<Completable> writes = new ArrayList<>();
+        Map<String, Stats> batch = new HashMap<>();
+        for (String actorId : dirty) {
+            if (!dirty.remove(actorId)) {
+                continue;
+            }
+            Stats stats = liveStats.get(actorId);
+            if (stats == null) {
+                continue;
+            }
+            batch.put(actorId, snapshot(stats));
+            if (batch.size() == batchSize) {
+                writes.add(writeBatch(batch));
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writes.add(writeBatch(batch));
+        }
+
+        // a failed batch must not cancel the others, each one marks only its own actors again
+        return Completable.mergeDelayError(writes);
+    }
+
+    public WriteBehindMetrics getWriteBehindMetrics() {
+        return writeBehindMetrics;
+    }
+
+    private Completable writeBatch(Map<String, Stats> batch) {
+        long start = System.nanoTime();
+
+        return repository
+                .bulkReplaceStats(batch.values())
+                .doOnSuccess(
+                        res ->
+                                writeBehindMetrics.recordBatch(
+                                        batch.size(), System.nanoTime() - start))
+                .doOnError(
+                        err -> {
+                            writeBehindMetrics.recordFailure();
+                            // the live instance is still the latest state, just mark it again
+                            batch.keySet().forEach(this::markDirty);
+                        })
+                .ignoreElement();
+    }
+
+    private static Stats snapshot(Stats stats) {
+        synchronized (stats) {
+            return stats.copy();
+        }
+    }
+}
@@ -9,7 +9,6 @@ import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import server.attribute.stats.model.Stats;
 import server.attribute.stats.model.types.ClassTypes;
-import server.attribute.stats.repository.ActorStatsRepository;
 import server.attribute.stats.types.StatsTypes;
 import server.player.exceptions.CharacterException;
 
@@ -19,8 +18,6 @@ public class PlayerLevelStatsService {
 
     @Inject StatsService statsService;
 
-    @Inject ActorStatsRepository statsRepository;
-
     public static final List<String> AVAILABLE_CLASSES =
             List.of(
                     ClassTypes.MAGE.getType(),
@@ -40,16 +37,18 @@ public class PlayerLevelStatsService {
                         Map.of(
                                 StatsTypes.LEVEL.type, 1,
                                 StatsTypes.XP.type, 0));
-        baseAttr.putAll(toAdd);
+        synchronized (stats) {
+            baseAttr.putAll(toAdd);
 
-        AVAILABLE_CLASSES.forEach(
-                c -> {
-                    Integer level = c.equalsIgnoreCase(playerClass) ? 1 : 0;
-                    baseAttr.put(c, level);
-                });
+            AVAILABLE_CLASSES.forEach(
+                    c -> {
+                        Integer level = c.equalsIgnoreCase(playerClass) ? 1 : 0;
+                        baseAttr.put(c, level);
+                    });
 
-        stats.recalculateDerivedStats();
-        return statsRepository.updateStats(stats.getActorId(), stats);
+            stats.recalculateDerivedStats();
+        }
+        return statsService.saveStats(stats);
     }
 
     public Single<Stats> handleLevelUp(String actorId, String classToLevel) {
@@ -62,10 +61,12 @@ public class PlayerLevelStatsService {
                 .getStatsFor(actorId)
                 .flatMap(
                         stats -> {
-                            Map<String, Integer> baseAttr = stats.getBaseStats();
-                            baseAttr.put(classToLevel, baseAttr.get(classToLevel) + 1);
-                            stats.recalculateDerivedStats();
-                            return statsRepository.updateStats(stats.getActorId(), stats);
+                            synchronized (stats) {
+                                Map<String, Integer> baseAttr = stats.getBaseStats();
+                                baseAttr.put(classToLevel, baseAttr.get(classToLevel) + 1);
+                                stats.recalculateDerivedStats();
+                            }
+                            return statsService.saveStats(stats);
                         })
                 .doOnError(
                         err -> log.error("Failed to get stats on level up, {}", err.getMessage()));
@@ -80,13 +81,11 @@ public class PlayerLevelStatsService {
                 .getStatsFor(actorId)
                 .doOnSuccess(
                         stats -> {
-                            Map<String, Double> attr = stats.getDerivedStats();
-                            attr.put(
-                                    StatsTypes.XP.type,
-                                    attr.getOrDefault(StatsTypes.XP.type, 0.0) + xpToAdd);
-                            Map<String, Double> dataToSend =
-                                    Map.of(StatsTypes.XP.type, attr.get(StatsTypes.XP.type));
-                            statsService.handleDifference(dataToSend, stats);
+                            synchronized (stats) {
+                                stats.setDerived(
+                                        StatsTypes.XP, stats.getDerived(StatsTypes.XP) + xpToAdd);
+                            }
+                            statsService.handleDifference(stats);
                         })
                 .doOnError(err -> log.error("Failed to add XP, {}", err.getMessage()));
     }
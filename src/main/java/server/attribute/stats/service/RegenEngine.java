@@ -0,0 +1,187 @@
+package server.attribute.stats.service;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import server.attribute.stats.model.Stats;
+import server.attribute.stats.repository.ActorStatsStore;
+import server.attribute.stats.types.StatsTypes;
+import server.common.configuration.RegenConfiguration;
+import server.common.configuration.WorldTickConfiguration;
+import server.common.tick.TickListener;
+
+@Singleton
+public class RegenEngine implements TickListener {
+    // Only actors below max HP or MP are tracked, players and mobs alike, so a pass costs what is
+    // actually regenerating. A pass gathers the values into flat arrays, computes all of them in
+    // one loop and writes them back, the changed actors go out with the bulk flush and the next
+    // stats delta batch.
+
+    @Inject ActorStatsStore actorStatsStore;
+
+    @Inject StatsDeltaPublisher statsDeltaPublisher;
+
+    @Inject RegenConfiguration configuration;
+
+    @Inject WorldTickConfiguration tickConfiguration;
+
+    private final Map<String, Stats> regenerating = new ConcurrentHashMap<>();
+
+    // only touched from the tick thread, grown as needed and reused between passes
+    private Stats[] actors = new Stats[0];
+    private double[] hp = new double[0];
+    private double[] maxHp = new double[0];
+    private double[] hpRegen = new double[0];
+    private double[] mp = new double[0];
+    private double[] maxMp = new double[0];
+    private double[] mpRegen = new double[0];
+    private double[] nextHp = new double[0];
+    private double[] nextMp = new double[0];
+
+    private final AtomicLong passes = new AtomicLong();
+    private final AtomicLong regenerated = new AtomicLong();
+
+    public void track(Stats stats) {
+        if (stats == null || stats.getActorId() == null) {
+            return;
+        }
+
+        synchronized (stats) {
+            if (stats.canAct() && belowMax(stats)) {
+                regenerating.put(stats.getActorId(), stats);
+            }
+        }
+    }
+
+    @Override
+    public void onTick(long tick, Instant now) {
+        long rate = Math.max(1, tickConfiguration.getRate().toMillis());
+        long every = Math.max(1, configuration.getInterval().toMillis() / rate);
+        if (tick % every == 0) {
+            regen();
+        }
+    }
+
+    public void regen() {
+        if (regenerating.isEmpty()) {
+            return;
+        }
+
+        int count = gather();
+        compute(count);
+        scatter(count);
+        passes.incrementAndGet();
+    }
+
+    public int getRegenerating() {
+        return regenerating.size();
+    }
+
+    public long getPasses() {
+        return passes.get();
+    }
+
+    public long getRegenerated() {
+        return regenerated.get();
+    }
+
+    private int gather() {
+        ensureCapacity(regenerating.size());
+
+        int count = 0;
+        for (Map.Entry<String, Stats> entry : regenerating.entrySet()) {
+            Stats stats = entry.getValue();
+            if (count == actors.length) {
+                // tracked while gathering, picked up by the next pass
+                break;
+            }
+            if (!actorStatsStore.contains(entry.getKey())) {
+                // released or deleted, the instance is no longer live
+                regenerating.remove(entry.getKey(), stats);
+                continue;
+            }
+
+            synchronized (stats) {
+                // dropped under the lock, damage taken after this is tracked again
+                if (!stats.canAct() || !belowMax(stats)) {
+                    regenerating.remove(entry.getKey(), stats);
+                    continue;
+                }
+
+                actors[count] = stats;
+                hp[count] = stats.getDerived(StatsTypes.CURRENT_HP);
+                maxHp[count] = stats.getDerived(StatsTypes.MAX_HP);
+                hpRegen[count] = stats.getDerived(StatsTypes.HP_REGEN);
+                mp[count] = stats.getDerived(StatsTypes.CURRENT_MP);
+                maxMp[count] = stats.getDerived(StatsTypes.MAX_MP);
+                mpRegen[count] = stats.getDerived(StatsTypes.MP_REGEN);
+            }
+            count++;
+        }
+
+        return count;
+    }
+
+    private void compute(int count) {
+        // no branches or object access, the JIT can vectorize this loop
+        for (int i = 0; i < count; i++) {
+            nextHp[i] = Math.min(hp[i] + hpRegen[i], Math.max(hp[i], maxHp[i]));
+            nextMp[i] = Math.min(mp[i] + mpRegen[i], Math.max(mp[i], maxMp[i]));
+        }
+    }
+
+    private void scatter(int count) {
+        for (int i = 0; i < count; i++) {
+            Stats stats = actors[i];
+            actors[i] = null;
+
+            boolean changed = false;
+            synchronized (stats) {
+                // a value changed since gathering (damage, heal) wins, regen resumes next pass
+                if (stats.canAct()) {
+                    if (stats.getDerived(StatsTypes.CURRENT_HP) == hp[i]) {
+                        changed |= stats.setDerived(StatsTypes.CURRENT_HP, nextHp[i]);
+                    }
+                    if (stats.getDerived(StatsTypes.CURRENT_MP) == mp[i]) {
+                        changed |= stats.setDerived(StatsTypes.CURRENT_MP, nextMp[i]);
+                    }
+                }
+                if (!stats.canAct() || !belowMax(stats)) {
+                    regenerating.remove(stats.getActorId(), stats);
+                }
+            }
+
+            if (changed) {
+                regenerated.incrementAndGet();
+                actorStatsStore.markDirty(stats.getActorId());
+                statsDeltaPublisher.queue(stats);
+            }
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (actors.length >= size) {
+            return;
+        }
+
+        int capacity = Math.max(size, actors.length * 2);
+        actors = Arrays.copyOf(actors, capacity);
+        hp = new double[capacity];
+        maxHp = new double[capacity];
+        hpRegen = new double[capacity];
+        mp = new double[capacity];
+        maxMp = new double[capacity];
+        mpRegen = new double[capacity];
+        nextHp = new double[capacity];
+        nextMp = new double[capacity];
+    }
+
+    private static boolean belowMax(Stats stats) {
+        return stats.getDerived(StatsTypes.CURRENT_HP) < stats.getDerived(StatsTypes.MAX_HP)
+                || stats.getDerived(StatsTypes.CURRENT_MP) < stats.getDerived(StatsTypes.MAX_MP);
+    }
+}
@@ -0,0 +1,74 @@
+package server.attribute.stats.service;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import server.attribute.stats.model.Stats;
+import server.attribute.stats.model.StatsDeltaBatch;
+import server.common.tick.TickListener;
+import server.socket.producer.UpdateProducer;
+
+@Slf4j
+@Singleton
+public class StatsDeltaPublisher implements TickListener {
+    // Actors with changed stats are collected during the tick and their deltas are drained and
+    // published as one record, so Kafka traffic follows the tick rate instead of every mutation.
+
+    @Inject UpdateProducer updateProducer;
+
+    private final Map<String, Stats> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong queuedChanges = new AtomicLong();
+    private final AtomicLong publishedBatches = new AtomicLong();
+
+    public void queue(Stats stats) {
+        pending.put(stats.getActorId(), stats);
+        queuedChanges.incrementAndGet();
+    }
+
+    @Override
+    public void onTick(long tick, Instant now) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, Map<String, Double>> actorStats = new HashMap<>();
+        for (String actorId : pending.keySet()) {
+            Stats stats = pending.remove(actorId);
+            if (stats == null) {
+                continue;
+            }
+            // changes made after this drain are queued again and go with the next tick
+            synchronized (stats) {
+                if (stats.hasDerivedChanges()) {
+                    actorStats.put(actorId, stats.drainDerivedChanges());
+                }
+            }
+        }
+
+        if (actorStats.isEmpty()) {
+            return;
+        }
+
+        try {
+            updateProducer.updateStats(
+                    String.join(",", actorStats.keySet()), new StatsDeltaBatch(actorStats));
+            publishedBatches.incrementAndGet();
+        } catch (Exception e) {
+            log.error("Failed to publish stats batch, {}", e.getMessage());
+        }
+    }
+
+    public long getQueuedChanges() {
+        return queuedChanges.get();
+    }
+
+    public long getPublishedBatches() {
+        return publishedBatches.get();
+    }
+}
@@ -9,11 +9,11 @@ import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import server.attribute.stats.model.Stats;
 import server.attribute.stats.repository.ActorStatsRepository;
+import server.attribute.stats.repository.ActorStatsStore;
 import server.attribute.stats.types.DamageTypes;
 import server.attribute.stats.types.StatsTypes;
 import server.combat.model.CombatData;
 import server.session.SessionParamHelper;
-import server.socket.producer.UpdateProducer;
 
 @Slf4j
 @Singleton
@@ -21,7 +21,11 @@ public class StatsService {
 
     @Inject ActorStatsRepository repository;
 
-    @Inject UpdateProducer updateProducer;
+    @Inject ActorStatsStore actorStatsStore;
+
+    @Inject StatsDeltaPublisher statsDeltaPublisher;
+
+    @Inject RegenEngine regenEngine;
 
     @Inject SessionParamHelper sessionParamHelper;
 
@@ -57,7 +61,7 @@ public class StatsService {
         mobStats.setDerived(StatsTypes.CURRENT_HP, mobStats.getDerived(StatsTypes.MAX_HP));
         mobStats.setAttributePoints(0);
 
-        repository.updateStats(mobStats.getActorId(), mobStats).subscribe();
+        actorStatsStore.put(mobStats);
         CombatData combatData = new CombatData(actorId);
         sessionParamHelper.setSharedActorCombatData(actorId, combatData);
     }
@@ -87,35 +91,71 @@ public class StatsService {
 
         playerStats.setAttributePoints(0);
 
-        return repository.updateStats(playerStats.getActorId(), playerStats);
+        // new characters are written straight away rather than waiting for the flusher
+        return repository
+                .updateStats(playerStats.getActorId(), playerStats)
+                .map(actorStatsStore::put);
     }
 
     public Single<Stats> getStatsFor(String actorId) {
-        return repository.fetchActorStats(actorId);
+        // actors loaded below max (e.g. logging back in hurt) start regenerating
+        return actorStatsStore.get(actorId).doOnSuccess(regenEngine::track);
+    }
+
+    public Single<Stats> saveStats(Stats stats) {
+        return Single.just(actorStatsStore.put(stats));
     }
 
     public Single<DeleteResult> deleteStatsFor(String actorId) {
-        return repository.deleteStats(actorId);
+        actorStatsStore.remove(actorId);
+        // drop anything loaded again while the delete was pending
+        return repository.deleteStats(actorId).doOnSuccess(res -> actorStatsStore.remove(actorId));
+    }
+
+    public void releaseStats(String actorId) {
+        actorStatsStore
+                .evict(actorId)
+                .doOnError(err -> log.error("Failed to flush evicted stats, {}", err.getMessage()))
+                .onErrorComplete()
+                .subscribe();
     }
 
     public void updateItemStats(String actorId, Map<String, Double> itemStats) {
-        repository
-                .fetchActorStats(actorId)
+        getStatsFor(actorId)
                 .doOnSuccess(
                         stats -> {
-                            stats.setItemEffects(itemStats);
-                            Map<String, Double> updated = stats.recalculateDerivedStats();
-                            handleDifference(updated, stats);
+                            synchronized (stats) {
+                                stats.setItemEffects(itemStats);
+                                stats.recalculateDerivedStats();
+                            }
+                            handleDifference(stats);
                         })
                 .doOnError(err -> log.error("Failed to update item stats, {}", err.getMessage()))
                 .blockingSubscribe();
     }
 
+    public void updateStatusStats(String actorId, Map<String, Double> statusStats) {
+        getStatsFor(actorId)
+                .subscribe(
+                        stats -> {
+                            synchronized (stats) {
+                                stats.setStatusEffects(statusStats);
+                                stats.recalculateDerivedStats();
+                            }
+                            handleDifference(stats);
+                        },
+                        err ->
+                                log.error(
+                                        "Failed to update status stats for {}, {}",
+                                        actorId,
+                                        err.getMessage()));
+    }
+
     public Stats takeDamage(Stats stats, Map<DamageTypes, Double> damageMap) {
         // TODO: send stat update once, send map of damage
         damageMap.forEach(
                 (k, v) -> {
-                    Double currentHp = stats.getDerived(StatsTypes.CURRENT_HP);
+                    double currentHp = stats.getDerived(StatsTypes.CURRENT_HP);
                     currentHp -= v;
                     setAndHandleDifference(stats, currentHp, StatsTypes.CURRENT_HP);
                 });
@@ -124,69 +164,30 @@ public class StatsService {
     }
 
     public Stats addHealth(Stats stats, Double amount) {
-        Double currentHp = stats.getDerived(StatsTypes.CURRENT_HP);
+        double currentHp = stats.getDerived(StatsTypes.CURRENT_HP);
         currentHp += amount;
         setAndHandleDifference(stats, currentHp, StatsTypes.CURRENT_HP);
         return stats;
     }
 
-    private void setAndHandleDifference(Stats stats, Double val, StatsTypes evalType) {
-        stats.getDerivedStats().put(evalType.getType(), val);
-        Map<String, Double> updated = Map.of(evalType.getType(), val);
-        handleDifference(updated, stats);
-    }
-
-    public void applyRegen(String actorName) {
-        getStatsFor(actorName)
-                .doOnSuccess(
-                        stats -> {
-                            if (stats == null) {
-                                return;
-                            }
-                            applyRegen(stats);
-                        })
-                .doOnError(err -> log.error("Failed to apply regen for actor: {}, {}", actorName, err.getMessage()))
-                .subscribe();
-    }
-
-    public void applyRegen(Stats stats) {
-        applyRegen(stats, StatsTypes.HP_REGEN);
-        applyRegen(stats, StatsTypes.MP_REGEN);
-    }
-
-    private void applyRegen(Stats stats, StatsTypes type) {
-        if (!stats.canAct()) {
-            return;
+    private void setAndHandleDifference(Stats stats, double val, StatsTypes evalType) {
+        synchronized (stats) {
+            stats.setDerived(evalType, val);
         }
-
-        Double regen = stats.getDerived(type);
-
-        StatsTypes evalType =
-                type == StatsTypes.MP_REGEN ? StatsTypes.CURRENT_MP : StatsTypes.CURRENT_HP;
-
-        StatsTypes maxType = type == StatsTypes.MP_REGEN ? StatsTypes.MAX_MP : StatsTypes.MAX_HP;
-
-        Double currentVal = stats.getDerived(evalType);
-        Double maxVal = stats.getDerived(maxType);
-
-        if (currentVal >= maxVal) {
-            return;
-        }
-
-        Double res = currentVal + regen;
-        setAndHandleDifference(stats, res, evalType);
+        handleDifference(stats);
     }
 
-    void handleDifference(Map<String, Double> updated, Stats stats) {
-        if (!updated.isEmpty()) {
-            //          TODO: Make this async, its blocking to help with tests only
-            repository
-                    .updateStats(stats.getActorId(), stats)
-                    .doOnError(err -> log.error("Failed to update stats, {}", err.getMessage()))
-                    .blockingGet();
-            Stats notifyUpdates =
-                    Stats.builder().actorId(stats.getActorId()).derivedStats(updated).build();
-            updateProducer.updateStats(notifyUpdates);
+    void handleDifference(Stats stats) {
+        synchronized (stats) {
+            if (!stats.hasDerivedChanges()) {
+                return;
+            }
         }
+
+        // the store holds the live instance, the flusher persists it
+        actorStatsStore.markDirty(stats.getActorId());
+        // the delta is drained from the dirty slots and published with the next tick
+        statsDeltaPublisher.queue(stats);
+        regenEngine.track(stats);
     }
 }
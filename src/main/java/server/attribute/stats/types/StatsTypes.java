@@ -1,5 +1,7 @@
 package server.attribute.stats.types;
 
+import java.util.HashMap;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -55,4 +57,17 @@ public enum StatsTypes {
     OFF_HAND_ATTACK_SPEED("OFF_HAND_ATTACK_SPEED");
 
     public final String type;
+
+    private static final Map<String, StatsTypes> BY_TYPE = new HashMap<>();
+
+    static {
+        for (StatsTypes statsType : values()) {
+            BY_TYPE.put(statsType.type, statsType);
+        }
+    }
+
+    public static StatsTypes fromType(String type) {
+        // null for keys that are not stats, such as class levels
+        return BY_TYPE.get(type);
+    }
 }
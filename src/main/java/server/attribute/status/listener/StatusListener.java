@@ -1,28 +1,62 @@
 package server.attribute.status.listener;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micronaut.configuration.kafka.annotation.KafkaListener;
 import io.micronaut.configuration.kafka.annotation.OffsetReset;
 import io.micronaut.configuration.kafka.annotation.OffsetStrategy;
 import io.micronaut.configuration.kafka.annotation.Topic;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.messaging.annotation.MessageHeader;
 import jakarta.inject.Inject;
+import java.io.IOException;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import server.attribute.status.model.ActorStatus;
+import server.attribute.status.model.StatusDeltaBatch;
+import server.session.SessionInterestIndex;
 import server.socket.model.SocketResponse;
 import server.socket.model.SocketResponseType;
+import server.socket.producer.UpdateProducer;
 import server.socket.service.ClientUpdatesService;
 
 @Slf4j
 @KafkaListener(
-        groupId = "mmo-server",
-        offsetReset = OffsetReset.EARLIEST,
+        groupId = "mmo-server-${node.id}",
+        offsetReset = OffsetReset.LATEST,
         offsetStrategy = OffsetStrategy.SYNC,
         clientId = "status_client")
 public class StatusListener {
 
     @Inject ClientUpdatesService clientUpdatesService;
 
+    @Inject SessionInterestIndex interestIndex;
+
+    @Inject ObjectMapper objectMapper;
+
     @Topic("update-actor-status")
-    public void receiveUpdateActorStatus(ActorStatus actorStatus) {
+    public void receiveUpdateActorStatuses(
+            @Nullable @MessageHeader(UpdateProducer.ACTOR_IDS_HEADER) String actorIds,
+            byte[] payload) {
+        // every node reads every batch, one no local session observes is dropped unread
+        if (actorIds != null && !interestIndex.isAnyObserved(List.of(actorIds.split(",")))) {
+            return;
+        }
+        StatusDeltaBatch statusDeltaBatch;
+        try {
+            statusDeltaBatch = objectMapper.readValue(payload, StatusDeltaBatch.class);
+        } catch (IOException e) {
+            log.error("Failed to read status batch, {}", e.getMessage());
+            return;
+        }
+        if (statusDeltaBatch.getActorStatuses() == null) {
+            return;
+        }
+        statusDeltaBatch.getActorStatuses().stream()
+                .filter(actorStatus -> interestIndex.isObserved(actorStatus.getActorId()))
+                .forEach(this::sendActorStatus);
+    }
+
+    private void sendActorStatus(ActorStatus actorStatus) {
         SocketResponse socketResponse =
                 SocketResponse.builder()
                         .messageType(SocketResponseType.STATS_UPDATE.getType())
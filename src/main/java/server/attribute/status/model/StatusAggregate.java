@@ -0,0 +1,194 @@
+package server.attribute.status.model;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.Value;
+import server.attribute.status.types.StatusTypes;
+import server.common.tick.TimerWheel;
+
+/**
+ * Live statuses of one actor together with their aggregated effects. The aggregates are kept up
+ * to date on every add and remove, nothing is recomputed from the full set. Added and removed
+ * statuses are collected until {@link #drain()} so a tick reports them together.
+ */
+public class StatusAggregate {
+
+    private final String actorId;
+    private final Set<Status> statuses = new HashSet<>();
+
+    // how many live statuses carry each effect, an effect is active while its count is above 0
+    private final Map<String, Integer> effectCounts = new HashMap<>();
+    private final Map<String, Double> derived = new HashMap<>();
+    private final Map<String, Integer> derivedCounts = new HashMap<>();
+
+    // pending expiry of each live status that has one, cancelled when the status goes earlier
+    private final Map<Status, TimerWheel.Timeout> expiries = new HashMap<>();
+
+    private Set<Status> added = new HashSet<>();
+    private Set<Status> removed = new HashSet<>();
+    private boolean derivedChanged;
+
+    // statuses stored before this node took over the actor have been merged in
+    private boolean loaded;
+
+    public StatusAggregate(String actorId, boolean loaded) {
+        this.actorId = actorId;
+        this.loaded = loaded;
+    }
+
+    /** Returns the status it replaced, statuses that cannot stack replace their category. */
+    public synchronized Status add(Status status) {
+        if (status.getAdded() == null) {
+            status.setAdded(Instant.now());
+        }
+
+        Status replaced = null;
+        if (!Boolean.TRUE.equals(status.getCanStack())) {
+            replaced = findCategory(status.getCategory());
+            if (replaced != null) {
+                remove(replaced);
+            }
+        }
+
+        if (statuses.add(status)) {
+            apply(status, 1);
+            // removed and added back within the same tick, the client still has it
+            if (!removed.remove(status)) {
+                added.add(status);
+            }
+        }
+
+        return replaced;
+    }
+
+    public synchronized boolean remove(Status status) {
+        if (!statuses.remove(status)) {
+            return false;
+        }
+
+        apply(status, -1);
+        TimerWheel.Timeout expiry = expiries.remove(status);
+        if (expiry != null) {
+            expiry.cancel();
+        }
+        if (!added.remove(status)) {
+            removed.add(status);
+        }
+
+        return true;
+    }
+
+    /** Keeps the expiry of a live status, it is cancelled if the status is removed or replaced. */
+    public synchronized void expireWith(Status status, TimerWheel.Timeout expiry) {
+        if (!statuses.contains(status)) {
+            // already replaced or removed while being scheduled
+            expiry.cancel();
+            return;
+        }
+
+        TimerWheel.Timeout previous = expiries.put(status, expiry);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    public synchronized void cancelExpiries() {
+        expiries.values().forEach(TimerWheel.Timeout::cancel);
+        expiries.clear();
+    }
+
+    public synchronized Delta drain() {
+        Delta delta =
+                new Delta(added, removed, derivedChanged ? new HashMap<>(derived) : null);
+        added = new HashSet<>();
+        removed = new HashSet<>();
+        derivedChanged = false;
+
+        return delta;
+    }
+
+    public synchronized boolean hasChanges() {
+        return derivedChanged || !added.isEmpty() || !removed.isEmpty();
+    }
+
+    public synchronized Set<String> getStatusEffects() {
+        return new HashSet<>(effectCounts.keySet());
+    }
+
+    public synchronized Map<String, Double> getDerived() {
+        return new HashMap<>(derived);
+    }
+
+    public synchronized boolean hasEffect(String effect) {
+        return effectCounts.containsKey(effect);
+    }
+
+    public synchronized boolean isDead() {
+        return findCategory(StatusTypes.DEAD.getType()) != null;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized void markLoaded() {
+        loaded = true;
+    }
+
+    public String getActorId() {
+        return actorId;
+    }
+
+    public synchronized ActorStatus toActorStatus() {
+        return new ActorStatus(actorId, new HashSet<>(statuses), false);
+    }
+
+    private Status findCategory(String category) {
+        for (Status status : statuses) {
+            if (status.getCategory() != null && status.getCategory().equals(category)) {
+                return status;
+            }
+        }
+
+        return null;
+    }
+
+    private void apply(Status status, int sign) {
+        if (status.getStatusEffects() != null) {
+            for (String effect : status.getStatusEffects()) {
+                effectCounts.merge(effect, sign, (a, b) -> a + b == 0 ? null : a + b);
+            }
+        }
+
+        if (status.getDerivedEffects() == null || status.getDerivedEffects().isEmpty()) {
+            return;
+        }
+
+        status.getDerivedEffects()
+                .forEach(
+                        (stat, value) -> {
+                            Integer count =
+                                    derivedCounts.merge(
+                                            stat, sign, (a, b) -> a + b == 0 ? null : a + b);
+                            if (count == null) {
+                                // last contributor gone, drop it instead of keeping a rounding
+                                // remainder around
+                                derived.remove(stat);
+                            } else {
+                                derived.merge(stat, sign * value, Double::sum);
+                            }
+                        });
+        derivedChanged = true;
+    }
+
+    /** What changed since the last drain, derived is null when the modifiers did not change. */
+    @Value
+    public static class Delta {
+        Set<Status> added;
+        Set<Status> removed;
+        Map<String, Double> derived;
+    }
+}
@@ -0,0 +1,21 @@
+package server.attribute.status.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.micronaut.serde.annotation.Serdeable;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// statuses added and removed during a tick, one entry per actor and direction
+@Data
+@Serdeable
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude()
+@Builder
+public class StatusDeltaBatch {
+
+    List<ActorStatus> actorStatuses;
+}
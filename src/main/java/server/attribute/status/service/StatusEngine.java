@@ -0,0 +1,315 @@
+package server.attribute.status.service;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import server.attribute.stats.service.StatsService;
+import server.attribute.status.model.ActorStatus;
+import server.attribute.status.model.Status;
+import server.attribute.status.model.StatusAggregate;
+import server.attribute.status.model.StatusDeltaBatch;
+import server.attribute.status.repository.StatusRepository;
+import server.attribute.status.types.StatusTypes;
+import server.common.tick.TickListener;
+import server.common.tick.TimerWheel;
+import server.skills.service.SkillCastPool;
+import server.socket.producer.UpdateProducer;
+
+@Slf4j
+@Singleton
+public class StatusEngine implements TickListener {
+    // Live statuses per actor, kept in memory with their aggregated effects. Each status with an
+    // expiration has a timer on the wheel; whatever expired or changed during a tick is applied
+    // to stats, published to clients and written to the collection once, on the next tick.
+
+    @Inject StatusRepository statusRepository;
+
+    @Inject StatsService statsService;
+
+    @Inject UpdateProducer updateProducer;
+
+    @Inject TimerWheel timerWheel;
+
+    @Inject SkillCastPool skillCastPool;
+
+    private static final Duration LOAD_RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final Map<String, StatusAggregate> actors = new ConcurrentHashMap<>();
+    private final Map<String, CompletableSubject> loads = new ConcurrentHashMap<>();
+    private final Queue<Expired> expired = new ConcurrentLinkedQueue<>();
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+    private final Queue<StatusAggregate> reloads = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong publishedBatches = new AtomicLong();
+
+    public void initialize(String actorId) {
+        // a new actor has nothing stored, no need to read the collection
+        actors.put(actorId, new StatusAggregate(actorId, true));
+        changed.add(actorId);
+    }
+
+    public void add(String actorId, Collection<Status> statuses) {
+        StatusAggregate aggregate = aggregate(actorId);
+        boolean cannotCast = false;
+        for (Status status : statuses) {
+            aggregate.add(status);
+            scheduleExpiry(aggregate, status);
+            cannotCast |=
+                    status.getStatusEffects() != null
+                            && status.getStatusEffects()
+                                    .contains(StatusTypes.CANNOT_CAST.getType());
+        }
+        changed.add(actorId);
+
+        if (cannotCast) {
+            // stunned, silenced or dead mid channel
+            skillCastPool.interrupt(actorId);
+        }
+    }
+
+    public boolean remove(String actorId, Status status) {
+        StatusAggregate aggregate = actors.get(actorId);
+        if (aggregate == null || !aggregate.remove(status)) {
+            return false;
+        }
+        changed.add(actorId);
+
+        return true;
+    }
+
+    public Single<ActorStatus> getActorStatus(String actorId) {
+        StatusAggregate aggregate = aggregate(actorId);
+        Completable load = loads.get(actorId);
+        if (load == null) {
+            return Single.just(aggregate.toActorStatus());
+        }
+
+        // without the stored statuses the actor would look clean until the read completes
+        return load.andThen(Single.fromCallable(aggregate::toActorStatus));
+    }
+
+    public Set<String> getStatusEffects(String actorId) {
+        return aggregate(actorId).getStatusEffects();
+    }
+
+    public Map<String, Double> getDerived(String actorId) {
+        return aggregate(actorId).getDerived();
+    }
+
+    public void release(String actorId) {
+        StatusAggregate aggregate = actors.remove(actorId);
+        if (aggregate == null) {
+            return;
+        }
+        aggregate.cancelExpiries();
+        if (changed.remove(actorId)) {
+            // changes made since the last tick would be lost otherwise
+            persist(aggregate);
+        }
+    }
+
+    public void evict(String actorId) {
+        // for actors being deleted, nothing is written back
+        StatusAggregate aggregate = actors.remove(actorId);
+        if (aggregate != null) {
+            aggregate.cancelExpiries();
+        }
+        changed.remove(actorId);
+    }
+
+    @Override
+    public void onTick(long tick, Instant now) {
+        StatusAggregate reload;
+        while ((reload = reloads.poll()) != null) {
+            if (actors.get(reload.getActorId()) == reload) {
+                load(reload);
+            }
+        }
+
+        Expired entry;
+        while ((entry = expired.poll()) != null) {
+            if (remove(entry.getActorId(), entry.getStatus())) {
+                expiredCount.incrementAndGet();
+            }
+        }
+
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        List<ActorStatus> updates = new ArrayList<>();
+        for (String actorId : changed) {
+            changed.remove(actorId);
+            StatusAggregate aggregate = actors.get(actorId);
+            if (aggregate == null) {
+                continue;
+            }
+
+            StatusAggregate.Delta delta = aggregate.drain();
+            if (!delta.getAdded().isEmpty()) {
+                updates.add(new ActorStatus(actorId, delta.getAdded(), true));
+            }
+            if (!delta.getRemoved().isEmpty()) {
+                updates.add(new ActorStatus(actorId, delta.getRemoved(), false));
+            }
+            if (delta.getDerived() != null) {
+                statsService.updateStatusStats(actorId, delta.getDerived());
+            }
+            persist(aggregate);
+        }
+
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        try {
+            String actorIds =
+                    updates.stream()
+                            .map(ActorStatus::getActorId)
+                            .distinct()
+                            .collect(Collectors.joining(","));
+            updateProducer.updateStatuses(actorIds, new StatusDeltaBatch(updates));
+            publishedBatches.incrementAndGet();
+        } catch (Exception e) {
+            log.error("Failed to publish status batch, {}", e.getMessage());
+        }
+    }
+
+    public int getLiveActors() {
+        return actors.size();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    public long getPublishedBatches() {
+        return publishedBatches.get();
+    }
+
+    private StatusAggregate aggregate(String actorId) {
+        StatusAggregate aggregate = actors.get(actorId);
+        if (aggregate != null) {
+            return aggregate;
+        }
+
+        CompletableSubject load = CompletableSubject.create();
+        aggregate =
+                actors.computeIfAbsent(
+                        actorId,
+                        id -> {
+                            loads.put(id, load);
+                            return new StatusAggregate(id, false);
+                        });
+        if (loads.get(actorId) != load) {
+            // created by another thread, which also reads what is stored
+            return aggregate;
+        }
+
+        load(aggregate);
+
+        return aggregate;
+    }
+
+    private void load(StatusAggregate aggregate) {
+        // statuses stored by an earlier run are merged in when the read completes, until then
+        // the actor only has what was added here
+        String actorId = aggregate.getActorId();
+        statusRepository
+                .getActorStatuses(actorId)
+                .subscribe(
+                        stored -> merge(aggregate, stored.getActorStatuses()),
+                        err -> {
+                            if (err instanceof NoSuchElementException) {
+                                merge(aggregate, Set.of());
+                                return;
+                            }
+                            // stays unloaded and is not written, an empty write would replace
+                            // what is stored, read again on a later tick
+                            log.warn(
+                                    "Failed to load statuses of {}, retrying, {}",
+                                    actorId,
+                                    err.getMessage());
+                            timerWheel.schedule(
+                                    () -> reloads.add(aggregate),
+                                    LOAD_RETRY_DELAY.toMillis(),
+                                    TimeUnit.MILLISECONDS);
+                        });
+    }
+
+    private void merge(StatusAggregate aggregate, Set<Status> stored) {
+        String actorId = aggregate.getActorId();
+        Instant now = Instant.now();
+        for (Status status : stored) {
+            if (status.getExpiration() == null || status.getExpiration().isAfter(now)) {
+                aggregate.add(status);
+                scheduleExpiry(aggregate, status);
+            }
+        }
+        aggregate.markLoaded();
+        CompletableSubject load = loads.remove(actorId);
+        if (load != null) {
+            load.onComplete();
+        }
+        // written back without the statuses that expired while nobody held the actor
+        changed.add(actorId);
+    }
+
+    private void scheduleExpiry(StatusAggregate aggregate, Status status) {
+        if (status.getExpiration() == null) {
+            return;
+        }
+
+        // cancelled by the aggregate when the status is removed or replaced before it fires
+        String actorId = aggregate.getActorId();
+        long delay = Duration.between(Instant.now(), status.getExpiration()).toMillis();
+        aggregate.expireWith(
+                status,
+                timerWheel.schedule(
+                        () -> expired.add(new Expired(actorId, status)),
+                        delay,
+                        TimeUnit.MILLISECONDS));
+    }
+
+    private void persist(StatusAggregate aggregate) {
+        if (!aggregate.isLoaded()) {
+            // writing now would drop whatever is stored and not read yet
+            return;
+        }
+
+        statusRepository
+                .updateStatus(aggregate.getActorId(), aggregate.toActorStatus())
+                .subscribe(
+                        res -> {},
+                        err ->
+                                log.error(
+                                        "Failed to persist statuses of {}, {}",
+                                        aggregate.getActorId(),
+                                        err.getMessage()));
+    }
+
+    @Value
+    private static class Expired {
+        String actorId;
+        Status status;
+    }
+}
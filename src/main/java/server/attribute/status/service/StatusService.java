@@ -9,8 +9,6 @@ import lombok.extern.slf4j.Slf4j;
 import server.attribute.status.model.ActorStatus;
 import server.attribute.status.model.Status;
 import server.attribute.status.repository.StatusRepository;
-import server.session.SessionParamHelper;
-import server.socket.producer.UpdateProducer;
 
 @Singleton
 @Slf4j
@@ -18,55 +16,34 @@ public class StatusService {
 
     @Inject StatusRepository statusRepository;
 
-    @Inject UpdateProducer updateProducer;
+    @Inject StatusEngine statusEngine;
 
-    public ActorStatus getActorStatus(String actorId) {
-        return statusRepository.getActorStatuses(actorId).blockingGet();
+    public Single<ActorStatus> getActorStatus(String actorId) {
+        return statusEngine.getActorStatus(actorId);
     }
 
-    public void removeExpiredStatuses(ActorStatus actorStatus) {
-        Set<Status> removed = actorStatus.removeOldStatuses();
-        if (removed.isEmpty()) {
-            return;
-        }
-
-        actorStatus.getActorStatuses().removeAll(removed);
-        statusRepository.updateStatus(actorStatus.getActorId(), actorStatus);
-
-        ActorStatus update = new ActorStatus(actorStatus.getActorId(), removed, false);
-        // notify the user about removed statuses
-        updateProducer.updateStatus(update);
+    public Set<String> getStatusEffects(String actorId) {
+        return statusEngine.getStatusEffects(actorId);
     }
 
     public void addStatusToActor(Set<Status> statuses, String actorId) {
-        ActorStatus currentStatuses =
-                statusRepository
-                        .getActorStatuses(actorId)
-                        .doOnError(
-                                err -> {
-                                    log.error(err.getMessage());
-                                })
-                        .blockingGet();
-        currentStatuses.getActorStatuses().addAll(statuses);
-
-        statusRepository
-                .updateStatus(currentStatuses.getActorId(), currentStatuses)
-                .doOnError(err -> log.error(err.getMessage()))
-                .subscribe();
-
-        ActorStatus update = new ActorStatus(actorId, statuses, true);
-        updateProducer.updateStatus(update);
+        // applied in memory, stats, clients and the collection follow with the next tick
+        statusEngine.add(actorId, statuses);
     }
 
     public Single<DeleteResult> deleteActorStatus(String actorId) {
-        return statusRepository.deleteActorStatuses(actorId);
+        return Single.defer(
+                () -> {
+                    statusEngine.evict(actorId);
+                    return statusRepository.deleteActorStatuses(actorId);
+                });
     }
 
-    public void initializeStatus(String actorId) {
-        statusRepository
-                .updateStatus(actorId, new ActorStatus(actorId, Set.of(), false))
-                .doOnError(err -> log.error(err.getMessage()))
-                .subscribe();
+    public void releaseActorStatus(String actorId) {
+        statusEngine.release(actorId);
     }
 
+    public void initializeStatus(String actorId) {
+        statusEngine.initialize(actorId);
+    }
 }
@@ -52,4 +52,18 @@ public class CombatData {
     public Map<String, Instant> getActivatedSkills() {
         return activatedSkills == null ? new HashMap<>() : activatedSkills;
     }
+
+    /** Copy that shares no mutable state, the timestamps are immutable already. */
+    public CombatData copy() {
+        return new CombatData(
+                actorId,
+                mainHandLastAttack,
+                offhandLastAttack,
+                attackSent == null ? null : new HashMap<>(attackSent),
+                targets == null ? null : new HashSet<>(targets),
+                lastHelperNotification,
+                isPlayer,
+                activatedSkills == null ? null : new HashMap<>(activatedSkills),
+                combatState);
+    }
 }
@@ -0,0 +1,25 @@
+package server.combat.service;
+
+import java.util.Map;
+import lombok.Value;
+import server.attribute.stats.model.Stats;
+import server.combat.model.CombatData;
+import server.common.dto.Motion;
+import server.items.equippable.model.EquippedItems;
+
+/** What one combat tick reads, loaded for every engaged attacker and their targets together. */
+@Value
+class CombatPrefetch {
+
+    // attacker id -> its own copy of the shared combat data
+    Map<String, CombatData> combatData;
+
+    // attackers and targets, the live instances so damage is seen by later attackers
+    Map<String, Stats> stats;
+
+    // attackers and targets with a known position
+    Map<String, Motion> motions;
+
+    // player attacker id -> equipped items by category
+    Map<String, Map<String, EquippedItems>> equippedItems;
+}
@@ -0,0 +1,99 @@
+package server.combat.service;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import server.attribute.stats.model.Stats;
+import server.attribute.stats.service.StatsService;
+import server.combat.service.CombatRegistry.Engagement;
+import server.items.equippable.model.EquippedItems;
+import server.items.equippable.service.EquipItemService;
+import server.motion.repository.ActorMotionRepository;
+import server.session.SessionParamHelper;
+
+@Slf4j
+@Singleton
+public class CombatPrefetcher {
+    // Loads everything a combat tick needs in one pass before any attack is resolved: combat
+    // data with a single Redis MGET, then stats, motion and equipped items of every attacker and
+    // target in parallel. Nothing here blocks the calling thread.
+
+    @Inject SessionParamHelper sessionParamHelper;
+
+    @Inject StatsService statsService;
+
+    @Inject ActorMotionRepository actorMotionRepository;
+
+    @Inject EquipItemService equipItemService;
+
+    @Inject
+    @Named(CombatSchedulerFactory.COMBAT)
+    Scheduler combatScheduler;
+
+    Single<CombatPrefetch> prefetch(Collection<Engagement> engagements) {
+        Set<String> attackers =
+                engagements.stream().map(Engagement::getActorId).collect(Collectors.toSet());
+        Set<String> players =
+                engagements.stream()
+                        .filter(Engagement::isPlayer)
+                        .map(Engagement::getActorId)
+                        .collect(Collectors.toSet());
+
+        return Single.defer(() -> sessionParamHelper.fetchSharedActorCombatData(attackers))
+                .flatMap(
+                        combatData -> {
+                            Set<String> actors = new HashSet<>(attackers);
+                            combatData.values().forEach(data -> actors.addAll(data.getTargets()));
+
+                            return Single.zip(
+                                    fetchStats(actors),
+                                    actorMotionRepository.fetchActorMotions(actors),
+                                    fetchEquippedItems(players),
+                                    (stats, motions, items) ->
+                                            new CombatPrefetch(combatData, stats, motions, items));
+                        })
+                .subscribeOn(combatScheduler);
+    }
+
+    private Single<Map<String, Stats>> fetchStats(Set<String> actorIds) {
+        return Flowable.fromIterable(actorIds)
+                .flatMapMaybe(this::fetchStats)
+                .toMap(Stats::getActorId);
+    }
+
+    private Maybe<Stats> fetchStats(String actorId) {
+        // an actor without stats is left out, it is skipped as a target and disengaged as an
+        // attacker
+        return statsService
+                .getStatsFor(actorId)
+                .toMaybe()
+                .onErrorResumeNext(
+                        err -> {
+                            log.warn("Failed to load stats for {}, {}", actorId, err.getMessage());
+                            return Maybe.empty();
+                        });
+    }
+
+    private Single<Map<String, Map<String, EquippedItems>>> fetchEquippedItems(
+            Set<String> playerIds) {
+        // per actor so each lookup is served by the equip cache, which is invalidated per actor
+        return Flowable.fromIterable(playerIds)
+                .flatMapSingle(
+                        actorId ->
+                                equipItemService
+                                        .getEquippedItemsMap(actorId)
+                                        .onErrorReturnItem(Map.of())
+                                        .map(items -> Map.entry(actorId, items)))
+                .toMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+}
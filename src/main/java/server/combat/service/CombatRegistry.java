@@ -0,0 +1,51 @@
+package server.combat.service;
+
+import io.micronaut.websocket.WebSocketSession;
+import jakarta.inject.Singleton;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Value;
+
+@Singleton
+public class CombatRegistry {
+    // actors with auto attack engaged, processed every world tick by CombatTickHandler.
+    // keyed by actor so repeated attack requests don't start extra loops.
+
+    private final Map<String, Engagement> engaged = new ConcurrentHashMap<>();
+
+    public void engage(String actorId, WebSocketSession session) {
+        engaged.put(actorId, new Engagement(actorId, session));
+    }
+
+    public void disengage(String actorId) {
+        if (actorId == null) {
+            return;
+        }
+        engaged.remove(actorId);
+    }
+
+    public boolean isEngaged(String actorId) {
+        return actorId != null && engaged.containsKey(actorId);
+    }
+
+    public Collection<Engagement> getEngaged() {
+        return engaged.values();
+    }
+
+    public boolean isEmpty() {
+        return engaged.isEmpty();
+    }
+
+    @Value
+    public static class Engagement {
+        String actorId;
+
+        // only players have a session, mobs are driven by the server
+        WebSocketSession session;
+
+        public boolean isPlayer() {
+            return session != null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package server.combat.service;
+
+import io.micronaut.context.annotation.Factory;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.util.concurrent.ExecutorService;
+
+@Factory
+public class CombatSchedulerFactory {
+
+    public static final String COMBAT = "combat";
+
+    // Combat passes are started and timer wheel tasks run on the single thread of
+    // micronaut.executors.combat, attacks themselves are resolved by the world shard of the
+    // attacker's map.
+    @Singleton
+    @Named(COMBAT)
+    public Scheduler combatScheduler(@Named(COMBAT) ExecutorService executorService) {
+        return Schedulers.from(executorService);
+    }
+}
@@ -1,14 +1,16 @@
 package server.combat.service;
 
 import io.micronaut.websocket.WebSocketSession;
-import io.netty.util.internal.ConcurrentSet;
+import io.reactivex.rxjava3.core.Completable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import server.attribute.stats.model.Stats;
 import server.attribute.stats.service.StatsService;
@@ -16,19 +18,21 @@ import server.attribute.stats.types.StatsTypes;
 import server.combat.model.CombatData;
 import server.combat.model.CombatRequest;
 import server.common.dto.Motion;
-import server.items.equippable.service.EquipItemService;
+import server.common.shard.WorldShards;
+import server.items.equippable.model.EquippedItems;
 import server.monster.server_integration.service.MobInstanceService;
-import server.motion.repository.ActorMotionRepository;
 import server.session.SessionParamHelper;
+import server.skills.service.SkillCastPool;
 import server.socket.model.SocketResponse;
 import server.socket.model.SocketResponseType;
 import server.socket.service.ClientUpdatesService;
+import server.socket.v2.codec.ActorHandleRegistry;
 
 @Slf4j
 @Singleton
 public class CombatService {
 
-    final ConcurrentSet<String> sessionsInCombat = new ConcurrentSet<>();
+    @Inject CombatRegistry combatRegistry;
 
     @Inject MobInstanceService mobInstanceService;
 
@@ -38,30 +42,50 @@ public class CombatService {
 
     @Inject ClientUpdatesService clientUpdatesService;
 
-    @Inject ActorMotionRepository actorMotionRepository;
+    @Inject ActorHandleRegistry actorHandleRegistry;
 
-    @Inject EquipItemService equipItemService;
+    @Inject WorldShards worldShards;
+
+    @Inject SkillCastPool skillCastPool;
+
+    @Value
+    static class CombatTarget {
+        Stats stats;
+        Motion motion; // null when the target has no known position
+    }
+
+    @Value
+    static class Attacker {
+        Stats stats;
+        Optional<Motion> optionalMotion;
+        Map<String, EquippedItems> items; // empty for mobs
+        List<CombatTarget> targets;
+
+        Motion getMotion() {
+            return optionalMotion.orElse(null);
+        }
+    }
+
+    Completable onShard(Attacker attacker, Runnable resolve) {
+        // attackers of one map are resolved one at a time, maps of other shards in parallel
+        return worldShards.run(WorldShards.mapOf(attacker.getMotion()), resolve);
+    }
 
     boolean validatePositionLocation(
             CombatData combatData,
             Motion attackerMotion,
-            String target,
+            CombatTarget target,
             int distanceThreshold,
             WebSocketSession session) {
-        // TODO: Refactor mob/player motion calls
-        // TODO: Make async
-
-        Motion targetMotion =
-                actorMotionRepository
-                        .fetchActorMotion(target)
-                        .doOnError(err -> log.error(err.getMessage()))
-                        .blockingGet();
-
+        Motion targetMotion = target.getMotion();
         if (targetMotion == null) {
-            combatData.getTargets().remove(target);
+            combatData.getTargets().remove(target.getStats().getActorId());
 
             return false;
         }
+        if (attackerMotion == null) {
+            return false;
+        }
 
         boolean inRange = attackerMotion.withinRange(targetMotion, distanceThreshold);
         boolean facingTarget = attackerMotion.facingMotion(targetMotion);
@@ -93,14 +117,26 @@ public class CombatService {
         return true;
     }
 
-    List<Stats> getTargetStats(Set<String> actors) {
-        // TODO: Make async, get from cache
-        if (actors.isEmpty()) {
-            return new ArrayList<>();
+    Attacker attackerOf(String actorId, CombatData combatData, CombatPrefetch prefetch) {
+        Stats stats = prefetch.getStats().get(actorId);
+        if (stats == null) {
+            return null;
         }
-        return actors.stream()
-                .map(actor -> statsService.getStatsFor(actor).blockingGet())
-                .collect(Collectors.toList());
+
+        // targets without stats and dead targets are dropped
+        List<CombatTarget> targets = new ArrayList<>();
+        for (String targetId : combatData.getTargets()) {
+            Stats target = prefetch.getStats().get(targetId);
+            if (target != null && target.getDerived(StatsTypes.CURRENT_HP) > 0.0) {
+                targets.add(new CombatTarget(target, prefetch.getMotions().get(targetId)));
+            }
+        }
+
+        return new Attacker(
+                stats,
+                Optional.ofNullable(prefetch.getMotions().get(actorId)),
+                prefetch.getEquippedItems().getOrDefault(actorId, Map.of()),
+                targets);
     }
 
     void requestSessionsToSwingWeapon(String itemInstanceId, String actorId) {
@@ -122,12 +158,15 @@ public class CombatService {
         if (stats.getDerived(StatsTypes.CURRENT_HP) > 0.0) {
             return;
         }
+        skillCastPool.stop(stats.getActorId());
 
         if (stats.isPlayer()) {
             // TODO: implement player death
             statsService.addHealth(stats, 300.0);
         } else {
+            combatRegistry.disengage(stats.getActorId());
             mobInstanceService.handleMobDeath(stats.getActorId());
+            actorHandleRegistry.release(stats.getActorId());
             sessionParamHelper.setSharedActorCombatData(stats.getActorId(), null);
 
             notifyClientsToRemoveMobs(stats.getActorId());
@@ -0,0 +1,80 @@
+package server.combat.service;
+
+import io.reactivex.rxjava3.core.Completable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import server.combat.service.CombatRegistry.Engagement;
+import server.common.tick.TickListener;
+
+@Slf4j
+@Singleton
+public class CombatTickHandler implements TickListener {
+
+    @Inject CombatRegistry combatRegistry;
+
+    @Inject CombatPrefetcher combatPrefetcher;
+
+    @Inject PlayerCombatService playerCombatService;
+
+    @Inject MobCombatService mobCombatService;
+
+    // attackers whose previous pass is still loading or resolving, they skip this tick
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void onTick(long tick, Instant now) {
+        if (combatRegistry.isEmpty()) {
+            return;
+        }
+
+        List<Engagement> starting = new ArrayList<>();
+        for (Engagement engagement : combatRegistry.getEngaged()) {
+            if (inFlight.add(engagement.getActorId())) {
+                starting.add(engagement);
+            }
+        }
+        if (starting.isEmpty()) {
+            return;
+        }
+
+        // the tick thread only starts the prefetch, the lookups for every attacker and target
+        // are made together and each attack is then resolved by its shard. Stats are the live
+        // instances held in memory, so damage from one attacker is visible to the next.
+        combatPrefetcher
+                .prefetch(starting)
+                .subscribe(
+                        prefetch -> starting.forEach(engagement -> start(engagement, prefetch)),
+                        err -> {
+                            log.error("Combat prefetch failed, {}", err.getMessage());
+                            starting.forEach(e -> inFlight.remove(e.getActorId()));
+                        });
+    }
+
+    private void start(Engagement engagement, CombatPrefetch prefetch) {
+        String actorId = engagement.getActorId();
+        Completable pass =
+                Completable.defer(
+                        () ->
+                                engagement.isPlayer()
+                                        ? playerCombatService.processTick(
+                                                engagement.getSession(), prefetch)
+                                        : mobCombatService.processTick(actorId, prefetch));
+
+        pass.doFinally(() -> inFlight.remove(actorId))
+                .subscribe(
+                        () -> {},
+                        err -> {
+                            log.error(
+                                    "Combat tick failed for {}, disengaging. {}",
+                                    actorId,
+                                    err.getMessage());
+                            combatRegistry.disengage(actorId);
+                        });
+    }
+}
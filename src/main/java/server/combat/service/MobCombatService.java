@@ -3,21 +3,18 @@ package server.combat.service;
 import static server.attribute.stats.types.StatsTypes.PHY_AMP;
 import static server.attribute.stats.types.StatsTypes.WEAPON_DAMAGE;
 
-import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.Completable;
 import jakarta.inject.Singleton;
 import java.time.Instant;
-import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Random;
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import server.attribute.stats.model.Stats;
 import server.attribute.stats.types.DamageTypes;
 import server.attribute.stats.types.StatsTypes;
 import server.combat.model.CombatData;
 import server.combat.model.CombatRequest;
-import server.common.dto.Motion;
 
 @Slf4j
 @Singleton
@@ -34,26 +31,27 @@ public class MobCombatService extends CombatService {
         CombatData combatData = sessionParamHelper.getSharedActorCombatData(actorId);
         combatData.setTargets(combatRequest.getTargets());
 
-        sessionsInCombat.add(actorId);
         sessionParamHelper.setSharedActorCombatData(actorId, combatData);
-        attackLoop(actorId);
+        combatRegistry.engage(actorId, null);
     }
 
     public void requestStopAttack(String actorId) {
-        sessionsInCombat.remove(actorId);
+        combatRegistry.disengage(actorId);
     }
 
-    public void tryAttack(String actorId, Stats target, boolean isMainHand) {
-        // Extract relevant combat data
-        CombatData combatData = sessionParamHelper.getSharedActorCombatData(actorId);
-        Stats actorStats = statsService.getStatsFor(actorId).blockingGet();
-        Map<String, Double> derivedStats = actorStats.getDerivedStats();
+    void tryAttack(
+            String actorId,
+            CombatData combatData,
+            Attacker attacker,
+            CombatTarget combatTarget,
+            boolean isMainHand) {
+        Stats target = combatTarget.getStats();
+        Map<String, Double> derivedStats = attacker.getStats().getDerivedStats();
         int distanceThreshold = 200;
-        Motion attackerMotion = actorMotionRepository.fetchActorMotion(actorId).blockingGet();
 
         boolean valid =
                 validatePositionLocation(
-                        combatData, attackerMotion, target.getActorId(), distanceThreshold, null);
+                        combatData, attacker.getMotion(), combatTarget, distanceThreshold, null);
 
         if (!valid) {
             return;
@@ -115,37 +113,36 @@ public class MobCombatService extends CombatService {
         }
     }
 
-    void attackLoop(String actorId) {
-        CombatData combatData = sessionParamHelper.getSharedActorCombatData(actorId);
+    Completable processTick(String actorId, CombatPrefetch prefetch) {
+        // everything was loaded by the prefetch for this tick, the attack is resolved by the
+        // shard owning the attacker's map
+        CombatData combatData = prefetch.getCombatData().get(actorId);
         if (combatData == null) {
             // mob likely died, later we can specify death state to be certain instead.
-            sessionsInCombat.remove(actorId);
+            combatRegistry.disengage(actorId);
+            return Completable.complete();
+        }
+        Attacker attacker = attackerOf(actorId, combatData, prefetch);
+        if (attacker == null) {
+            return Completable.error(new NoSuchElementException("No stats for " + actorId));
         }
 
-        Set<String> targets = combatData.getTargets();
-
-        List<Stats> targetStats = getTargetStats(targets);
+        return onShard(attacker, () -> resolveAttacks(actorId, combatData, attacker));
+    }
 
-        if (targetStats.isEmpty()) {
+    private void resolveAttacks(String actorId, CombatData combatData, Attacker attacker) {
+        if (attacker.getTargets().isEmpty()) {
             log.warn("Target stats empty");
-            sessionsInCombat.remove(actorId);
+            combatRegistry.disengage(actorId);
             return;
         }
 
-        targetStats.forEach(
-                stat -> {
-                    tryAttack(actorId, stat, true);
-                    //            tryAttack(session, stat, "OFF_HAND");
-                });
-
-        Single.fromCallable(
-                        () -> {
-                            attackLoop(actorId);
-                            return true;
-                        })
-                .delaySubscription(100, TimeUnit.MILLISECONDS)
-                .doOnError(er -> log.error("Error encountered, {}", er.getMessage()))
-                .subscribe();
+        attacker.getTargets()
+                .forEach(
+                        target -> {
+                            tryAttack(actorId, combatData, attacker, target, true);
+                            //            tryAttack(session, stat, "OFF_HAND");
+                        });
     }
 
     private void requestAttackSwing(String actorId, CombatData combatData, boolean isMainHand) {
@@ -4,15 +4,14 @@ import static server.attribute.stats.types.StatsTypes.PHY_AMP;
 import static server.attribute.stats.types.StatsTypes.WEAPON_DAMAGE;
 
 import io.micronaut.websocket.WebSocketSession;
-import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.Completable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Random;
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import server.attribute.stats.model.Stats;
 import server.attribute.stats.types.DamageTypes;
@@ -20,7 +19,6 @@ import server.attribute.stats.types.StatsTypes;
 import server.combat.model.CombatData;
 import server.combat.model.CombatRequest;
 import server.combat.model.CombatState;
-import server.common.dto.Motion;
 import server.items.equippable.model.EquippedItems;
 import server.session.SessionParamHelper;
 import server.socket.service.ClientUpdatesService;
@@ -41,46 +39,46 @@ public class PlayerCombatService extends CombatService {
                 sessionParamHelper.getSharedActorCombatData(SessionParamHelper.getActorId(session));
         combatData.setTargets(combatRequest.getTargets());
 
-        sessionsInCombat.add(SessionParamHelper.getActorId(session));
         sessionParamHelper.setSharedActorCombatData(
                 SessionParamHelper.getActorId(session), combatData);
-        attackLoop(session, combatData.getActorId());
+        combatRegistry.engage(SessionParamHelper.getActorId(session), session);
     }
 
     public void requestStopAttack(String actorId) {
-        sessionsInCombat.remove(actorId);
+        combatRegistry.disengage(actorId);
     }
 
-    public void tryAttack(WebSocketSession session, Stats target, boolean isMainHand) {
-        // Extract relevant combat data
-        String actorId = SessionParamHelper.getActorId(session);
-        CombatData combatData = sessionParamHelper.getSharedActorCombatData(actorId);
-        Map<String, EquippedItems> items =
-                equipItemService.getEquippedItemsMap(actorId).blockingGet();
-        Stats actorStats = statsService.getStatsFor(actorId).blockingGet();
-        Map<String, Double> derivedStats = actorStats.getDerivedStats();
+    void tryAttack(
+            WebSocketSession session,
+            String actorId,
+            CombatData combatData,
+            Attacker attacker,
+            CombatTarget combatTarget,
+            boolean isMainHand) {
+        Stats target = combatTarget.getStats();
+        Map<String, Double> derivedStats = attacker.getStats().getDerivedStats();
 
         // Get the equipped weapon
-        EquippedItems weapon = isMainHand ? items.get("WEAPON") : items.get("SHIELD");
+        EquippedItems weapon =
+                isMainHand ? attacker.getItems().get("WEAPON") : attacker.getItems().get("SHIELD");
         if (weapon == null) {
             return;
         }
+        String itemInstanceId = weapon.getItemInstance().getItemInstanceId();
 
         int distanceThreshold =
                 weapon.getAttackDistance() == null
                         ? 200
                         : (int) (double) weapon.getAttackDistance();
 
-        Motion attackerMotion = actorMotionRepository.fetchActorMotion(actorId).blockingGet();
-
         boolean valid = actorCombatStateValid(combatData.getCombatState());
 
         valid =
                 valid
                         && validatePositionLocation(
                                 combatData,
-                                attackerMotion,
-                                target.getActorId(),
+                                attacker.getMotion(),
+                                combatTarget,
                                 distanceThreshold,
                                 session);
 
@@ -93,7 +91,7 @@ public class PlayerCombatService extends CombatService {
         // TODO: this is for demo, needs changing
         if (lastHit == null || lastHit.isBefore(Instant.now().minusSeconds(4))) {
             lastHit = Instant.now().minusSeconds(4);
-            requestAttackSwing(session, combatData, isMainHand);
+            requestAttackSwing(actorId, itemInstanceId, combatData, isMainHand);
         }
 
         Double baseSpeed =
@@ -114,7 +112,7 @@ public class PlayerCombatService extends CombatService {
             // Get derived stats and equipped items
 
             if (!combatData.getAttackSent().getOrDefault(isMainHand ? "MAIN" : "OFF", false)) {
-                requestAttackSwing(session, combatData, isMainHand);
+                requestAttackSwing(actorId, itemInstanceId, combatData, isMainHand);
             }
 
             combatData.getAttackSent().put(isMainHand ? "MAIN" : "OFF", false);
@@ -140,52 +138,50 @@ public class PlayerCombatService extends CombatService {
         // Check if the next attack time is before the current time
         if (nextAttackTime.isBefore(Instant.now().plusMillis(100))) {
             // send a swing action as we're about to hit - we don't know if we will hit or miss yet
-            requestAttackSwing(session, combatData, isMainHand);
+            requestAttackSwing(actorId, itemInstanceId, combatData, isMainHand);
             sessionParamHelper.setSharedActorCombatData(actorId, combatData);
         }
     }
 
-    void attackLoop(WebSocketSession session, String actorId) {
-        CombatData combatData = sessionParamHelper.getSharedActorCombatData(actorId);
-        Set<String> targets = combatData.getTargets();
+    Completable processTick(WebSocketSession session, CombatPrefetch prefetch) {
+        // everything was loaded by the prefetch for this tick, the attack is resolved by the
+        // shard owning the attacker's map
+        String actorId = SessionParamHelper.getActorId(session);
+        CombatData combatData = prefetch.getCombatData().get(actorId);
+        if (combatData == null) {
+            // nothing to attack with, e.g. released on disconnect
+            combatRegistry.disengage(actorId);
+            return Completable.complete();
+        }
+        Attacker attacker = attackerOf(actorId, combatData, prefetch);
+        if (attacker == null) {
+            return Completable.error(new NoSuchElementException("No stats for " + actorId));
+        }
 
-        List<Stats> targetStats = getTargetStats(targets);
+        return onShard(attacker, () -> resolveAttacks(session, actorId, combatData, attacker));
+    }
 
-        if (targetStats.isEmpty()) {
+    private void resolveAttacks(
+            WebSocketSession session, String actorId, CombatData combatData, Attacker attacker) {
+        if (attacker.getTargets().isEmpty()) {
             log.warn("Target stats empty");
-            sessionsInCombat.remove(SessionParamHelper.getActorId(session));
+            combatRegistry.disengage(actorId);
             return;
         }
 
-        targetStats.forEach(
-                target -> {
-                    tryAttack(session, target, true);
-                    //            tryAttack(session, stat, "OFF_HAND");
-                });
-
-        Single.fromCallable(
-                        () -> {
-                            attackLoop(session, SessionParamHelper.getActorId(session));
-                            return true;
-                        })
-                .delaySubscription(100, TimeUnit.MILLISECONDS)
-                .doOnError(er -> log.error("Error encountered, {}", er.getMessage()))
-                .subscribe();
+        attacker.getTargets()
+                .forEach(
+                        target -> {
+                            tryAttack(session, actorId, combatData, attacker, target, true);
+                            //            tryAttack(session, stat, "OFF_HAND");
+                        });
     }
 
     private void requestAttackSwing(
-            WebSocketSession session, CombatData combatData, boolean isMainHand) {
-        String actorId = SessionParamHelper.getActorId(session);
-        Map<String, EquippedItems> items =
-                equipItemService.getEquippedItemsMap(actorId).blockingGet();
-
-        // Get the equipped weapon
-        EquippedItems weapon = isMainHand ? items.get("WEAPON") : items.get("SHIELD");
-        String itemInstanceId = weapon.getItemInstance().getItemInstanceId();
-
+            String actorId, String itemInstanceId, CombatData combatData, boolean isMainHand) {
         combatData.getAttackSent().put(isMainHand ? "MAIN" : "OFF", true);
 
-        requestSessionsToSwingWeapon(itemInstanceId, SessionParamHelper.getActorId(session));
+        requestSessionsToSwingWeapon(itemInstanceId, actorId);
     }
 
     List<String> validAttackStates =
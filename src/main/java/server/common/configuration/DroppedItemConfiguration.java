@@ -0,0 +1,13 @@
+package server.common.configuration;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import java.time.Duration;
+import lombok.Data;
+
+@ConfigurationProperties("dropped-items")
+@Data
+public class DroppedItemConfiguration {
+
+    // items left on the ground longer than this are removed
+    private Duration ttl = Duration.ofSeconds(60);
+}
@@ -0,0 +1,15 @@
+package server.common.configuration;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Data;
+
+@ConfigurationProperties("interest")
+@Data
+public class InterestConfiguration {
+
+    // interest is re-evaluated when an actor enters another cell of this size
+    private int cellSize = 1_000;
+
+    // or moves further than this from where it was last evaluated
+    private int hysteresis = 250;
+}
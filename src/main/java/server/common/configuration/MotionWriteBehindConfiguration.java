@@ -0,0 +1,21 @@
+package server.common.configuration;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import java.time.Duration;
+import lombok.Data;
+
+@ConfigurationProperties("motion-write-behind")
+@Data
+public class MotionWriteBehindConfiguration {
+
+    // max number of updates sent in a single bulkWrite
+    private int batchSize = 500;
+
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    // how often the flush metrics are logged
+    private Duration reportInterval = Duration.ofSeconds(60);
+
+    // how long shutdown waits for the final flush
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+}
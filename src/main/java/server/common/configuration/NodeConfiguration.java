@@ -0,0 +1,20 @@
+package server.common.configuration;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import java.time.Duration;
+import lombok.Data;
+
+@ConfigurationProperties("node")
+@Data
+public class NodeConfiguration {
+
+    // identifies this server instance, must be unique and stable per node behind the balancer
+    private String id = "local";
+
+    // how often the sessions hosted here are published again while they stay connected
+    private Duration sessionHeartbeat = Duration.ofSeconds(10);
+
+    // sessions of other nodes not published again within this are treated as gone, as when the
+    // hosting node crashed without closing them
+    private Duration sessionTimeout = Duration.ofSeconds(30);
+}
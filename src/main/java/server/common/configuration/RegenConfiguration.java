@@ -0,0 +1,13 @@
+package server.common.configuration;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import java.time.Duration;
+import lombok.Data;
+
+@ConfigurationProperties("regen")
+@Data
+public class RegenConfiguration {
+
+    // HP_REGEN and MP_REGEN are applied once per interval
+    private Duration interval = Duration.ofSeconds(1);
+}
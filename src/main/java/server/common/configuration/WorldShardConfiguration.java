@@ -0,0 +1,17 @@
+package server.common.configuration;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+
+@ConfigurationProperties("world-shards")
+@Data
+public class WorldShardConfiguration {
+
+    // one worker thread per shard
+    private int count = 4;
+
+    // map -> shard, maps not listed are spread by the hash of their name
+    private Map<String, Integer> assignments = new HashMap<>();
+}
@@ -0,0 +1,13 @@
+package server.common.configuration;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import java.time.Duration;
+import lombok.Data;
+
+@ConfigurationProperties("world-tick")
+@Data
+public class WorldTickConfiguration {
+
+    // 20Hz by default, also used as the budget a single tick should fit in
+    private Duration rate = Duration.ofMillis(50);
+}
@@ -0,0 +1,53 @@
+package server.common.configuration.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.codec.RedisCodec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+// Keys are encoded like the other Jackson codecs, values are written as already serialized bytes.
+// Lets callers serialize on their own thread before handing the command to the async connection.
+public class PreEncodedValueCodec implements RedisCodec<String, byte[]> {
+
+    private final ObjectMapper objectMapper;
+
+    public PreEncodedValueCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String decodeKey(final ByteBuffer bytes) {
+        try {
+            byte[] keyBytes = new byte[bytes.remaining()];
+            bytes.get(keyBytes);
+
+            return objectMapper.readValue(keyBytes, String.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public byte[] decodeValue(final ByteBuffer bytes) {
+        byte[] dataBytes = new byte[bytes.remaining()];
+        bytes.get(dataBytes);
+
+        return dataBytes;
+    }
+
+    @Override
+    public ByteBuffer encodeKey(String key) {
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(key);
+            return ByteBuffer.wrap(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ByteBuffer encodeValue(byte[] value) {
+        return ByteBuffer.wrap(value);
+    }
+}
@@ -0,0 +1,36 @@
+package server.common.kafka;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class BatchConflation {
+    // Records for the same key within one poll are superseded by the last one, so for state
+    // updates like motion only the latest per key needs to be applied and forwarded.
+
+    private BatchConflation() {}
+
+    public static <T> List<T> latestPerKey(List<T> records, Function<T, String> keyOf) {
+        if (records == null || records.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, T> latest = new LinkedHashMap<>();
+        for (T record : records) {
+            if (record == null) {
+                continue;
+            }
+            String key = keyOf.apply(record);
+            if (key == null) {
+                continue;
+            }
+            // remove first so the entry moves to the position of its latest record
+            latest.remove(key);
+            latest.put(key, record);
+        }
+
+        return new ArrayList<>(latest.values());
+    }
+}
@@ -0,0 +1,79 @@
+package server.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/** Counters for a write-behind flusher: batch sizes, flush latency and what is left to write. */
+public class WriteBehindMetrics {
+
+    private final IntSupplier backlog;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private volatile int lastBatchSize;
+    private volatile long lastFlushLatencyNanos;
+    private volatile long maxFlushLatencyNanos;
+
+    public WriteBehindMetrics(IntSupplier backlog) {
+        this.backlog = backlog;
+    }
+
+    public void recordBatch(int size, long latencyNanos) {
+        batches.incrementAndGet();
+        written.addAndGet(size);
+        lastBatchSize = size;
+        lastFlushLatencyNanos = latencyNanos;
+        if (latencyNanos > maxFlushLatencyNanos) {
+            maxFlushLatencyNanos = latencyNanos;
+        }
+    }
+
+    public void recordFailure() {
+        failures.incrementAndGet();
+    }
+
+    public int getBacklog() {
+        return backlog.getAsInt();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public long getLastFlushLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastFlushLatencyNanos);
+    }
+
+    public long getMaxFlushLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxFlushLatencyNanos);
+    }
+
+    // one line for the periodic report of the flush job
+    public String summary() {
+        return String.format(
+                "backlog %d, batches %d, written %d, failures %d, last batch %d, last flush %dms,"
+                        + " max flush %dms",
+                getBacklog(),
+                getBatches(),
+                getWritten(),
+                getFailures(),
+                getLastBatchSize(),
+                getLastFlushLatencyMillis(),
+                getMaxFlushLatencyMillis());
+    }
+}
@@ -0,0 +1,150 @@
+package server.common.mongo;
+
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.reactivestreams.client.MongoClient;
+import io.micronaut.context.annotation.Context;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import jakarta.inject.Inject;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.conversions.Bson;
+import server.common.configuration.MongoConfiguration;
+
+/**
+ * Declares the indexes behind the lookups the repositories run and ensures them when the server
+ * starts. Creating an index that already exists is a no-op, so this is safe on every node and
+ * every restart. Range lookups on positions put the equality fields first and the coordinates
+ * last, the order the planner can bound the scan with.
+ */
+@Slf4j
+@Context
+public class MongoIndexManager {
+
+    public static final String ACTOR_ID = "actorId_unique";
+    public static final String ITEM_ID = "itemId_unique";
+    public static final String ITEM_INSTANCE_ID = "itemInstanceId_unique";
+    public static final String EQUIPPED_ITEM_INSTANCE_ID = "itemInstance.itemInstanceId_unique";
+    public static final String ACTOR_SLOT = "actorId_category";
+    public static final String ACTOR_ACTIONBAR = "actorId_actionbarId";
+    public static final String CHARACTER_NAME = "name_unique";
+    public static final String ACCOUNT_NAME = "accountName";
+    public static final String ONLINE_UPDATED_AT = "isOnline_updatedAt";
+    public static final String UPDATED_AT = "updatedAt";
+    public static final String ONLINE_NEARBY = "motion.map_isOnline_motion.x_motion.y";
+    public static final String NEARBY = "motion.map_motion.x_motion.y";
+
+    @Inject MongoConfiguration configuration;
+
+    @Inject MongoClient mongoClient;
+
+    @PostConstruct
+    void ensureOnStartup() {
+        ensureIndexes()
+                .subscribe(
+                        () -> log.info("Mongo indexes are in place"),
+                        e -> log.error("Failed to ensure mongo indexes, {}", e.getMessage()));
+    }
+
+    public Completable ensureIndexes() {
+        // one index at a time, a failing index (e.g. duplicates under a unique key) is logged and
+        // does not keep the others from being built
+        return Flowable.fromIterable(declarations().entrySet())
+                .concatMapCompletable(
+                        declared ->
+                                Flowable.fromIterable(declared.getValue())
+                                        .concatMapCompletable(
+                                                index -> ensure(declared.getKey(), index)));
+    }
+
+    public Map<String, List<IndexModel>> declarations() {
+        Map<String, List<IndexModel>> indexes = new LinkedHashMap<>();
+
+        indexes.put(configuration.getActorStats(), List.of(uniqueActorId()));
+        indexes.put(configuration.getActorStatus(), List.of(uniqueActorId()));
+        indexes.put(configuration.getActorSkills(), List.of(uniqueActorId()));
+        indexes.put(configuration.getInventoryCollection(), List.of(uniqueActorId()));
+        indexes.put(
+                configuration.getEquipCollection(),
+                List.of(
+                        index(Indexes.ascending("actorId", "category"), ACTOR_SLOT),
+                        unique(
+                                Indexes.ascending("itemInstance.itemInstanceId"),
+                                EQUIPPED_ITEM_INSTANCE_ID)));
+        indexes.put(
+                configuration.getActionbar(),
+                List.of(index(Indexes.ascending("actorId", "actionbarId"), ACTOR_ACTIONBAR)));
+
+        indexes.put(
+                configuration.getItemsCollection(),
+                List.of(unique(Indexes.ascending("itemId"), ITEM_ID)));
+        indexes.put(configuration.getItemInstancesCollection(), List.of(uniqueItemInstanceId()));
+        indexes.put(configuration.getDroppedItemsCollection(), List.of(uniqueItemInstanceId()));
+
+        indexes.put(
+                configuration.getPlayerCharacterCollection(),
+                List.of(
+                        unique(Indexes.ascending("name"), CHARACTER_NAME),
+                        index(Indexes.ascending("accountName"), ACCOUNT_NAME),
+                        onlineUpdatedAt()));
+        indexes.put(
+                configuration.getPlayerMotion(),
+                List.of(
+                        uniqueActorId(),
+                        index(
+                                Indexes.ascending("motion.map", "isOnline", "motion.x", "motion.y"),
+                                ONLINE_NEARBY),
+                        onlineUpdatedAt()));
+        indexes.put(
+                configuration.getMobInstance(),
+                List.of(
+                        uniqueActorId(),
+                        index(Indexes.ascending("motion.map", "motion.x", "motion.y"), NEARBY),
+                        index(Indexes.ascending("updatedAt"), UPDATED_AT)));
+
+        return indexes;
+    }
+
+    private Completable ensure(String collection, IndexModel index) {
+        return Flowable.fromPublisher(
+                        mongoClient
+                                .getDatabase(configuration.getDatabaseName())
+                                .getCollection(collection)
+                                .createIndexes(List.of(index)))
+                .ignoreElements()
+                .doOnError(
+                        e ->
+                                log.error(
+                                        "Failed to create index {} on {}, {}",
+                                        index.getOptions().getName(),
+                                        collection,
+                                        e.getMessage()))
+                .onErrorComplete();
+    }
+
+    private static IndexModel uniqueActorId() {
+        return unique(Indexes.ascending("actorId"), ACTOR_ID);
+    }
+
+    private static IndexModel uniqueItemInstanceId() {
+        return unique(Indexes.ascending("itemInstanceId"), ITEM_INSTANCE_ID);
+    }
+
+    private static IndexModel onlineUpdatedAt() {
+        // logout sweeps look for online players not updated since a cutoff
+        return index(Indexes.ascending("isOnline", "updatedAt"), ONLINE_UPDATED_AT);
+    }
+
+    private static IndexModel index(Bson keys, String name) {
+        return new IndexModel(keys, new IndexOptions().name(name));
+    }
+
+    private static IndexModel unique(Bson keys, String name) {
+        return new IndexModel(keys, new IndexOptions().name(name).unique(true));
+    }
+}
@@ -13,65 +13,64 @@ import server.common.dto.Motion;
 import server.motion.dto.PlayerMotion;
 
 public class MongoDbQueryHelper {
+    // Equality fields come before the coordinate ranges, matching the compound indexes declared
+    // in MongoIndexManager.
 
     public static <T> Single<List<T>> betweenLocation(
             MongoCollection<T> collection, Location location, Integer threshold) {
-        Bson mapEq = Filters.eq("location.map", location.getMap());
-        Bson xWithinRange =
-                Filters.and(
-                        Filters.gt("location.x", (location.getX() - threshold)),
-                        Filters.lt("location.x", (location.getX() + threshold)));
-        Bson yWithinRange =
-                Filters.and(
-                        Filters.gt("location.y", (location.getY() - threshold)),
-                        Filters.lt("location.y", (location.getY() + threshold)));
-
-        return Flowable.fromPublisher(collection.find(and(mapEq, xWithinRange, yWithinRange)))
+        return Flowable.fromPublisher(collection.find(betweenLocationFilter(location, threshold)))
                 .toList();
     }
 
     public static <T> Single<List<T>> getNearbyPlayers(
             MongoCollection<T> collection, PlayerMotion playerMotion, Integer threshold) {
-        Motion motion = playerMotion.getMotion();
-
-        Bson excludingThisCharacter = Filters.ne("actorId", playerMotion.getActorId());
-        Bson isOnline = Filters.eq("isOnline", true);
-        Bson mapEq = Filters.eq("motion.map", motion.getMap());
-        Bson xWithinRange =
-                Filters.and(
-                        Filters.gt("motion.x", (motion.getX() - threshold)),
-                        Filters.lt("motion.x", (motion.getX() + threshold)));
-        Bson yWithinRange =
-                Filters.and(
-                        Filters.gt("motion.y", (motion.getY() - threshold)),
-                        Filters.lt("motion.y", (motion.getY() + threshold)));
-
         // TODO: consider just fetching player names and returning them
         return Flowable.fromPublisher(
-                        collection.find(
-                                and(
-                                        excludingThisCharacter,
-                                        isOnline,
-                                        mapEq,
-                                        xWithinRange,
-                                        yWithinRange)))
+                        collection.find(nearbyPlayersFilter(playerMotion, threshold)))
                 .toList();
     }
 
     public static <T> Single<List<T>> nearbyMobMotionFinder(
             MongoCollection<T> collection, Location location, Integer threshold) {
+        return Flowable.fromPublisher(collection.find(nearbyMobsFilter(location, threshold)))
+                .toList();
+    }
 
+    public static Bson betweenLocationFilter(Location location, Integer threshold) {
+        Bson mapEq = Filters.eq("location.map", location.getMap());
+
+        return and(
+                mapEq,
+                within("location.x", location.getX(), threshold),
+                within("location.y", location.getY(), threshold));
+    }
+
+    public static Bson nearbyPlayersFilter(PlayerMotion playerMotion, Integer threshold) {
+        Motion motion = playerMotion.getMotion();
+
+        Bson mapEq = Filters.eq("motion.map", motion.getMap());
+        Bson isOnline = Filters.eq("isOnline", true);
+        Bson excludingThisCharacter = Filters.ne("actorId", playerMotion.getActorId());
+
+        return and(
+                mapEq,
+                isOnline,
+                within("motion.x", motion.getX(), threshold),
+                within("motion.y", motion.getY(), threshold),
+                excludingThisCharacter);
+    }
+
+    public static Bson nearbyMobsFilter(Location location, Integer threshold) {
         Bson mapEq = Filters.eq("motion.map", location.getMap());
-        Bson xWithinRange =
-                Filters.and(
-                        Filters.gt("motion.x", (location.getX() - threshold)),
-                        Filters.lt("motion.x", (location.getX() + threshold)));
-        Bson yWithinRange =
-                Filters.and(
-                        Filters.gt("motion.y", (location.getY() - threshold)),
-                        Filters.lt("motion.y", (location.getY() + threshold)));
 
-        return Flowable.fromPublisher(collection.find(and(mapEq, xWithinRange, yWithinRange)))
-                .toList();
+        return and(
+                mapEq,
+                within("motion.x", location.getX(), threshold),
+                within("motion.y", location.getY(), threshold));
+    }
+
+    private static Bson within(String field, Integer value, Integer threshold) {
+        return Filters.and(
+                Filters.gt(field, (value - threshold)), Filters.lt(field, (value + threshold)));
     }
 }
@@ -0,0 +1,67 @@
+package server.common.shard;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A slice of the world driven by one worker thread. Work for the maps assigned to a shard runs on
+ * its thread in submission order, so the actors of those maps are never touched by two shard
+ * workers at once.
+ */
+public class WorldShard {
+
+    private final int id;
+    private final ExecutorService executor;
+    private final Scheduler scheduler;
+    private volatile Thread worker;
+
+    private final AtomicLong tasks = new AtomicLong();
+
+    WorldShard(int id) {
+        this.id = id;
+        this.executor =
+                Executors.newSingleThreadExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "world-shard-" + id);
+                            thread.setDaemon(true);
+                            worker = thread;
+                            return thread;
+                        });
+        this.scheduler = Schedulers.from(executor);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public Completable run(Runnable task) {
+        return Completable.fromRunnable(
+                        () -> {
+                            tasks.incrementAndGet();
+                            task.run();
+                        })
+                .subscribeOn(scheduler);
+    }
+
+    public boolean isWorkerThread() {
+        return Thread.currentThread() == worker;
+    }
+
+    public long getTasks() {
+        return tasks.get();
+    }
+
+    void shutdown(long timeoutMillis) throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,111 @@
+package server.common.shard;
+
+import io.reactivex.rxjava3.core.Completable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import server.common.configuration.WorldShardConfiguration;
+import server.common.dto.Motion;
+
+/**
+ * Partitions the world by {@link Motion#getMap()}. Every map belongs to exactly one shard, either
+ * by assignment in configuration or by the hash of its name, and work for a map is run on that
+ * shard's worker. Maps can be moved between shards, or between nodes, without touching the code
+ * that submits the work. Updates without a map go to shard 0.
+ */
+@Slf4j
+@Singleton
+public class WorldShards {
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    @Inject WorldShardConfiguration configuration;
+
+    private WorldShard[] shards;
+
+    @PostConstruct
+    void start() {
+        int count = Math.max(1, configuration.getCount());
+        shards = new WorldShard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new WorldShard(i);
+        }
+        log.info("Started {} world shards", count);
+    }
+
+    @PreDestroy
+    void stop() {
+        for (WorldShard shard : shards) {
+            try {
+                shard.shutdown(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public WorldShard shardFor(String map) {
+        if (map == null) {
+            return shards[0];
+        }
+
+        Integer assigned = configuration.getAssignments().get(map);
+        if (assigned != null && assigned >= 0 && assigned < shards.length) {
+            return shards[assigned];
+        }
+
+        return shards[Math.floorMod(map.hashCode(), shards.length)];
+    }
+
+    public Completable run(String map, Runnable task) {
+        return shardFor(map).run(task);
+    }
+
+    /**
+     * Groups the items by map and hands each group to its shard, groups of different shards run in
+     * parallel. Completes once every group has been applied.
+     */
+    public <T> Completable runByMap(
+            Collection<T> items, Function<T, String> mapOf, Consumer<List<T>> task) {
+        Map<String, List<T>> byMap = new LinkedHashMap<>();
+        List<T> unmapped = new ArrayList<>();
+        for (T item : items) {
+            String map = mapOf.apply(item);
+            if (map == null) {
+                unmapped.add(item);
+            } else {
+                byMap.computeIfAbsent(map, k -> new ArrayList<>()).add(item);
+            }
+        }
+
+        List<Completable> groups = new ArrayList<>();
+        byMap.forEach((map, group) -> groups.add(run(map, () -> task.accept(group))));
+        if (!unmapped.isEmpty()) {
+            groups.add(run(null, () -> task.accept(unmapped)));
+        }
+
+        return Completable.merge(groups);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public List<WorldShard> getShards() {
+        return List.of(shards);
+    }
+
+    public static String mapOf(Motion motion) {
+        return motion == null ? null : motion.getMap();
+    }
+}
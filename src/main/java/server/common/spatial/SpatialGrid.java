@@ -0,0 +1,237 @@
+package server.common.spatial;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Uniform grid index, partitioned per map. Each entry is stored once in the cell that contains its
+ * (x, y) position, so a range query only has to visit the cells overlapping the search box.
+ *
+ * <p>Range queries follow the same semantics as the Mongo queries in {@code MongoDbQueryHelper}:
+ * an entry matches when it is on the same map and strictly within {@code threshold} on both the x
+ * and y axis.
+ */
+public class SpatialGrid<T> {
+
+    private final int cellSize;
+
+    // map -> cell key -> ids in cell
+    private final Map<String, Map<Long, Set<String>>> cellsByMap = new ConcurrentHashMap<>();
+
+    // id -> current position and value
+    private final Map<String, GridEntry<T>> entries = new ConcurrentHashMap<>();
+
+    public SpatialGrid(int cellSize) {
+        if (cellSize < 1) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds or moves an entry.
+     *
+     * @return true if the entry is new or moved into a different cell
+     */
+    public boolean upsert(String id, String map, int x, int y, T value) {
+        if (id == null || map == null) {
+            return false;
+        }
+
+        long cell = cellKey(x, y);
+        GridEntry<T> next = new GridEntry<>(map, x, y, cell, value);
+        GridEntry<T> prev = entries.put(id, next);
+
+        boolean cellChanged = prev == null || prev.cell != cell || !prev.map.equals(map);
+        if (cellChanged) {
+            if (prev != null) {
+                removeFromCell(id, prev);
+            }
+            // add within compute so it cannot race with an empty cell being dropped
+            cellsByMap
+                    .computeIfAbsent(map, k -> new ConcurrentHashMap<>())
+                    .compute(
+                            cell,
+                            (k, ids) -> {
+                                Set<String> cellIds =
+                                        ids == null ? ConcurrentHashMap.newKeySet() : ids;
+                                cellIds.add(id);
+                                return cellIds;
+                            });
+        }
+
+        return cellChanged;
+    }
+
+    public T remove(String id) {
+        if (id == null) {
+            return null;
+        }
+        GridEntry<T> prev = entries.remove(id);
+        if (prev == null) {
+            return null;
+        }
+        removeFromCell(id, prev);
+
+        return prev.value;
+    }
+
+    public T get(String id) {
+        GridEntry<T> entry = id == null ? null : entries.get(id);
+        return entry == null ? null : entry.value;
+    }
+
+    public boolean contains(String id) {
+        return id != null && entries.containsKey(id);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public List<T> query(String map, int x, int y, int threshold) {
+        return query(map, x, y, threshold, null);
+    }
+
+    public List<T> query(String map, int x, int y, int threshold, String excludeId) {
+        List<T> results = new ArrayList<>();
+        if (map == null) {
+            return results;
+        }
+
+        Map<Long, Set<String>> cells = cellsByMap.get(map);
+        if (cells == null || cells.isEmpty()) {
+            return results;
+        }
+
+        int minCx = Math.floorDiv(x - threshold, cellSize);
+        int maxCx = Math.floorDiv(x + threshold, cellSize);
+        int minCy = Math.floorDiv(y - threshold, cellSize);
+        int maxCy = Math.floorDiv(y + threshold, cellSize);
+
+        long windowCells = (long) (maxCx - minCx + 1) * (maxCy - minCy + 1);
+
+        if (windowCells > cells.size()) {
+            // sparse map, cheaper to walk the occupied cells than to probe the whole window
+            for (Map.Entry<Long, Set<String>> cell : cells.entrySet()) {
+                int cx = cellX(cell.getKey());
+                int cy = cellY(cell.getKey());
+                if (cx >= minCx && cx <= maxCx && cy >= minCy && cy <= maxCy) {
+                    collect(
+                            cell.getKey(),
+                            cell.getValue(),
+                            map,
+                            x,
+                            y,
+                            threshold,
+                            excludeId,
+                            results);
+                }
+            }
+        } else {
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                for (int cy = minCy; cy <= maxCy; cy++) {
+                    long key = pack(cx, cy);
+                    Set<String> ids = cells.get(key);
+                    if (ids != null) {
+                        collect(key, ids, map, x, y, threshold, excludeId, results);
+                    }
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /** Removes every entry whose value matches the predicate, returns the removed ids. */
+    public List<String> removeIf(Predicate<T> predicate) {
+        List<String> removed = new ArrayList<>();
+        entries.forEach(
+                (id, entry) -> {
+                    if (predicate.test(entry.value)) {
+                        removed.add(id);
+                    }
+                });
+        removed.forEach(this::remove);
+
+        return removed;
+    }
+
+    public void clear() {
+        entries.clear();
+        cellsByMap.clear();
+    }
+
+    private void collect(
+            long cellKey,
+            Set<String> ids,
+            String map,
+            int x,
+            int y,
+            int threshold,
+            String excludeId,
+            List<T> results) {
+        for (String id : ids) {
+            if (id.equals(excludeId)) {
+                continue;
+            }
+            GridEntry<T> entry = entries.get(id);
+            // skip ids that have moved cell or map while we were iterating
+            if (entry == null || entry.cell != cellKey || !entry.map.equals(map)) {
+                continue;
+            }
+            if (Math.abs(entry.x - x) < threshold && Math.abs(entry.y - y) < threshold) {
+                results.add(entry.value);
+            }
+        }
+    }
+
+    private void removeFromCell(String id, GridEntry<T> entry) {
+        Map<Long, Set<String>> cells = cellsByMap.get(entry.map);
+        if (cells == null) {
+            return;
+        }
+        cells.computeIfPresent(
+                entry.cell,
+                (k, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+    }
+
+    private long cellKey(int x, int y) {
+        return pack(Math.floorDiv(x, cellSize), Math.floorDiv(y, cellSize));
+    }
+
+    private static long pack(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    private static int cellX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int cellY(long key) {
+        return (int) key;
+    }
+
+    private static class GridEntry<T> {
+        final String map;
+        final int x;
+        final int y;
+        final long cell;
+        final T value;
+
+        GridEntry(String map, int x, int y, long cell, T value) {
+            this.map = map;
+            this.x = x;
+            this.y = y;
+            this.cell = cell;
+            this.value = value;
+        }
+    }
+}
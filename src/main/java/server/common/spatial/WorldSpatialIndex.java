@@ -0,0 +1,255 @@
+package server.common.spatial;
+
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import server.common.dto.Location;
+import server.common.dto.Motion;
+import server.items.model.DroppedItem;
+import server.monster.server_integration.model.Monster;
+import server.motion.dto.PlayerMotion;
+
+@Singleton
+public class WorldSpatialIndex {
+    // In-memory view of where online players, mobs and dropped items are.
+    // Mongo stays the durable store, range queries on the hot path are answered from here.
+
+    // cell sizes are picked so default query ranges only touch a handful of cells
+    private static final int PLAYER_CELL_SIZE = 4_000;
+    private static final int MOB_CELL_SIZE = 1_000;
+    private static final int ITEM_CELL_SIZE = 500;
+
+    private final SpatialGrid<PlayerMotion> players = new SpatialGrid<>(PLAYER_CELL_SIZE);
+    private final SpatialGrid<Monster> mobs = new SpatialGrid<>(MOB_CELL_SIZE);
+    private final SpatialGrid<DroppedItem> droppedItems = new SpatialGrid<>(ITEM_CELL_SIZE);
+
+    // players / mobs moved, added or removed since the last drain, read by interest management
+    private final Set<String> movedPlayers = ConcurrentHashMap.newKeySet();
+    private final Set<String> movedMobs = ConcurrentHashMap.newKeySet();
+
+    // dead, evicted and disconnected actors -> when they were removed. Motion still in flight
+    // for them is dropped instead of indexing them again, until a player connects again or the
+    // entry is old enough that nothing late can still arrive.
+    private static final Duration REMOVED_RETENTION = Duration.ofSeconds(60);
+    private final Map<String, Instant> removedPlayers = new ConcurrentHashMap<>();
+    private final Map<String, Instant> removedMobs = new ConcurrentHashMap<>();
+
+    public boolean updatePlayerMotion(String actorId, Motion motion) {
+        if (!motionValid(motion) || removed(removedPlayers, actorId)) {
+            return false;
+        }
+        PlayerMotion playerMotion =
+                new PlayerMotion(
+                        actorId, motion, true, Instant.now().truncatedTo(ChronoUnit.MICROS));
+
+        boolean cellChanged =
+                players.upsert(actorId, motion.getMap(), motion.getX(), motion.getY(), playerMotion);
+        movedPlayers.add(actorId);
+
+        return cellChanged;
+    }
+
+    public void removePlayer(String actorId) {
+        if (actorId == null) {
+            return;
+        }
+        removedPlayers.put(actorId, Instant.now());
+        if (players.remove(actorId) != null) {
+            movedPlayers.add(actorId);
+        }
+    }
+
+    /** A player that logged in again may be indexed again. */
+    public void playerConnected(String actorId) {
+        if (actorId != null) {
+            removedPlayers.remove(actorId);
+        }
+    }
+
+    public List<String> evictPlayersNotUpdatedSince(Instant time) {
+        List<String> evicted =
+                players.removeIf(p -> p.getUpdatedAt() != null && p.getUpdatedAt().isBefore(time));
+        movedPlayers.addAll(evicted);
+        markRemoved(removedPlayers, evicted);
+
+        return evicted;
+    }
+
+    /** Players that moved or left since the last call, removed ones are no longer indexed. */
+    public List<String> drainMovedPlayers() {
+        return drain(movedPlayers);
+    }
+
+    public List<PlayerMotion> getNearbyPlayers(Motion motion, String actorId, int threshold) {
+        if (!motionValid(motion)) {
+            return List.of();
+        }
+        return players.query(motion.getMap(), motion.getX(), motion.getY(), threshold, actorId);
+    }
+
+    public boolean updateMob(Monster monster) {
+        if (monster == null
+                || !motionValid(monster.getMotion())
+                || removed(removedMobs, monster.getActorId())) {
+            return false;
+        }
+        Motion motion = monster.getMotion();
+
+        boolean cellChanged =
+                mobs.upsert(
+                        monster.getActorId(),
+                        motion.getMap(),
+                        motion.getX(),
+                        motion.getY(),
+                        monster);
+        movedMobs.add(monster.getActorId());
+
+        return cellChanged;
+    }
+
+    public boolean updateMobMotion(String actorId, Motion motion) {
+        if (!motionValid(motion) || removed(removedMobs, actorId)) {
+            return false;
+        }
+        // keep the mob details we already know about, only replace motion
+        Monster existing = mobs.get(actorId);
+        Monster monster =
+                new Monster(
+                        existing == null ? null : existing.getMobId(),
+                        actorId,
+                        motion,
+                        Instant.now().truncatedTo(ChronoUnit.MICROS),
+                        existing == null ? null : existing.getTimestamp());
+
+        boolean cellChanged =
+                mobs.upsert(actorId, motion.getMap(), motion.getX(), motion.getY(), monster);
+        movedMobs.add(actorId);
+
+        return cellChanged;
+    }
+
+    public void removeMob(String actorId) {
+        if (actorId == null) {
+            return;
+        }
+        removedMobs.put(actorId, Instant.now());
+        if (mobs.remove(actorId) != null) {
+            movedMobs.add(actorId);
+        }
+    }
+
+    public List<String> evictMobsNotUpdatedSince(Instant time) {
+        List<String> evicted =
+                mobs.removeIf(m -> m.getUpdatedAt() != null && m.getUpdatedAt().isBefore(time));
+        movedMobs.addAll(evicted);
+        markRemoved(removedMobs, evicted);
+
+        return evicted;
+    }
+
+    /** Mobs that moved or left since the last call, removed ones are no longer indexed. */
+    public List<String> drainMovedMobs() {
+        return drain(movedMobs);
+    }
+
+    public List<Monster> getMobsNearby(Location location, int threshold) {
+        if (!locationValid(location)) {
+            return List.of();
+        }
+        return mobs.query(location.getMap(), location.getX(), location.getY(), threshold);
+    }
+
+    public void addDroppedItem(DroppedItem droppedItem) {
+        if (droppedItem == null || !locationValid(droppedItem.getLocation())) {
+            return;
+        }
+        Location location = droppedItem.getLocation();
+        droppedItems.upsert(
+                droppedItem.getItemInstanceId(),
+                location.getMap(),
+                location.getX(),
+                location.getY(),
+                droppedItem);
+    }
+
+    public void removeDroppedItem(String itemInstanceId) {
+        droppedItems.remove(itemInstanceId);
+    }
+
+    public List<DroppedItem> getDroppedItemsNear(Location location, int threshold) {
+        if (!locationValid(location)) {
+            return List.of();
+        }
+        return droppedItems.query(location.getMap(), location.getX(), location.getY(), threshold);
+    }
+
+    /** Whether the actor was removed recently, updates for it are ignored. */
+    public boolean isRemoved(String actorId) {
+        return removed(removedPlayers, actorId) || removed(removedMobs, actorId);
+    }
+
+    public SpatialGrid<PlayerMotion> getPlayers() {
+        return players;
+    }
+
+    public SpatialGrid<Monster> getMobs() {
+        return mobs;
+    }
+
+    public SpatialGrid<DroppedItem> getDroppedItems() {
+        return droppedItems;
+    }
+
+    private static boolean removed(Map<String, Instant> removed, String actorId) {
+        Instant removedAt = actorId == null ? null : removed.get(actorId);
+        if (removedAt == null) {
+            return false;
+        }
+        if (removedAt.isBefore(Instant.now().minus(REMOVED_RETENTION))) {
+            removed.remove(actorId, removedAt);
+            return false;
+        }
+
+        return true;
+    }
+
+    private static void markRemoved(Map<String, Instant> removed, List<String> actorIds) {
+        Instant now = Instant.now();
+        Instant expired = now.minus(REMOVED_RETENTION);
+        // evictions run on a schedule, old entries of actors never heard of again go here
+        removed.values().removeIf(removedAt -> removedAt.isBefore(expired));
+        actorIds.forEach(actorId -> removed.put(actorId, now));
+    }
+
+    private static List<String> drain(Set<String> moved) {
+        List<String> drained = new ArrayList<>();
+        for (String id : moved) {
+            // an id moving again after this is kept for the next drain
+            if (moved.remove(id)) {
+                drained.add(id);
+            }
+        }
+
+        return drained;
+    }
+
+    private boolean motionValid(Motion motion) {
+        return motion != null
+                && motion.getMap() != null
+                && motion.getX() != null
+                && motion.getY() != null;
+    }
+
+    private boolean locationValid(Location location) {
+        return location != null
+                && location.getMap() != null
+                && location.getX() != null
+                && location.getY() != null;
+    }
+}
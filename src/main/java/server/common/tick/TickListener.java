@@ -0,0 +1,9 @@
+package server.common.tick;
+
+import java.time.Instant;
+
+public interface TickListener {
+
+    /** Called once per world tick, on the tick thread. Keep the work bounded. */
+    void onTick(long tick, Instant now);
+}
@@ -0,0 +1,192 @@
+package server.common.tick;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import server.combat.service.CombatSchedulerFactory;
+import server.common.configuration.WorldTickConfiguration;
+
+/**
+ * Hashed wheel timer advanced by the world tick, so delayed work (channel completion, projectile
+ * travel) costs a bucket entry instead of a thread. Delays are rounded up to whole ticks and a
+ * timeout never fires early. Expired tasks run on the combat scheduler, not on the tick thread.
+ */
+@Slf4j
+@Singleton
+public class TimerWheel implements TickListener {
+
+    private static final int WHEEL_SIZE = 512; // power of two, ~25s per round at 20Hz
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    @Inject WorldTickConfiguration configuration;
+
+    @Inject
+    @Named(CombatSchedulerFactory.COMBAT)
+    Scheduler dispatcher;
+
+    // buckets are only touched on the tick thread, other threads hand timeouts over the queue
+    @SuppressWarnings("unchecked")
+    private final List<Timeout>[] buckets = new List[WHEEL_SIZE];
+
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong fired = new AtomicLong();
+    private long wheelTick;
+
+    public TimerWheel() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return submit(new Timeout(task, toTicks(delay, unit), 0));
+    }
+
+    public Timeout scheduleAtFixedRate(
+            Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return submit(
+                new Timeout(task, toTicks(initialDelay, unit), Math.max(1, toTicks(period, unit))));
+    }
+
+    @Override
+    public void onTick(long tick, Instant now) {
+        long current = ++wheelTick;
+        transferIncoming(current);
+
+        List<Timeout> bucket = buckets[(int) (current & MASK)];
+        for (int i = 0; i < bucket.size(); ) {
+            Timeout timeout = bucket.get(i);
+            if (timeout.isCancelled()) {
+                removeAt(bucket, i);
+                pending.decrementAndGet();
+            } else if (timeout.deadline <= current) {
+                removeAt(bucket, i);
+                fire(timeout, current);
+            } else {
+                // due in a later round of the wheel
+                i++;
+            }
+        }
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    public long getFired() {
+        return fired.get();
+    }
+
+    private Timeout submit(Timeout timeout) {
+        pending.incrementAndGet();
+        incoming.add(timeout);
+
+        return timeout;
+    }
+
+    private void transferIncoming(long current) {
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.isCancelled()) {
+                pending.decrementAndGet();
+            } else {
+                place(timeout, current + timeout.delayTicks);
+            }
+        }
+    }
+
+    private void place(Timeout timeout, long deadline) {
+        timeout.deadline = deadline;
+        buckets[(int) (deadline & MASK)].add(timeout);
+    }
+
+    private void fire(Timeout timeout, long current) {
+        fired.incrementAndGet();
+        if (timeout.periodTicks > 0) {
+            // re-armed before running so a cancel from inside the task still sticks
+            place(timeout, current + timeout.periodTicks);
+        } else {
+            pending.decrementAndGet();
+            if (!timeout.expire()) {
+                return;
+            }
+        }
+
+        dispatcher.scheduleDirect(() -> run(timeout));
+    }
+
+    private void run(Timeout timeout) {
+        if (timeout.isCancelled()) {
+            return;
+        }
+
+        try {
+            timeout.task.run();
+        } catch (Exception e) {
+            log.error("Timer task failed, {}", e.getMessage());
+        }
+    }
+
+    private long toTicks(long delay, TimeUnit unit) {
+        long tickNanos = configuration.getRate().toNanos();
+        long nanos = unit.toNanos(Math.max(0, delay));
+
+        // rounds up without overflowing on very long delays
+        return nanos / tickNanos + (nanos % tickNanos == 0 ? 0 : 1);
+    }
+
+    private static void removeAt(List<Timeout> bucket, int i) {
+        // order inside a bucket does not matter, swap with the last entry
+        int last = bucket.size() - 1;
+        bucket.set(i, bucket.get(last));
+        bucket.remove(last);
+    }
+
+    /** Handle of a scheduled task, {@link #cancel()} is safe to call from any thread. */
+    public static final class Timeout {
+
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long delayTicks;
+        private final long periodTicks;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private long deadline;
+
+        private Timeout(Runnable task, long delayTicks, long periodTicks) {
+            this.task = task;
+            this.delayTicks = delayTicks;
+            this.periodTicks = periodTicks;
+        }
+
+        /** Returns false if the task already fired (one shot) or was cancelled before. */
+        public boolean cancel() {
+            return state.compareAndSet(WAITING, CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private boolean expire() {
+            return state.compareAndSet(WAITING, EXPIRED);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package server.common.tick;
+
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import server.common.configuration.WorldTickConfiguration;
+
+@Slf4j
+@Singleton
+public class WorldTickEngine {
+    // Single fixed rate simulation tick, everything that needs to advance in lock step
+    // (combat swings, damage, deaths) registers a TickListener instead of scheduling itself.
+
+    @Inject List<TickListener> listeners;
+
+    @Inject WorldTickConfiguration configuration;
+
+    private final AtomicLong tickCount = new AtomicLong();
+    private final AtomicLong overruns = new AtomicLong();
+    private volatile long lastTickNanos;
+    private volatile long maxTickNanos;
+
+    @Scheduled(fixedRate = "${world-tick.rate:50ms}")
+    public void tick() {
+        long start = System.nanoTime();
+        long tick = tickCount.incrementAndGet();
+        Instant now = Instant.now();
+
+        for (TickListener listener : listeners) {
+            try {
+                listener.onTick(tick, now);
+            } catch (Exception e) {
+                log.error(
+                        "Tick listener {} failed, {}",
+                        listener.getClass().getSimpleName(),
+                        e.getMessage());
+            }
+        }
+
+        recordDuration(tick, System.nanoTime() - start);
+    }
+
+    private void recordDuration(long tick, long duration) {
+        lastTickNanos = duration;
+        if (duration > maxTickNanos) {
+            maxTickNanos = duration;
+        }
+
+        long budget = configuration.getRate().toNanos();
+        if (duration > budget) {
+            overruns.incrementAndGet();
+            log.warn(
+                    "World tick {} took {}ms, budget is {}ms ({} overruns so far)",
+                    tick,
+                    TimeUnit.NANOSECONDS.toMillis(duration),
+                    TimeUnit.NANOSECONDS.toMillis(budget),
+                    overruns.get());
+        }
+    }
+
+    public long getTickCount() {
+        return tickCount.get();
+    }
+
+    public long getOverruns() {
+        return overruns.get();
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+}
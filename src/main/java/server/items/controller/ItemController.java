@@ -19,7 +19,7 @@ public class ItemController {
     @Inject ItemService itemService;
 
     @Post("/create-items")
-    public List<Item> createItems(@Body GenericInventoryData data) {
+    public Single<List<Item>> createItems(@Body GenericInventoryData data) {
         // This is a test endpoint!
         // you should not be creating items live, they should be handled via migration
 
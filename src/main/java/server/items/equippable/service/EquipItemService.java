@@ -12,7 +12,6 @@ import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import server.attribute.stats.model.Stats;
 import server.attribute.stats.service.StatsService;
-import server.common.dto.Location2D;
 import server.items.equippable.model.EquippedItems;
 import server.items.equippable.model.exceptions.EquipException;
 import server.items.equippable.repository.EquipRepository;
@@ -65,15 +64,10 @@ public class EquipItemService {
                                             .getItem()
                                             .createEquippedItem(actorId, instance);
 
-                            // setting location to 'invalid' value, to not show it in inventory
-                            characterItem.setLocation(new Location2D(-1, -1));
-                            // TODO: Make this async
-                            inventoryService
-                                    .updateInventoryItems(actorId, items)
-                                    .blockingSubscribe();
-
-                            return equipRepository
-                                    .insert(equippedItem, actorId)
+                            // frees the inventory slot, equipped items are not listed there
+                            return inventoryService
+                                    .markEquipped(actorId, itemInstanceId)
+                                    .andThen(equipRepository.insert(equippedItem, actorId))
                                     .map(
                                             its -> {
                                                 updateCharacterItemStats(actorId);
@@ -27,4 +27,7 @@ public class Inventory {
     List<CharacterItem> characterItems;
     Integer gold;
     Location2D maxSize;
+
+    // bumped by every targeted update, see InventoryRepository
+    Long version;
 }
@@ -0,0 +1,208 @@
+package server.items.inventory.model;
+
+import io.reactivex.rxjava3.core.Completable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import server.common.dto.Location2D;
+import server.items.inventory.model.exceptions.InventoryException;
+import server.items.model.ItemInstance;
+
+/**
+ * In-memory inventory of an online character. Slot occupancy is a bitmap over {@code x * maxY +
+ * y} and items are indexed by itemInstanceId, so finding a free slot or an item does not walk the
+ * item list. Items at (-1, -1) are equipped and take no slot.
+ *
+ * <p>Callers synchronize on the aggregate around a mutation and the write built for it, {@link
+ * #chain(Completable)} keeps the writes in the order the mutations happened.
+ */
+public class InventoryAggregate {
+
+    private final String actorId;
+    private final List<CharacterItem> items;
+    private final Map<String, CharacterItem> byInstanceId;
+    private final Integer gold;
+
+    private Location2D maxSize;
+    private long[] occupied;
+    private long version;
+    private Completable writes = Completable.complete();
+
+    public InventoryAggregate(Inventory inventory) {
+        this.actorId = inventory.getActorId();
+        this.gold = inventory.getGold();
+        this.version = inventory.getVersion() == null ? 0 : inventory.getVersion();
+
+        List<CharacterItem> loaded =
+                inventory.getCharacterItems() == null ? List.of() : inventory.getCharacterItems();
+        this.items = new ArrayList<>(loaded);
+        this.byInstanceId = new HashMap<>(loaded.size() * 2);
+        for (CharacterItem item : loaded) {
+            if (item.getItemInstance() != null) {
+                byInstanceId.put(item.getItemInstance().getItemInstanceId(), item);
+            }
+        }
+
+        applyMaxSize(inventory.getMaxSize());
+    }
+
+    public synchronized CharacterItem get(String itemInstanceId) {
+        CharacterItem item = byInstanceId.get(itemInstanceId);
+        if (item == null) {
+            throw new InventoryException("Item not found in inventory");
+        }
+
+        return item;
+    }
+
+    public synchronized CharacterItem add(ItemInstance itemInstance) {
+        Location2D location = nextFreeSlot();
+        CharacterItem item = new CharacterItem(actorId, location, itemInstance);
+
+        items.add(item);
+        byInstanceId.put(itemInstance.getItemInstanceId(), item);
+        occupy(location, true);
+        version++;
+
+        return item;
+    }
+
+    public synchronized CharacterItem remove(String itemInstanceId) {
+        CharacterItem item = get(itemInstanceId);
+
+        items.remove(item);
+        byInstanceId.remove(itemInstanceId);
+        occupy(item.getLocation(), false);
+        version++;
+
+        return item;
+    }
+
+    public synchronized CharacterItem moveToFreeSlot(String itemInstanceId) {
+        CharacterItem item = get(itemInstanceId);
+        Location2D location = nextFreeSlot();
+
+        occupy(item.getLocation(), false);
+        item.setLocation(location);
+        occupy(location, true);
+        version++;
+
+        return item;
+    }
+
+    public synchronized CharacterItem markEquipped(String itemInstanceId) {
+        CharacterItem item = get(itemInstanceId);
+
+        occupy(item.getLocation(), false);
+        item.setLocation(new Location2D(-1, -1));
+        version++;
+
+        return item;
+    }
+
+    public synchronized void resize(Location2D maxSize) {
+        applyMaxSize(maxSize);
+        version++;
+    }
+
+    public synchronized Location2D nextFreeSlot() {
+        return firstFreeSlot(maxSize, occupied);
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public String getActorId() {
+        return actorId;
+    }
+
+    public synchronized Inventory toInventory() {
+        // copies, callers serialize these outside of the lock
+        List<CharacterItem> copies = new ArrayList<>(items.size());
+        for (CharacterItem item : items) {
+            copies.add(
+                    new CharacterItem(
+                            item.getActorId(), item.getLocation(), item.getItemInstance()));
+        }
+
+        Inventory inventory = new Inventory(actorId, copies, gold, maxSize);
+        inventory.setVersion(version);
+
+        return inventory;
+    }
+
+    public synchronized Completable chain(Completable write) {
+        // cached so the write runs once even with several subscribers, and a failed write does
+        // not stop the ones after it
+        Completable next = writes.onErrorComplete().andThen(write).cache();
+        writes = next;
+        next.onErrorComplete().subscribe();
+
+        return next;
+    }
+
+    /** First free slot of a plain item list, without building an aggregate. */
+    public static Location2D firstFreeSlot(Location2D maxSize, List<CharacterItem> items) {
+        long[] occupied = new long[words(maxSize)];
+        for (CharacterItem item : items) {
+            occupy(occupied, maxSize, item.getLocation(), true);
+        }
+
+        return firstFreeSlot(maxSize, occupied);
+    }
+
+    private static Location2D firstFreeSlot(Location2D maxSize, long[] occupied) {
+        int maxY = maxSize.getY();
+        int slots = maxSize.getX() * maxY;
+
+        for (int word = 0; word < occupied.length; word++) {
+            long free = ~occupied[word];
+            if (free != 0) {
+                int slot = word * Long.SIZE + Long.numberOfTrailingZeros(free);
+                if (slot < slots) {
+                    return new Location2D(slot / maxY, slot % maxY);
+                }
+                break;
+            }
+        }
+
+        throw new InventoryException("No available slots in inventory");
+    }
+
+    private void applyMaxSize(Location2D maxSize) {
+        this.maxSize = maxSize;
+        this.occupied = new long[words(maxSize)];
+
+        for (CharacterItem item : items) {
+            occupy(item.getLocation(), true);
+        }
+    }
+
+    private void occupy(Location2D location, boolean taken) {
+        occupy(occupied, maxSize, location, taken);
+    }
+
+    private static void occupy(
+            long[] occupied, Location2D maxSize, Location2D location, boolean taken) {
+        if (location == null || location.getX() < 0 || location.getY() < 0) {
+            return;
+        }
+        if (location.getX() >= maxSize.getX() || location.getY() >= maxSize.getY()) {
+            // left over from a larger inventory, not addressable
+            return;
+        }
+
+        int slot = location.getX() * maxSize.getY() + location.getY();
+        if (taken) {
+            occupied[slot / Long.SIZE] |= 1L << slot;
+        } else {
+            occupied[slot / Long.SIZE] &= ~(1L << slot);
+        }
+    }
+
+    private static int words(Location2D maxSize) {
+        return (maxSize.getX() * maxSize.getY() + Long.SIZE - 1) / Long.SIZE;
+    }
+}
@@ -1,6 +1,12 @@
 package server.items.inventory.repository;
 
+import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.pull;
+import static com.mongodb.client.model.Updates.push;
 import static com.mongodb.client.model.Updates.set;
 
 import com.mongodb.client.model.Filters;
@@ -9,13 +15,15 @@ import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 import jakarta.inject.Singleton;
-import java.util.List;
 import org.bson.conversions.Bson;
 import server.common.configuration.MongoConfiguration;
+import server.common.dto.Location2D;
 import server.items.inventory.model.CharacterItem;
 import server.items.inventory.model.Inventory;
+import server.items.inventory.model.exceptions.InventoryException;
 
 @Singleton
 public class InventoryRepository {
@@ -35,14 +43,6 @@ public class InventoryRepository {
         return Single.fromPublisher(inventoryCollection.find(eq("actorId", actorId)));
     }
 
-    public Single<List<CharacterItem>> updateInventoryItems(
-            String actorId, List<CharacterItem> items) {
-        return Single.fromPublisher(
-                        inventoryCollection.updateOne(
-                                eq("actorId", actorId), set("characterItems", items)))
-                .map(res -> items);
-    }
-
     public Single<UpdateResult> updateInventoryMaxSize(Inventory inventory) {
         return Single.fromPublisher(
                 inventoryCollection.updateOne(
@@ -50,6 +50,59 @@ public class InventoryRepository {
                         set("maxSize", inventory.getMaxSize())));
     }
 
+    // Targeted updates below only apply when the stored version is the one the change was made
+    // against, and move it one forward. A miss means the document changed elsewhere.
+
+    public Completable pushItem(String actorId, CharacterItem item, long version) {
+        return versioned(
+                atVersion(actorId, version),
+                combine(push("characterItems", item), set("version", version + 1)));
+    }
+
+    public Completable pullItem(String actorId, String itemInstanceId, long version) {
+        return versioned(
+                atVersion(actorId, version),
+                combine(
+                        pull("characterItems", eq("itemInstance.itemInstanceId", itemInstanceId)),
+                        set("version", version + 1)));
+    }
+
+    public Completable setItemLocation(
+            String actorId, String itemInstanceId, Location2D location, long version) {
+        return versioned(
+                and(
+                        atVersion(actorId, version),
+                        eq("characterItems.itemInstance.itemInstanceId", itemInstanceId)),
+                combine(set("characterItems.$.location", location), set("version", version + 1)));
+    }
+
+    public Completable setMaxSize(String actorId, Location2D maxSize, long version) {
+        return versioned(
+                atVersion(actorId, version),
+                combine(set("maxSize", maxSize), set("version", version + 1)));
+    }
+
+    private Completable versioned(Bson filter, Bson update) {
+        return Single.fromPublisher(inventoryCollection.updateOne(filter, update))
+                .flatMapCompletable(
+                        res ->
+                                res.getMatchedCount() == 0
+                                        ? Completable.error(
+                                                new InventoryException(
+                                                        "Inventory was changed elsewhere"))
+                                        : Completable.complete());
+    }
+
+    private static Bson atVersion(String actorId, long version) {
+        // documents written before versioning have no version field, they count as 0
+        Bson versionFilter =
+                version == 0
+                        ? or(exists("version", false), eq("version", 0L))
+                        : eq("version", version);
+
+        return and(eq("actorId", actorId), versionFilter);
+    }
+
     public Single<Inventory> upsert(Inventory inventory) {
         Bson filter = Filters.eq("actorId", inventory.getActorId());
         ReplaceOptions options = new ReplaceOptions().upsert(true);
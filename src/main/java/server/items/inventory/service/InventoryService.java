@@ -1,128 +1,115 @@
 package server.items.inventory.service;
 
-import com.mongodb.client.result.UpdateResult;
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import lombok.extern.slf4j.Slf4j;
 import server.common.dto.Location;
 import server.common.dto.Location2D;
-import server.items.equippable.service.EquipItemService;
 import server.items.inventory.model.CharacterItem;
 import server.items.inventory.model.Inventory;
+import server.items.inventory.model.InventoryAggregate;
 import server.items.inventory.model.exceptions.InventoryException;
 import server.items.inventory.model.response.GenericInventoryData;
 import server.items.inventory.repository.InventoryRepository;
 import server.items.model.DroppedItem;
-import server.items.model.ItemInstance;
 import server.items.service.ItemService;
 
 @Slf4j
 @Singleton
 public class InventoryService {
+    // Inventories being changed are kept as aggregates, loaded on first use and evicted when the
+    // player goes offline. A change is applied in memory and persisted as a targeted update
+    // against the version it was made on. If a write fails the aggregate is dropped and the next
+    // request reads the stored document again.
 
     @Inject InventoryRepository inventoryRepository;
     @Inject ItemService itemService;
 
+    private final Map<String, InventoryAggregate> inventories = new ConcurrentHashMap<>();
+
     public Single<Inventory> pickupItem(GenericInventoryData request) {
+        String actorId = request.getActorId();
+        String itemInstanceId = request.getItemInstanceId();
+
         return itemService
-                .getDroppedItemByInstanceId(request.getItemInstanceId())
+                .getDroppedItemByInstanceId(itemInstanceId)
                 .doOnError(e -> log.error(e.getMessage()))
                 .flatMap(
-                        droppedItem -> {
-                            ItemInstance itemInstance = droppedItem.getItemInstance();
-                            return inventoryRepository
-                                    .getCharacterInventory(request.getActorId())
-                                    .flatMap(
-                                            inventory -> {
-                                                addItemToInventory(inventory, itemInstance);
-                                                // these should be chained.
-                                                itemService
-                                                        .deleteDroppedItem(
-                                                                request.getItemInstanceId())
-                                                        .blockingSubscribe();
-
-                                                inventoryRepository
-                                                        .updateInventoryItems(
-                                                                request.getActorId(),
-                                                                inventory.getCharacterItems())
-                                                        .blockingSubscribe();
-
-                                                return getInventory(request.getActorId());
-                                            });
-                        });
-    }
-
-    private void addItemToInventory(Inventory inventory, ItemInstance itemInstance) {
-        // check for example if inventory is full
-        List<CharacterItem> items = inventory.getCharacterItems();
-        Location2D position = getNextAvailableSlot(inventory.getMaxSize(), items);
-
-        CharacterItem newCharacterItem =
-                new CharacterItem(inventory.getActorId(), position, itemInstance);
-
-        items.add(newCharacterItem);
+                        droppedItem ->
+                                change(
+                                        actorId,
+                                        (inventory, version) -> {
+                                            // throws when the inventory is full
+                                            CharacterItem item =
+                                                    inventory.add(droppedItem.getItemInstance());
+
+                                            return itemService
+                                                    .deleteDroppedItem(itemInstanceId)
+                                                    .ignoreElement()
+                                                    .andThen(
+                                                            inventoryRepository.pushItem(
+                                                                    actorId,
+                                                                    copyOf(item),
+                                                                    version));
+                                        }))
+                .map(InventoryAggregate::toInventory);
     }
 
     public Single<List<CharacterItem>> unequipItem(String itemInstanceId, String actorId) {
         // this is basically finding the nearest slot and placing item there
-        return getInventory(actorId)
-                .doOnError(e -> log.error("Failed to get characters inventory, {}", e.getMessage()))
-                .flatMap(
-                        inventory -> {
-                            List<CharacterItem> items = inventory.getCharacterItems();
-                            CharacterItem foundItem =
-                                    EquipItemService.getCharacterItemByInstance(
-                                            items, itemInstanceId);
-
-                            Location2D loc =
-                                    getNextAvailableSlot(
-                                            inventory.getMaxSize(), inventory.getCharacterItems());
-                            foundItem.setLocation(loc);
-
-                            return inventoryRepository
-                                    .updateInventoryItems(actorId, items)
-                                    .doOnError(e -> log.error(e.getMessage()));
-                        });
+        return change(
+                        actorId,
+                        (inventory, version) -> {
+                            CharacterItem item = inventory.moveToFreeSlot(itemInstanceId);
+
+                            return inventoryRepository.setItemLocation(
+                                    actorId, itemInstanceId, item.getLocation(), version);
+                        })
+                .map(inventory -> inventory.toInventory().getCharacterItems())
+                .doOnError(e -> log.error("Failed to unequip item, {}", e.getMessage()));
+    }
+
+    public Completable markEquipped(String actorId, String itemInstanceId) {
+        // equipped items keep their place in the document at location (-1, -1)
+        return change(
+                        actorId,
+                        (inventory, version) -> {
+                            CharacterItem item = inventory.markEquipped(itemInstanceId);
+
+                            return inventoryRepository.setItemLocation(
+                                    actorId, itemInstanceId, item.getLocation(), version);
+                        })
+                .ignoreElement();
     }
 
     public Single<DroppedItem> dropItem(String actorId, String itemInstanceId, Location location)
             throws InventoryException {
-        return inventoryRepository
-                .getCharacterInventory(actorId)
-                .doOnError(e -> log.error("Failed to get character inventory, {}", e.getMessage()))
-                .flatMap(
-                        inventory -> {
-                            List<CharacterItem> itemsList = inventory.getCharacterItems();
-
-                            CharacterItem item =
-                                    EquipItemService.getCharacterItemByInstance(
-                                            itemsList, itemInstanceId);
-
-                            itemsList.remove(item);
-
-                            inventoryRepository
-                                    .updateInventoryItems(actorId, itemsList)
-                                    .doOnError(e -> log.error(e.getMessage()))
-                                    .subscribe();
-
-                            // TODO: if dropItem fails, we need to revert the removal of item from
-                            // inventory.
-                            return itemService.dropExistingItem(
-                                    item.getItemInstance().getItemInstanceId(), location);
-                        });
+        return change(
+                        actorId,
+                        (inventory, version) -> {
+                            inventory.remove(itemInstanceId);
+
+                            return inventoryRepository.pullItem(actorId, itemInstanceId, version);
+                        })
+                .doOnError(e -> log.error("Failed to drop item, {}", e.getMessage()))
+                // TODO: if dropItem fails, we need to revert the removal of item from inventory.
+                .flatMap(inventory -> itemService.dropExistingItem(itemInstanceId, location));
     }
 
     public Single<Inventory> getInventory(String actorId) {
-        return inventoryRepository.getCharacterInventory(actorId);
-    }
+        InventoryAggregate cached = inventories.get(actorId);
+        if (cached == null) {
+            return inventoryRepository.getCharacterInventory(actorId);
+        }
 
-    public Single<List<CharacterItem>> updateInventoryItems(
-            String actorId, List<CharacterItem> characterItems) {
-        return inventoryRepository.updateInventoryItems(actorId, characterItems);
+        return Single.fromCallable(cached::toInventory);
     }
 
     public Single<Inventory> createInventoryForNewCharacter(String actorId) {
@@ -132,56 +119,82 @@ public class InventoryService {
         inventory.setCharacterItems(new ArrayList<>());
         inventory.setGold(0);
         inventory.setMaxSize(new Location2D(4, 10));
+        inventory.setVersion(0L);
 
+        evict(actorId);
         return inventoryRepository.upsert(inventory);
     }
 
-    public Single<UpdateResult> updateInventoryMaxSize(Inventory inventory) {
-        return inventoryRepository.updateInventoryMaxSize(inventory);
+    public Single<Inventory> updateInventoryMaxSize(Inventory inventory) {
+        Location2D maxSize = inventory.getMaxSize();
+
+        return change(
+                        inventory.getActorId(),
+                        (aggregate, version) -> {
+                            aggregate.resize(maxSize);
+
+                            return inventoryRepository.setMaxSize(
+                                    inventory.getActorId(), maxSize, version);
+                        })
+                .map(InventoryAggregate::toInventory);
     }
 
     public Location2D getNextAvailableSlot(Location2D maxSize, List<CharacterItem> items) {
-        // Implement this as per your requirement, based on position for example.
-        //        Location2D maxSize = inventory.getMaxSize();
-        //        List<CharacterItem> items = inventory.getCharacterItems();
-        int[][] invArr = new int[maxSize.getX()][maxSize.getY()];
-
-        items.forEach(
-                i -> {
-                    Location2D loc = i.getLocation();
-                    // process only valid locations, ignore 'equipped' items
-                    if (loc != null && loc.getX() > -1) {
-                        invArr[loc.getX()][loc.getY()] = 1;
-                    }
-                });
-
-        for (int x = 0; x < maxSize.getY(); x++) {
-            for (int y = 0; y < maxSize.getX(); y++) {
-                if (invArr[x][y] != 1) {
-                    return new Location2D(x, y);
-                }
-            }
-        }
+        return InventoryAggregate.firstFreeSlot(maxSize, items);
+    }
 
-        throw new InventoryException("No available slots in inventory");
+    public void evict(String actorId) {
+        inventories.remove(actorId);
     }
 
     public void clearAllDataForCharacter(String actorId) {
         // This is for test purposes!
+        evict(actorId);
         inventoryRepository.deleteAllInventoryDataForCharacter(actorId).subscribe();
     }
 
-    private CharacterItem getItemAtLocation(Location2D location, Inventory inventory) {
-        List<CharacterItem> items = inventory.getCharacterItems();
+    private Single<InventoryAggregate> loadInventory(String actorId) {
+        InventoryAggregate cached = inventories.get(actorId);
+        if (cached != null) {
+            return Single.just(cached);
+        }
 
-        Optional<CharacterItem> item =
-                items.stream().filter(i -> i.getLocation().equals(location)).findFirst();
+        return inventoryRepository
+                .getCharacterInventory(actorId)
+                .map(
+                        inventory ->
+                                inventories.computeIfAbsent(
+                                        actorId, id -> new InventoryAggregate(inventory)));
+    }
 
-        if (item.isPresent()) {
-            return item.get();
-        } else {
-            log.warn("item was not found in the inventory");
-            return null;
-        }
+    private Single<InventoryAggregate> change(
+            String actorId, BiFunction<InventoryAggregate, Long, Completable> mutation) {
+        return loadInventory(actorId)
+                .flatMap(
+                        inventory -> {
+                            Completable write;
+                            synchronized (inventory) {
+                                // chained under the lock, writes reach mongo in version order
+                                write =
+                                        inventory.chain(
+                                                mutation.apply(inventory, inventory.getVersion())
+                                                        .doOnError(e -> discard(inventory, e)));
+                            }
+
+                            return write.toSingleDefault(inventory);
+                        });
+    }
+
+    private void discard(InventoryAggregate inventory, Throwable e) {
+        log.warn(
+                "Failed to persist inventory of {}, reloading it, {}",
+                inventory.getActorId(),
+                e.getMessage());
+        inventories.remove(inventory.getActorId(), inventory);
+    }
+
+    private static CharacterItem copyOf(CharacterItem item) {
+        // the aggregate keeps changing its own instance while the write is queued
+        return new CharacterItem(item.getActorId(), item.getLocation(), item.getItemInstance());
     }
 }
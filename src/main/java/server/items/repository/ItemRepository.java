@@ -1,22 +1,24 @@
 package server.items.repository;
 
 import static com.mongodb.client.model.Filters.eq;
-import static com.mongodb.client.model.Filters.gt;
+import static com.mongodb.client.model.Filters.in;
 
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
 import jakarta.inject.Singleton;
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.conversions.Bson;
 import server.common.configuration.MongoConfiguration;
-import server.common.dto.Location;
-import server.common.mongo.query.MongoDbQueryHelper;
 import server.items.model.DroppedItem;
 import server.items.model.Item;
 import server.items.model.ItemInstance;
@@ -25,8 +27,6 @@ import server.items.model.ItemInstance;
 @Singleton
 public class ItemRepository {
 
-    private static final Integer DROPPED_ITEM_TIMEOUT_SECONDS = 60;
-
     MongoConfiguration configuration;
     MongoClient mongoClient;
     MongoCollection<Item> itemCollection;
@@ -39,8 +39,8 @@ public class ItemRepository {
         prepareCollections();
     }
 
-    public Single<List<DroppedItem>> getItemsNear(Location location) {
-        return MongoDbQueryHelper.betweenLocation(droppedItemCollection, location, 1000);
+    public Single<List<DroppedItem>> getAllDroppedItems() {
+        return Flowable.fromPublisher(droppedItemCollection.find()).toList();
     }
 
     public Single<DroppedItem> createDroppedItem(DroppedItem droppedItem) {
@@ -62,6 +62,37 @@ public class ItemRepository {
                 .map(res -> item);
     }
 
+    public Single<List<Item>> upsertItems(List<Item> items) {
+        if (items.isEmpty()) {
+            return Single.just(items);
+        }
+
+        // one unordered bulk write instead of a round trip per item
+        ReplaceOptions options = new ReplaceOptions().upsert(true);
+        List<ReplaceOneModel<Item>> writes =
+                items.stream()
+                        .map(
+                                item ->
+                                        new ReplaceOneModel<>(
+                                                Filters.eq("itemId", item.getItemId()),
+                                                item,
+                                                options))
+                        .toList();
+
+        return Single.fromPublisher(
+                        itemCollection.bulkWrite(writes, new BulkWriteOptions().ordered(false)))
+                .map(res -> items);
+    }
+
+    public Single<List<Item>> getAllItems() {
+        return Flowable.fromPublisher(itemCollection.find()).toList();
+    }
+
+    public Flowable<ChangeStreamDocument<Item>> watchItems() {
+        // change streams need a replica set, on a standalone server this errors straight away
+        return Flowable.fromPublisher(itemCollection.watch());
+    }
+
     public Single<Item> findByItemId(String itemId) {
         return Single.fromPublisher(itemCollection.find(eq("itemId", itemId)));
     }
@@ -83,9 +114,9 @@ public class ItemRepository {
                 droppedItemCollection.deleteOne(eq("itemInstanceId", itemInstanceId)));
     }
 
-    public Single<DeleteResult> deleteTimedOutDroppedItems() {
-        LocalDateTime cutoffTime = LocalDateTime.now().minusSeconds(DROPPED_ITEM_TIMEOUT_SECONDS);
-        return Single.fromPublisher(droppedItemCollection.deleteMany(gt("droppedAt", cutoffTime)));
+    public Single<DeleteResult> deleteDroppedItems(Collection<String> itemInstanceIds) {
+        return Single.fromPublisher(
+                droppedItemCollection.deleteMany(in("itemInstanceId", itemInstanceIds)));
     }
 
     private void prepareCollections() {
@@ -0,0 +1,130 @@
+package server.items.service;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import server.common.configuration.DroppedItemConfiguration;
+import server.common.dto.Location;
+import server.common.spatial.WorldSpatialIndex;
+import server.common.tick.TickListener;
+import server.common.tick.TimerWheel;
+import server.items.model.DroppedItem;
+import server.items.repository.ItemRepository;
+import server.socket.service.ClientUpdatesService;
+
+@Slf4j
+@Singleton
+public class DroppedItemStore implements TickListener {
+    // Live dropped items, spatially indexed in memory. The collection is only the durable copy,
+    // written when an item drops and cleaned up when it is picked up or expires. Each item has
+    // an expiry on the timer wheel; everything that expired during a tick is removed from the
+    // index, the observing clients and the collection together on the next tick.
+
+    @Inject WorldSpatialIndex worldSpatialIndex;
+
+    @Inject TimerWheel timerWheel;
+
+    @Inject ItemRepository itemRepository;
+
+    @Inject ClientUpdatesService clientUpdatesService;
+
+    @Inject DroppedItemConfiguration configuration;
+
+    private final Map<String, TimerWheel.Timeout> expiries = new ConcurrentHashMap<>();
+    private final Queue<String> expired = new ConcurrentLinkedQueue<>();
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    public void add(DroppedItem droppedItem) {
+        if (droppedItem == null || droppedItem.getItemInstanceId() == null) {
+            return;
+        }
+
+        String itemInstanceId = droppedItem.getItemInstanceId();
+        worldSpatialIndex.addDroppedItem(droppedItem);
+
+        TimerWheel.Timeout previous =
+                expiries.put(
+                        itemInstanceId,
+                        timerWheel.schedule(
+                                () -> expired.add(itemInstanceId),
+                                timeToLive(droppedItem).toMillis(),
+                                TimeUnit.MILLISECONDS));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    public void remove(String itemInstanceId) {
+        TimerWheel.Timeout expiry = expiries.remove(itemInstanceId);
+        if (expiry != null) {
+            expiry.cancel();
+        }
+        worldSpatialIndex.removeDroppedItem(itemInstanceId);
+    }
+
+    public DroppedItem get(String itemInstanceId) {
+        return worldSpatialIndex.getDroppedItems().get(itemInstanceId);
+    }
+
+    public List<DroppedItem> getItemsNear(Location location, int threshold) {
+        return worldSpatialIndex.getDroppedItemsNear(location, threshold);
+    }
+
+    @Override
+    public void onTick(long tick, Instant now) {
+        List<String> batch = null;
+        String itemInstanceId;
+        while ((itemInstanceId = expired.poll()) != null) {
+            TimerWheel.Timeout expiry = expiries.get(itemInstanceId);
+            if (expiry == null || !expiry.isExpired() || !expiries.remove(itemInstanceId, expiry)) {
+                // picked up, or dropped again, after the timer fired
+                continue;
+            }
+
+            worldSpatialIndex.removeDroppedItem(itemInstanceId);
+            if (batch == null) {
+                batch = new ArrayList<>();
+            }
+            batch.add(itemInstanceId);
+        }
+
+        if (batch == null) {
+            return;
+        }
+        expiredCount.addAndGet(batch.size());
+
+        clientUpdatesService.sendItemsRemovedUpdates(batch);
+        itemRepository
+                .deleteDroppedItems(batch)
+                .doOnError(e -> log.error("Failed to delete expired items, {}", e.getMessage()))
+                .onErrorComplete()
+                .subscribe();
+    }
+
+    public int getLiveItems() {
+        return expiries.size();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    private Duration timeToLive(DroppedItem droppedItem) {
+        Instant droppedAt =
+                droppedItem.getDroppedAt() == null ? Instant.now() : droppedItem.getDroppedAt();
+        Duration left = Duration.between(Instant.now(), droppedAt.plus(configuration.getTtl()));
+
+        // items that expired while no node was running go with the first batch
+        return left.isNegative() ? Duration.ZERO : left;
+    }
+}
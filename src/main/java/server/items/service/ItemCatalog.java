@@ -0,0 +1,99 @@
+package server.items.service;
+
+import io.reactivex.rxjava3.core.Completable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import server.items.model.Item;
+import server.items.repository.ItemRepository;
+
+@Slf4j
+@Singleton
+public class ItemCatalog {
+    // Item definitions keyed by itemId. Gameplay only reads this snapshot, the items collection
+    // is read when the catalog is (re)loaded. A reload builds a new map and swaps it in, readers
+    // never see a half loaded catalog.
+
+    private static final long LOAD_TIMEOUT_SECONDS = 30;
+
+    @Inject ItemRepository itemRepository;
+
+    private volatile Map<String, Item> items = Map.of();
+
+    // a reload that started before a newer one finished must not overwrite it
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+
+    @PostConstruct
+    public void load() {
+        // drops are created from the catalog, it has to be filled before the bean is handed out
+        boolean loaded = reloadOrKeep().blockingAwait(LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (!loaded) {
+            log.error("Item catalog did not load within {}s", LOAD_TIMEOUT_SECONDS);
+        }
+
+        itemRepository
+                .watchItems()
+                .throttleLast(1, TimeUnit.SECONDS)
+                // a failed reload must not end the watch, the next change tries again
+                .concatMapCompletable(change -> reloadOrKeep())
+                .subscribe(
+                        () -> {},
+                        e ->
+                                log.warn(
+                                        "Item catalog is not watching for changes, {}",
+                                        e.getMessage()));
+    }
+
+    public Completable reload() {
+        return Completable.defer(
+                () -> {
+                    long started = generation.incrementAndGet();
+
+                    return itemRepository
+                            .getAllItems()
+                            .doOnSuccess(loaded -> replace(started, loaded))
+                            .ignoreElement();
+                });
+    }
+
+    public Item get(String itemId) {
+        return itemId == null ? null : items.get(itemId);
+    }
+
+    public Map<String, Item> getItems() {
+        return items;
+    }
+
+    public long getReloads() {
+        return reloads.get();
+    }
+
+    private Completable reloadOrKeep() {
+        // on failure the current catalog stays in place
+        return reload().doOnError(e -> log.error("Failed to load item catalog, {}", e.getMessage()))
+                .onErrorComplete();
+    }
+
+    private void replace(long started, List<Item> loaded) {
+        Map<String, Item> next = new HashMap<>(loaded.size() * 2);
+        for (Item item : loaded) {
+            next.put(item.getItemId(), item);
+        }
+
+        synchronized (this) {
+            if (started != generation.get()) {
+                return;
+            }
+            items = Collections.unmodifiableMap(next);
+        }
+        reloads.incrementAndGet();
+    }
+}
@@ -5,9 +5,13 @@ import io.reactivex.rxjava3.core.Single;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.UUID;
+import javax.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import server.common.dto.Location;
 import server.items.model.DroppedItem;
@@ -21,11 +25,37 @@ public class ItemService {
 
     @Inject ItemRepository itemRepository;
 
+    @Inject DroppedItemStore droppedItemStore;
+
+    @Inject ItemCatalog itemCatalog;
+
+    private static final int DROPPED_ITEM_DISTANCE_THRESHOLD = 1_000;
+
+    @PostConstruct
+    public void loadDroppedItems() {
+        itemRepository
+                .getAllDroppedItems()
+                .doOnSuccess(items -> items.forEach(droppedItemStore::add))
+                .doOnError(e -> log.error("Failed to load dropped items, {}", e.getMessage()))
+                .subscribe();
+    }
+
     public Single<DroppedItem> createNewDroppedItem(String itemId, Location location) {
-        return itemRepository
-                .findByItemId(itemId)
-                .doOnError(e -> log.error(e.getMessage()))
-                .flatMap(foundItem -> createDroppedItem(foundItem, location));
+        Item foundItem = itemCatalog.get(itemId);
+        if (foundItem == null) {
+            log.error("Item {} is not in the catalog", itemId);
+            return Single.error(new NoSuchElementException("Item not found, " + itemId));
+        }
+
+        return createDroppedItem(foundItem, location);
+    }
+
+    public Optional<Item> getItem(String itemId) {
+        return Optional.ofNullable(itemCatalog.get(itemId));
+    }
+
+    public Map<String, Item> getCatalog() {
+        return itemCatalog.getItems();
     }
 
     private Single<DroppedItem> createDroppedItem(Item foundItem, Location location) {
@@ -42,7 +72,9 @@ public class ItemService {
         DroppedItem droppedItem =
                 new DroppedItem(
                         itemInstance.getItemInstanceId(), location, itemInstance, Instant.now());
-        return itemRepository.createDroppedItem(droppedItem);
+        return itemRepository
+                .createDroppedItem(droppedItem)
+                .doOnSuccess(droppedItemStore::add);
     }
 
     public Single<DroppedItem> dropExistingItem(String itemInstanceId, Location location) {
@@ -53,24 +85,36 @@ public class ItemService {
     }
 
     public Single<DroppedItem> getDroppedItemByInstanceId(String instanceId) {
-        return itemRepository.findDroppedItemByInstanceId(instanceId);
+        DroppedItem droppedItem = droppedItemStore.get(instanceId);
+        if (droppedItem == null) {
+            return Single.error(
+                    new NoSuchElementException("Dropped item not found, " + instanceId));
+        }
+
+        return Single.just(droppedItem);
     }
 
     public Single<List<DroppedItem>> getItemsInMap(Location location) {
-        return itemRepository.getItemsNear(location);
+        List<DroppedItem> items =
+                droppedItemStore.getItemsNear(location, DROPPED_ITEM_DISTANCE_THRESHOLD);
+        // keep the order items were dropped in, same as reading them from the collection
+        items.sort(
+                Comparator.comparing(
+                        DroppedItem::getDroppedAt,
+                        Comparator.nullsLast(Comparator.naturalOrder())));
+
+        return Single.just(items);
     }
 
     public Single<DeleteResult> deleteDroppedItem(String itemInstanceId) {
+        droppedItemStore.remove(itemInstanceId);
         return itemRepository.deleteDroppedItem(itemInstanceId);
     }
 
-    public List<Item> createItems(List<Item> items) {
-        List<Item> created = new ArrayList<>();
-        // this is almost never used so can be blocking
-        for (Item i : items) {
-            created.add(itemRepository.upsertItem(i).blockingGet());
-        }
-
-        return created;
+    public Single<List<Item>> createItems(List<Item> items) {
+        // the catalog is swapped once the whole import is written
+        return itemRepository
+                .upsertItems(items)
+                .flatMap(created -> itemCatalog.reload().toSingleDefault(created));
     }
 }
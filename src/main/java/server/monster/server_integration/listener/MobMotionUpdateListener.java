@@ -0,0 +1,58 @@
+package server.monster.server_integration.listener;
+
+import io.micronaut.configuration.kafka.annotation.KafkaListener;
+import io.micronaut.configuration.kafka.annotation.OffsetReset;
+import io.micronaut.configuration.kafka.annotation.OffsetStrategy;
+import io.micronaut.configuration.kafka.annotation.Topic;
+import jakarta.inject.Inject;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import server.common.kafka.BatchConflation;
+import server.common.shard.WorldShards;
+import server.monster.server_integration.model.Monster;
+import server.monster.server_integration.producer.MonsterServerProducer;
+import server.motion.repository.ActorMotionRepository;
+
+@Slf4j
+@KafkaListener(
+        groupId = "mmo-server",
+        offsetReset = OffsetReset.EARLIEST,
+        offsetStrategy = OffsetStrategy.SYNC,
+        clientId = "mob_motion_client",
+        batch = true)
+public class MobMotionUpdateListener {
+
+    @Inject MonsterServerProducer monsterServerProducer;
+
+    @Inject ActorMotionRepository actorMotionRepository;
+
+    @Inject WorldShards worldShards;
+
+    @Topic("mob-motion-update")
+    public void receiveUpdateMobs(List<Monster> monsters) {
+        // offsets are committed once per poll, only the latest motion per mob is applied
+        List<Monster> latest = BatchConflation.latestPerKey(monsters, Monster::getActorId);
+        // each map is applied by the shard that owns it, the poll is done once all of them are
+        worldShards
+                .runByMap(latest, m -> WorldShards.mapOf(m.getMotion()), this::apply)
+                .doOnError(err -> log.error("Failed to apply mob motions, {}", err.getMessage()))
+                .onErrorComplete()
+                .blockingAwait();
+    }
+
+    private void apply(List<Monster> monsters) {
+        // a group holds the mobs of one map, its results go out keyed by that map
+        for (Monster monster : monsters) {
+            // Add validation
+            try {
+                actorMotionRepository.updateActorMotion(monster.getActorId(), monster.getMotion());
+            } catch (Exception e) {
+                log.error("Failed to apply mob motion, {}", e.getMessage());
+            }
+        }
+        if (!monsters.isEmpty()) {
+            monsterServerProducer.sendMobUpdateResults(
+                    WorldShards.mapOf(monsters.get(0).getMotion()), monsters);
+        }
+    }
+}
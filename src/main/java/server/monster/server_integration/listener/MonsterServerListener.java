@@ -9,9 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import server.attribute.stats.service.StatsService;
 import server.attribute.status.service.StatusService;
 import server.monster.server_integration.model.Monster;
-import server.monster.server_integration.producer.MonsterServerProducer;
 import server.monster.server_integration.service.MobInstanceService;
-import server.motion.repository.ActorMotionRepository;
 import server.session.SessionParamHelper;
 
 @Slf4j
@@ -22,8 +20,6 @@ import server.session.SessionParamHelper;
         clientId = "mob_repo_client")
 public class MonsterServerListener {
 
-    @Inject MonsterServerProducer monsterServerProducer;
-
     @Inject MobInstanceService mobInstanceService;
 
     @Inject StatsService statsService;
@@ -31,8 +27,6 @@ public class MonsterServerListener {
 
     @Inject SessionParamHelper sessionParamHelper;
 
-    @Inject ActorMotionRepository actorMotionRepository;
-
     @Topic("create-mob")
     public void receiveCreateMob(Monster monster) {
         mobInstanceService
@@ -45,11 +39,4 @@ public class MonsterServerListener {
                 .doOnError(error -> log.error("Error on creating mob, {}", error.getMessage()))
                 .subscribe();
     }
-
-    @Topic("mob-motion-update")
-    public void receiveUpdateMob(Monster monster) {
-        // Add validation
-        actorMotionRepository.updateActorMotion(monster.getActorId(), monster.getMotion());
-        monsterServerProducer.sendMobUpdateResult(monster);
-    }
 }
@@ -1,12 +1,19 @@
 package server.monster.server_integration.producer;
 
 import io.micronaut.configuration.kafka.annotation.KafkaClient;
+import io.micronaut.configuration.kafka.annotation.KafkaKey;
 import io.micronaut.configuration.kafka.annotation.Topic;
+import java.util.List;
 import server.monster.server_integration.model.Monster;
 
-@KafkaClient(id = "mob-server-client")
+// batch: a list argument is sent as one record per element in a single producer call
+// records are keyed by map so every update of a map lands on the same partition
+@KafkaClient(id = "mob-server-client", batch = true)
 public interface MonsterServerProducer {
 
     @Topic("mob-motion-update-result")
-    void sendMobUpdateResult(Monster monster);
+    void sendMobUpdateResult(@KafkaKey String map, Monster monster);
+
+    @Topic("mob-motion-update-result")
+    void sendMobUpdateResults(@KafkaKey String map, List<Monster> monsters);
 }
@@ -3,8 +3,12 @@ package server.monster.server_integration.repository;
 import static com.mongodb.client.model.Filters.eq;
 import static com.mongodb.client.model.Filters.in;
 
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.InsertOneResult;
 import com.mongodb.reactivestreams.client.MongoClient;
@@ -15,7 +19,9 @@ import jakarta.inject.Singleton;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 import server.common.configuration.MongoConfiguration;
@@ -59,6 +65,23 @@ public class MobRepository {
                                         Instant.now().truncatedTo(ChronoUnit.MICROS)))));
     }
 
+    public Single<BulkWriteResult> bulkUpdateMotion(Map<String, Motion> motions) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        List<WriteModel<Monster>> updates =
+                motions.entrySet().stream()
+                        .map(
+                                entry ->
+                                        new UpdateOneModel<Monster>(
+                                                eq("actorId", entry.getKey()),
+                                                Updates.combine(
+                                                        Updates.set("motion", entry.getValue()),
+                                                        Updates.set("updatedAt", now))))
+                        .collect(Collectors.toList());
+
+        return Single.fromPublisher(
+                mobMotionMongoCollection.bulkWrite(updates, new BulkWriteOptions().ordered(false)));
+    }
+
     public Single<DeleteResult> deleteMobInstance(String actorId) {
         return Single.fromPublisher(mobMotionMongoCollection.deleteOne(eq("actorId", actorId)));
     }
@@ -68,6 +91,10 @@ public class MobRepository {
                 .toList();
     }
 
+    public Single<List<Monster>> getAllMobs() {
+        return Flowable.fromPublisher(mobMotionMongoCollection.find()).toList();
+    }
+
     public Single<List<Monster>> getMobsNearby(Location location) {
         return MongoDbQueryHelper.nearbyMobMotionFinder(mobMotionMongoCollection, location, 2000);
     }
@@ -16,6 +16,7 @@ import server.attribute.status.model.derived.Dead;
 import server.attribute.status.service.StatusService;
 import server.common.dto.Location;
 import server.common.dto.Motion;
+import server.common.spatial.WorldSpatialIndex;
 import server.monster.server_integration.model.Monster;
 import server.monster.server_integration.repository.MobRepository;
 import server.motion.dto.MotionResult;
@@ -30,10 +31,14 @@ public class MobInstanceService {
 
     @Inject StatusService statusService;
 
+    @Inject WorldSpatialIndex worldSpatialIndex;
+
+    public static final int MOB_DISTANCE_THRESHOLD = 2_000;
+
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
 
     public Single<List<Monster>> getMobsNearby(Location location) {
-        return mobRepository.getMobsNearby(location);
+        return Single.just(worldSpatialIndex.getMobsNearby(location, MOB_DISTANCE_THRESHOLD));
     }
 
     public Single<List<Monster>> getMobsByIds(Set<String> actorIds) {
@@ -50,14 +55,14 @@ public class MobInstanceService {
         statsService.initializeMobStats(mobId);
         statusService.initializeStatus(mobId);
 
-        return mobRepository.insertMobInstance(mob);
+        return mobRepository.insertMobInstance(mob).doOnSuccess(worldSpatialIndex::updateMob);
 
         // also need to create mob attributes
     }
 
     public Single<Monster> createMob(Monster mob) {
         mob.setUpdatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
-        return mobRepository.insertMobInstance(mob);
+        return mobRepository.insertMobInstance(mob).doOnSuccess(worldSpatialIndex::updateMob);
     }
 
     public Single<Monster> updateMobMotion(String actorId, Motion motion) {
@@ -75,6 +80,7 @@ public class MobInstanceService {
 
     public void handleMobDeath(String mobId) {
         // we will set state to death and wait for animations etc
+        worldSpatialIndex.removeMob(mobId);
 
         statusService.addStatusToActor(Set.of(new Dead()), mobId);
         statusService
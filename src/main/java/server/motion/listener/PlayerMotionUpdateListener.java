@@ -5,7 +5,10 @@ import io.micronaut.configuration.kafka.annotation.OffsetReset;
 import io.micronaut.configuration.kafka.annotation.OffsetStrategy;
 import io.micronaut.configuration.kafka.annotation.Topic;
 import jakarta.inject.Inject;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import server.common.kafka.BatchConflation;
+import server.common.shard.WorldShards;
 import server.motion.dto.PlayerMotion;
 import server.motion.repository.ActorMotionRepository;
 import server.motion.service.PlayerMotionService;
@@ -15,18 +18,39 @@ import server.motion.service.PlayerMotionService;
         groupId = "mmo-server",
         offsetReset = OffsetReset.EARLIEST,
         offsetStrategy = OffsetStrategy.SYNC,
-        clientId = "player_motion_client")
+        clientId = "player_motion_client",
+        batch = true)
 public class PlayerMotionUpdateListener {
 
     @Inject PlayerMotionService playerMotionService;
 
     @Inject ActorMotionRepository actorMotionRepository;
 
+    @Inject WorldShards worldShards;
+
     @Topic("player-motion-update")
-    public void receive(PlayerMotion playerMotion) {
-        // TODO: validate
-        actorMotionRepository.updateActorMotion(
-                playerMotion.getActorId(), playerMotion.getMotion());
-        playerMotionService.relayPlayerMotion(playerMotion);
+    public void receive(List<PlayerMotion> playerMotions) {
+        // offsets are committed once per poll, only the latest motion per player is applied
+        List<PlayerMotion> latest =
+                BatchConflation.latestPerKey(playerMotions, PlayerMotion::getActorId);
+        // each map is applied by the shard that owns it, the poll is done once all of them are
+        worldShards
+                .runByMap(latest, p -> WorldShards.mapOf(p.getMotion()), this::apply)
+                .doOnError(err -> log.error("Failed to apply player motions, {}", err.getMessage()))
+                .onErrorComplete()
+                .blockingAwait();
+    }
+
+    private void apply(List<PlayerMotion> playerMotions) {
+        for (PlayerMotion playerMotion : playerMotions) {
+            // TODO: validate
+            try {
+                actorMotionRepository.updateActorMotion(
+                        playerMotion.getActorId(), playerMotion.getMotion());
+            } catch (Exception e) {
+                log.error("Failed to apply player motion, {}", e.getMessage());
+            }
+        }
+        playerMotionService.relayPlayerMotions(playerMotions);
     }
 }
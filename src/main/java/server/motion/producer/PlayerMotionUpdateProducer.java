@@ -1,12 +1,19 @@
 package server.motion.producer;
 
 import io.micronaut.configuration.kafka.annotation.KafkaClient;
+import io.micronaut.configuration.kafka.annotation.KafkaKey;
 import io.micronaut.configuration.kafka.annotation.Topic;
+import java.util.List;
 import server.motion.dto.PlayerMotion;
 
-@KafkaClient(id = "player-motion-client")
+// batch: a list argument is sent as one record per element in a single producer call
+// records are keyed by map so every update of a map lands on the same partition
+@KafkaClient(id = "player-motion-client", batch = true)
 public interface PlayerMotionUpdateProducer {
 
     @Topic("player-motion-update-result")
-    void sendPlayerMotionResult(PlayerMotion playerMotion);
+    void sendPlayerMotionResult(@KafkaKey String map, PlayerMotion playerMotion);
+
+    @Topic("player-motion-update-result")
+    void sendPlayerMotionResults(@KafkaKey String map, List<PlayerMotion> playerMotions);
 }
@@ -4,13 +4,26 @@ import io.micronaut.cache.annotation.CacheConfig;
 import io.micronaut.cache.annotation.CachePut;
 import io.micronaut.cache.annotation.Cacheable;
 import io.micronaut.scheduling.annotation.Scheduled;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import server.common.configuration.MotionWriteBehindConfiguration;
 import server.common.dto.Motion;
+import server.common.metrics.WriteBehindMetrics;
+import server.common.spatial.WorldSpatialIndex;
 import server.common.uuid.UUIDHelper;
 import server.monster.server_integration.model.Monster;
 import server.monster.server_integration.repository.MobRepository;
@@ -23,12 +36,40 @@ public class ActorMotionRepository {
 
     private static final String ACTOR_MOTION_CACHE = "actor-motion-cache";
 
-    private Map<String, Motion> motionMap = new ConcurrentHashMap<>();
+    // latest motion per actor that has not been written to mongo yet
+    private final Map<String, Motion> motionMap = new ConcurrentHashMap<>();
+
+    private final WriteBehindMetrics writeBehindMetrics = new WriteBehindMetrics(motionMap::size);
 
     @Inject PlayerMotionRepository playerMotionRepository;
 
     @Inject MobRepository mobRepository;
 
+    @Inject WorldSpatialIndex worldSpatialIndex;
+
+    @Inject MotionWriteBehindConfiguration writeBehindConfiguration;
+
+    @PostConstruct
+    public void loadSpatialIndex() {
+        // Mongo is the durable store, warm the in-memory index with what is already live
+        playerMotionRepository
+                .fetchOnlinePlayers()
+                .doOnSuccess(
+                        players ->
+                                players.forEach(
+                                        p ->
+                                                worldSpatialIndex.updatePlayerMotion(
+                                                        p.getActorId(), p.getMotion())))
+                .doOnError(err -> log.error("Failed to load online players, {}", err.getMessage()))
+                .subscribe();
+
+        mobRepository
+                .getAllMobs()
+                .doOnSuccess(mobs -> mobs.forEach(worldSpatialIndex::updateMob))
+                .doOnError(err -> log.error("Failed to load mob instances, {}", err.getMessage()))
+                .subscribe();
+    }
+
     @Cacheable(value = ACTOR_MOTION_CACHE, parameters = "actorId")
     public Single<Motion> fetchActorMotion(String actorId) {
         if (actorId == null || actorId.isBlank()) {
@@ -48,30 +89,176 @@ public class ActorMotionRepository {
         }
     }
 
+    /**
+     * Motion of many actors at once. Live actors are read from the spatial index, only the rest go
+     * through the cache or Mongo. Actors without a known position are left out.
+     */
+    public Single<Map<String, Motion>> fetchActorMotions(Collection<String> actorIds) {
+        Map<String, Motion> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String actorId : actorIds) {
+            Motion motion = indexedMotion(actorId);
+            if (motion != null) {
+                found.put(actorId, motion);
+            } else if (actorId != null && !actorId.isBlank()) {
+                missing.add(actorId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Single.just(found);
+        }
+
+        // a missing motion errors instead of returning null
+        return Flowable.fromIterable(missing)
+                .flatMapMaybe(
+                        actorId ->
+                                fetchActorMotion(actorId)
+                                        .map(motion -> Map.entry(actorId, motion))
+                                        .toMaybe()
+                                        .onErrorComplete())
+                .toList()
+                .map(
+                        entries -> {
+                            entries.forEach(entry -> found.put(entry.getKey(), entry.getValue()));
+                            return found;
+                        });
+    }
+
     @CachePut(value = ACTOR_MOTION_CACHE, parameters = "actorId", async = true)
     public Motion updateActorMotion(String actorId, Motion motion) {
         if (actorId == null) {
             log.error("actorId null when trying to update motion");
             return null;
         }
-        Motion prev = motionMap.put(actorId, motion);
-        if (null == prev) {
+        if (worldSpatialIndex.isRemoved(actorId)) {
+            // dead, evicted or disconnected, motion still in flight is neither indexed nor stored
+            return motion;
+        }
+        boolean fresh;
+        if (UUIDHelper.isPlayer(actorId)) {
+            fresh = !worldSpatialIndex.getPlayers().contains(actorId);
+            worldSpatialIndex.updatePlayerMotion(actorId, motion);
+        } else {
+            fresh = !worldSpatialIndex.getMobs().contains(actorId);
+            worldSpatialIndex.updateMobMotion(actorId, motion);
+        }
+
+        if (fresh) {
             // sync it now if its fresh
             handleUpdate(actorId, motion);
+        } else {
+            motionMap.put(actorId, motion);
         }
         return motion;
     }
 
-    @Scheduled(fixedDelay = "30s", initialDelay = "1s")
+    @Scheduled(
+            fixedDelay = "${motion-write-behind.flush-interval:1s}",
+            initialDelay = "1s")
     public void syncMotionWithRepo() {
         // we pull motion information from the cache and we update the cache as first resort
-        // TODO: Convert to batch process
+        flushDirtyMotion()
+                .doOnError(err -> log.error("Failed to flush motion, {}", err.getMessage()))
+                .onErrorComplete()
+                .subscribe();
+    }
+
+    @Scheduled(
+            fixedDelay = "${motion-write-behind.report-interval:60s}",
+            initialDelay = "${motion-write-behind.report-interval:60s}")
+    public void reportWriteBehindMetrics() {
+        log.info("Motion write-behind, {}", writeBehindMetrics.summary());
+    }
 
+    @PreDestroy
+    public void flushOnShutdown() {
+        long timeout = writeBehindConfiguration.getShutdownTimeout().toMillis();
+        boolean done =
+                flushDirtyMotion().onErrorComplete().blockingAwait(timeout, TimeUnit.MILLISECONDS);
+        if (!done) {
+            log.warn("Motion flush did not finish on shutdown, {} left", motionMap.size());
+        }
+    }
+
+    public Completable flushDirtyMotion() {
+        if (motionMap.isEmpty()) {
+            return Completable.complete();
+        }
+
+        Map<String, Motion> players = new HashMap<>();
+        Map<String, Motion> mobs = new HashMap<>();
         for (String id : motionMap.keySet()) {
-            Motion motion = motionMap.get(id);
-            handleUpdate(id, motion);
-            motionMap.remove(id);
+            Motion motion = motionMap.remove(id);
+            if (motion == null) {
+                continue;
+            }
+            if (UUIDHelper.isPlayer(id)) {
+                players.put(id, motion);
+            } else {
+                mobs.put(id, motion);
+            }
+        }
+
+        List<Completable> writes = new ArrayList<>();
+        for (Map<String, Motion> batch : toBatches(players)) {
+            writes.add(writeBatch(batch, playerMotionRepository::bulkUpdateMotion));
+        }
+        for (Map<String, Motion> batch : toBatches(mobs)) {
+            writes.add(writeBatch(batch, mobRepository::bulkUpdateMotion));
         }
+
+        // a failed batch must not cancel the others, each one puts back only its own entries
+        return Completable.mergeDelayError(writes);
+    }
+
+    public WriteBehindMetrics getWriteBehindMetrics() {
+        return writeBehindMetrics;
+    }
+
+    private Motion indexedMotion(String actorId) {
+        if (UUIDHelper.isPlayer(actorId)) {
+            PlayerMotion playerMotion = worldSpatialIndex.getPlayers().get(actorId);
+            return playerMotion == null ? null : playerMotion.getMotion();
+        }
+        Monster monster = worldSpatialIndex.getMobs().get(actorId);
+        return monster == null ? null : monster.getMotion();
+    }
+
+    private Completable writeBatch(
+            Map<String, Motion> batch, Function<Map<String, Motion>, Single<?>> bulkWrite) {
+        long start = System.nanoTime();
+
+        return bulkWrite
+                .apply(batch)
+                .doOnSuccess(
+                        res ->
+                                writeBehindMetrics.recordBatch(
+                                        batch.size(), System.nanoTime() - start))
+                .doOnError(
+                        err -> {
+                            writeBehindMetrics.recordFailure();
+                            // put them back unless a newer motion arrived in the meantime
+                            batch.forEach(motionMap::putIfAbsent);
+                        })
+                .ignoreElement();
+    }
+
+    private List<Map<String, Motion>> toBatches(Map<String, Motion> motions) {
+        int batchSize = Math.max(1, writeBehindConfiguration.getBatchSize());
+        List<Map<String, Motion>> batches = new ArrayList<>();
+        Map<String, Motion> batch = new HashMap<>();
+        for (Map.Entry<String, Motion> entry : motions.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+
+        return batches;
     }
 
     private void handleUpdate(String actorId, Motion motion) {
@@ -4,7 +4,11 @@ import static com.mongodb.client.model.Filters.*;
 import static com.mongodb.client.model.Updates.combine;
 import static com.mongodb.client.model.Updates.set;
 
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 import com.mongodb.reactivestreams.client.MongoClient;
@@ -18,7 +22,9 @@ import jakarta.inject.Singleton;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import server.common.configuration.MongoConfiguration;
 import server.common.dto.Motion;
@@ -56,6 +62,11 @@ public class PlayerMotionRepository {
                 .toList();
     }
 
+    public Single<List<PlayerMotion>> fetchOnlinePlayers() {
+        return Flowable.fromPublisher(playerMotionMongoCollection.find(eq("isOnline", true)))
+                .toList();
+    }
+
     @CachePut(value = ACTOR_MOTION_CACHE, parameters = "actorId", async = true)
     public Single<Motion> insertPlayerMotion(String actorId, PlayerMotion playerMotion) {
         return Single.fromPublisher(playerMotionMongoCollection.insertOne(playerMotion))
@@ -82,6 +93,25 @@ public class PlayerMotionRepository {
                 .map(success -> playerMotion);
     }
 
+    public Single<BulkWriteResult> bulkUpdateMotion(Map<String, Motion> motions) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        List<WriteModel<PlayerMotion>> updates =
+                motions.entrySet().stream()
+                        .map(
+                                entry ->
+                                        new UpdateOneModel<PlayerMotion>(
+                                                eq("actorId", entry.getKey()),
+                                                Updates.combine(
+                                                        Updates.set("motion", entry.getValue()),
+                                                        Updates.set("isOnline", true),
+                                                        Updates.set("updatedAt", now))))
+                        .collect(Collectors.toList());
+
+        return Single.fromPublisher(
+                playerMotionMongoCollection.bulkWrite(
+                        updates, new BulkWriteOptions().ordered(false)));
+    }
+
     public Single<DeleteResult> deletePlayerMotion(String actorId) {
         return Single.fromPublisher(playerMotionMongoCollection.deleteOne(eq("actorId", actorId)));
     }
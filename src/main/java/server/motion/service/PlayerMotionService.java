@@ -4,10 +4,15 @@ import io.reactivex.rxjava3.core.Single;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import server.common.dto.Motion;
+import server.common.shard.WorldShards;
+import server.common.spatial.WorldSpatialIndex;
 import server.motion.dto.PlayerMotion;
 import server.motion.model.PlayerMotionList;
 import server.motion.producer.PlayerMotionUpdateProducer;
@@ -21,6 +26,8 @@ public class PlayerMotionService {
 
     @Inject PlayerMotionUpdateProducer playerMotionUpdateProducer;
 
+    @Inject WorldSpatialIndex worldSpatialIndex;
+
     //    @Inject SessionParamHelper sessionParamHelper;
 
     private static final int DEFAULT_DISTANCE_THRESHOLD = 20_000;
@@ -58,10 +65,12 @@ public class PlayerMotionService {
     // used in v1
     public Single<PlayerMotion> updatePlayerMotion(String actorId, Motion motion) {
         PlayerMotion playerMotion = new PlayerMotion(actorId, motion, true, Instant.now());
+        worldSpatialIndex.updatePlayerMotion(actorId, motion);
         return playerMotionRepository.updateMotion(playerMotion);
     }
 
     public void disconnectPlayer(String actorId) {
+        worldSpatialIndex.removePlayer(actorId);
         playerMotionRepository.setPlayerOnlineStatus(actorId, false).subscribe();
     }
 
@@ -76,10 +85,9 @@ public class PlayerMotionService {
 
     public Single<List<PlayerMotion>> getNearbyPlayersAsync(
             Motion motion, String actorId, Integer threshold) {
-        PlayerMotion playerMotion = new PlayerMotion(actorId, motion, true, Instant.now());
         threshold = threshold == null ? DEFAULT_DISTANCE_THRESHOLD : threshold;
 
-        return playerMotionRepository.getPlayersNearby(playerMotion, threshold);
+        return Single.just(worldSpatialIndex.getNearbyPlayers(motion, actorId, threshold));
     }
 
     public Single<PlayerMotion> getPlayerMotion(String actorId) {
@@ -91,6 +99,20 @@ public class PlayerMotionService {
     }
 
     public void relayPlayerMotion(PlayerMotion playerMotion) {
-        playerMotionUpdateProducer.sendPlayerMotionResult(playerMotion);
+        playerMotionUpdateProducer.sendPlayerMotionResult(
+                WorldShards.mapOf(playerMotion.getMotion()), playerMotion);
+    }
+
+    public void relayPlayerMotions(List<PlayerMotion> playerMotions) {
+        if (playerMotions.isEmpty()) {
+            return;
+        }
+        // one batch per map, each keyed by its map
+        Map<String, List<PlayerMotion>> byMap = new HashMap<>();
+        for (PlayerMotion playerMotion : playerMotions) {
+            String map = WorldShards.mapOf(playerMotion.getMotion());
+            byMap.computeIfAbsent(map, k -> new ArrayList<>()).add(playerMotion);
+        }
+        byMap.forEach(playerMotionUpdateProducer::sendPlayerMotionResults);
     }
 }
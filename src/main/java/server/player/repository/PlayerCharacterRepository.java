@@ -4,21 +4,18 @@ import static com.mongodb.client.model.Filters.*;
 import static com.mongodb.client.model.Updates.combine;
 import static com.mongodb.client.model.Updates.set;
 
-import com.mongodb.client.model.Indexes;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.subscribers.DefaultSubscriber;
 import jakarta.inject.Singleton;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
-import javax.annotation.PostConstruct;
 import javax.validation.Valid;
 import server.common.configuration.MongoConfiguration;
 import server.common.dto.Motion;
@@ -38,32 +35,6 @@ public class PlayerCharacterRepository {
         this.characters = getCollection();
     }
 
-    @PostConstruct
-    public void createIndex() {
-        // Micronaut does not yet support index annotation, we have to create manually
-        // https://www.javaer101.com/en/article/20717814.html
-
-        characters
-                .createIndex(Indexes.text("name"))
-                .subscribe(
-                        new DefaultSubscriber<String>() {
-                            @Override
-                            public void onNext(String s) {
-                                System.out.format("Index %s was created.%n", s);
-                            }
-
-                            @Override
-                            public void onError(Throwable t) {
-                                t.printStackTrace();
-                            }
-
-                            @Override
-                            public void onComplete() {
-                                System.out.println("Completed");
-                            }
-                        });
-    }
-
     public Character save(@Valid Character character) {
         Character ch = findByName(character.getName());
         if (ch == null) {
@@ -5,7 +5,11 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.Instant;
 import lombok.extern.slf4j.Slf4j;
+import server.attribute.stats.service.StatsService;
+import server.attribute.status.service.StatusService;
+import server.common.spatial.WorldSpatialIndex;
 import server.monster.server_integration.repository.MobRepository;
+import server.socket.v2.codec.ActorHandleRegistry;
 
 @Slf4j
 @Singleton
@@ -15,12 +19,29 @@ public class DanglingMobsChecker {
 
     @Inject MobRepository mobRepository;
 
+    @Inject WorldSpatialIndex worldSpatialIndex;
+
+    @Inject StatsService statsService;
+
+    @Inject StatusService statusService;
+
+    @Inject ActorHandleRegistry actorHandleRegistry;
+
     private static final Integer TIME_THRESHOLD_SECONDS = 20;
 
     @Scheduled(fixedDelay = "60s")
     void executeEveryTen() {
+        Instant cutoff = Instant.now().minusSeconds(TIME_THRESHOLD_SECONDS);
+        worldSpatialIndex
+                .evictMobsNotUpdatedSince(cutoff)
+                .forEach(
+                        actorId -> {
+                            statsService.releaseStats(actorId);
+                            statusService.releaseActorStatus(actorId);
+                            actorHandleRegistry.release(actorId);
+                        });
         mobRepository
-                .deleteMobsNotUpdatedWithin(Instant.now().minusSeconds(TIME_THRESHOLD_SECONDS))
+                .deleteMobsNotUpdatedWithin(cutoff)
                 .doOnError(
                         error -> log.error("Failed to clear dangling mobs, {}", error.getMessage()))
                 .subscribe();
@@ -3,8 +3,14 @@ package server.scheduled.user;
 import io.micronaut.scheduling.annotation.Scheduled;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.time.Instant;
+import server.attribute.stats.service.StatsService;
+import server.attribute.status.service.StatusService;
+import server.common.spatial.WorldSpatialIndex;
+import server.items.inventory.service.InventoryService;
 import server.motion.repository.PlayerMotionRepository;
 import server.player.repository.PlayerCharacterRepository;
+import server.socket.v2.codec.ActorHandleRegistry;
 
 @Singleton
 public class OnlineChecker {
@@ -13,12 +19,33 @@ public class OnlineChecker {
 
     @Inject PlayerMotionRepository playerMotionRepository;
 
+    @Inject WorldSpatialIndex worldSpatialIndex;
+
+    @Inject StatsService statsService;
+
+    @Inject InventoryService inventoryService;
+
+    @Inject StatusService statusService;
+
+    @Inject ActorHandleRegistry actorHandleRegistry;
+
+    private static final Integer LOGOUT_THRESHOLD_SECONDS = 300;
+
     //    This is also handled by websocket disconnect function
     @Scheduled(fixedDelay = "30s")
     void executeEveryTen() {
         // TODO: this needs refactoring
         // TODO: this is also a very inefficient call, scope down the time range
         //        playerCharacterRepository.checkAndUpdateUserOnline();
+        worldSpatialIndex
+                .evictPlayersNotUpdatedSince(Instant.now().minusSeconds(LOGOUT_THRESHOLD_SECONDS))
+                .forEach(
+                        actorId -> {
+                            statsService.releaseStats(actorId);
+                            inventoryService.evict(actorId);
+                            statusService.releaseActorStatus(actorId);
+                            actorHandleRegistry.release(actorId);
+                        });
         playerMotionRepository.checkAndUpdateUserOnline().subscribe();
     }
 }
@@ -0,0 +1,229 @@
+package server.session;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import server.combat.model.CombatData;
+import server.common.configuration.redis.PreEncodedValueCodec;
+import server.session.model.CacheDomains;
+import server.session.model.CacheKey;
+import server.skills.available.destruction.fire.Fireball;
+import server.skills.available.restoration.heals.BasicHeal;
+
+/**
+ * Near-cache for the shared {@link CombatData}. The node that last wrote an actor's combat data
+ * owns it and serves it from memory; taking ownership is announced over Redis pub/sub so the
+ * previous owner drops its local copy and reads through Redis again. Reads never take ownership.
+ * Reads and writes share one connection, so a read always sees the writes this node sent before
+ * it, and writes are async so they are pipelined instead of blocking the combat loop. The owned
+ * copy is never handed out: callers get their own copy and changes only land with a put.
+ */
+@Slf4j
+@Singleton
+public class CombatDataCache {
+
+    static final String INVALIDATION_CHANNEL = "combat-data-ownership";
+
+    private static final String SEPARATOR = "|";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // actor id -> combat data owned by this node
+    private final Map<String, CombatData> owned = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final StatefulRedisConnection<String, byte[]> entries;
+    private final RedisCommands<String, byte[]> reads;
+    private final RedisAsyncCommands<String, byte[]> writes;
+    private final RedisAsyncCommands<String, String> publisher;
+    private final StatefulRedisPubSubConnection<String, String> subscriber;
+
+    public CombatDataCache(RedisClient redisClient) {
+        objectMapper.registerSubtypes(Fireball.class, BasicHeal.class);
+        entries = redisClient.connect(new PreEncodedValueCodec(objectMapper));
+        reads = entries.sync();
+        writes = entries.async();
+        publisher = redisClient.connect(StringCodec.UTF8).async();
+
+        subscriber = redisClient.connectPubSub(StringCodec.UTF8);
+        subscriber.addListener(
+                new RedisPubSubAdapter<>() {
+                    @Override
+                    public void message(String channel, String message) {
+                        onOwnershipClaimed(message);
+                    }
+                });
+        subscriber.async().subscribe(INVALIDATION_CHANNEL);
+    }
+
+    public CombatData get(String actorId) {
+        CombatData combatData = owned.get(actorId);
+        if (combatData != null) {
+            return combatData.copy();
+        }
+
+        // not owned here: read through Redis, ownership only moves with a write
+        byte[] encoded = reads.get(CacheKey.of(CacheDomains.COMBAT_DATA, actorId));
+        if (encoded == null) {
+            return new CombatData(actorId);
+        }
+
+        return decode(actorId, encoded);
+    }
+
+    /** Non blocking read for the combat loop, empty when the actor has no combat data at all. */
+    public Maybe<CombatData> fetch(String actorId) {
+        CombatData combatData = owned.get(actorId);
+        if (combatData != null) {
+            return Maybe.just(combatData.copy());
+        }
+
+        // same connection as the writes, so this still sees what this node wrote before
+        return Maybe.fromCompletionStage(
+                        writes.get(CacheKey.of(CacheDomains.COMBAT_DATA, actorId)))
+                .map(encoded -> decode(actorId, encoded));
+    }
+
+    /**
+     * Non blocking read of many actors at once, everything not owned here is read with a single
+     * MGET. Actors without combat data are left out of the result.
+     */
+    public Single<Map<String, CombatData>> fetchAll(Collection<String> actorIds) {
+        Map<String, CombatData> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String actorId : actorIds) {
+            CombatData combatData = owned.get(actorId);
+            if (combatData != null) {
+                found.put(actorId, combatData.copy());
+            } else {
+                missing.add(actorId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Single.just(found);
+        }
+
+        String[] keys =
+                missing.stream()
+                        .map(actorId -> CacheKey.of(CacheDomains.COMBAT_DATA, actorId))
+                        .toArray(String[]::new);
+
+        // values come back in the order of the keys
+        return Single.fromCompletionStage(writes.mget(keys))
+                .map(
+                        values -> {
+                            for (int i = 0; i < values.size(); i++) {
+                                KeyValue<String, byte[]> value = values.get(i);
+                                if (value.hasValue()) {
+                                    String actorId = missing.get(i);
+                                    found.put(actorId, decode(actorId, value.getValue()));
+                                }
+                            }
+                            return found;
+                        });
+    }
+
+    public void put(String actorId, CombatData combatData) {
+        String key = CacheKey.of(CacheDomains.COMBAT_DATA, actorId);
+        if (combatData == null) {
+            release(actorId);
+            writes.del(key).exceptionally(err -> logFailure("delete", actorId, err));
+            return;
+        }
+
+        // the caller keeps mutating its instance, only the snapshot is kept and serialized
+        CombatData snapshot = combatData.copy();
+        if (owned.put(actorId, snapshot) == null) {
+            claim(actorId);
+        }
+
+        try {
+            byte[] encoded = objectMapper.writeValueAsBytes(snapshot);
+            writes.set(key, encoded).exceptionally(err -> logFailure("write", actorId, err));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to encode combat data for {}, {}", actorId, e.getMessage());
+        }
+    }
+
+    public boolean isOwner(String actorId) {
+        return owned.containsKey(actorId);
+    }
+
+    public void release(String actorId) {
+        if (owned.remove(actorId) != null) {
+            claim(actorId);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        subscriber.close();
+        entries.close();
+    }
+
+    void onOwnershipClaimed(String message) {
+        int split = message.indexOf(SEPARATOR);
+        if (split < 0) {
+            return;
+        }
+        String claimingNode = message.substring(0, split);
+        if (nodeId.equals(claimingNode)) {
+            return;
+        }
+        owned.remove(message.substring(split + 1));
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    private CombatData decode(String actorId, byte[] encoded) {
+        try {
+            return objectMapper.readValue(encoded, CombatData.class);
+        } catch (IOException e) {
+            log.error("Failed to decode combat data for {}, {}", actorId, e.getMessage());
+            return new CombatData(actorId);
+        }
+    }
+
+    private void claim(String actorId) {
+        publisher
+                .publish(INVALIDATION_CHANNEL, nodeId + SEPARATOR + actorId)
+                .exceptionally(
+                        err -> {
+                            log.error(
+                                    "Failed to publish ownership of {}, {}",
+                                    actorId,
+                                    err.getMessage());
+                            return 0L;
+                        });
+    }
+
+    private <T> T logFailure(String action, String actorId, Throwable err) {
+        log.error("Failed to {} combat data for {}, {}", action, actorId, err.getMessage());
+        return null;
+    }
+}
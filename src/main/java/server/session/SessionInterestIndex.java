@@ -0,0 +1,129 @@
+package server.session;
+
+import io.micronaut.websocket.WebSocketSession;
+import jakarta.inject.Singleton;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse of the per session tracking sets: for each actor / dropped item, the sessions that
+ * currently observe it. Kept up to date by the synchronise services as they diff what a session
+ * tracks, so fan-out only has to visit the real observers instead of every open session.
+ */
+@Singleton
+public class SessionInterestIndex {
+
+    private final Map<String, Set<WebSocketSession>> playerObservers = new ConcurrentHashMap<>();
+    private final Map<String, Set<WebSocketSession>> mobObservers = new ConcurrentHashMap<>();
+    private final Map<String, Set<WebSocketSession>> itemObservers = new ConcurrentHashMap<>();
+
+    // actor id or server name -> sessions owned by it
+    private final Map<String, Set<WebSocketSession>> actorSessions = new ConcurrentHashMap<>();
+
+    public void registerActor(WebSocketSession session, String actorId) {
+        add(actorSessions, actorId, session);
+    }
+
+    public void trackPlayers(WebSocketSession session, Collection<String> actorIds) {
+        actorIds.forEach(id -> add(playerObservers, id, session));
+    }
+
+    public void untrackPlayers(WebSocketSession session, Collection<String> actorIds) {
+        actorIds.forEach(id -> remove(playerObservers, id, session));
+    }
+
+    public void trackMobs(WebSocketSession session, Collection<String> actorIds) {
+        actorIds.forEach(id -> add(mobObservers, id, session));
+    }
+
+    public void untrackMobs(WebSocketSession session, Collection<String> actorIds) {
+        actorIds.forEach(id -> remove(mobObservers, id, session));
+    }
+
+    public void trackItems(WebSocketSession session, Collection<String> itemInstanceIds) {
+        itemInstanceIds.forEach(id -> add(itemObservers, id, session));
+    }
+
+    public void untrackItems(WebSocketSession session, Collection<String> itemInstanceIds) {
+        itemInstanceIds.forEach(id -> remove(itemObservers, id, session));
+    }
+
+    public Set<WebSocketSession> removeItem(String itemInstanceId) {
+        Set<WebSocketSession> observers = itemObservers.remove(itemInstanceId);
+        return observers == null ? Set.of() : observers;
+    }
+
+    public void removeSession(WebSocketSession session) {
+        untrackPlayers(session, SessionParamHelper.getTrackingPlayers(session));
+        untrackMobs(session, SessionParamHelper.getTrackingMobs(session));
+        untrackItems(session, SessionParamHelper.getDroppedItems(session));
+        remove(actorSessions, SessionParamHelper.getActorId(session), session);
+        remove(actorSessions, SessionParamHelper.getServerName(session), session);
+    }
+
+    public Set<WebSocketSession> getPlayerObservers(String actorId) {
+        return get(playerObservers, actorId);
+    }
+
+    public Set<WebSocketSession> getMobObservers(String actorId) {
+        return get(mobObservers, actorId);
+    }
+
+    public Set<WebSocketSession> getItemObservers(String itemInstanceId) {
+        return get(itemObservers, itemInstanceId);
+    }
+
+    public Set<WebSocketSession> getActorSessions(String actorId) {
+        return get(actorSessions, actorId);
+    }
+
+    // whether a session on this node owns or observes the actor, updates for anything else have
+    // no one to go to here
+    public boolean isObserved(String actorId) {
+        return actorId != null
+                && (playerObservers.containsKey(actorId)
+                        || mobObservers.containsKey(actorId)
+                        || actorSessions.containsKey(actorId));
+    }
+
+    public boolean isAnyObserved(Collection<String> actorIds) {
+        return actorIds.stream().anyMatch(this::isObserved);
+    }
+
+    private static Set<WebSocketSession> get(
+            Map<String, Set<WebSocketSession>> index, String key) {
+        Set<WebSocketSession> sessions = key == null ? null : index.get(key);
+        return sessions == null ? Set.of() : sessions;
+    }
+
+    private static void add(
+            Map<String, Set<WebSocketSession>> index, String key, WebSocketSession session) {
+        if (key == null || key.isBlank()) {
+            return;
+        }
+        // add within compute so it cannot race with an emptied set being dropped
+        index.compute(
+                key,
+                (k, sessions) -> {
+                    Set<WebSocketSession> res =
+                            sessions == null ? ConcurrentHashMap.newKeySet() : sessions;
+                    res.add(session);
+                    return res;
+                });
+    }
+
+    private static void remove(
+            Map<String, Set<WebSocketSession>> index, String key, WebSocketSession session) {
+        if (key == null || key.isBlank()) {
+            return;
+        }
+        index.computeIfPresent(
+                key,
+                (k, sessions) -> {
+                    sessions.remove(session);
+                    return sessions.isEmpty() ? null : sessions;
+                });
+    }
+}
@@ -0,0 +1,165 @@
+package server.session;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import server.common.configuration.NodeConfiguration;
+import server.common.spatial.WorldSpatialIndex;
+import server.common.tick.TickListener;
+import server.session.model.SessionLocation;
+import server.session.producer.SessionLocationProducer;
+
+/**
+ * Which node hosts the session of each actor. Every node publishes the sessions it opens and
+ * closes and reads back what all nodes published, so any node can tell where an actor is
+ * connected. Fan-out itself stays local: each node receives the update topics in its own
+ * consumer group and only delivers to the observers connected to it. Hosted sessions are
+ * published again on every heartbeat, the sessions of a node that stops doing so time out here,
+ * which is the only way to learn that a node crashed.
+ */
+@Slf4j
+@Singleton
+public class SessionLocationRegistry implements TickListener {
+
+    @Inject NodeConfiguration nodeConfiguration;
+
+    @Inject SessionLocationProducer sessionLocationProducer;
+
+    @Inject WorldSpatialIndex worldSpatialIndex;
+
+    private final Map<String, SessionLocation> locations = new ConcurrentHashMap<>();
+
+    private volatile Instant nextHeartbeat = Instant.MIN;
+
+    public void register(String actorId, String sessionId) {
+        if (actorId == null || actorId.isBlank()) {
+            return;
+        }
+        SessionLocation location = location(actorId, sessionId, true);
+        locations.put(actorId, location);
+        worldSpatialIndex.playerConnected(actorId);
+        publish(location);
+    }
+
+    public void release(String actorId, String sessionId) {
+        if (actorId == null || actorId.isBlank()) {
+            return;
+        }
+        SessionLocation current = locations.get(actorId);
+        if (current == null
+                || !hostedHere(current)
+                || !Objects.equals(current.getSessionId(), sessionId)) {
+            // the actor has logged in again since, here or on another node
+            return;
+        }
+        locations.remove(actorId, current);
+        publish(location(actorId, sessionId, false));
+    }
+
+    public void apply(SessionLocation location) {
+        if (location == null || location.getActorId() == null) {
+            return;
+        }
+        if (hostedHere(location)) {
+            // our own records coming back, or left over from a previous run of this node
+            return;
+        }
+
+        String actorId = location.getActorId();
+        if (location.isOnline()) {
+            if (timedOut(location, Instant.now())) {
+                // replayed from a node that has not published since, most likely gone
+                return;
+            }
+            locations.put(actorId, location);
+            worldSpatialIndex.playerConnected(actorId);
+            return;
+        }
+
+        SessionLocation current = locations.get(actorId);
+        if (current != null && !sameSession(current, location)) {
+            // a newer login wins over the release of the previous session
+            return;
+        }
+        locations.remove(actorId);
+        // the hosting node removed it from its index on close, the other nodes only learn here
+        worldSpatialIndex.removePlayer(actorId);
+    }
+
+    @Override
+    public void onTick(long tick, Instant now) {
+        if (now.isBefore(nextHeartbeat)) {
+            return;
+        }
+        nextHeartbeat = now.plus(nodeConfiguration.getSessionHeartbeat());
+
+        for (SessionLocation location : locations.values()) {
+            if (hostedHere(location)) {
+                SessionLocation refreshed =
+                        location(location.getActorId(), location.getSessionId(), true);
+                if (locations.replace(location.getActorId(), location, refreshed)) {
+                    publish(refreshed);
+                }
+            } else if (timedOut(location, now)
+                    && locations.remove(location.getActorId(), location)) {
+                log.warn(
+                        "Session of {} on node {} timed out",
+                        location.getActorId(),
+                        location.getNodeId());
+                worldSpatialIndex.removePlayer(location.getActorId());
+            }
+        }
+    }
+
+    public String getNode(String actorId) {
+        SessionLocation location = locations.get(actorId);
+
+        return location == null ? null : location.getNodeId();
+    }
+
+    public boolean isHostedHere(String actorId) {
+        SessionLocation location = locations.get(actorId);
+
+        return location != null && hostedHere(location);
+    }
+
+    public String getNodeId() {
+        return nodeConfiguration.getId();
+    }
+
+    public int getLocations() {
+        return locations.size();
+    }
+
+    private void publish(SessionLocation location) {
+        try {
+            sessionLocationProducer.sendSessionLocation(location.getActorId(), location);
+        } catch (Exception e) {
+            log.error("Failed to publish session location, {}", e.getMessage());
+        }
+    }
+
+    private SessionLocation location(String actorId, String sessionId, boolean online) {
+        return new SessionLocation(actorId, getNodeId(), sessionId, online, Instant.now());
+    }
+
+    private boolean timedOut(SessionLocation location, Instant now) {
+        return location.getUpdatedAt() == null
+                || location.getUpdatedAt()
+                        .plus(nodeConfiguration.getSessionTimeout())
+                        .isBefore(now);
+    }
+
+    private boolean hostedHere(SessionLocation location) {
+        return getNodeId().equals(location.getNodeId());
+    }
+
+    private static boolean sameSession(SessionLocation a, SessionLocation b) {
+        return Objects.equals(a.getNodeId(), b.getNodeId())
+                && Objects.equals(a.getSessionId(), b.getSessionId());
+    }
+}
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.lettuce.core.RedisClient;
 import io.lettuce.core.api.sync.RedisCommands;
 import io.micronaut.websocket.WebSocketSession;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.*;
@@ -12,13 +14,8 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import server.attribute.stats.repository.ActorStatsRepository;
 import server.combat.model.CombatData;
-import server.common.configuration.redis.JacksonCodecCombatData;
 import server.common.configuration.redis.JacksonCodecMotion;
 import server.common.dto.Motion;
-import server.common.uuid.UUIDHelper;
-import server.motion.model.SessionParams;
-import server.session.model.CacheDomains;
-import server.session.model.CacheKey;
 
 @Singleton
 @NonNull @Slf4j
@@ -28,119 +25,86 @@ public class SessionParamHelper {
             new ObjectMapper().registerModule(new JavaTimeModule());
 
     RedisCommands<String, Motion> motionCache;
-    RedisCommands<String, CombatData> combatDataCache;
 
     @Inject ActorStatsRepository statsRepository;
 
+    @Inject CombatDataCache combatDataCache;
+
     public SessionParamHelper(RedisClient redisClient) {
         motionCache = redisClient.connect(new JacksonCodecMotion(objectMapper)).sync();
-        combatDataCache = redisClient.connect(new JacksonCodecCombatData(objectMapper)).sync();
     }
 
     public void setSharedActorCombatData(String actorId, CombatData combatData) {
-        combatDataCache.set(CacheKey.of(CacheDomains.COMBAT_DATA, actorId), combatData);
+        combatDataCache.put(actorId, combatData);
     }
 
     public CombatData getSharedActorCombatData(String actorId) {
-        CombatData combatData = combatDataCache.get(CacheKey.of(CacheDomains.COMBAT_DATA, actorId));
-        if (combatData == null) {
-            combatData = new CombatData(actorId);
-            setSharedActorCombatData(actorId, combatData);
-        }
+        return combatDataCache.get(actorId);
+    }
 
-        return combatData;
+    public Maybe<CombatData> fetchSharedActorCombatData(String actorId) {
+        return combatDataCache.fetch(actorId);
     }
 
+    public Single<Map<String, CombatData>> fetchSharedActorCombatData(Collection<String> actorIds) {
+        return combatDataCache.fetchAll(actorIds);
+    }
+
+    // session fields live in SessionState, these are kept as shorthand for the callers
+
     public static Motion getMotion(WebSocketSession session) {
-        return (Motion) session.asMap().getOrDefault(SessionParams.MOTION.getType(), null);
+        return SessionState.of(session).getMotion();
     }
 
     public void setMotion(WebSocketSession session, Motion motion) {
-        session.put(SessionParams.MOTION.getType(), motion);
+        SessionState.of(session).setMotion(motion);
     }
 
     public static Set<String> getTrackingPlayers(WebSocketSession session) {
-        Set<String> trackingPlayers =
-                (Set<String>) session.asMap().get(SessionParams.TRACKING_PLAYERS.getType());
-        if (trackingPlayers == null) {
-            trackingPlayers = new HashSet<>();
-            setTrackingPlayers(session, trackingPlayers);
-        }
-
-        return trackingPlayers;
+        return SessionState.of(session).getTrackingPlayers();
     }
 
     public static void setTrackingPlayers(WebSocketSession session, Set<String> trackingPlayers) {
-        session.put(SessionParams.TRACKING_PLAYERS.getType(), trackingPlayers);
+        SessionState.of(session).setTrackingPlayers(trackingPlayers);
     }
 
     public static Set<String> getTrackingMobs(WebSocketSession session) {
-        Set<String> trackingMobs =
-                (Set<String>) session.asMap().get(SessionParams.TRACKING_MOBS.getType());
-        if (trackingMobs == null) {
-            trackingMobs = new HashSet<>();
-            setTrackingMobs(session, trackingMobs);
-        }
-
-        return trackingMobs;
+        return SessionState.of(session).getTrackingMobs();
     }
 
     public static void setTrackingMobs(WebSocketSession session, Set<String> trackingMobs) {
-        session.put(SessionParams.TRACKING_MOBS.getType(), trackingMobs);
+        SessionState.of(session).setTrackingMobs(trackingMobs);
     }
 
     public static void addTrackingMobs(WebSocketSession session, Set<String> trackingMobs) {
-        Set<String> mobs = getTrackingMobs(session);
-        mobs.addAll(trackingMobs);
-    }
-
-    public static void setActorId(WebSocketSession session, String actorId) {
-        if (actorId == null || actorId.isBlank()) {
-            return;
-        }
-        session.put(SessionParams.ACTOR_ID.getType(), actorId);
-        boolean isServer = UUIDHelper.isValid(actorId);
-
-        session.put(SessionParams.IS_PLAYER.getType(), !isServer);
-        session.put(SessionParams.IS_SERVER.getType(), isServer);
+        SessionState.of(session).addTrackingMobs(trackingMobs);
     }
 
-    public static void setServerName(WebSocketSession session, String serverName) {
-        session.put(SessionParams.SERVER_NAME.getType(), serverName);
-        if (serverName != null && !serverName.equalsIgnoreCase("false") && !serverName.isBlank()) {
-            session.put(SessionParams.IS_SERVER.getType(), true);
-            session.put(SessionParams.IS_PLAYER.getType(), false);
-        }
+    public static void identify(WebSocketSession session, String actorId, String serverName) {
+        SessionState.identify(session, actorId, serverName);
     }
 
     public static String getActorId(WebSocketSession session) {
-        return (String) session.asMap().getOrDefault(SessionParams.ACTOR_ID.getType(), "");
+        return SessionState.of(session).getActorId();
     }
 
     public static String getServerName(WebSocketSession session) {
-        return (String) session.asMap().getOrDefault(SessionParams.SERVER_NAME.getType(), "");
+        return SessionState.of(session).getServerName();
     }
 
     public static boolean getIsPlayer(WebSocketSession session) {
-        return (Boolean) session.asMap().getOrDefault(SessionParams.IS_PLAYER.getType(), false);
+        return SessionState.of(session).isPlayer();
     }
 
     public static boolean getIsServer(WebSocketSession session) {
-        return (Boolean) session.asMap().getOrDefault(SessionParams.IS_SERVER.getType(), false);
+        return SessionState.of(session).isServer();
     }
 
     public static void setDroppedItems(WebSocketSession session, Set<String> droppedItems) {
-        session.put(SessionParams.DROPPED_ITEMS.getType(), droppedItems);
+        SessionState.of(session).setDroppedItems(droppedItems);
     }
 
     public static Set<String> getDroppedItems(WebSocketSession session) {
-        Set<String> droppedItems =
-                (Set<String>) session.asMap().get(SessionParams.DROPPED_ITEMS.getType());
-        if (droppedItems == null) {
-            droppedItems = new HashSet<>();
-            setDroppedItems(session, droppedItems);
-        }
-
-        return droppedItems;
+        return SessionState.of(session).getDroppedItems();
     }
 }
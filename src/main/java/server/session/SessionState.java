@@ -0,0 +1,186 @@
+package server.session;
+
+import io.micronaut.websocket.WebSocketSession;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import server.common.dto.Motion;
+import server.common.uuid.UUIDHelper;
+import server.motion.model.SessionParams;
+
+/**
+ * Typed state of a single websocket session, attached under {@link SessionParams#SESSION_STATE}.
+ * Who the session belongs to is fixed when it identifies itself, {@link #identify} attaches a new
+ * state then. Scheduler and Netty threads read and write the rest concurrently: motion is
+ * volatile, the tracked players / mobs are replaced as immutable snapshots whenever interest
+ * changes and the tracked dropped items are a concurrent set.
+ */
+public class SessionState {
+
+    private final String actorId;
+    private final String serverName;
+    private final boolean player;
+    private final boolean server;
+
+    private volatile Motion motion;
+
+    // writers of the tracked players / mobs copy, change and swap the snapshot, the lock keeps a
+    // sync pass and the movement events of the same tick from losing each other's changes
+    private final Object trackingLock = new Object();
+    private volatile Set<String> trackingPlayers = Set.of();
+    private volatile Set<String> trackingMobs = Set.of();
+    private final Set<String> droppedItems = ConcurrentHashMap.newKeySet();
+
+    public SessionState(String actorId, String serverName) {
+        this.actorId = actorId == null || actorId.isBlank() ? "" : actorId;
+        this.serverName = serverName == null ? "" : serverName;
+        if (!this.actorId.isEmpty()) {
+            this.server = UUIDHelper.isValid(this.actorId);
+        } else {
+            this.server = !this.serverName.isBlank() && !this.serverName.equalsIgnoreCase("false");
+        }
+        this.player = !this.actorId.isEmpty() && !this.server;
+    }
+
+    /** State of the session, a session that has not identified itself yet gets an empty one. */
+    public static SessionState of(WebSocketSession session) {
+        // direct attribute lookup, asMap() copies every attribute of the session
+        SessionState state =
+                session.get(SessionParams.SESSION_STATE.getType(), SessionState.class).orElse(null);
+        if (state != null) {
+            return state;
+        }
+
+        synchronized (session) {
+            Object existing = session.asMap().get(SessionParams.SESSION_STATE.getType());
+            if (existing instanceof SessionState sessionState) {
+                return sessionState;
+            }
+            SessionState created = new SessionState(null, null);
+            session.put(SessionParams.SESSION_STATE.getType(), created);
+
+            return created;
+        }
+    }
+
+    /**
+     * Attaches the state of the actor / server the session belongs to. Blank ids keep the ones
+     * already known, motion and everything tracked so far is carried over.
+     */
+    public static SessionState identify(
+            WebSocketSession session, String actorId, String serverName) {
+        synchronized (session) {
+            SessionState previous = of(session);
+            SessionState identified =
+                    new SessionState(
+                            actorId == null || actorId.isBlank() ? previous.actorId : actorId,
+                            serverName == null ? previous.serverName : serverName);
+            identified.motion = previous.motion;
+            synchronized (previous.trackingLock) {
+                identified.trackingPlayers = previous.trackingPlayers;
+                identified.trackingMobs = previous.trackingMobs;
+            }
+            identified.droppedItems.addAll(previous.droppedItems);
+            session.put(SessionParams.SESSION_STATE.getType(), identified);
+
+            return identified;
+        }
+    }
+
+    public String getActorId() {
+        return actorId;
+    }
+
+    public String getServerName() {
+        return serverName;
+    }
+
+    public boolean isPlayer() {
+        return player;
+    }
+
+    public boolean isServer() {
+        return server;
+    }
+
+    public Motion getMotion() {
+        return motion;
+    }
+
+    public void setMotion(Motion motion) {
+        this.motion = motion;
+    }
+
+    public Set<String> getTrackingPlayers() {
+        return trackingPlayers;
+    }
+
+    public void setTrackingPlayers(Collection<String> actorIds) {
+        synchronized (trackingLock) {
+            trackingPlayers = snapshot(actorIds);
+        }
+    }
+
+    public void addTrackingPlayers(Collection<String> actorIds) {
+        synchronized (trackingLock) {
+            Set<String> players = new HashSet<>(trackingPlayers);
+            players.addAll(actorIds);
+            trackingPlayers = snapshot(players);
+        }
+    }
+
+    public void removeTrackingPlayers(Collection<String> actorIds) {
+        synchronized (trackingLock) {
+            Set<String> players = new HashSet<>(trackingPlayers);
+            players.removeAll(actorIds);
+            trackingPlayers = snapshot(players);
+        }
+    }
+
+    public Set<String> getTrackingMobs() {
+        return trackingMobs;
+    }
+
+    public void setTrackingMobs(Collection<String> actorIds) {
+        synchronized (trackingLock) {
+            trackingMobs = snapshot(actorIds);
+        }
+    }
+
+    public void addTrackingMobs(Collection<String> actorIds) {
+        synchronized (trackingLock) {
+            Set<String> mobs = new HashSet<>(trackingMobs);
+            mobs.addAll(actorIds);
+            trackingMobs = snapshot(mobs);
+        }
+    }
+
+    public void removeTrackingMobs(Collection<String> actorIds) {
+        synchronized (trackingLock) {
+            Set<String> mobs = new HashSet<>(trackingMobs);
+            mobs.removeAll(actorIds);
+            trackingMobs = snapshot(mobs);
+        }
+    }
+
+    public Set<String> getDroppedItems() {
+        return droppedItems;
+    }
+
+    public void setDroppedItems(Collection<String> itemInstanceIds) {
+        Set<String> items = snapshot(itemInstanceIds);
+        droppedItems.retainAll(items);
+        droppedItems.addAll(items);
+    }
+
+    private static Set<String> snapshot(Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> res = new HashSet<>(ids);
+        res.remove(null);
+
+        return Set.copyOf(res);
+    }
+}
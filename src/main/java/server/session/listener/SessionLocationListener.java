@@ -0,0 +1,28 @@
+package server.session.listener;
+
+import io.micronaut.configuration.kafka.annotation.KafkaListener;
+import io.micronaut.configuration.kafka.annotation.OffsetReset;
+import io.micronaut.configuration.kafka.annotation.OffsetStrategy;
+import io.micronaut.configuration.kafka.annotation.Topic;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import server.session.SessionLocationRegistry;
+import server.session.model.SessionLocation;
+
+@Slf4j
+@KafkaListener(
+        groupId = "session-locations-${node.id}",
+        offsetReset = OffsetReset.EARLIEST,
+        offsetStrategy = OffsetStrategy.DISABLED,
+        clientId = "session_location_client")
+public class SessionLocationListener {
+    // Offsets are never committed, every start reads the compacted topic from the beginning so
+    // the registry holds the location of every actor connected to any node.
+
+    @Inject SessionLocationRegistry sessionLocationRegistry;
+
+    @Topic("session-location")
+    public void receiveSessionLocation(SessionLocation sessionLocation) {
+        sessionLocationRegistry.apply(sessionLocation);
+    }
+}
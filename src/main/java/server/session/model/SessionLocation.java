@@ -0,0 +1,23 @@
+package server.session.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// the node hosting the session of an actor, online false once that session closed
+@Data
+@Serdeable
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionLocation {
+
+    String actorId;
+    String nodeId;
+    String sessionId;
+    boolean online;
+    Instant updatedAt;
+}
@@ -0,0 +1,15 @@
+package server.session.producer;
+
+import io.micronaut.configuration.kafka.annotation.KafkaClient;
+import io.micronaut.configuration.kafka.annotation.KafkaKey;
+import io.micronaut.configuration.kafka.annotation.Topic;
+import server.session.model.SessionLocation;
+
+@KafkaClient(id = "session-location-client")
+public interface SessionLocationProducer {
+
+    // keyed by actor id, the topic is compacted so it keeps the latest location of every actor
+
+    @Topic("session-location")
+    void sendSessionLocation(@KafkaKey String actorId, SessionLocation sessionLocation);
+}
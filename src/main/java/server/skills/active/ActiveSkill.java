@@ -1,22 +1,22 @@
 package server.skills.active;
 
+import io.reactivex.rxjava3.core.Single;
 import java.time.Instant;
 import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
 import server.attribute.stats.model.Stats;
 import server.combat.model.CombatData;
 import server.common.dto.Motion;
 import server.skills.behavior.InstantSkill;
 import server.skills.behavior.TravelSkill;
 import server.skills.model.Skill;
+import server.skills.model.SkillCast;
 import server.skills.model.SkillTarget;
 
+@Slf4j
 public abstract class ActiveSkill extends Skill implements InstantSkill, TravelSkill {
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-
     public ActiveSkill(
             String name,
             String description,
@@ -49,21 +49,46 @@ public abstract class ActiveSkill extends Skill implements InstantSkill, TravelS
     }
 
     @Override
-    public void instantEffect(CombatData combatData, SkillTarget skillTarget) {
-        this.endSkill(combatData, skillTarget);
+    public void instantEffect(SkillCast cast) {
+        this.endSkill(cast.getCombatData(), cast.getSkillTarget());
     }
 
     @Override
-    public void travel(CombatData combatData, SkillTarget skillTarget) {
-        if (getTravelSpeed() == null) {
-            instantEffect(combatData, skillTarget);
+    public void travel(SkillCast cast) {
+        // the cast may be released and handed out again before a scheduled landing runs
+        long generation = cast.getGeneration();
+        if (getTravelSpeed() == null || getTravelSpeed() <= 0) {
+            land(cast, generation);
+
+            return;
         }
 
-        String targetId = skillTarget.getTargetId();
-        Motion targetMotion = actorMotionRepository.fetchActorMotion(targetId).blockingGet();
-        Motion actorMotion =
-                actorMotionRepository.fetchActorMotion(combatData.getActorId()).blockingGet();
+        // runs on the combat thread, the motion lookups must not block it
+        Single.zip(
+                        motionOf(cast.getSkillTarget().getTargetId()),
+                        motionOf(cast.getCombatData().getActorId()),
+                        this::travelTime)
+                .subscribe(
+                        time ->
+                                timerWheel.schedule(
+                                        () -> land(cast, generation),
+                                        time,
+                                        TimeUnit.MILLISECONDS),
+                        err -> {
+                            log.error("Failed to resolve skill travel, {}", err.getMessage());
+                            finishCast(cast, generation);
+                        });
+    }
+
+    private Single<Motion> motionOf(String actorId) {
+        Single<Motion> motion = actorMotionRepository.fetchActorMotion(actorId);
+
+        return motion == null
+                ? Single.error(new IllegalArgumentException("No motion for " + actorId))
+                : motion;
+    }
 
+    private long travelTime(Motion targetMotion, Motion actorMotion) {
         int x = targetMotion.getX() - actorMotion.getX();
         int y = targetMotion.getY() - actorMotion.getY();
         int z = targetMotion.getZ() - actorMotion.getZ();
@@ -71,14 +96,21 @@ public abstract class ActiveSkill extends Skill implements InstantSkill, TravelS
         Double distance = Math.sqrt(x * x + y * y + z * z);
 
         double time = Math.floor(((distance / getTravelSpeed()) - 100));
-        time = Math.max(Math.floor(time), 100);
-
-        scheduler.schedule(
-                () -> {
-                    this.instantEffect(combatData, skillTarget);
-                },
-                (long) time,
-                TimeUnit.MILLISECONDS);
+
+        return (long) Math.max(Math.floor(time), 100);
+    }
+
+    private void land(SkillCast cast, long generation) {
+        if (!cast.isCurrent(generation)) {
+            return;
+        }
+
+        // last step of a cast, the context goes back to the pool even if the effect failed
+        try {
+            instantEffect(cast);
+        } finally {
+            finishCast(cast, generation);
+        }
     }
 
     protected void checkDeath(Stats stats) {
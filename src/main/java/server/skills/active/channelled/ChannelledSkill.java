@@ -1,22 +1,21 @@
 package server.skills.active.channelled;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import io.micronaut.websocket.WebSocketSession;
 import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import server.combat.model.CombatData;
 import server.combat.model.CombatRequest;
 import server.combat.model.CombatState;
+import server.common.tick.TimerWheel;
 import server.skills.active.ActiveSkill;
-import server.skills.model.SkillTarget;
+import server.skills.model.SkillCast;
 import server.socket.model.SocketResponse;
 import server.socket.model.types.SkillMessageType;
 
 public abstract class ChannelledSkill extends ActiveSkill {
 
+    private static final long CHANNEL_CHECK_MS = 100;
+
     @JsonProperty private final int castTime;
     @JsonProperty private final boolean allowsMovement;
     @JsonProperty private final boolean canInterrupt;
@@ -33,8 +32,6 @@ public abstract class ChannelledSkill extends ActiveSkill {
         return canInterrupt;
     }
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-
     public ChannelledSkill(
             String name,
             String description,
@@ -53,56 +50,99 @@ public abstract class ChannelledSkill extends ActiveSkill {
     }
 
     @Override
-    public void startSkill(
-            CombatData combatData, SkillTarget skillTarget, WebSocketSession session) {
-        this.session = session;
-        startChanneling(combatData, skillTarget);
+    public void startSkill(SkillCast cast) {
+        startChanneling(cast);
     }
 
-    @Override
-    public void instantEffect(CombatData combatData, SkillTarget skillTarget) {
-        this.endSkill(combatData, skillTarget);
-    }
+    public void interruptChannel(SkillCast cast, long generation) {
+        if (!canInterrupt) {
+            return;
+        }
 
-    public void interruptChannel(CombatData combatData) {
-        // TBD
+        endChannel(cast, generation);
     }
 
-    public void stopChannel(CombatData combatData) {
-        // TBD
-        notifyStopChannel(combatData.getActorId(), false);
+    public void stopChannel(SkillCast cast, long generation) {
+        endChannel(cast, generation);
     }
 
-    public void startChanneling(CombatData combatData, SkillTarget skillTarget) {
+    public void startChanneling(SkillCast cast) {
+        CombatData combatData = cast.getCombatData();
+        long generation = cast.getGeneration();
         notifyStartChannel(combatData.getActorId());
         combatData.setCombatState(CombatState.CHANNELING.getType());
 
-        // Schedule a task to periodically check the channeling status
-        ScheduledFuture<?> channelingTask =
-                scheduler.scheduleAtFixedRate(
+        // Periodically check the channeling status, stops the cast once the actor left the state
+        cast.setChannelCheck(
+                timerWheel.scheduleAtFixedRate(
                         () -> {
-                            if (!channelingInProgress(combatData)) {
-                                // Channeling interrupted or completed
-                                scheduler.shutdownNow();
+                            if (cast.isCurrent(generation)
+                                    && !channelingInProgress(combatData)
+                                    && cancelTimers(cast)) {
+                                finishCast(cast, generation);
                             }
                         },
-                        0,
-                        100,
-                        TimeUnit.MILLISECONDS); // Adjust the interval as needed
-
-        // Schedule a task to execute the skill after the channel time
-        scheduler.schedule(
-                () -> {
-                    if (channelingInProgress(combatData)) {
-                        notifyStopChannel(combatData.getActorId(), true);
-                        updateSessionInitiateSkill(combatData.getActorId(), skillTarget);
-                        this.travel(combatData, skillTarget);
-                    }
-                    combatData.setCombatState(CombatState.IDLE.getType()); // Reset combat state
-                    channelingTask.cancel(true); // Stop the periodic check
-                },
-                this.getCastTime(),
-                TimeUnit.MILLISECONDS);
+                        CHANNEL_CHECK_MS,
+                        CHANNEL_CHECK_MS,
+                        TimeUnit.MILLISECONDS));
+
+        // Execute the skill after the channel time, travel hands the cast back once it landed
+        cast.setChannelCompletion(
+                timerWheel.schedule(
+                        () -> completeChannel(cast, combatData, generation),
+                        this.getCastTime(),
+                        TimeUnit.MILLISECONDS));
+    }
+
+    private void completeChannel(SkillCast cast, CombatData combatData, long generation) {
+        if (!cast.isCurrent(generation)) {
+            return;
+        }
+
+        cast.getChannelCheck().cancel();
+        if (!channelingInProgress(combatData)) {
+            finishCast(cast, generation);
+
+            return;
+        }
+
+        notifyStopChannel(combatData.getActorId(), true);
+        try {
+            updateSessionInitiateSkill(cast);
+            this.travel(cast);
+        } finally {
+            combatData.setCombatState(CombatState.IDLE.getType());
+        }
+    }
+
+    private void endChannel(SkillCast cast, long generation) {
+        CombatData combatData;
+        synchronized (cast) {
+            // checked under the cast lock so the timers of its next owner are left alone
+            if (!cast.isCurrent(generation) || !cancelTimers(cast)) {
+                // already finished
+                return;
+            }
+            combatData = cast.getCombatData();
+        }
+
+        if (channelingInProgress(combatData)) {
+            combatData.setCombatState(CombatState.IDLE.getType());
+        }
+
+        notifyStopChannel(combatData.getActorId(), false);
+        finishCast(cast, generation);
+    }
+
+    private boolean cancelTimers(SkillCast cast) {
+        // returns whether the cast was still pending
+        TimerWheel.Timeout check = cast.getChannelCheck();
+        if (check != null) {
+            check.cancel();
+        }
+
+        TimerWheel.Timeout completion = cast.getChannelCompletion();
+        return completion != null && completion.cancel();
     }
 
     private boolean channelingInProgress(CombatData combatData) {
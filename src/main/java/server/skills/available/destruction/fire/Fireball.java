@@ -2,8 +2,11 @@ package server.skills.available.destruction.fire;
 
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.micronaut.serde.annotation.Serdeable;
+import io.reactivex.rxjava3.core.Single;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
 import server.attribute.stats.model.Stats;
 import server.attribute.stats.types.DamageTypes;
 import server.attribute.stats.types.StatsTypes;
@@ -13,6 +16,7 @@ import server.skills.model.SkillTarget;
 
 @Serdeable
 @JsonTypeName("Fireball")
+@Slf4j
 @EqualsAndHashCode(callSuper = false)
 public class Fireball extends ChannelledSkill {
 
@@ -32,21 +36,33 @@ public class Fireball extends ChannelledSkill {
 
     @Override
     public void endSkill(CombatData combatData, SkillTarget skillTarget) {
-        Stats actorStats = statsService.getStatsFor(combatData.getActorId()).blockingGet();
+        String actorId = combatData.getActorId();
+        String target = skillTarget.getTargetId();
+
+        // lands on the combat thread driving the timer wheel, the lookups must not block it
+        Single.zip(
+                        statsService.getStatsFor(actorId),
+                        statsService.getStatsFor(target),
+                        (actorStats, targetStats) ->
+                                statsService.takeDamage(targetStats, damageMap(actorStats)))
+                .subscribe(
+                        this::checkDeath,
+                        err ->
+                                log.error(
+                                        "Failed to land fireball of {} on {}, {}",
+                                        actorId,
+                                        target,
+                                        err.getMessage()));
+    }
+
+    private Map<DamageTypes, Double> damageMap(Stats actorStats) {
         Map<String, Double> actorDerived = actorStats.getDerivedStats();
         Double healAmp = actorDerived.getOrDefault(StatsTypes.MAG_AMP.getType(), 1.0);
 
         Double dmgAmt = derived.get(StatsTypes.MAGIC_DAMAGE.getType());
-        dmgAmt = dmgAmt * healAmp * (1 + rand.nextDouble(0.15));
-
-        Map<DamageTypes, Double> damageMap = Map.of(DamageTypes.MAGIC, dmgAmt);
-
-        String target = skillTarget.getTargetId();
-        Stats targetStats = statsService.getStatsFor(target).blockingGet();
-
-        Stats stats = statsService.takeDamage(targetStats, damageMap);
+        dmgAmt = dmgAmt * healAmp * (1 + ThreadLocalRandom.current().nextDouble(0.15));
 
-        checkDeath(stats);
+        return Map.of(DamageTypes.MAGIC, dmgAmt);
     }
 
     @Override
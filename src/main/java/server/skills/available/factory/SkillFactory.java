@@ -1,8 +0,0 @@
-package server.skills.available.factory;
-
-import server.skills.model.Skill;
-
-public interface SkillFactory {
-
-    Skill createSkill(String skillType);
-}
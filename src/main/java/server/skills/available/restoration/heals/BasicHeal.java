@@ -1,9 +1,12 @@
 package server.skills.available.restoration.heals;
 
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.reactivex.rxjava3.core.Single;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import server.attribute.stats.model.Stats;
 import server.attribute.stats.types.DamageTypes;
 import server.attribute.stats.types.StatsTypes;
@@ -13,6 +16,7 @@ import server.skills.model.SkillTarget;
 
 @Getter
 @JsonTypeName("Basic heal")
+@Slf4j
 @EqualsAndHashCode(callSuper = false)
 public class BasicHeal extends ChannelledSkill {
 
@@ -32,23 +36,33 @@ public class BasicHeal extends ChannelledSkill {
 
     @Override
     public void endSkill(CombatData combatData, SkillTarget skillTarget) {
-        Stats actorStats = statsService.getStatsFor(combatData.getActorId()).blockingGet();
-        Map<String, Double> actorDerived = actorStats.getDerivedStats();
+        String actorId = combatData.getActorId();
+        String target = skillTarget.getTargetId();
 
+        // lands on the combat thread driving the timer wheel, the lookups must not block it
+        Single.zip(
+                        statsService.getStatsFor(actorId),
+                        statsService.getStatsFor(target),
+                        (actorStats, targetStats) ->
+                                statsService.takeDamage(targetStats, healMap(actorStats)))
+                .subscribe(
+                        this::checkDeath,
+                        err ->
+                                log.error(
+                                        "Failed to land heal of {} on {}, {}",
+                                        actorId,
+                                        target,
+                                        err.getMessage()));
+    }
+
+    private Map<DamageTypes, Double> healMap(Stats actorStats) {
+        Map<String, Double> actorDerived = actorStats.getDerivedStats();
         Double healAmp = actorDerived.getOrDefault(StatsTypes.MAG_AMP.getType(), 1.0);
 
         Double healAmt = derived.get(StatsTypes.MAGIC_DAMAGE.getType());
-        healAmt = healAmt * healAmp * (1 + rand.nextDouble(0.15));
-
-        Map<DamageTypes, Double> damageMap = Map.of(DamageTypes.POSITIVE, healAmt);
-
-        String target = skillTarget.getTargetId();
-
-        Stats targetStats = statsService.getStatsFor(target).blockingGet();
-
-        Stats stats = statsService.takeDamage(targetStats, damageMap);
+        healAmt = healAmt * healAmp * (1 + ThreadLocalRandom.current().nextDouble(0.15));
 
-        checkDeath(stats);
+        return Map.of(DamageTypes.POSITIVE, healAmt);
     }
 
     @Override
@@ -1,9 +1,8 @@
 package server.skills.behavior;
 
-import server.combat.model.CombatData;
-import server.skills.model.SkillTarget;
+import server.skills.model.SkillCast;
 
 public interface InstantSkill {
 
-    void instantEffect(CombatData combatData, SkillTarget skillTarget);
+    void instantEffect(SkillCast cast);
 }
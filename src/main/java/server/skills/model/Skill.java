@@ -5,19 +5,19 @@ import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.micronaut.core.annotation.ReflectiveAccess;
 import io.micronaut.serde.annotation.Serdeable;
-import io.micronaut.websocket.WebSocketSession;
 import java.util.Map;
-import java.util.Random;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import server.attribute.stats.service.StatsService;
 import server.combat.model.CombatData;
 import server.combat.model.CombatRequest;
 import server.combat.service.CombatService;
+import server.common.tick.TimerWheel;
 import server.motion.repository.ActorMotionRepository;
 import server.session.SessionParamHelper;
 import server.skills.available.destruction.fire.Fireball;
 import server.skills.available.restoration.heals.BasicHeal;
+import server.skills.service.SkillCastPool;
 import server.socket.model.SocketResponse;
 import server.socket.model.types.SkillMessageType;
 import server.socket.service.ClientUpdatesService;
@@ -49,14 +49,14 @@ public abstract class Skill {
 
     @JsonProperty private Integer travelSpeed;
 
-    protected WebSocketSession session;
-
-    // populated via factory methods
+    // populated once by the skill registry, definitions are shared by every cast
     @Setter protected ClientUpdatesService clientUpdatesService;
     @Setter protected SessionParamHelper sessionParamHelper;
     @Setter protected ActorMotionRepository actorMotionRepository;
     @Setter protected StatsService statsService;
     @Setter protected CombatService combatService;
+    @Setter protected TimerWheel timerWheel;
+    @Setter protected SkillCastPool skillCastPool;
 
     public String getName() {
         return name;
@@ -104,10 +104,7 @@ public abstract class Skill {
         this.travelSpeed = travelSpeed;
     }
 
-    protected Random rand = new Random();
-
-    public abstract void startSkill(
-            CombatData combatData, SkillTarget skillTarget, WebSocketSession session);
+    public abstract void startSkill(SkillCast cast);
 
     public abstract void endSkill(CombatData combatData, SkillTarget skillTarget);
 
@@ -131,7 +128,14 @@ public abstract class Skill {
         return res;
     }
 
-    protected void updateSessionInitiateSkill(String castor, SkillTarget skillTarget) {
+    protected void finishCast(SkillCast cast, long generation) {
+        skillCastPool.release(cast, generation);
+    }
+
+    protected void updateSessionInitiateSkill(SkillCast cast) {
+        String castor = cast.getCombatData().getActorId();
+        SkillTarget skillTarget = cast.getSkillTarget();
+
         SocketResponse message = new SocketResponse();
         message.setMessageType(SkillMessageType.INITIATE_SKILL.getType());
 
@@ -142,6 +146,6 @@ public abstract class Skill {
 
         message.setCombatRequest(request);
 
-        clientUpdatesService.sendToSelf(session, message);
+        clientUpdatesService.sendToSelf(cast.getSession(), message);
     }
 }
@@ -0,0 +1,73 @@
+package server.skills.model;
+
+import io.micronaut.websocket.WebSocketSession;
+import lombok.Getter;
+import lombok.Setter;
+import server.combat.model.CombatData;
+import server.common.tick.TimerWheel;
+
+/**
+ * State of a single cast of a shared {@link Skill} definition. Instances are pooled, a cast is
+ * taken when the skill starts and handed back once its effect landed or the channel was
+ * interrupted. Anything that acts on a cast later, timers and lookups by caster, captures its
+ * generation first and checks it with {@link #isCurrent(long)}, a recycled cast has moved on.
+ */
+@Getter
+public class SkillCast {
+
+    private Skill skill;
+    private CombatData combatData;
+    private SkillTarget skillTarget;
+    private WebSocketSession session;
+
+    // channel handles on the shared timer wheel, cancelled on interrupt
+    @Setter private volatile TimerWheel.Timeout channelCheck;
+    @Setter private volatile TimerWheel.Timeout channelCompletion;
+
+    private boolean active;
+
+    // bumped each time the instance is handed out
+    private volatile long generation;
+
+    public synchronized SkillCast init(
+            Skill skill,
+            CombatData combatData,
+            SkillTarget skillTarget,
+            WebSocketSession session) {
+        this.skill = skill;
+        this.combatData = combatData;
+        this.skillTarget = skillTarget;
+        this.session = session;
+        this.active = true;
+        generation++;
+
+        return this;
+    }
+
+    public synchronized boolean isActive() {
+        return active;
+    }
+
+    public synchronized boolean isCurrent(long generation) {
+        return active && this.generation == generation;
+    }
+
+    /** Generation of the cast in progress of the given caster, -1 if it is no longer theirs. */
+    public synchronized long generationOf(String casterId) {
+        if (!active || combatData == null || !casterId.equals(combatData.getActorId())) {
+            return -1;
+        }
+
+        return generation;
+    }
+
+    public synchronized void reset() {
+        skill = null;
+        combatData = null;
+        skillTarget = null;
+        session = null;
+        channelCheck = null;
+        channelCompletion = null;
+        active = false;
+    }
+}
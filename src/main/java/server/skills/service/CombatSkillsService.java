@@ -1,23 +1,22 @@
 package server.skills.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micronaut.websocket.WebSocketSession;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.Instant;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import server.attribute.stats.service.StatsService;
 import server.combat.model.CombatData;
 import server.combat.model.CombatRequest;
 import server.combat.service.CombatService;
 import server.session.SessionParamHelper;
-import server.skills.available.destruction.fire.Fireball;
-import server.skills.available.factory.DefaultSkillFactory;
-import server.skills.available.restoration.heals.BasicHeal;
 import server.skills.model.ActorSkills;
 import server.skills.model.Skill;
+import server.skills.model.SkillCast;
 import server.skills.repository.ActorSkillsRepository;
 import server.socket.model.SocketResponse;
 import server.socket.model.SocketResponseSubscriber;
@@ -31,7 +30,9 @@ public class CombatSkillsService {
 
     @Inject SessionParamHelper sessionParamHelper;
 
-    @Inject DefaultSkillFactory skillFactory;
+    @Inject SkillRegistry skillRegistry;
+
+    @Inject SkillCastPool skillCastPool;
 
     @Inject StatsService statsService;
 
@@ -39,44 +40,55 @@ public class CombatSkillsService {
 
     @Inject SocketResponseSubscriber socketResponseSubscriber;
 
-    ObjectMapper objectMapper = new ObjectMapper();
+    @Inject ObjectMapper objectMapper;
 
     @Inject CombatService combatService;
 
-    public CombatSkillsService() {
-        objectMapper.registerSubtypes(Fireball.class, BasicHeal.class);
-    }
+    // actor id -> serialized UPDATE_ACTOR_SKILLS response, built on the first fetch
+    private final Map<String, String> skillsResponses = new ConcurrentHashMap<>();
 
     public void tryApplySkill(CombatRequest combatRequest, WebSocketSession session) {
         validateActorId(session, combatRequest);
         CombatData combatData =
                 sessionParamHelper.getSharedActorCombatData(combatRequest.getActorId());
-        String skillName = combatRequest.getSkillId();
-        Skill skill = skillFactory.createSkill(skillName.toLowerCase());
+        Skill skill = skillRegistry.getSkill(combatRequest.getSkillId());
+
+        if (skill == null) {
+            log.warn("Unknown skill requested, {}", combatRequest.getSkillId());
+            return;
+        }
 
         if (!skill.canApply(combatData, combatRequest.getSkillTarget())) {
             return;
         }
 
+        // keyed by the definition's name, that is what canApply checks the cooldown against
         Map<String, Instant> activatedSkills = combatData.getActivatedSkills();
-        activatedSkills.put(skillName, Instant.now());
+        activatedSkills.put(skill.getName(), Instant.now());
         sessionParamHelper.setSharedActorCombatData(combatRequest.getActorId(), combatData);
         try {
-            skill.startSkill(combatData, combatRequest.getSkillTarget(), session);
+            SkillCast cast =
+                    skillCastPool.acquire(
+                            skill, combatData, combatRequest.getSkillTarget(), session);
+            skill.startSkill(cast);
         } catch (Exception e) {
             log.error("Failed to start skill, {}", e.getMessage());
         }
     }
 
     public void getActorAvailableSkills(String actorId, WebSocketSession session) {
-        ActorSkills actorSkills = new ActorSkills();
-        actorSkills.setActorId(actorId);
-        actorSkills.setSkills(List.of(new Fireball(), new BasicHeal()));
-        SocketResponse socketResponse = new SocketResponse();
-        socketResponse.setActorSkills(actorSkills);
-        socketResponse.setMessageType(MessageType.UPDATE_ACTOR_SKILLS.getType());
+        // repeated fetches send the same payload, it is only rebuilt once invalidated
+        String response = skillsResponses.computeIfAbsent(actorId, this::skillsResponse);
+        if (response == null) {
+            return;
+        }
 
-        session.send(socketResponse).subscribe(socketResponseSubscriber);
+        session.sendAsync(response)
+                .exceptionally(
+                        err -> {
+                            log.error("Failed to send skills to actor, {}", err.getMessage());
+                            return null;
+                        });
 
         // TODO: Make skills either dynamically evaluated, or taken from repo
 
@@ -95,6 +107,28 @@ public class CombatSkillsService {
         //                .subscribe();
     }
 
+    /** Drops the cached response, to be called whenever the skills of the actor change. */
+    public void invalidateActorSkills(String actorId) {
+        skillsResponses.remove(actorId);
+    }
+
+    private String skillsResponse(String actorId) {
+        ActorSkills actorSkills = new ActorSkills();
+        actorSkills.setActorId(actorId);
+        actorSkills.setSkills(skillRegistry.getSkills());
+        SocketResponse socketResponse = new SocketResponse();
+        socketResponse.setActorSkills(actorSkills);
+        socketResponse.setMessageType(MessageType.UPDATE_ACTOR_SKILLS.getType());
+
+        try {
+            return objectMapper.writeValueAsString(socketResponse);
+        } catch (JsonProcessingException e) {
+            // not cached, the next fetch tries again
+            log.error("Failed to send skills to actor, {}", e.getMessage());
+            return null;
+        }
+    }
+
     private void validateActorId(WebSocketSession session, CombatRequest combatRequest) {
         // TODO: actually validate request.
         if (SessionParamHelper.getIsPlayer(session)) {
@@ -0,0 +1,112 @@
+package server.skills.service;
+
+import io.micronaut.websocket.WebSocketSession;
+import jakarta.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import server.combat.model.CombatData;
+import server.skills.active.channelled.ChannelledSkill;
+import server.skills.model.Skill;
+import server.skills.model.SkillCast;
+import server.skills.model.SkillTarget;
+
+@Singleton
+public class SkillCastPool {
+    // Casts are short lived and frequent, reuse their context objects instead of allocating one
+    // per INITIATE_SKILL. Bounded so a burst of casts does not pin memory afterwards. A cast that
+    // fails half way is never released and simply gets collected.
+    // Casts in progress are also kept by caster, so stuns, movement and death can end them.
+
+    static final int MAX_POOLED = 256;
+
+    private final ArrayDeque<SkillCast> pool = new ArrayDeque<>();
+    private final AtomicLong created = new AtomicLong();
+
+    // caster actor id -> its cast in progress
+    private final Map<String, SkillCast> active = new ConcurrentHashMap<>();
+
+    public SkillCast acquire(
+            Skill skill,
+            CombatData combatData,
+            SkillTarget skillTarget,
+            WebSocketSession session) {
+        SkillCast cast;
+        synchronized (pool) {
+            cast = pool.poll();
+        }
+
+        if (cast == null) {
+            cast = new SkillCast();
+            created.incrementAndGet();
+        }
+
+        cast.init(skill, combatData, skillTarget, session);
+        if (combatData.getActorId() != null) {
+            active.put(combatData.getActorId(), cast);
+        }
+
+        return cast;
+    }
+
+    public void release(SkillCast cast, long generation) {
+        synchronized (pool) {
+            if (!cast.isCurrent(generation)) {
+                // released twice or already handed out again, keep it out of the pool
+                return;
+            }
+
+            String casterId = cast.getCombatData().getActorId();
+            if (casterId != null) {
+                active.remove(casterId, cast);
+            }
+
+            cast.reset();
+            if (pool.size() < MAX_POOLED) {
+                pool.push(cast);
+            }
+        }
+    }
+
+    public SkillCast getActive(String actorId) {
+        return actorId == null ? null : active.get(actorId);
+    }
+
+    public void interrupt(String actorId) {
+        // stunned or otherwise unable to cast, only channels that allow it are cut short
+        SkillCast cast = getActive(actorId);
+        long generation = cast == null ? -1 : cast.generationOf(actorId);
+        if (generation >= 0 && cast.getSkill() instanceof ChannelledSkill channelled) {
+            channelled.interruptChannel(cast, generation);
+        }
+    }
+
+    public void stop(String actorId) {
+        SkillCast cast = getActive(actorId);
+        long generation = cast == null ? -1 : cast.generationOf(actorId);
+        if (generation >= 0 && cast.getSkill() instanceof ChannelledSkill channelled) {
+            channelled.stopChannel(cast, generation);
+        }
+    }
+
+    public void moved(String actorId) {
+        SkillCast cast = getActive(actorId);
+        long generation = cast == null ? -1 : cast.generationOf(actorId);
+        if (generation >= 0
+                && cast.getSkill() instanceof ChannelledSkill channelled
+                && !channelled.getAllowsMovement()) {
+            channelled.stopChannel(cast, generation);
+        }
+    }
+
+    public long getCreated() {
+        return created.get();
+    }
+
+    public int getPooled() {
+        synchronized (pool) {
+            return pool.size();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package server.skills.service;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import server.attribute.stats.service.StatsService;
+import server.combat.service.CombatService;
+import server.common.tick.TimerWheel;
+import server.motion.repository.ActorMotionRepository;
+import server.session.SessionParamHelper;
+import server.skills.available.destruction.fire.Fireball;
+import server.skills.available.restoration.heals.BasicHeal;
+import server.skills.model.Skill;
+import server.socket.service.ClientUpdatesService;
+
+@Singleton
+public class SkillRegistry {
+    // Skill definitions are created once and shared by every cast, anything that belongs to a
+    // single cast lives in a pooled SkillCast. Ids are the lower case skill names, interned.
+
+    @Inject ClientUpdatesService clientUpdatesService;
+
+    @Inject SessionParamHelper sessionParamHelper;
+
+    @Inject StatsService statsService;
+
+    @Inject CombatService combatService;
+
+    @Inject ActorMotionRepository actorMotionRepository;
+
+    @Inject TimerWheel timerWheel;
+
+    @Inject SkillCastPool skillCastPool;
+
+    private final Map<String, Skill> skills = new LinkedHashMap<>();
+    private List<Skill> skillList = List.of();
+
+    @PostConstruct
+    void load() {
+        register(new Fireball());
+        register(new BasicHeal());
+
+        skillList = Collections.unmodifiableList(new ArrayList<>(skills.values()));
+    }
+
+    public Skill getSkill(String skillId) {
+        if (skillId == null) {
+            return null;
+        }
+
+        // toLowerCase returns the same string when it already is lower case
+        return skills.get(skillId.toLowerCase(Locale.ROOT));
+    }
+
+    public List<Skill> getSkills() {
+        // skill definitions do not change at runtime, every caller shares the same list
+        return skillList;
+    }
+
+    void register(Skill skill) {
+        skill.setClientUpdatesService(clientUpdatesService);
+        skill.setStatsService(statsService);
+        skill.setSessionParamHelper(sessionParamHelper);
+        skill.setCombatService(combatService);
+        skill.setActorMotionRepository(actorMotionRepository);
+        skill.setTimerWheel(timerWheel);
+        skill.setSkillCastPool(skillCastPool);
+
+        skills.put(skill.getName().toLowerCase(Locale.ROOT).intern(), skill);
+    }
+}
@@ -1,58 +1,79 @@
 package server.socket.listener;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.configuration.kafka.annotation.KafkaKey;
 import io.micronaut.configuration.kafka.annotation.KafkaListener;
 import io.micronaut.configuration.kafka.annotation.OffsetReset;
 import io.micronaut.configuration.kafka.annotation.OffsetStrategy;
 import io.micronaut.configuration.kafka.annotation.Topic;
 import jakarta.inject.Inject;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import server.common.spatial.WorldSpatialIndex;
 import server.items.equippable.model.EquippedItems;
 import server.items.inventory.model.ItemInstanceIds;
 import server.items.inventory.model.response.GenericInventoryData;
 import server.items.model.DroppedItem;
+import server.items.service.DroppedItemStore;
 import server.monster.server_integration.model.Monster;
 import server.motion.dto.PlayerMotion;
+import server.session.SessionInterestIndex;
+import server.session.SessionLocationRegistry;
 import server.socket.model.SocketResponse;
 import server.socket.model.SocketResponseType;
 import server.socket.service.ClientUpdatesService;
 
 @Slf4j
 @KafkaListener(
-        groupId = "mmo-server",
-        offsetReset = OffsetReset.EARLIEST,
+        groupId = "mmo-server-${node.id}",
+        offsetReset = OffsetReset.LATEST,
         offsetStrategy = OffsetStrategy.SYNC,
         clientId = "socket_listener")
 public class SocketUpdateListener {
+    // Every node reads these topics in its own consumer group and delivers them to the observers
+    // connected to it, a fresh node starts from the latest updates. Motion processed on another
+    // node is also indexed here so local observers can find those actors. Equip changes are
+    // keyed by actor and dropped unread when no session here observes it.
+
+    private static final TypeReference<List<EquippedItems>> EQUIPPED_ITEMS =
+            new TypeReference<>() {};
 
     @Inject ClientUpdatesService clientUpdatesService;
 
+    @Inject DroppedItemStore droppedItemStore;
+
+    @Inject WorldSpatialIndex worldSpatialIndex;
+
+    @Inject SessionLocationRegistry sessionLocationRegistry;
+
+    @Inject SessionInterestIndex interestIndex;
+
+    @Inject ObjectMapper objectMapper;
+
     @Topic("player-motion-update-result")
     void receivePlayerMotionUpdate(PlayerMotion playerMotion) {
-        SocketResponse socketResponse =
-                SocketResponse.builder()
-                        .messageType(SocketResponseType.PLAYER_MOTION_UPDATE.getType())
-                        .playerMotion(Map.of(playerMotion.getActorId(), playerMotion))
-                        .playerKeys(Set.of(playerMotion.getActorId()))
-                        .build();
-
-        log.info("{}", playerMotion);
-        clientUpdatesService.sendUpdateToListening(socketResponse, playerMotion.getActorId());
+        String actorId = playerMotion.getActorId();
+        // players connected here were indexed when their motion was processed. a player no node
+        // hosts has logged out or its node timed out, late motion must not bring it back
+        if (!sessionLocationRegistry.isHostedHere(actorId)
+                && sessionLocationRegistry.getNode(actorId) != null) {
+            worldSpatialIndex.updatePlayerMotion(actorId, playerMotion.getMotion());
+        }
+        // sent with the next network tick, merged with other updates for the same observers
+        clientUpdatesService.queuePlayerMotionUpdate(playerMotion);
     }
 
     @Topic("mob-motion-update-result")
     void receiveMobMotionUpdate(Monster monster) {
-        SocketResponse socketResponse =
-                SocketResponse.builder()
-                        .messageType(SocketResponseType.MOB_MOTION_UPDATE.getType())
-                        .monsters(Map.of(monster.getActorId(), monster))
-                        .mobKeys(Set.of(monster.getActorId()))
-                        .build();
-
-        log.info("{}", monster);
-        clientUpdatesService.sendUpdateToListeningPlayers(socketResponse, monster.getActorId());
+        if (monster == null || worldSpatialIndex.isRemoved(monster.getActorId())) {
+            // late motion of a mob that died or was evicted here
+            return;
+        }
+        worldSpatialIndex.updateMob(monster);
+        clientUpdatesService.queueMobMotionUpdate(monster);
     }
 
     @Topic("item-added-to-map")
@@ -66,20 +87,32 @@ public class SocketUpdateListener {
                                         droppedItem))
                         .build();
 
+        // the dropping node already has it, adding again only re-arms the same expiry
+        droppedItemStore.add(droppedItem);
         clientUpdatesService.sendDroppedItemUpdates(droppedItem);
     }
 
     @Topic("item-removed-from-map")
     void itemRemovedFromMap(String itemInstanceId) {
+        droppedItemStore.remove(itemInstanceId);
         clientUpdatesService.sendItemPickupUpdates(itemInstanceId);
     }
 
     @Topic("notify-equip-items")
-    void notifyItemEquip(List<EquippedItems> equippedItems) {
+    void notifyItemEquip(@KafkaKey String actorId, byte[] payload) {
+        if (!interestIndex.isObserved(actorId)) {
+            return;
+        }
+        List<EquippedItems> equippedItems;
+        try {
+            equippedItems = objectMapper.readValue(payload, EQUIPPED_ITEMS);
+        } catch (IOException e) {
+            log.error("Failed to read equipped items, {}", e.getMessage());
+            return;
+        }
         if (equippedItems == null || equippedItems.isEmpty()) {
             return;
         }
-        String actorId = equippedItems.get(0).getActorId();
         GenericInventoryData equipData = new GenericInventoryData();
         equipData.setActorId(actorId);
         equipData.setEquippedItems(equippedItems);
@@ -93,8 +126,17 @@ public class SocketUpdateListener {
     }
 
     @Topic("notify-un-equip-items")
-    void notifyUnEquipItem(ItemInstanceIds itemInstanceIds) {
-
+    void notifyUnEquipItem(@KafkaKey String actorId, byte[] payload) {
+        if (!interestIndex.isObserved(actorId)) {
+            return;
+        }
+        ItemInstanceIds itemInstanceIds;
+        try {
+            itemInstanceIds = objectMapper.readValue(payload, ItemInstanceIds.class);
+        } catch (IOException e) {
+            log.error("Failed to read un-equipped items, {}", e.getMessage());
+            return;
+        }
         if (itemInstanceIds == null
                 || itemInstanceIds.getItemInstanceIds() == null
                 || itemInstanceIds.getItemInstanceIds().isEmpty()) {
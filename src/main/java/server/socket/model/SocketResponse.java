@@ -47,6 +47,7 @@ public class SocketResponse {
     CombatRequest combatRequest;
 
     Stats stats;
+    Map<String, Stats> actorStats; // coalesced stat changes, keyed by actor id
 
     ActorStatus actorStatus;
 
@@ -54,6 +55,8 @@ public class SocketResponse {
 
     List<ActorActionbar> actionbarList;
 
+    Map<String, Integer> actorHandles; // actor id -> handle used in binary UDP motion frames
+
     public static SocketResponse messageWithType(SocketResponseType type) {
         return SocketResponse.builder().messageType(type.getType()).build();
     }
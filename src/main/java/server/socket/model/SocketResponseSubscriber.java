@@ -1,21 +1,14 @@
 package server.socket.model;
 
-import io.micronaut.context.annotation.Requires;
-import io.micronaut.websocket.WebSocketBroadcaster;
 import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
+@Slf4j
 @Singleton
-@Requires(beans = WebSocketBroadcaster.class)
 public class SocketResponseSubscriber implements Subscriber<SocketResponse> {
 
-    private final WebSocketBroadcaster broadcaster;
-
-    public SocketResponseSubscriber(WebSocketBroadcaster broadcaster) {
-        this.broadcaster = broadcaster;
-    }
-
     @Override
     public void onSubscribe(Subscription subscription) {
         subscription.request(Long.MAX_VALUE);
@@ -23,13 +16,12 @@ public class SocketResponseSubscriber implements Subscriber<SocketResponse> {
 
     @Override
     public void onNext(SocketResponse socketResponse) {
-        // Add any necessary validation or data transformations here
-        broadcaster.broadcast(socketResponse);
+        // already delivered to the session it was sent on, it must not reach every other session
     }
 
     @Override
     public void onError(Throwable throwable) {
-        // Add error handling code here
+        log.error("Failed to send socket response, {}", throwable.getMessage());
     }
 
     @Override
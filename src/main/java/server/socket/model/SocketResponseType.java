@@ -24,7 +24,9 @@ public enum SocketResponseType {
     COMBAT_TOO_FAR("COMBAT_TOO_FAR"),
     COMBAT_NOT_FACING("COMBAT_NOT_FACING"),
     SKILL_ON_CD("SKILL_ON_CD"),
-    UPDATE_ACTIONBAR("UPDATE_ACTIONBAR");
+    UPDATE_ACTIONBAR("UPDATE_ACTIONBAR"),
+    ACTOR_HANDLES("ACTOR_HANDLES"),
+    WORLD_UPDATE("WORLD_UPDATE");
 
     public final String type;
 }
@@ -1,10 +1,12 @@
 package server.socket.producer;
 
 import io.micronaut.configuration.kafka.annotation.KafkaClient;
+import io.micronaut.configuration.kafka.annotation.KafkaKey;
 import io.micronaut.configuration.kafka.annotation.Topic;
+import io.micronaut.messaging.annotation.MessageHeader;
 import java.util.List;
-import server.attribute.stats.model.Stats;
-import server.attribute.status.model.ActorStatus;
+import server.attribute.stats.model.StatsDeltaBatch;
+import server.attribute.status.model.StatusDeltaBatch;
 import server.items.equippable.model.EquippedItems;
 import server.items.inventory.model.ItemInstanceIds;
 import server.items.model.DroppedItem;
@@ -14,14 +16,21 @@ import server.motion.dto.PlayerMotion;
 @KafkaClient(id = "general-update-producer")
 public interface UpdateProducer {
 
+    // ids of the actors in a batch, lets a node skip batches none of its sessions observe
+    // without deserializing them
+    String ACTOR_IDS_HEADER = "actor-ids";
+
+    // motion is keyed by map so the partitions line up with the world shards. it still goes to
+    // every node, each spatial index needs all positions to find new observers
+
     @Topic("mob-motion-update")
-    void sendMobMotionUpdate(Monster monster);
+    void sendMobMotionUpdate(@KafkaKey String map, Monster monster);
 
     @Topic("create-mob")
-    void sendCreateMob(Monster monster);
+    void sendCreateMob(@KafkaKey String map, Monster monster);
 
     @Topic("player-motion-update")
-    void sendPlayerMotionUpdate(PlayerMotion playerMotion);
+    void sendPlayerMotionUpdate(@KafkaKey String map, PlayerMotion playerMotion);
 
     @Topic("item-added-to-map")
     void addItemToMap(DroppedItem droppedItem);
@@ -30,14 +39,16 @@ public interface UpdateProducer {
     void removeItemFromMap(String itemInstanceId);
 
     @Topic("notify-equip-items")
-    void notifyEquipItems(List<EquippedItems> equippedItems);
+    void notifyEquipItems(@KafkaKey String actorId, List<EquippedItems> equippedItems);
 
     @Topic("notify-un-equip-items")
-    void notifyUnEquipItems(ItemInstanceIds itemInstanceIds);
+    void notifyUnEquipItems(@KafkaKey String actorId, ItemInstanceIds itemInstanceIds);
 
     @Topic("update-actor-stats")
-    void updateStats(Stats stats);
+    void updateStats(
+            @MessageHeader(ACTOR_IDS_HEADER) String actorIds, StatsDeltaBatch statsDeltaBatch);
 
     @Topic("update-actor-status")
-    void updateStatus(ActorStatus actorStatus);
+    void updateStatuses(
+            @MessageHeader(ACTOR_IDS_HEADER) String actorIds, StatusDeltaBatch statusDeltaBatch);
 }
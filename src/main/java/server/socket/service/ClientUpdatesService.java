@@ -4,16 +4,22 @@ import io.micronaut.websocket.WebSocketBroadcaster;
 import io.micronaut.websocket.WebSocketSession;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import lombok.extern.slf4j.Slf4j;
+import server.attribute.stats.model.Stats;
+import server.attribute.stats.model.StatsDeltaBatch;
 import server.common.dto.Location;
 import server.common.dto.Motion;
 import server.items.model.DroppedItem;
-import server.motion.model.SessionParams;
+import server.monster.server_integration.model.Monster;
+import server.motion.dto.PlayerMotion;
+import server.session.SessionInterestIndex;
 import server.session.SessionParamHelper;
 import server.socket.model.SocketResponse;
 import server.socket.model.SocketResponseSubscriber;
@@ -28,34 +34,83 @@ public class ClientUpdatesService {
 
     @Inject SocketResponseSubscriber socketResponseSubscriber;
 
+    @Inject SessionInterestIndex interestIndex;
+
+    @Inject OutboundCoalescer outboundCoalescer;
+
+    // Coalesced updates follow the same audience as their sendUpdateToListening* counterparts,
+    // duplicates are harmless as the frame keeps one entry per actor.
+    public void queuePlayerMotionUpdate(PlayerMotion playerMotion) {
+        String actorId = playerMotion.getActorId();
+        Consumer<WebSocketSession> update =
+                s -> outboundCoalescer.queuePlayerMotion(s, playerMotion);
+        queue(interestIndex.getPlayerObservers(actorId), true, update);
+        queue(interestIndex.getMobObservers(actorId), false, update);
+    }
+
+    public void queueMobMotionUpdate(Monster monster) {
+        String actorId = monster.getActorId();
+        Consumer<WebSocketSession> update = s -> outboundCoalescer.queueMonster(s, monster);
+        queue(interestIndex.getPlayerObservers(actorId), false, update);
+        queue(interestIndex.getMobObservers(actorId), false, update);
+    }
+
+    public void queueStatsUpdates(StatsDeltaBatch statsDeltaBatch) {
+        if (statsDeltaBatch.getActorStats() == null) {
+            return;
+        }
+        statsDeltaBatch
+                .getActorStats()
+                .forEach(
+                        (actorId, changes) ->
+                                queueStatsUpdate(
+                                        Stats.builder()
+                                                .actorId(actorId)
+                                                .derivedStats(changes)
+                                                .build()));
+    }
+
+    public void queueStatsUpdate(Stats stats) {
+        String actorId = stats.getActorId();
+        Consumer<WebSocketSession> update = s -> outboundCoalescer.queueStats(s, stats);
+        queue(interestIndex.getPlayerObservers(actorId), true, update);
+        queue(interestIndex.getMobObservers(actorId), false, update);
+        queue(interestIndex.getActorSessions(actorId), true, update);
+    }
+
     public void sendUpdateToListeningPlayers(SocketResponse message, String actorId) {
-        broadcaster
-                .broadcast(message, sessionIsPlayerAndListensToActor(actorId))
-                .subscribe(socketResponseSubscriber);
+        Set<WebSocketSession> playerObservers = interestIndex.getPlayerObservers(actorId);
+        send(message, playerObservers, false, null, null);
+        send(message, interestIndex.getMobObservers(actorId), false, playerObservers, null);
     }
 
     public void sendUpdateToListening(SocketResponse message, String actorId) {
         // this is to send message to both, players and mobs, but excluding self.
-        broadcaster
-                .broadcast(message, sessionListensToActorId(actorId))
-                .subscribe(socketResponseSubscriber);
+        // server does not track mob updates
+        Set<WebSocketSession> playerObservers = interestIndex.getPlayerObservers(actorId);
+        send(message, playerObservers, true, null, null);
+        send(message, interestIndex.getMobObservers(actorId), false, playerObservers, null);
     }
 
     public void sendUpdateToListeningIncludingServer(SocketResponse message, String actorId) {
         // this is to send message to both, players and mobs, but excluding self.
-        broadcaster
-                .broadcast(message, sessionListensToActorIdWithServer(actorId))
-                .subscribe(socketResponseSubscriber);
+        Set<WebSocketSession> playerObservers = interestIndex.getPlayerObservers(actorId);
+        send(message, playerObservers, true, null, null);
+        send(message, interestIndex.getMobObservers(actorId), true, playerObservers, null);
     }
 
     public void sendUpdateToListeningIncludingSelf(SocketResponse message, String actorId) {
         // send message to anyone subscribed to this actor
-        broadcaster
-                .broadcast(message, sessionListensToActorsOrIsTheActor(actorId))
-                .subscribe(socketResponseSubscriber);
+        Set<WebSocketSession> playerObservers = interestIndex.getPlayerObservers(actorId);
+        Set<WebSocketSession> mobObservers = interestIndex.getMobObservers(actorId);
+        send(message, playerObservers, true, null, null);
+        send(message, mobObservers, false, playerObservers, null);
+        send(message, interestIndex.getActorSessions(actorId), true, playerObservers, mobObservers);
     }
 
     public void sendToSelf(WebSocketSession session, SocketResponse message) {
+        // anything buffered for this session must not arrive after this message
+        outboundCoalescer.flush(session);
         session.send(message).subscribe(socketResponseSubscriber);
     }
 
@@ -75,34 +130,36 @@ public class ClientUpdatesService {
     }
 
     public void sendItemPickupUpdates(String itemInstanceId) {
-        SocketResponse socketResponse =
-                SocketResponse.builder()
-                        .messageType(SocketResponseType.REMOVE_ITEMS_FROM_MAP.getType())
-                        .itemInstanceIds(Set.of(itemInstanceId))
-                        .build();
-
-        broadcaster
-                .broadcast(socketResponse, listensToItemPickup(itemInstanceId))
-                .subscribe(socketResponseSubscriber);
+        sendItemsRemovedUpdates(Set.of(itemInstanceId));
     }
 
-    private Predicate<WebSocketSession> listensToItemPickup(String itemInstanceId) {
-        return s -> {
-            if (SessionParamHelper.getIsServer(s)) {
-                return false;
+    public void sendItemsRemovedUpdates(Collection<String> itemInstanceIds) {
+        // one message per observer with every item it saw disappear
+        Map<WebSocketSession, Set<String>> removedBySession = new HashMap<>();
+        for (String itemInstanceId : itemInstanceIds) {
+            for (WebSocketSession s : interestIndex.removeItem(itemInstanceId)) {
                 // servers don't need item updates
+                if (SessionParamHelper.getIsServer(s)) {
+                    continue;
+                }
+                SessionParamHelper.getDroppedItems(s).remove(itemInstanceId);
+                removedBySession.computeIfAbsent(s, k -> new HashSet<>()).add(itemInstanceId);
             }
+        }
 
-            Set<String> trackedItems = SessionParamHelper.getDroppedItems(s);
-
-            if (trackedItems.contains(itemInstanceId)) {
-                trackedItems.remove(itemInstanceId);
-
-                return true;
-            }
-
-            return false;
-        };
+        removedBySession.forEach(
+                (s, removed) -> {
+                    if (!s.isOpen()) {
+                        return;
+                    }
+                    SocketResponse socketResponse =
+                            SocketResponse.builder()
+                                    .messageType(SocketResponseType.REMOVE_ITEMS_FROM_MAP.getType())
+                                    .itemInstanceIds(removed)
+                                    .build();
+                    outboundCoalescer.flush(s);
+                    s.send(socketResponse).subscribe(socketResponseSubscriber);
+                });
     }
 
     private Predicate<WebSocketSession> listensToItemDrops(DroppedItem droppedItem) {
@@ -121,11 +178,10 @@ public class ClientUpdatesService {
             Location location = new Location(motion);
             if (location.withinThreshold(droppedItem.getLocation(), defaultThresholdDistance)) {
                 // automatically make it listen to this items events
+                String itemInstanceId = droppedItem.getItemInstance().getItemInstanceId();
 
-                Set<String> trackedItems = SessionParamHelper.getDroppedItems(s);
-
-                trackedItems.add(droppedItem.getItemInstance().getItemInstanceId());
-                s.put(SessionParams.DROPPED_ITEMS.getType(), trackedItems);
+                SessionParamHelper.getDroppedItems(s).add(itemInstanceId);
+                interestIndex.trackItems(s, Set.of(itemInstanceId));
 
                 return true;
             }
@@ -134,57 +190,33 @@ public class ClientUpdatesService {
         };
     }
 
-    private Predicate<WebSocketSession> sessionIsPlayerAndListensToActor(String playerOrMob) {
-        return s -> sessionIsPlayerAndListensToActor(s, playerOrMob);
-    }
-
-    private boolean sessionIsPlayerAndListensToActor(WebSocketSession s, String actorId) {
-        if (SessionParamHelper.getIsServer(s)) {
-            return false;
+    private void send(
+            SocketResponse message,
+            Set<WebSocketSession> sessions,
+            boolean includeServers,
+            Set<WebSocketSession> alreadySent,
+            Set<WebSocketSession> alsoAlreadySent) {
+        for (WebSocketSession s : sessions) {
+            if (!s.isOpen()
+                    || (!includeServers && SessionParamHelper.getIsServer(s))
+                    || (alreadySent != null && alreadySent.contains(s))
+                    || (alsoAlreadySent != null && alsoAlreadySent.contains(s))) {
+                continue;
+            }
+            outboundCoalescer.flush(s);
+            s.send(message).subscribe(socketResponseSubscriber);
         }
-
-        Set<String> actorIds = SessionParamHelper.getTrackingMobs(s);
-        actorIds.addAll(SessionParamHelper.getTrackingPlayers(s));
-
-        return actorIds.contains(actorId);
-    }
-
-    private Predicate<WebSocketSession> sessionListensToActorId(String actorId) {
-        return s -> sessionListensToActorId(s, actorId);
     }
 
-    private Predicate<WebSocketSession> sessionListensToActorIdWithServer(String actorId) {
-        return s -> sessionListensToActorIdWithServer(s, actorId);
-    }
-
-    private boolean sessionListensToActorId(WebSocketSession s, String actorId) {
-        boolean isServer = SessionParamHelper.getIsServer(s);
-        // server does not track mob updates
-        Set<String> actorIds = isServer ? new HashSet<>() : SessionParamHelper.getTrackingMobs(s);
-        actorIds.addAll(SessionParamHelper.getTrackingPlayers(s));
-
-        return actorIds.contains(actorId);
-    }
-
-    private boolean sessionListensToActorIdWithServer(WebSocketSession s, String actorId) {
-        Set<String> actorIds = SessionParamHelper.getTrackingMobs(s);
-        actorIds.addAll(SessionParamHelper.getTrackingPlayers(s));
-
-        return actorIds.contains(actorId);
-    }
-
-    private Predicate<WebSocketSession> sessionListensToActorsOrIsTheActor(String actorId) {
-        return s -> sessionListensToActorsOrIsTheActor(s, actorId);
-    }
-
-    private boolean sessionListensToActorsOrIsTheActor(WebSocketSession s, String actorId) {
-        return sessionIsTheActor(s, actorId) || sessionListensToActorId(s, actorId);
-    }
-
-    private boolean sessionIsTheActor(WebSocketSession s, String playerOrMob) {
-        String actorId = SessionParamHelper.getActorId(s);
-        String serverName = SessionParamHelper.getServerName(s);
-
-        return actorId.equalsIgnoreCase(playerOrMob) || serverName.equalsIgnoreCase(playerOrMob);
+    private void queue(
+            Set<WebSocketSession> sessions,
+            boolean includeServers,
+            Consumer<WebSocketSession> update) {
+        for (WebSocketSession s : sessions) {
+            if (!s.isOpen() || (!includeServers && SessionParamHelper.getIsServer(s))) {
+                continue;
+            }
+            update.accept(s);
+        }
     }
 }
@@ -0,0 +1,77 @@
+package server.socket.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import server.attribute.stats.model.Stats;
+import server.monster.server_integration.model.Monster;
+import server.motion.dto.PlayerMotion;
+import server.socket.model.SocketResponse;
+import server.socket.model.SocketResponseType;
+
+/**
+ * Updates buffered for a single session until the next network tick. Only the latest motion per
+ * actor is kept, stat changes for the same actor are merged.
+ */
+class CoalescedFrame {
+
+    private final Map<String, PlayerMotion> playerMotion = new LinkedHashMap<>();
+    private final Map<String, Monster> monsters = new LinkedHashMap<>();
+    private final Map<String, Stats> actorStats = new LinkedHashMap<>();
+
+    void addPlayerMotion(PlayerMotion motion) {
+        playerMotion.put(motion.getActorId(), motion);
+    }
+
+    void addMonster(Monster monster) {
+        monsters.put(monster.getActorId(), monster);
+    }
+
+    void addStats(Stats stats) {
+        Stats merged =
+                actorStats.computeIfAbsent(
+                        stats.getActorId(),
+                        id -> Stats.builder().actorId(id).derivedStats(new HashMap<>()).build());
+        merged.getDerivedStats().putAll(stats.getDerivedStats());
+    }
+
+    SocketResponse toResponse() {
+        SocketResponse.SocketResponseBuilder response = SocketResponse.builder();
+        int categories = 0;
+
+        if (!playerMotion.isEmpty()) {
+            response.playerMotion(playerMotion).playerKeys(playerMotion.keySet());
+            categories++;
+        }
+        if (!monsters.isEmpty()) {
+            response.monsters(monsters).mobKeys(monsters.keySet());
+            categories++;
+        }
+        if (!actorStats.isEmpty()) {
+            response.actorStats(actorStats);
+            if (actorStats.size() == 1) {
+                // keep single actor updates readable by clients that only know STATS_UPDATE
+                response.stats(actorStats.values().iterator().next());
+            }
+            categories++;
+        }
+
+        return response.messageType(messageType(categories).getType()).build();
+    }
+
+    private SocketResponseType messageType(int categories) {
+        if (categories > 1) {
+            return SocketResponseType.WORLD_UPDATE;
+        }
+        if (!playerMotion.isEmpty()) {
+            return SocketResponseType.PLAYER_MOTION_UPDATE;
+        }
+        if (!monsters.isEmpty()) {
+            return SocketResponseType.MOB_MOTION_UPDATE;
+        }
+
+        return actorStats.size() == 1
+                ? SocketResponseType.STATS_UPDATE
+                : SocketResponseType.WORLD_UPDATE;
+    }
+}
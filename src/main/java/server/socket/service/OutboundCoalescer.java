@@ -0,0 +1,92 @@
+package server.socket.service;
+
+import io.micronaut.websocket.WebSocketSession;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import server.attribute.stats.model.Stats;
+import server.common.tick.TickListener;
+import server.monster.server_integration.model.Monster;
+import server.motion.dto.PlayerMotion;
+import server.socket.model.SocketResponseSubscriber;
+
+@Slf4j
+@Singleton
+public class OutboundCoalescer implements TickListener {
+    // High frequency updates (motion, stat changes) are buffered per session and sent as a single
+    // frame once per network tick, instead of one frame per Kafka result per observer.
+
+    @Inject SocketResponseSubscriber socketResponseSubscriber;
+
+    private final Map<WebSocketSession, CoalescedFrame> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong queuedUpdates = new AtomicLong();
+    private final AtomicLong sentFrames = new AtomicLong();
+
+    public void queuePlayerMotion(WebSocketSession session, PlayerMotion playerMotion) {
+        queue(session, frame -> frame.addPlayerMotion(playerMotion));
+    }
+
+    public void queueMonster(WebSocketSession session, Monster monster) {
+        queue(session, frame -> frame.addMonster(monster));
+    }
+
+    public void queueStats(WebSocketSession session, Stats stats) {
+        queue(session, frame -> frame.addStats(stats));
+    }
+
+    @Override
+    public void onTick(long tick, Instant now) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        for (WebSocketSession session : pending.keySet()) {
+            flush(session);
+        }
+    }
+
+    public void flush(WebSocketSession session) {
+        // removing first means anything queued while sending goes into the next frame
+        CoalescedFrame frame = pending.remove(session);
+        if (frame == null || !session.isOpen()) {
+            return;
+        }
+
+        try {
+            session.send(frame.toResponse()).subscribe(socketResponseSubscriber);
+            sentFrames.incrementAndGet();
+        } catch (Exception e) {
+            log.error("Failed to send coalesced frame, {}", e.getMessage());
+        }
+    }
+
+    public void discard(WebSocketSession session) {
+        pending.remove(session);
+    }
+
+    public long getQueuedUpdates() {
+        return queuedUpdates.get();
+    }
+
+    public long getSentFrames() {
+        return sentFrames.get();
+    }
+
+    private void queue(WebSocketSession session, Consumer<CoalescedFrame> update) {
+        // compute keeps the add atomic with a concurrent flush removing the frame
+        pending.compute(
+                session,
+                (s, frame) -> {
+                    CoalescedFrame res = frame == null ? new CoalescedFrame() : frame;
+                    update.accept(res);
+                    return res;
+                });
+        queuedUpdates.incrementAndGet();
+    }
+}
@@ -12,15 +12,26 @@ import lombok.extern.slf4j.Slf4j;
 import server.actionbar.service.ActionbarService;
 import server.combat.service.MobCombatService;
 import server.combat.service.PlayerCombatService;
+import server.common.dto.Motion;
+import server.common.shard.WorldShards;
+import server.monster.server_integration.model.Monster;
 import server.motion.dto.PlayerMotion;
+import server.session.SessionInterestIndex;
+import server.session.SessionLocationRegistry;
 import server.session.SessionParamHelper;
 import server.skills.service.CombatSkillsService;
+import server.skills.service.SkillCastPool;
 import server.socket.model.SocketMessage;
+import server.socket.model.SocketResponse;
+import server.socket.model.SocketResponseSubscriber;
+import server.socket.model.SocketResponseType;
 import server.socket.model.types.MessageType;
 import server.socket.model.types.SkillMessageType;
 import server.socket.producer.UpdateProducer;
 import server.socket.service.integrations.attributes.StatsSocketIntegration;
 import server.socket.service.integrations.items.ItemSocketIntegration;
+import server.socket.service.synchronisation.InterestManager;
+import server.socket.v2.codec.ActorHandleRegistry;
 
 @Slf4j
 @Singleton
@@ -42,6 +53,18 @@ public class SocketProcessOutgoingService {
 
     @Inject ActionbarService actionbarService;
 
+    @Inject SessionInterestIndex interestIndex;
+
+    @Inject InterestManager interestManager;
+
+    @Inject SessionLocationRegistry sessionLocationRegistry;
+
+    @Inject SkillCastPool skillCastPool;
+
+    @Inject ActorHandleRegistry actorHandleRegistry;
+
+    @Inject SocketResponseSubscriber socketResponseSubscriber;
+
     Map<String, BiConsumer<SocketMessage, WebSocketSession>> functionMap;
 
     public SocketProcessOutgoingService() {
@@ -109,17 +132,27 @@ public class SocketProcessOutgoingService {
             }
         }
 
-        updateProducer.sendPlayerMotionUpdate(message.getPlayerMotion());
+        if (moving(motion.getMotion())) {
+            skillCastPool.moved(motion.getActorId());
+        }
+        updateProducer.sendPlayerMotionUpdate(motion.getMotion().getMap(), motion);
     }
 
     // update motion for monster
     private void handleMobMotionUpdate(SocketMessage message, WebSocketSession session) {
-        updateProducer.sendMobMotionUpdate(message.getMonster());
+        Monster monster = message.getMonster();
+        if (monster != null && moving(monster.getMotion())) {
+            skillCastPool.moved(monster.getActorId());
+        }
+        updateProducer.sendMobMotionUpdate(mapOf(monster), monster);
     }
 
     private void handleCreateMob(SocketMessage message, WebSocketSession session) {
         SessionParamHelper.addTrackingMobs(session, Set.of(message.getActorId()));
-        updateProducer.sendCreateMob(message.getMonster());
+        interestIndex.trackMobs(session, Set.of(message.getActorId()));
+        Monster monster = message.getMonster();
+        updateProducer.sendCreateMob(mapOf(monster), monster);
+        sendActorHandle(session, message.getActorId());
     }
 
     // handle inventory interaction
@@ -188,6 +221,20 @@ public class SocketProcessOutgoingService {
         actionbarService.updateActionbarItem(socketMessage.getActorActionbar());
     }
 
+    private static String mapOf(Monster monster) {
+        return monster == null ? null : WorldShards.mapOf(monster.getMotion());
+    }
+
+    private static boolean moving(Motion motion) {
+        // a channel that does not allow movement ends as soon as the caster has any velocity
+        return motion != null
+                && (nonZero(motion.getVx()) || nonZero(motion.getVy()) || nonZero(motion.getVz()));
+    }
+
+    private static boolean nonZero(Integer value) {
+        return value != null && value != 0;
+    }
+
     private void setSessionId(SocketMessage message, WebSocketSession session) {
         String serverName =
                 message.getServerName() == null || message.getServerName().isBlank()
@@ -198,8 +245,30 @@ public class SocketProcessOutgoingService {
                         ? null
                         : message.getActorId();
 
-        SessionParamHelper.setServerName(session, serverName);
-        SessionParamHelper.setActorId(session, actorId);
+        SessionParamHelper.identify(session, actorId, serverName);
+        interestIndex.registerActor(session, actorId);
+        interestIndex.registerActor(session, serverName);
+        // what is nearby is sent with the next tick
+        interestManager.register(session);
+        if (actorId != null && SessionParamHelper.getIsPlayer(session)) {
+            // lets the other nodes know where this player is connected
+            sessionLocationRegistry.register(actorId, session.getId());
+            sendActorHandle(session, actorId);
+        }
+    }
+
+    private void sendActorHandle(WebSocketSession session, String actorId) {
+        if (actorId == null || actorId.isBlank()) {
+            return;
+        }
+        // handle lets the client send binary motion frames over UDP
+        SocketResponse response =
+                SocketResponse.builder()
+                        .messageType(SocketResponseType.ACTOR_HANDLES.getType())
+                        .actorHandles(Map.of(actorId, actorHandleRegistry.handleFor(actorId)))
+                        .build();
+
+        session.send(response).subscribe(socketResponseSubscriber);
     }
 
     private boolean validate(String value, String name) {
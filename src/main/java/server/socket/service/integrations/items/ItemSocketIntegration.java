@@ -137,6 +137,7 @@ public class ItemSocketIntegration {
                             session.send(res)
                                     .subscribe(socketResponseSubscriber); // notify this player
                             updateProducer.notifyEquipItems(
+                                    equippedItems.getActorId(),
                                     List.of(equippedItems)); // notify other players
                         })
                 .subscribe();
@@ -169,6 +170,7 @@ public class ItemSocketIntegration {
                                             .actorId(request.getActorId())
                                             .build();
                             updateProducer.notifyUnEquipItems(
+                                    request.getActorId(),
                                     itemInstanceIds); // notify other players
                         })
                 .subscribe();
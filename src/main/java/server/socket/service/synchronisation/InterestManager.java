@@ -0,0 +1,298 @@
+package server.socket.service.synchronisation;
+
+import io.micronaut.websocket.WebSocketSession;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Value;
+import server.common.configuration.InterestConfiguration;
+import server.common.dto.Motion;
+import server.common.spatial.SpatialGrid;
+import server.common.spatial.WorldSpatialIndex;
+import server.common.tick.TickListener;
+import server.monster.server_integration.model.Monster;
+import server.monster.server_integration.service.MobInstanceService;
+import server.motion.dto.PlayerMotion;
+import server.session.SessionInterestIndex;
+import server.session.SessionState;
+
+@Singleton
+public class InterestManager implements TickListener {
+    // Keeps what each session tracks up to date from movement events instead of re-evaluating
+    // every session on a timer. An actor is only looked at again once it enters another cell or
+    // moves further than the hysteresis from where it was last evaluated: its own sessions are
+    // re-evaluated in full, and the observers around it get an enter / leave for that actor only.
+    // A tick where nobody crossed does no work.
+
+    // sessions are indexed at the position they were last evaluated at
+    private static final int OBSERVER_CELL_SIZE = 4_000;
+
+    @Inject WorldSpatialIndex worldSpatialIndex;
+
+    @Inject SessionInterestIndex interestIndex;
+
+    @Inject SynchronisePlayerService synchronisePlayerService;
+
+    @Inject SynchroniseMobService synchroniseMobService;
+
+    @Inject SynchroniseDroppedItemsService synchroniseDroppedItemsService;
+
+    @Inject InterestConfiguration configuration;
+
+    private final SpatialGrid<WebSocketSession> observers = new SpatialGrid<>(OBSERVER_CELL_SIZE);
+
+    // session id -> where its interest was last evaluated
+    private final Map<String, Anchor> observerAnchors = new ConcurrentHashMap<>();
+    // player / mob id -> where its observers were last updated
+    private final Map<String, Anchor> subjectAnchors = new ConcurrentHashMap<>();
+
+    private final Set<WebSocketSession> dirty = ConcurrentHashMap.newKeySet();
+    private final Set<WebSocketSession> movedSessions = ConcurrentHashMap.newKeySet();
+    private final Queue<WebSocketSession> closed = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong evaluations = new AtomicLong();
+    private final AtomicLong crossings = new AtomicLong();
+
+    public void register(WebSocketSession session) {
+        // evaluated in full once, after that only when it crosses
+        if (!observerAnchors.containsKey(session.getId())) {
+            dirty.add(session);
+        }
+    }
+
+    public void sessionMoved(WebSocketSession session) {
+        // server sessions observe from the motion of their messages, not from an indexed actor
+        movedSessions.add(session);
+    }
+
+    public void removeSession(WebSocketSession session) {
+        closed.add(session);
+    }
+
+    @Override
+    public void onTick(long tick, Instant now) {
+        WebSocketSession session;
+        while ((session = closed.poll()) != null) {
+            forget(session);
+        }
+
+        for (WebSocketSession moved : drain(movedSessions)) {
+            Motion motion = observerMotion(moved);
+            if (motionValid(motion)
+                    && crossed(observerAnchors.get(moved.getId()), Anchor.of(motion))) {
+                dirty.add(moved);
+            }
+        }
+
+        for (String actorId : worldSpatialIndex.drainMovedPlayers()) {
+            PlayerMotion playerMotion = worldSpatialIndex.getPlayers().get(actorId);
+            subjectMoved(actorId, playerMotion == null ? null : playerMotion.getMotion(), true);
+        }
+        for (String actorId : worldSpatialIndex.drainMovedMobs()) {
+            Monster monster = worldSpatialIndex.getMobs().get(actorId);
+            subjectMoved(actorId, monster == null ? null : monster.getMotion(), false);
+        }
+
+        for (WebSocketSession s : drain(dirty)) {
+            evaluate(s);
+        }
+    }
+
+    public int getTrackedObservers() {
+        return observers.size();
+    }
+
+    public long getEvaluations() {
+        return evaluations.get();
+    }
+
+    public long getCrossings() {
+        return crossings.get();
+    }
+
+    private void subjectMoved(String actorId, Motion motion, boolean player) {
+        Set<WebSocketSession> observing =
+                player
+                        ? interestIndex.getPlayerObservers(actorId)
+                        : interestIndex.getMobObservers(actorId);
+
+        if (!motionValid(motion)) {
+            // left the world, everyone still tracking it lets go
+            subjectAnchors.remove(actorId);
+            for (WebSocketSession s : List.copyOf(observing)) {
+                leave(s, actorId, player);
+            }
+            return;
+        }
+
+        Anchor next = Anchor.of(motion);
+        if (!crossed(subjectAnchors.get(actorId), next)) {
+            return;
+        }
+        subjectAnchors.put(actorId, next);
+        crossings.incrementAndGet();
+
+        if (player) {
+            // the player is also an observer, its own view moves with it
+            dirty.addAll(interestIndex.getActorSessions(actorId));
+        }
+
+        int range =
+                player
+                        ? SynchronisePlayerService.DEFAULT_DISTANCE_THRESHOLD
+                        : MobInstanceService.MOB_DISTANCE_THRESHOLD;
+
+        // observers that can see it now, and the ones that saw it before the move
+        Set<WebSocketSession> candidates = new HashSet<>(observing);
+        candidates.addAll(
+                observers.query(
+                        next.getMap(),
+                        next.getX(),
+                        next.getY(),
+                        range + configuration.getHysteresis()));
+
+        for (WebSocketSession s : candidates) {
+            if (dirty.contains(s) || !s.isOpen()) {
+                // dirty sessions are evaluated in full later in this tick
+                continue;
+            }
+            SessionState state = SessionState.of(s);
+            if (actorId.equals(state.getActorId()) || (!player && state.isServer())) {
+                // servers do not track mobs
+                continue;
+            }
+
+            boolean tracking =
+                    player
+                            ? state.getTrackingPlayers().contains(actorId)
+                            : state.getTrackingMobs().contains(actorId);
+            boolean inRange = inRange(observerMotion(s), motion, range);
+
+            if (inRange && !tracking) {
+                enter(s, actorId, player);
+            } else if (!inRange && tracking) {
+                leave(s, actorId, player);
+            }
+        }
+    }
+
+    private void enter(WebSocketSession session, String actorId, boolean player) {
+        if (player) {
+            synchronisePlayerService.addPlayers(session, Set.of(actorId));
+            return;
+        }
+
+        Monster monster = worldSpatialIndex.getMobs().get(actorId);
+        if (monster != null) {
+            synchroniseMobService.addMobs(session, Set.of(monster));
+        }
+    }
+
+    private void leave(WebSocketSession session, String actorId, boolean player) {
+        if (player) {
+            synchronisePlayerService.removePlayers(session, Set.of(actorId));
+        } else {
+            synchroniseMobService.removeMobs(session, Set.of(actorId));
+        }
+    }
+
+    private void evaluate(WebSocketSession session) {
+        SessionState state = SessionState.of(session);
+        if (!session.isOpen() || (!state.isPlayer() && !state.isServer())) {
+            // closed, or not initialized yet
+            return;
+        }
+
+        Motion motion = observerMotion(session);
+        if (!motionValid(motion)) {
+            return;
+        }
+
+        observerAnchors.put(session.getId(), Anchor.of(motion));
+        observers.upsert(session.getId(), motion.getMap(), motion.getX(), motion.getY(), session);
+        evaluations.incrementAndGet();
+
+        synchronisePlayerService.handleSynchronisePlayers(motion, session);
+        synchroniseMobService.handleSynchroniseMobs(motion, session);
+        synchroniseDroppedItemsService.handleSynchroniseDroppedItems(motion, session);
+    }
+
+    private void forget(WebSocketSession session) {
+        observers.remove(session.getId());
+        observerAnchors.remove(session.getId());
+        dirty.remove(session);
+        movedSessions.remove(session);
+    }
+
+    private Motion observerMotion(WebSocketSession session) {
+        SessionState state = SessionState.of(session);
+        if (state.isPlayer()) {
+            PlayerMotion playerMotion = worldSpatialIndex.getPlayers().get(state.getActorId());
+            if (playerMotion != null) {
+                return playerMotion.getMotion();
+            }
+        }
+
+        return state.getMotion();
+    }
+
+    private boolean crossed(Anchor previous, Anchor next) {
+        if (previous == null || !previous.getMap().equals(next.getMap())) {
+            return true;
+        }
+
+        int cellSize = Math.max(1, configuration.getCellSize());
+        int hysteresis = configuration.getHysteresis();
+
+        return Math.floorDiv(previous.getX(), cellSize) != Math.floorDiv(next.getX(), cellSize)
+                || Math.floorDiv(previous.getY(), cellSize) != Math.floorDiv(next.getY(), cellSize)
+                || Math.abs(previous.getX() - next.getX()) > hysteresis
+                || Math.abs(previous.getY() - next.getY()) > hysteresis;
+    }
+
+    private static boolean inRange(Motion observer, Motion subject, int range) {
+        // same semantics as the spatial index queries
+        return motionValid(observer)
+                && observer.getMap().equals(subject.getMap())
+                && Math.abs(observer.getX() - subject.getX()) < range
+                && Math.abs(observer.getY() - subject.getY()) < range;
+    }
+
+    private static boolean motionValid(Motion motion) {
+        return motion != null
+                && motion.getMap() != null
+                && motion.getX() != null
+                && motion.getY() != null;
+    }
+
+    private static <T> List<T> drain(Set<T> pending) {
+        List<T> drained = new ArrayList<>();
+        for (T item : pending) {
+            if (pending.remove(item)) {
+                drained.add(item);
+            }
+        }
+
+        return drained;
+    }
+
+    @Value
+    private static class Anchor {
+        String map;
+        int x;
+        int y;
+
+        static Anchor of(Motion motion) {
+            return new Anchor(motion.getMap(), motion.getX(), motion.getY());
+        }
+    }
+}
@@ -4,7 +4,6 @@ import io.micronaut.websocket.WebSocketSession;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
@@ -14,8 +13,9 @@ import server.common.dto.Location;
 import server.common.dto.Motion;
 import server.items.model.DroppedItem;
 import server.items.service.ItemService;
-import server.motion.model.SessionParams;
+import server.session.SessionInterestIndex;
 import server.session.SessionParamHelper;
+import server.session.SessionState;
 import server.socket.model.SocketResponse;
 import server.socket.model.SocketResponseSubscriber;
 import server.socket.model.SocketResponseType;
@@ -28,6 +28,8 @@ public class SynchroniseDroppedItemsService {
 
     @Inject SocketResponseSubscriber socketResponseSubscriber;
 
+    @Inject SessionInterestIndex interestIndex;
+
     public void handleSynchroniseDroppedItems(Motion motion, WebSocketSession session) {
         if (SessionParamHelper.getIsServer(session)) {
             // don't synchronise dropped items on server instances
@@ -54,16 +56,14 @@ public class SynchroniseDroppedItemsService {
                             handleNewItems(currentItems, trackedItems, droppedItemsMap, session);
                             handleLostItems(currentItems, trackedItems, session);
 
-                            session.asMap()
-                                    .put(SessionParams.DROPPED_ITEMS.getType(), currentItems);
+                            SessionState.of(session).setDroppedItems(currentItems);
                         })
                 .subscribe();
     }
 
     private Set<String> getTrackedItems(WebSocketSession session) {
-        return (Set<String>)
-                session.asMap()
-                        .getOrDefault(SessionParams.DROPPED_ITEMS.getType(), new HashSet<>());
+        // live concurrent set, new / lost ids are computed before it is changed
+        return SessionState.of(session).getDroppedItems();
     }
 
     private Set<String> getLostItemIds(Set<String> currentItems, Set<String> trackedItems) {
@@ -90,7 +90,7 @@ public class SynchroniseDroppedItemsService {
         }
 
         trackedItems.addAll(newItemIds);
-        session.put(SessionParams.DROPPED_ITEMS.getType(), trackedItems);
+        interestIndex.trackItems(session, newItemIds);
 
         Map<String, DroppedItem> newItemsMap = new HashMap<>();
         newItemIds.forEach(id -> newItemsMap.put(id, droppedItemsMap.get(id)));
@@ -113,6 +113,7 @@ public class SynchroniseDroppedItemsService {
         }
 
         trackedItems.removeAll(lostItemIds);
+        interestIndex.untrackItems(session, lostItemIds);
 
         SocketResponse socketResponse =
                 SocketResponse.builder()
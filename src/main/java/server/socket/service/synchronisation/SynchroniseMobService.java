@@ -13,8 +13,9 @@ import server.common.dto.Location;
 import server.common.dto.Motion;
 import server.monster.server_integration.model.Monster;
 import server.monster.server_integration.service.MobInstanceService;
-import server.motion.model.SessionParams;
+import server.session.SessionInterestIndex;
 import server.session.SessionParamHelper;
+import server.session.SessionState;
 import server.socket.model.SocketResponse;
 import server.socket.model.SocketResponseSubscriber;
 import server.socket.model.SocketResponseType;
@@ -27,6 +28,8 @@ public class SynchroniseMobService {
 
     @Inject SocketResponseSubscriber socketResponseSubscriber;
 
+    @Inject SessionInterestIndex interestIndex;
+
     public void handleSynchroniseMobs(Motion motion, WebSocketSession session) {
         if (SessionParamHelper.getIsServer(session)) {
             // don't synchronise mobs if its server session
@@ -37,32 +40,42 @@ public class SynchroniseMobService {
                 .getMobsNearby(new Location(motion))
                 .doOnSuccess(
                         mobList -> {
-                            if (mobList == null || mobList.isEmpty()) {
-                                return;
-                            }
+                            // an empty area still has to drop the mobs tracked before
                             Set<String> actorIds = evaluateNewMobs(mobList, session);
 
-                            session.put(SessionParams.TRACKING_MOBS.getType(), actorIds);
+                            SessionState.of(session).setTrackingMobs(actorIds);
                         })
                 .doOnError(
                         (error) -> log.error("error getting nearby mobs, {}", error.getMessage()))
                 .subscribe();
     }
 
+    public void addMobs(WebSocketSession session, Set<Monster> mobs) {
+        Set<String> actorIds = mobs.stream().map(Monster::getActorId).collect(Collectors.toSet());
+        SessionState.of(session).addTrackingMobs(actorIds);
+        interestIndex.trackMobs(session, actorIds);
+        handleNewMobs(session, mobs);
+    }
+
+    public void removeMobs(WebSocketSession session, Set<String> actorIds) {
+        SessionState.of(session).removeTrackingMobs(actorIds);
+        interestIndex.untrackMobs(session, actorIds);
+        handleLostMobs(session, actorIds);
+    }
+
     private Set<String> evaluateNewMobs(List<Monster> mobList, WebSocketSession session) {
         Set<String> actorIds =
                 mobList.stream().map(Monster::getActorId).collect(Collectors.toSet());
 
-        Set<String> previouslyTracked =
-                (Set<String>)
-                        session.asMap()
-                                .getOrDefault(SessionParams.TRACKING_MOBS.getType(), Set.of());
+        Set<String> previouslyTracked = SessionState.of(session).getTrackingMobs();
 
         Set<Monster> newMobs =
                 mobList.stream()
                         .filter(i -> !previouslyTracked.contains(i.getActorId()))
                         .collect(Collectors.toSet());
 
+        interestIndex.trackMobs(
+                session, newMobs.stream().map(Monster::getActorId).collect(Collectors.toSet()));
         handleNewMobs(session, newMobs);
 
         Set<String> lostMobs =
@@ -70,6 +83,7 @@ public class SynchroniseMobService {
                         .filter(i -> !actorIds.contains(i))
                         .collect(Collectors.toSet());
 
+        interestIndex.untrackMobs(session, lostMobs);
         handleLostMobs(session, lostMobs);
 
         return actorIds;
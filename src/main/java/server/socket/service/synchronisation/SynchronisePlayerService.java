@@ -14,11 +14,12 @@ import server.items.equippable.model.EquippedItems;
 import server.items.equippable.service.EquipItemService;
 import server.items.inventory.model.response.GenericInventoryData;
 import server.motion.dto.PlayerMotion;
-import server.motion.model.SessionParams;
 import server.motion.service.PlayerMotionService;
 import server.player.model.Character;
 import server.player.service.PlayerCharacterService;
+import server.session.SessionInterestIndex;
 import server.session.SessionParamHelper;
+import server.session.SessionState;
 import server.socket.model.SocketResponse;
 import server.socket.model.SocketResponseSubscriber;
 import server.socket.model.SocketResponseType;
@@ -35,7 +36,9 @@ public class SynchronisePlayerService {
 
     @Inject EquipItemService equipItemService;
 
-    private static final Integer DEFAULT_DISTANCE_THRESHOLD = 20_000;
+    @Inject SessionInterestIndex interestIndex;
+
+    static final int DEFAULT_DISTANCE_THRESHOLD = 20_000;
 
     public void handleSynchronisePlayers(Motion motion, WebSocketSession session) {
         int distanceThreshold = DEFAULT_DISTANCE_THRESHOLD;
@@ -53,7 +56,7 @@ public class SynchronisePlayerService {
 
                             evaluateNewPlayers(actorIds, session);
                             // update the names that we follow
-                            session.put(SessionParams.TRACKING_PLAYERS.getType(), actorIds);
+                            SessionState.of(session).setTrackingPlayers(actorIds);
                         })
                 .doOnError(
                         (error) ->
@@ -61,6 +64,18 @@ public class SynchronisePlayerService {
                 .subscribe();
     }
 
+    public void addPlayers(WebSocketSession session, Set<String> actorIds) {
+        SessionState.of(session).addTrackingPlayers(actorIds);
+        interestIndex.trackPlayers(session, actorIds);
+        handleNewPlayers(session, actorIds);
+    }
+
+    public void removePlayers(WebSocketSession session, Set<String> actorIds) {
+        SessionState.of(session).removeTrackingPlayers(actorIds);
+        interestIndex.untrackPlayers(session, actorIds);
+        handleLostPlayers(session, actorIds);
+    }
+
     private void evaluateNewPlayers(Set<String> actorIds, WebSocketSession session) {
         Set<String> previouslyTracked = SessionParamHelper.getTrackingPlayers(session);
 
@@ -74,6 +89,9 @@ public class SynchronisePlayerService {
                         .filter(i -> !actorIds.contains(i))
                         .collect(Collectors.toSet());
 
+        interestIndex.trackPlayers(session, newPlayers);
+        interestIndex.untrackPlayers(session, lostPlayers);
+
         handleNewPlayers(session, newPlayers);
         handleLostPlayers(session, lostPlayers);
     }
@@ -9,13 +9,22 @@ import io.micronaut.websocket.annotation.ServerWebSocket;
 import io.netty.util.internal.ConcurrentSet;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
+import server.attribute.stats.service.StatsService;
+import server.attribute.status.service.StatusService;
 import server.common.dto.Motion;
-import server.motion.model.SessionParams;
+import server.items.inventory.service.InventoryService;
 import server.motion.service.PlayerMotionService;
+import server.session.SessionInterestIndex;
+import server.session.SessionLocationRegistry;
 import server.session.SessionParamHelper;
+import server.session.SessionState;
+import server.skills.service.CombatSkillsService;
 import server.socket.model.SocketMessage;
+import server.socket.service.OutboundCoalescer;
 import server.socket.service.SocketProcessOutgoingService;
+import server.socket.service.synchronisation.InterestManager;
 import server.socket.v2.UDPServer;
+import server.socket.v2.codec.ActorHandleRegistry;
 
 @Slf4j
 @ServerWebSocket("/v1/communication-socket")
@@ -30,8 +39,26 @@ public class CommunicationSocket {
 
     @Inject SessionParamHelper sessionParamHelper;
 
+    @Inject SessionInterestIndex interestIndex;
+
     @Inject UDPServer udpServer;
 
+    @Inject ActorHandleRegistry actorHandleRegistry;
+
+    @Inject OutboundCoalescer outboundCoalescer;
+
+    @Inject InventoryService inventoryService;
+
+    @Inject StatsService statsService;
+
+    @Inject StatusService statusService;
+
+    @Inject InterestManager interestManager;
+
+    @Inject SessionLocationRegistry sessionLocationRegistry;
+
+    @Inject CombatSkillsService combatSkillsService;
+
     private final ConcurrentSet<WebSocketSession> socketSessions = new ConcurrentSet<>();
 
     @OnOpen
@@ -65,12 +92,21 @@ public class CommunicationSocket {
 
     @OnClose
     public void onClose(WebSocketSession session) {
-        String actorId = (String) session.asMap().get(SessionParams.ACTOR_ID.getType());
-        if (actorId == null) {
+        interestIndex.removeSession(session);
+        interestManager.removeSession(session);
+        outboundCoalescer.discard(session);
+        String actorId = SessionState.of(session).getActorId();
+        if (actorId.isBlank()) {
             log.error("player name should not be null on disconnect");
             return;
         }
         playerMotionService.disconnectPlayer(actorId);
+        sessionLocationRegistry.release(actorId, session.getId());
+        actorHandleRegistry.release(actorId);
+        inventoryService.evict(actorId);
+        statsService.releaseStats(actorId);
+        statusService.releaseActorStatus(actorId);
+        combatSkillsService.invalidateActorSkills(actorId);
         socketSessions.remove(session);
     }
 
@@ -81,8 +117,10 @@ public class CommunicationSocket {
         if (message.getPlayerMotion() != null
                 && motionValid(message.getPlayerMotion().getMotion())) {
             sessionParamHelper.setMotion(session, message.getPlayerMotion().getMotion());
+            interestManager.sessionMoved(session);
         } else if (message.getMonster() != null && motionValid(message.getMonster().getMotion())) {
             sessionParamHelper.setMotion(session, message.getMonster().getMotion());
+            interestManager.sessionMoved(session);
         }
     }
 
@@ -2,32 +2,54 @@ package server.socket.v2;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
-import com.fasterxml.jackson.databind.ObjectWriter;
 import io.micronaut.websocket.WebSocketSession;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
-import java.net.InetAddress;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.time.Instant;
 import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
+import server.common.dto.Motion;
+import server.common.spatial.WorldSpatialIndex;
+import server.monster.server_integration.model.Monster;
+import server.motion.dto.PlayerMotion;
+import server.session.SessionParamHelper;
 import server.socket.model.SocketMessage;
+import server.socket.model.types.MessageType;
 import server.socket.service.SocketProcessOutgoingService;
+import server.socket.v2.codec.ActorHandleRegistry;
+import server.socket.v2.codec.ByteBufferPool;
+import server.socket.v2.codec.MotionFrame;
+import server.socket.v2.codec.MotionFrameCodec;
 
 @Slf4j
 @Singleton
 public class UDPServer {
 
-    private static final int UDP_PORT = 9876;
+    static final int UDP_PORT = 9876;
+
+    // a single ethernet frame, anything bigger should be on the websocket
+    private static final int MAX_DATAGRAM_SIZE = 1500;
 
     private static final ObjectMapper mapper = new ObjectMapper();
     private static final ObjectReader reader = mapper.reader();
-    private static final ObjectWriter writer = mapper.writer();
 
     ConcurrentHashMap<String, WebSocketSession> validIps = new ConcurrentHashMap<>();
 
     @Inject SocketProcessOutgoingService socketProcessService;
 
+    @Inject ActorHandleRegistry actorHandleRegistry;
+
+    @Inject WorldSpatialIndex worldSpatialIndex;
+
+    private final ByteBufferPool sendBuffers = new ByteBufferPool(MotionFrameCodec.FRAME_SIZE, 256);
+
+    private volatile DatagramChannel channel;
+
     public UDPServer() {
         Thread serverThread =
                 new Thread(
@@ -49,45 +71,133 @@ public class UDPServer {
         validIps.remove(ip);
     }
 
-    public void send(SocketMessage message) {
+    public void sendMotion(
+            SocketAddress target, byte opcode, String actorId, int sequence, Motion motion) {
+        DatagramChannel current = channel;
+        if (current == null) {
+            log.warn("UDP server not started, dropping motion frame");
+            return;
+        }
+
+        ByteBuffer buffer = sendBuffers.acquire();
         try {
-            byte[] data = writer.writeValueAsBytes(message);
-            DatagramPacket packet =
-                    new DatagramPacket(
-                            data, data.length, InetAddress.getByName("localhost"), UDP_PORT);
-            DatagramSocket socket = new DatagramSocket();
-            socket.send(packet);
+            MotionFrameCodec.encode(
+                    buffer, opcode, actorHandleRegistry.handleFor(actorId), sequence, motion);
+            buffer.flip();
+            current.send(buffer, target);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to send motion frame, {}", e.getMessage());
+        } finally {
+            sendBuffers.release(buffer);
         }
     }
 
     private void startServer() {
-        try {
-            DatagramSocket socket = new DatagramSocket(UDP_PORT);
-            byte[] buffer = new byte[1024];
+        try (DatagramChannel datagramChannel = DatagramChannel.open()) {
+            datagramChannel.bind(new InetSocketAddress(UDP_PORT));
+            channel = datagramChannel;
+
+            // receive loop is single threaded, so the buffer and frame are reused for every packet
+            ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE);
+            MotionFrame frame = new MotionFrame();
 
             while (true) {
-                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
-                socket.receive(packet);
+                buffer.clear();
+                SocketAddress address = datagramChannel.receive(buffer);
+                buffer.flip();
 
-                String hostAddress = packet.getAddress().getHostName();
-                if (!validIps.contains(hostAddress)) {
+                String hostAddress = ((InetSocketAddress) address).getHostString();
+                WebSocketSession session = validIps.get(hostAddress);
+                if (session == null) {
                     log.error(
                             "UDP received message from {} which is not connected to websocket",
                             hostAddress);
                     continue;
                 }
 
-                SocketMessage message = reader.readValue(packet.getData(), SocketMessage.class);
-
-                WebSocketSession session = validIps.get(hostAddress);
-
-                socketProcessService.processMessage(message, session);
-                log.info("Message received! {}", message);
+                try {
+                    if (MotionFrameCodec.decode(buffer, frame)) {
+                        handleMotionFrame(frame, session);
+                    } else {
+                        handleJsonMessage(buffer, session);
+                    }
+                } catch (Exception e) {
+                    log.error("Failed to process UDP message, {}", e.getMessage());
+                }
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("UDP server stopped, {}", e.getMessage());
         }
     }
+
+    private void handleJsonMessage(ByteBuffer buffer, WebSocketSession session)
+            throws IOException {
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        SocketMessage message = reader.readValue(data, SocketMessage.class);
+
+        socketProcessService.processMessage(message, session);
+    }
+
+    private void handleMotionFrame(MotionFrame frame, WebSocketSession session) {
+        String actorId = actorHandleRegistry.actorFor(frame.getHandle());
+        if (actorId == null) {
+            log.warn("Motion frame for unknown actor handle {}", frame.getHandle());
+            return;
+        }
+
+        boolean isPlayerFrame = frame.getOpcode() == MotionFrameCodec.PLAYER_MOTION;
+        boolean isServer = SessionParamHelper.getIsServer(session);
+        if (isPlayerFrame
+                && !isServer
+                && !actorId.equals(SessionParamHelper.getActorId(session))) {
+            log.warn("Session tried to send motion for another player, {}", actorId);
+            return;
+        }
+        if (!isPlayerFrame && !isServer) {
+            // only the mob servers move mobs
+            log.warn("Player session tried to send mob motion, {}", actorId);
+            return;
+        }
+
+        if (!actorHandleRegistry.acceptSequence(frame.getHandle(), frame.getSequence())) {
+            // stale or duplicate frame
+            return;
+        }
+
+        String map = lastKnownMap(actorId, isPlayerFrame, session);
+        if (map == null) {
+            log.warn("No known map for {}, motion frame dropped", actorId);
+            return;
+        }
+        Motion motion = frame.toMotion(map);
+
+        SocketMessage message = new SocketMessage();
+        message.setActorId(actorId);
+        if (isPlayerFrame) {
+            message.setUpdateType(MessageType.PLAYER_MOTION.getType());
+            message.setPlayerMotion(new PlayerMotion(actorId, motion, true, Instant.now()));
+        } else {
+            message.setUpdateType(MessageType.MOB_MOTION.getType());
+            message.setMonster(new Monster(null, actorId, motion, Instant.now(), null));
+        }
+
+        socketProcessService.processMessage(message, session);
+    }
+
+    private String lastKnownMap(String actorId, boolean isPlayer, WebSocketSession session) {
+        Motion known;
+        if (isPlayer) {
+            PlayerMotion playerMotion = worldSpatialIndex.getPlayers().get(actorId);
+            known =
+                    playerMotion == null
+                            ? SessionParamHelper.getMotion(session)
+                            : playerMotion.getMotion();
+        } else {
+            Monster monster = worldSpatialIndex.getMobs().get(actorId);
+            known = monster == null ? null : monster.getMotion();
+        }
+
+        return known == null ? null : known.getMap();
+    }
 }
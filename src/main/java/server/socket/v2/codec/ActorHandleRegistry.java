@@ -0,0 +1,139 @@
+package server.socket.v2.codec;
+
+import jakarta.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns actor ids to small int handles so motion frames don't have to carry the id string.
+ *
+ * <p>A handle is a slot index plus a generation. Slots are reused once an actor is released, the
+ * generation makes sure frames still using the old handle no longer resolve.
+ */
+@Singleton
+public class ActorHandleRegistry {
+
+    private static final int SLOT_BITS = 20;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    // keep handles positive
+    private static final int GENERATION_MASK = (1 << (31 - SLOT_BITS)) - 1;
+
+    private final Map<String, Integer> handles = new ConcurrentHashMap<>();
+
+    // guarded by this, published to readers through the volatile array reference
+    private volatile Slot[] slots = new Slot[1024];
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int nextSlot = 0;
+
+    public int handleFor(String actorId) {
+        Integer handle = handles.get(actorId);
+        if (handle != null) {
+            return handle;
+        }
+
+        synchronized (this) {
+            handle = handles.get(actorId);
+            if (handle != null) {
+                return handle;
+            }
+
+            int slot;
+            int generation = 0;
+            if (!freeSlots.isEmpty()) {
+                slot = freeSlots.pop();
+                generation = (slots[slot].generation + 1) & GENERATION_MASK;
+            } else {
+                if (nextSlot > SLOT_MASK) {
+                    throw new IllegalStateException("Ran out of actor handles");
+                }
+                slot = nextSlot++;
+            }
+
+            Slot[] current = slots;
+            if (slot >= current.length) {
+                current = Arrays.copyOf(current, Math.min(current.length * 2, SLOT_MASK + 1));
+            }
+            handle = (generation << SLOT_BITS) | slot;
+            current[slot] = new Slot(actorId, handle, generation);
+            slots = current;
+            handles.put(actorId, handle);
+
+            return handle;
+        }
+    }
+
+    /** Resolves a handle back to its actor id, null if unknown or released. */
+    public String actorFor(int handle) {
+        Slot slot = slotFor(handle);
+        return slot == null ? null : slot.actorId;
+    }
+
+    /**
+     * Frames can arrive out of order over UDP, only accept a sequence newer than the last one seen
+     * for this handle. Sequence numbers are 16 bit and wrap around.
+     */
+    public boolean acceptSequence(int handle, int sequence) {
+        Slot slot = slotFor(handle);
+        if (slot == null) {
+            return false;
+        }
+        int last = slot.lastSequence;
+        if (last >= 0) {
+            int diff = (sequence - last) & 0xFFFF;
+            if (diff == 0 || diff >= 0x8000) {
+                return false;
+            }
+        }
+        slot.lastSequence = sequence;
+
+        return true;
+    }
+
+    public synchronized void release(String actorId) {
+        if (actorId == null) {
+            return;
+        }
+        Integer handle = handles.remove(actorId);
+        if (handle == null) {
+            return;
+        }
+        int index = handle & SLOT_MASK;
+        Slot[] current = slots;
+        // keep the generation so the next owner of the slot gets a different handle
+        current[index] = new Slot(null, -1, current[index].generation);
+        slots = current;
+        freeSlots.push(index);
+    }
+
+    private Slot slotFor(int handle) {
+        if (handle < 0) {
+            return null;
+        }
+        Slot[] current = slots;
+        int index = handle & SLOT_MASK;
+        if (index >= current.length) {
+            return null;
+        }
+        Slot slot = current[index];
+
+        return slot == null || slot.handle != handle ? null : slot;
+    }
+
+    private static class Slot {
+        final String actorId;
+        final int handle;
+        final int generation;
+
+        // only written by the receiving thread
+        volatile int lastSequence = -1;
+
+        Slot(String actorId, int handle, int generation) {
+            this.actorId = actorId;
+            this.handle = handle;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package server.socket.v2.codec;
+
+import lombok.Data;
+import server.common.dto.Motion;
+
+/**
+ * Mutable holder for a decoded motion frame. A single instance is reused by the receiving thread
+ * so decoding does not allocate; only {@link #toMotion(String)} creates objects.
+ */
+@Data
+public class MotionFrame {
+
+    private byte opcode;
+    private int handle;
+    private int sequence;
+
+    private int x;
+    private int y;
+    private int z;
+
+    private short pitch;
+    private short roll;
+    private short yaw;
+
+    private short vx;
+    private short vy;
+    private short vz;
+
+    private boolean isFalling;
+
+    public Motion toMotion(String map) {
+        return new Motion(
+                map,
+                x,
+                y,
+                z,
+                (int) pitch,
+                (int) roll,
+                (int) yaw,
+                (int) vx,
+                (int) vy,
+                (int) vz,
+                isFalling);
+    }
+}
@@ -0,0 +1,106 @@
+package server.socket.v2.codec;
+
+import java.nio.ByteBuffer;
+import server.common.dto.Motion;
+
+/**
+ * Fixed layout binary encoding for motion frames sent over UDP (big endian, 32 bytes):
+ *
+ * <pre>
+ * offset size field
+ *   0     1   opcode (PLAYER_MOTION / MOB_MOTION)
+ *   1     4   actor handle, see ActorHandleRegistry
+ *   5     2   sequence number, unsigned and wrapping
+ *   7    12   x, y, z
+ *  19     6   pitch, roll, yaw
+ *  25     6   vx, vy, vz
+ *  31     1   flags, bit 0 is falling
+ * </pre>
+ *
+ * <p>Positions are already whole world units so they are kept as ints. Rotation and velocity are
+ * clamped to a short. The map is not part of the frame, it is taken from the actor's last known
+ * motion; map changes go through the websocket.
+ */
+public final class MotionFrameCodec {
+
+    public static final byte PLAYER_MOTION = 1;
+    public static final byte MOB_MOTION = 2;
+
+    public static final int FRAME_SIZE = 32;
+
+    private static final byte FLAG_FALLING = 1;
+
+    private MotionFrameCodec() {}
+
+    public static boolean isMotionFrame(ByteBuffer buffer) {
+        if (buffer.remaining() != FRAME_SIZE) {
+            return false;
+        }
+        byte opcode = buffer.get(buffer.position());
+
+        return opcode == PLAYER_MOTION || opcode == MOB_MOTION;
+    }
+
+    public static void encode(
+            ByteBuffer buffer, byte opcode, int handle, int sequence, Motion motion) {
+        buffer.put(opcode);
+        buffer.putInt(handle);
+        buffer.putShort((short) sequence);
+
+        buffer.putInt(valueOf(motion.getX()));
+        buffer.putInt(valueOf(motion.getY()));
+        buffer.putInt(valueOf(motion.getZ()));
+
+        buffer.putShort(clamp(motion.getPitch()));
+        buffer.putShort(clamp(motion.getRoll()));
+        buffer.putShort(clamp(motion.getYaw()));
+
+        buffer.putShort(clamp(motion.getVx()));
+        buffer.putShort(clamp(motion.getVy()));
+        buffer.putShort(clamp(motion.getVz()));
+
+        buffer.put(Boolean.TRUE.equals(motion.getIsFalling()) ? FLAG_FALLING : 0);
+    }
+
+    /**
+     * Reads a frame from the buffer's position into the given holder.
+     *
+     * @return false if the buffer does not hold a motion frame, in which case nothing is consumed
+     */
+    public static boolean decode(ByteBuffer buffer, MotionFrame frame) {
+        if (!isMotionFrame(buffer)) {
+            return false;
+        }
+
+        frame.setOpcode(buffer.get());
+        frame.setHandle(buffer.getInt());
+        frame.setSequence(buffer.getShort() & 0xFFFF);
+
+        frame.setX(buffer.getInt());
+        frame.setY(buffer.getInt());
+        frame.setZ(buffer.getInt());
+
+        frame.setPitch(buffer.getShort());
+        frame.setRoll(buffer.getShort());
+        frame.setYaw(buffer.getShort());
+
+        frame.setVx(buffer.getShort());
+        frame.setVy(buffer.getShort());
+        frame.setVz(buffer.getShort());
+
+        frame.setFalling((buffer.get() & FLAG_FALLING) != 0);
+
+        return true;
+    }
+
+    private static int valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private static short clamp(Integer value) {
+        if (value == null) {
+            return 0;
+        }
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+    }
+}
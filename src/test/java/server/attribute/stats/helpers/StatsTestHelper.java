@@ -5,8 +5,10 @@ import static com.mongodb.client.model.Filters.ne;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.reactivex.rxjava3.core.Single;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import server.attribute.stats.model.Stats;
+import server.attribute.stats.repository.ActorStatsStore;
 import server.common.configuration.MongoConfiguration;
 
 @Singleton
@@ -16,6 +18,8 @@ public class StatsTestHelper {
     MongoClient mongoClient;
     MongoCollection<Stats> statsCollection;
 
+    @Inject ActorStatsStore actorStatsStore;
+
     public StatsTestHelper(MongoConfiguration configuration, MongoClient mongoClient) {
         this.configuration = configuration;
         this.mongoClient = mongoClient;
@@ -23,6 +27,7 @@ public class StatsTestHelper {
     }
 
     public void deleteAllAttributeData() {
+        actorStatsStore.clear();
         Single.fromPublisher(statsCollection.deleteMany(ne("actorId", "deleteAll"))).blockingGet();
     }
 
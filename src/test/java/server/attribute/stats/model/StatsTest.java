@@ -0,0 +1,144 @@
+package server.attribute.stats.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import server.attribute.stats.model.types.ClassTypes;
+import server.attribute.stats.types.StatsTypes;
+
+public class StatsTest {
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    void recalculationReportsOnlyChangedStats() {
+        Stats stats = playerStats();
+        stats.recalculateDerivedStats();
+        stats.drainDerivedChanges();
+
+        assertThat(stats.recalculateDerivedStats()).isFalse();
+        assertThat(stats.hasDerivedChanges()).isFalse();
+
+        stats.setBase(StatsTypes.STA, 20);
+        stats.recalculateDerivedStats();
+
+        assertThat(stats.drainDerivedChanges())
+                .containsOnlyKeys(StatsTypes.MAX_HP.getType())
+                .containsEntry(StatsTypes.MAX_HP.getType(), 300.0);
+    }
+
+    @Test
+    void removedItemEffectsAreReportedAsZero() {
+        Stats stats = playerStats();
+        stats.setItemEffects(Map.of(StatsTypes.DEF.getType(), 20.0));
+        stats.recalculateDerivedStats();
+
+        assertThat(stats.getDerived(StatsTypes.DEF)).isEqualTo(20.0);
+        stats.drainDerivedChanges();
+
+        stats.setItemEffects(Map.of());
+        stats.recalculateDerivedStats();
+
+        assertThat(stats.getDerivedStats()).doesNotContainKey(StatsTypes.DEF.getType());
+        assertThat(stats.drainDerivedChanges()).containsExactly(Map.entry("DEF", 0.0));
+    }
+
+    @Test
+    void effectsAddToTheBaseValueOfASlot() {
+        Stats stats = playerStats();
+        stats.setDerived(StatsTypes.WEAPON_DAMAGE, 50.0);
+        stats.recalculateDerivedStats();
+        assertThat(stats.getDerived(StatsTypes.WEAPON_DAMAGE)).isEqualTo(50.0);
+
+        stats.setStatusEffects(Map.of(StatsTypes.WEAPON_DAMAGE.getType(), 10.0));
+        stats.recalculateDerivedStats();
+        assertThat(stats.getDerived(StatsTypes.WEAPON_DAMAGE)).isEqualTo(60.0);
+
+        stats.setStatusEffects(Map.of());
+        stats.recalculateDerivedStats();
+        assertThat(stats.getDerived(StatsTypes.WEAPON_DAMAGE)).isEqualTo(50.0);
+    }
+
+    @Test
+    void storedDerivedValueIsTheBaseWithoutBaseDerivedStats() {
+        // stored before baseDerivedStats existed
+        Stats stats = playerStats();
+        stats.setDerivedStats(
+                new HashMap<>(
+                        Map.of(
+                                StatsTypes.WEAPON_DAMAGE.getType(), 50.0,
+                                StatsTypes.DEF.getType(), 15.0)));
+        stats.setItemEffects(Map.of(StatsTypes.DEF.getType(), 15.0));
+
+        stats.fillMissingBaseDerived();
+        stats.setStatusEffects(Map.of(StatsTypes.WEAPON_DAMAGE.getType(), 10.0));
+        stats.recalculateDerivedStats();
+
+        assertThat(stats.getDerived(StatsTypes.WEAPON_DAMAGE)).isEqualTo(60.0);
+        assertThat(stats.getDerived(StatsTypes.DEF)).isEqualTo(15.0);
+        assertThat(stats.getBaseDerivedStats())
+                .containsExactly(Map.entry(StatsTypes.WEAPON_DAMAGE.getType(), 50.0));
+    }
+
+    @Test
+    void mapViewsKeepKeysThatAreNotStats() {
+        Stats stats = playerStats();
+        stats.getBaseStats().put(ClassTypes.MAGE.getType(), 1);
+
+        assertThat(stats.getBaseStats())
+                .containsEntry(ClassTypes.MAGE.getType(), 1)
+                .containsEntry(StatsTypes.STR.getType(), 15)
+                .hasSize(5);
+    }
+
+    @Test
+    void jsonKeepsTheMapShape() throws Exception {
+        Stats stats = playerStats();
+        stats.getBaseStats().put(ClassTypes.MAGE.getType(), 1);
+        stats.setAttributePoints(2);
+        stats.recalculateDerivedStats();
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(stats));
+
+        assertThat(json.get("actorId").asText()).isEqualTo("character1");
+        assertThat(json.get("baseStats").get("mage").asInt()).isEqualTo(1);
+        assertThat(json.get("derivedStats").get("MAX_HP").asDouble()).isEqualTo(250.0);
+        assertThat(json.get("itemEffects").isObject()).isTrue();
+        assertThat(json.get("attributePoints").asInt()).isEqualTo(2);
+
+        Stats read = objectMapper.treeToValue(json, Stats.class);
+
+        assertThat(read).isEqualTo(stats);
+    }
+
+    @Test
+    void copyIsIndependent() {
+        Stats stats = playerStats();
+        Stats copy = stats.copy();
+
+        stats.setDerived(StatsTypes.CURRENT_HP, 1.0);
+
+        assertThat(copy.getDerived(StatsTypes.CURRENT_HP)).isEqualTo(100.0);
+        assertThat(copy.getBaseStats()).isEqualTo(stats.getBaseStats());
+    }
+
+    private Stats playerStats() {
+        Map<String, Integer> base = new HashMap<>();
+        base.put(StatsTypes.STR.getType(), 15);
+        base.put(StatsTypes.STA.getType(), 15);
+        base.put(StatsTypes.DEX.getType(), 15);
+        base.put(StatsTypes.INT.getType(), 15);
+
+        return Stats.builder()
+                .actorId("character1")
+                .baseStats(base)
+                .derivedStats(Map.of(StatsTypes.CURRENT_HP.getType(), 100.0))
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package server.attribute.stats.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.bulk.BulkWriteResult;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+import java.util.Collection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import server.attribute.stats.model.Stats;
+import server.attribute.stats.types.StatsTypes;
+import server.common.configuration.StatsWriteBehindConfiguration;
+
+public class ActorStatsStoreTest {
+
+    @Mock private ActorStatsRepository repository;
+
+    @Spy
+    private StatsWriteBehindConfiguration writeBehindConfiguration =
+            new StatsWriteBehindConfiguration();
+
+    @InjectMocks private ActorStatsStore actorStatsStore;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void loadedStatsAreServedFromMemory() {
+        Stats stats = new Stats();
+        stats.setActorId("CHARACTER_1");
+        when(repository.fetchActorStats("CHARACTER_1")).thenReturn(Single.just(stats));
+
+        Stats first = actorStatsStore.get("CHARACTER_1").blockingGet();
+        Stats second = actorStatsStore.get("CHARACTER_1").blockingGet();
+
+        assertThat(second).isSameAs(first);
+        verify(repository, times(1)).fetchActorStats("CHARACTER_1");
+        assertThat(actorStatsStore.getWriteBehindMetrics().getBacklog()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void dirtyStatsAreCoalescedIntoBatches() {
+        writeBehindConfiguration.setBatchSize(2);
+        when(repository.bulkReplaceStats(any()))
+                .thenReturn(Single.just(mock(BulkWriteResult.class)));
+
+        for (String actorId : new String[] {"CHARACTER_1", "CHARACTER_2", "CHARACTER_3"}) {
+            Stats stats = new Stats();
+            stats.setActorId(actorId);
+            actorStatsStore.put(stats);
+            // repeated changes to the same actor are a single write
+            stats.setDerived(StatsTypes.CURRENT_HP, 10.0);
+            actorStatsStore.markDirty(actorId);
+        }
+        assertThat(actorStatsStore.getWriteBehindMetrics().getBacklog()).isEqualTo(3);
+
+        actorStatsStore.flushDirtyStats().blockingAwait();
+
+        ArgumentCaptor<Collection<Stats>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, times(2)).bulkReplaceStats(captor.capture());
+        assertThat(captor.getAllValues().stream().mapToInt(Collection::size).sum()).isEqualTo(3);
+        assertThat(actorStatsStore.getWriteBehindMetrics().getBacklog()).isZero();
+        assertThat(actorStatsStore.getWriteBehindMetrics().getWritten()).isEqualTo(3);
+    }
+
+    @Test
+    public void failedFlushKeepsStatsDirty() {
+        when(repository.bulkReplaceStats(any()))
+                .thenReturn(Single.error(new RuntimeException("mongo down")));
+        Stats stats = new Stats();
+        stats.setActorId("CHARACTER_1");
+        actorStatsStore.put(stats);
+
+        actorStatsStore.flushDirtyStats().onErrorComplete().blockingAwait();
+
+        assertThat(actorStatsStore.getWriteBehindMetrics().getFailures()).isEqualTo(1);
+        assertThat(actorStatsStore.getWriteBehindMetrics().getBacklog()).isEqualTo(1);
+    }
+
+    @Test
+    public void failedBatchDoesNotCancelTheOthers() {
+        writeBehindConfiguration.setBatchSize(1);
+        SingleSubject<BulkWriteResult> slowWrite = SingleSubject.create();
+        when(repository.bulkReplaceStats(any()))
+                .thenReturn(Single.error(new RuntimeException("mongo down")), slowWrite);
+        for (String actorId : new String[] {"CHARACTER_1", "CHARACTER_2"}) {
+            Stats stats = new Stats();
+            stats.setActorId(actorId);
+            actorStatsStore.put(stats);
+        }
+
+        actorStatsStore.flushDirtyStats().onErrorComplete().subscribe();
+        assertThat(slowWrite.hasObservers()).isTrue();
+        slowWrite.onError(new RuntimeException("mongo down"));
+
+        assertThat(actorStatsStore.getWriteBehindMetrics().getFailures()).isEqualTo(2);
+        assertThat(actorStatsStore.getWriteBehindMetrics().getBacklog()).isEqualTo(2);
+    }
+
+    @Test
+    public void removedStatsAreNotFlushed() {
+        Stats stats = new Stats();
+        stats.setActorId("CHARACTER_1");
+        actorStatsStore.put(stats);
+
+        actorStatsStore.remove("CHARACTER_1");
+        actorStatsStore.markDirty("CHARACTER_1");
+
+        assertThat(actorStatsStore.contains("CHARACTER_1")).isFalse();
+        assertThat(actorStatsStore.getWriteBehindMetrics().getBacklog()).isZero();
+    }
+}
@@ -0,0 +1,135 @@
+package server.attribute.stats.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import server.attribute.stats.model.Stats;
+import server.attribute.stats.model.StatsDeltaBatch;
+import server.attribute.stats.repository.ActorStatsStore;
+import server.attribute.stats.types.StatsTypes;
+import server.common.configuration.RegenConfiguration;
+import server.common.configuration.WorldTickConfiguration;
+import server.socket.producer.UpdateProducer;
+
+public class RegenEngineTest {
+
+    private final RegenEngine regenEngine = new RegenEngine();
+
+    @BeforeEach
+    void setUp() {
+        regenEngine.actorStatsStore = mock(ActorStatsStore.class);
+        regenEngine.statsDeltaPublisher = new StatsDeltaPublisher();
+        regenEngine.statsDeltaPublisher.updateProducer = mock(UpdateProducer.class);
+        regenEngine.configuration = new RegenConfiguration();
+        regenEngine.tickConfiguration = new WorldTickConfiguration();
+        when(regenEngine.actorStatsStore.contains(any())).thenReturn(true);
+    }
+
+    @Test
+    void onlyActorsBelowMaxAreTracked() {
+        regenEngine.track(stats("full", 100, 50));
+        regenEngine.track(stats("dead", 0, 10));
+        regenEngine.track(stats("player1", 90, 50));
+        regenEngine.track(stats("mob1", 100, 45));
+
+        assertThat(regenEngine.getRegenerating()).isEqualTo(2);
+    }
+
+    @Test
+    void regenIsCappedAtMaxAndFullActorsAreDropped() {
+        Stats player = stats("player1", 97, 40);
+        Stats mob = stats("mob1", 50, 50);
+        regenEngine.track(player);
+        regenEngine.track(mob);
+
+        regenEngine.regen();
+
+        assertThat(player.getDerived(StatsTypes.CURRENT_HP)).isEqualTo(100.0);
+        assertThat(player.getDerived(StatsTypes.CURRENT_MP)).isEqualTo(42.0);
+        assertThat(mob.getDerived(StatsTypes.CURRENT_HP)).isEqualTo(55.0);
+        assertThat(mob.getDerived(StatsTypes.CURRENT_MP)).isEqualTo(50.0);
+
+        for (int i = 0; i < 10; i++) {
+            regenEngine.regen();
+        }
+
+        assertThat(player.getDerived(StatsTypes.CURRENT_MP)).isEqualTo(50.0);
+        assertThat(mob.getDerived(StatsTypes.CURRENT_HP)).isEqualTo(100.0);
+        assertThat(regenEngine.getRegenerating()).isZero();
+    }
+
+    @Test
+    void regeneratedActorsArePublishedAsOneBatch() {
+        regenEngine.track(stats("player1", 90, 50));
+        regenEngine.track(stats("mob1", 100, 45));
+
+        // one pass a second at 20 ticks a second
+        for (long tick = 1; tick <= 20; tick++) {
+            regenEngine.onTick(tick, Instant.now());
+            regenEngine.statsDeltaPublisher.onTick(tick, Instant.now());
+        }
+
+        ArgumentCaptor<StatsDeltaBatch> captor = ArgumentCaptor.forClass(StatsDeltaBatch.class);
+        verify(regenEngine.statsDeltaPublisher.updateProducer, times(1))
+                .updateStats(any(), captor.capture());
+        assertThat(captor.getValue().getActorStats())
+                .containsOnly(
+                        Map.entry("player1", Map.of("CURRENT_HP", 95.0)),
+                        Map.entry("mob1", Map.of("CURRENT_MP", 47.0)));
+        assertThat(regenEngine.getPasses()).isEqualTo(1);
+        verify(regenEngine.actorStatsStore).markDirty("player1");
+        verify(regenEngine.actorStatsStore).markDirty("mob1");
+    }
+
+    @Test
+    void releasedActorsAreDroppedWithoutChanges() {
+        Stats player = stats("player1", 90, 50);
+        regenEngine.track(player);
+        when(regenEngine.actorStatsStore.contains("player1")).thenReturn(false);
+
+        regenEngine.regen();
+
+        assertThat(player.getDerived(StatsTypes.CURRENT_HP)).isEqualTo(90.0);
+        assertThat(regenEngine.getRegenerating()).isZero();
+        verify(regenEngine.actorStatsStore, never()).markDirty(any());
+    }
+
+    @Test
+    void slowerIntervalSkipsTicks() {
+        regenEngine.configuration.setInterval(Duration.ofSeconds(2));
+        Stats player = stats("player1", 90, 50);
+        regenEngine.track(player);
+
+        for (long tick = 1; tick <= 39; tick++) {
+            regenEngine.onTick(tick, Instant.now());
+        }
+        assertThat(player.getDerived(StatsTypes.CURRENT_HP)).isEqualTo(90.0);
+
+        regenEngine.onTick(40, Instant.now());
+        assertThat(player.getDerived(StatsTypes.CURRENT_HP)).isEqualTo(95.0);
+    }
+
+    private static Stats stats(String actorId, double hp, double mp) {
+        Stats stats = Stats.builder().actorId(actorId).build();
+        stats.setDerived(StatsTypes.MAX_HP, 100.0);
+        stats.setDerived(StatsTypes.MAX_MP, 50.0);
+        stats.setDerived(StatsTypes.HP_REGEN, 5.0);
+        stats.setDerived(StatsTypes.MP_REGEN, 2.0);
+        stats.setDerived(StatsTypes.CURRENT_HP, hp);
+        stats.setDerived(StatsTypes.CURRENT_MP, mp);
+        stats.drainDerivedChanges();
+
+        return stats;
+    }
+}
@@ -0,0 +1,73 @@
+package server.attribute.stats.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import server.attribute.stats.model.Stats;
+import server.attribute.stats.model.StatsDeltaBatch;
+import server.attribute.stats.types.StatsTypes;
+import server.socket.producer.UpdateProducer;
+
+public class StatsDeltaPublisherTest {
+
+    private final StatsDeltaPublisher statsDeltaPublisher = new StatsDeltaPublisher();
+
+    @BeforeEach
+    void setUp() {
+        statsDeltaPublisher.updateProducer = mock(UpdateProducer.class);
+    }
+
+    @Test
+    void changesOfATickArePublishedAsOneBatch() {
+        Stats player = stats("player1");
+        Stats mob = stats("mob1");
+
+        for (int i = 1; i <= 5; i++) {
+            player.setDerived(StatsTypes.CURRENT_HP, 100.0 - i);
+            statsDeltaPublisher.queue(player);
+        }
+        mob.setDerived(StatsTypes.CURRENT_MP, 10.0);
+        statsDeltaPublisher.queue(mob);
+
+        statsDeltaPublisher.onTick(1, Instant.now());
+        statsDeltaPublisher.onTick(2, Instant.now());
+
+        ArgumentCaptor<String> actorIds = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<StatsDeltaBatch> captor = ArgumentCaptor.forClass(StatsDeltaBatch.class);
+        verify(statsDeltaPublisher.updateProducer, times(1))
+                .updateStats(actorIds.capture(), captor.capture());
+        assertThat(actorIds.getValue().split(",")).containsExactlyInAnyOrder("player1", "mob1");
+
+        Map<String, Map<String, Double>> actorStats = captor.getValue().getActorStats();
+        assertThat(actorStats).containsOnlyKeys("player1", "mob1");
+        assertThat(actorStats.get("player1")).containsExactly(Map.entry("CURRENT_HP", 95.0));
+        assertThat(actorStats.get("mob1")).containsExactly(Map.entry("CURRENT_MP", 10.0));
+        assertThat(statsDeltaPublisher.getQueuedChanges()).isEqualTo(6);
+        assertThat(statsDeltaPublisher.getPublishedBatches()).isEqualTo(1);
+    }
+
+    @Test
+    void nothingIsPublishedWithoutChanges() {
+        statsDeltaPublisher.queue(stats("player1"));
+
+        statsDeltaPublisher.onTick(1, Instant.now());
+
+        verify(statsDeltaPublisher.updateProducer, never()).updateStats(any(), any());
+    }
+
+    private Stats stats(String actorId) {
+        Stats stats = Stats.builder().actorId(actorId).build();
+        stats.drainDerivedChanges();
+
+        return stats;
+    }
+}
@@ -0,0 +1,121 @@
+package server.attribute.status.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import server.attribute.stats.types.StatsTypes;
+import server.attribute.status.model.derived.Bleeding;
+import server.attribute.status.model.derived.Dead;
+import server.attribute.status.model.derived.Silenced;
+import server.attribute.status.model.derived.Stunned;
+import server.attribute.status.types.StatusTypes;
+import server.common.configuration.WorldTickConfiguration;
+import server.common.tick.TimerWheel;
+
+public class StatusAggregateTest {
+
+    private static final String HP = StatsTypes.CURRENT_HP.getType();
+
+    private final StatusAggregate aggregate = new StatusAggregate("actor", true);
+
+    @Test
+    void effectsStayActiveWhileAnyStatusCarriesThem() {
+        Stunned stunned = new Stunned(Instant.now().plusSeconds(5), "source");
+        Silenced silenced = new Silenced(Instant.now().plusSeconds(10), "source");
+        aggregate.add(stunned);
+        aggregate.add(silenced);
+
+        aggregate.remove(stunned);
+
+        assertThat(aggregate.getStatusEffects())
+                .containsExactly(StatusTypes.CANNOT_CAST.getType());
+
+        aggregate.remove(silenced);
+
+        assertThat(aggregate.getStatusEffects()).isEmpty();
+    }
+
+    @Test
+    void derivedModifiersAreSummedAndDroppedWithTheLastContributor() {
+        Bleeding first = new Bleeding(Instant.now().plusSeconds(5), "source_1", -2.0);
+        Bleeding second = new Bleeding(Instant.now().plusSeconds(6), "source_2", -3.0);
+        aggregate.add(first);
+        aggregate.add(second);
+
+        assertThat(aggregate.getDerived()).isEqualTo(Map.of(HP, -5.0));
+
+        aggregate.remove(first);
+        assertThat(aggregate.getDerived()).isEqualTo(Map.of(HP, -3.0));
+
+        aggregate.remove(second);
+        assertThat(aggregate.getDerived()).isEmpty();
+    }
+
+    @Test
+    void statusThatCannotStackReplacesItsCategory() {
+        Stunned first = new Stunned(Instant.now().plusSeconds(5), "source_1");
+        Stunned second = new Stunned(Instant.now().plusSeconds(8), "source_2");
+        aggregate.add(first);
+        aggregate.drain();
+
+        Status replaced = aggregate.add(second);
+
+        assertThat(replaced).isEqualTo(first);
+        assertThat(aggregate.toActorStatus().getActorStatuses()).containsExactly(second);
+
+        StatusAggregate.Delta delta = aggregate.drain();
+        assertThat(delta.getAdded()).containsExactly(second);
+        assertThat(delta.getRemoved()).containsExactly(first);
+    }
+
+    @Test
+    void replacedOrRemovedStatusCancelsItsExpiry() {
+        TimerWheel timerWheel = new TimerWheel();
+        timerWheel.configuration = new WorldTickConfiguration();
+        timerWheel.dispatcher = Schedulers.trampoline();
+        Stunned first = new Stunned(Instant.now().plusSeconds(5), "source_1");
+        Stunned second = new Stunned(Instant.now().plusSeconds(8), "source_2");
+        TimerWheel.Timeout firstExpiry = timerWheel.schedule(() -> {}, 5, TimeUnit.SECONDS);
+        TimerWheel.Timeout secondExpiry = timerWheel.schedule(() -> {}, 8, TimeUnit.SECONDS);
+
+        aggregate.add(first);
+        aggregate.expireWith(first, firstExpiry);
+        aggregate.add(second);
+        aggregate.expireWith(second, secondExpiry);
+
+        assertThat(firstExpiry.isCancelled()).isTrue();
+        assertThat(secondExpiry.isCancelled()).isFalse();
+
+        aggregate.remove(second);
+
+        assertThat(secondExpiry.isCancelled()).isTrue();
+    }
+
+    @Test
+    void statusAddedAndRemovedWithinOneDrainIsNotReported() {
+        Stunned stunned = new Stunned(Instant.now().plusSeconds(5), "source");
+        aggregate.add(stunned);
+        aggregate.remove(stunned);
+
+        StatusAggregate.Delta delta = aggregate.drain();
+
+        assertThat(delta.getAdded()).isEmpty();
+        assertThat(delta.getRemoved()).isEmpty();
+        assertThat(aggregate.hasChanges()).isFalse();
+    }
+
+    @Test
+    void drainOnlyCarriesDerivedWhenModifiersChanged() {
+        aggregate.add(new Dead());
+
+        StatusAggregate.Delta delta = aggregate.drain();
+
+        assertThat(delta.getAdded()).hasSize(1);
+        assertThat(delta.getDerived()).isNull();
+        assertThat(aggregate.isDead()).isTrue();
+    }
+}
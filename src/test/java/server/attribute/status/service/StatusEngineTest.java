@@ -0,0 +1,178 @@
+package server.attribute.status.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import server.attribute.stats.service.StatsService;
+import server.attribute.stats.types.StatsTypes;
+import server.attribute.status.model.ActorStatus;
+import server.attribute.status.model.StatusDeltaBatch;
+import server.attribute.status.model.derived.Bleeding;
+import server.attribute.status.model.derived.Dead;
+import server.attribute.status.model.derived.Stunned;
+import server.attribute.status.repository.StatusRepository;
+import server.common.configuration.WorldTickConfiguration;
+import server.common.tick.TimerWheel;
+import server.skills.service.SkillCastPool;
+import server.socket.producer.UpdateProducer;
+
+public class StatusEngineTest {
+
+    private static final String ACTOR_ID = "actor";
+    private static final String HP = StatsTypes.CURRENT_HP.getType();
+
+    private final StatusEngine statusEngine = new StatusEngine();
+    private final TimerWheel timerWheel = new TimerWheel();
+
+    private long tick;
+
+    @BeforeEach
+    void setUp() {
+        timerWheel.configuration = new WorldTickConfiguration();
+        timerWheel.dispatcher = Schedulers.trampoline();
+
+        statusEngine.timerWheel = timerWheel;
+        statusEngine.statsService = mock(StatsService.class);
+        statusEngine.updateProducer = mock(UpdateProducer.class);
+        statusEngine.statusRepository = mock(StatusRepository.class);
+        statusEngine.skillCastPool = mock(SkillCastPool.class);
+        when(statusEngine.statusRepository.updateStatus(anyString(), any()))
+                .thenAnswer(invocation -> Single.just(invocation.getArgument(1)));
+
+        statusEngine.initialize(ACTOR_ID);
+        advance(1);
+    }
+
+    @Test
+    void statusThatPreventsCastingInterruptsTheCast() {
+        statusEngine.add(
+                ACTOR_ID, Set.of(new Bleeding(Instant.now().plusSeconds(5), "source", -2.0)));
+        verify(statusEngine.skillCastPool, never()).interrupt(ACTOR_ID);
+
+        statusEngine.add(ACTOR_ID, Set.of(new Stunned(Instant.now().plusSeconds(5), "source")));
+        verify(statusEngine.skillCastPool).interrupt(ACTOR_ID);
+    }
+
+    @Test
+    void changesWithinATickArePublishedOnce() {
+        statusEngine.add(
+                ACTOR_ID,
+                Set.of(
+                        new Bleeding(Instant.now().plusSeconds(5), "source_1", -2.0),
+                        new Bleeding(Instant.now().plusSeconds(6), "source_2", -3.0)));
+        statusEngine.add(ACTOR_ID, Set.of(new Stunned(Instant.now().plusSeconds(5), "source")));
+
+        advance(1);
+
+        ArgumentCaptor<StatusDeltaBatch> batch = ArgumentCaptor.forClass(StatusDeltaBatch.class);
+        verify(statusEngine.updateProducer, times(1)).updateStatuses(eq(ACTOR_ID), batch.capture());
+        List<ActorStatus> updates = batch.getValue().getActorStatuses();
+        assertThat(updates).hasSize(1);
+        assertThat(updates.get(0).isAdd()).isTrue();
+        assertThat(updates.get(0).getActorStatuses()).hasSize(3);
+
+        verify(statusEngine.statsService, times(1)).updateStatusStats(ACTOR_ID, Map.of(HP, -5.0));
+        verify(statusEngine.statusRepository, times(2)).updateStatus(eq(ACTOR_ID), any());
+    }
+
+    @Test
+    void expiredStatusIsRemovedAndItsModifierReverted() {
+        statusEngine.add(
+                ACTOR_ID, Set.of(new Bleeding(Instant.now().plusMillis(100), "source", -2.0)));
+        advance(1);
+
+        // 100ms is 2 ticks after the one that picks the timer up
+        advance(3);
+
+        assertThat(statusEngine.getActorStatus(ACTOR_ID).blockingGet().getActorStatuses())
+                .isEmpty();
+        assertThat(statusEngine.getDerived(ACTOR_ID)).isEmpty();
+        assertThat(statusEngine.getExpiredCount()).isEqualTo(1);
+        verify(statusEngine.statsService).updateStatusStats(ACTOR_ID, Map.of());
+
+        ArgumentCaptor<StatusDeltaBatch> batch = ArgumentCaptor.forClass(StatusDeltaBatch.class);
+        verify(statusEngine.updateProducer, times(2)).updateStatuses(any(), batch.capture());
+        ActorStatus removed = batch.getAllValues().get(1).getActorStatuses().get(0);
+        assertThat(removed.isAdd()).isFalse();
+        assertThat(removed.getActorStatuses()).hasSize(1);
+    }
+
+    @Test
+    void statusWithoutExpirationStays() {
+        statusEngine.add(ACTOR_ID, Set.of(new Dead()));
+
+        advance(50);
+
+        assertThat(statusEngine.getActorStatus(ACTOR_ID).blockingGet().isDead()).isTrue();
+    }
+
+    @Test
+    void nothingIsPublishedWithoutChanges() {
+        advance(10);
+
+        verify(statusEngine.updateProducer, never()).updateStatuses(any(), any());
+        verify(statusEngine.statsService, never()).updateStatusStats(anyString(), any());
+    }
+
+    @Test
+    void failedLoadIsNotWrittenAndReadAgainLater() {
+        when(statusEngine.statusRepository.getActorStatuses("other"))
+                .thenReturn(
+                        Single.error(new IllegalStateException("timeout")),
+                        Single.just(new ActorStatus("other", Set.of(new Dead()), true)));
+
+        statusEngine.add("other", Set.of(new Stunned(Instant.now().plusSeconds(5), "source")));
+        advance(1);
+
+        // an empty write would replace the stored statuses
+        verify(statusEngine.statusRepository, never()).updateStatus(eq("other"), any());
+
+        // the retry is a second later, 20 ticks of 50ms
+        advance(25);
+
+        ArgumentCaptor<ActorStatus> written = ArgumentCaptor.forClass(ActorStatus.class);
+        verify(statusEngine.statusRepository).updateStatus(eq("other"), written.capture());
+        assertThat(written.getValue().isDead()).isTrue();
+        assertThat(written.getValue().getActorStatuses()).hasSize(2);
+    }
+
+    @Test
+    void statusIsReturnedOnceTheStoredOnesAreLoaded() {
+        SingleSubject<ActorStatus> stored = SingleSubject.create();
+        when(statusEngine.statusRepository.getActorStatuses("other")).thenReturn(stored);
+        statusEngine.add("other", Set.of(new Stunned(Instant.now().plusSeconds(5), "source")));
+
+        TestObserver<ActorStatus> status = statusEngine.getActorStatus("other").test();
+        status.assertNotComplete();
+
+        stored.onSuccess(new ActorStatus("other", Set.of(new Dead()), true));
+
+        status.assertValue(actorStatus -> actorStatus.getActorStatuses().size() == 2);
+    }
+
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            long t = ++tick;
+            timerWheel.onTick(t, Instant.now());
+            statusEngine.onTick(t, Instant.now());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package server.combat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import server.combat.service.CombatRegistry.Engagement;
+
+public class CombatTickHandlerTest {
+
+    private final CombatTickHandler combatTickHandler = new CombatTickHandler();
+
+    private final CombatPrefetch prefetch =
+            new CombatPrefetch(Map.of(), Map.of(), Map.of(), Map.of());
+
+    private final String MOB_1 = UUID.randomUUID().toString();
+    private final String MOB_2 = UUID.randomUUID().toString();
+
+    @BeforeEach
+    void setUp() {
+        combatTickHandler.combatRegistry = new CombatRegistry();
+        combatTickHandler.combatPrefetcher = mock(CombatPrefetcher.class);
+        combatTickHandler.playerCombatService = mock(PlayerCombatService.class);
+        combatTickHandler.mobCombatService = mock(MobCombatService.class);
+        combatTickHandler.combatRegistry.engage(MOB_1, null);
+        when(combatTickHandler.combatPrefetcher.prefetch(any())).thenReturn(Single.just(prefetch));
+    }
+
+    @Test
+    void attackerIsSkippedWhileItsPassIsInFlight() {
+        CompletableSubject pass = CompletableSubject.create();
+        when(combatTickHandler.mobCombatService.processTick(MOB_1, prefetch)).thenReturn(pass);
+
+        combatTickHandler.onTick(1, Instant.now());
+        combatTickHandler.onTick(2, Instant.now());
+        verify(combatTickHandler.mobCombatService, times(1)).processTick(MOB_1, prefetch);
+
+        pass.onComplete();
+        when(combatTickHandler.mobCombatService.processTick(MOB_1, prefetch))
+                .thenReturn(Completable.complete());
+        combatTickHandler.onTick(3, Instant.now());
+
+        verify(combatTickHandler.mobCombatService, times(2)).processTick(MOB_1, prefetch);
+        assertThat(combatTickHandler.combatRegistry.isEngaged(MOB_1)).isTrue();
+    }
+
+    @Test
+    void failedPassDisengages() {
+        when(combatTickHandler.mobCombatService.processTick(MOB_1, prefetch))
+                .thenReturn(Completable.error(new RuntimeException("stats missing")));
+
+        combatTickHandler.onTick(1, Instant.now());
+
+        assertThat(combatTickHandler.combatRegistry.isEngaged(MOB_1)).isFalse();
+    }
+
+    @Test
+    void everyAttackerOfATickSharesOnePrefetch() {
+        combatTickHandler.combatRegistry.engage(MOB_2, null);
+        when(combatTickHandler.mobCombatService.processTick(any(), any()))
+                .thenReturn(Completable.complete());
+
+        combatTickHandler.onTick(1, Instant.now());
+
+        ArgumentCaptor<Collection<Engagement>> engagements =
+                ArgumentCaptor.forClass(Collection.class);
+        verify(combatTickHandler.combatPrefetcher, times(1)).prefetch(engagements.capture());
+        assertThat(engagements.getValue())
+                .extracting(Engagement::getActorId)
+                .containsExactlyInAnyOrder(MOB_1, MOB_2);
+        verify(combatTickHandler.mobCombatService).processTick(MOB_1, prefetch);
+        verify(combatTickHandler.mobCombatService).processTick(MOB_2, prefetch);
+    }
+
+    @Test
+    void failedPrefetchIsRetriedNextTick() {
+        when(combatTickHandler.combatPrefetcher.prefetch(any()))
+                .thenReturn(Single.error(new RuntimeException("redis down")))
+                .thenReturn(Single.just(prefetch));
+        when(combatTickHandler.mobCombatService.processTick(MOB_1, prefetch))
+                .thenReturn(Completable.complete());
+
+        combatTickHandler.onTick(1, Instant.now());
+        verify(combatTickHandler.mobCombatService, never()).processTick(any(), any());
+
+        combatTickHandler.onTick(2, Instant.now());
+
+        verify(combatTickHandler.mobCombatService, times(1)).processTick(MOB_1, prefetch);
+        assertThat(combatTickHandler.combatRegistry.isEngaged(MOB_1)).isTrue();
+    }
+}
@@ -101,7 +101,7 @@ class PlayerCombatServiceTest {
         CombatData combatData = sessionParamHelper.getSharedActorCombatData(CHARACTER_1);
         sessionParamHelper.setSharedActorCombatData(combatData.getActorId(), combatData);
         Motion playerMotion = playerMotionService.initializePlayerMotion(CHARACTER_1).blockingGet();
-        SessionParamHelper.setActorId(session, CHARACTER_1);
+        SessionParamHelper.identify(session, CHARACTER_1, null);
 
         // create weapon and equip it
         equipWeapon(CHARACTER_1);
@@ -135,7 +135,7 @@ class PlayerCombatServiceTest {
                 .until(
                         () -> {
                             try {
-                                return statusService.getActorStatus(MOB_1).isDead();
+                                return statusService.getActorStatus(MOB_1).blockingGet().isDead();
                             } catch (NoSuchElementException e) {
                                 // when publisher is empty, the mob was killed and deleted. later
                                 // needs to be refactored to mob death state.
@@ -0,0 +1,31 @@
+package server.common.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class BatchConflationTest {
+
+    @Test
+    void keepsLatestRecordPerKeyInOrderOfLastUpdate() {
+        List<String> records = List.of("a:1", "b:1", "a:2", "c:1", "b:2", "a:3");
+
+        List<String> res = BatchConflation.latestPerKey(records, r -> r.split(":")[0]);
+
+        assertThat(res).containsExactly("c:1", "b:2", "a:3");
+    }
+
+    @Test
+    void skipsNullRecordsAndKeys() {
+        List<String> records = Arrays.asList("a:1", null, "-", "a:2");
+
+        List<String> res =
+                BatchConflation.latestPerKey(
+                        records, r -> r.contains(":") ? r.split(":")[0] : null);
+
+        assertThat(res).containsExactly("a:2");
+        assertThat(BatchConflation.latestPerKey(List.<String>of(), r -> r)).isEmpty();
+    }
+}
@@ -0,0 +1,177 @@
+package server.common.mongo;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.regex;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.common.configuration.MongoConfiguration;
+import server.common.dto.Location;
+import server.common.dto.Motion;
+import server.common.mongo.query.MongoDbQueryHelper;
+import server.motion.dto.PlayerMotion;
+
+@MicronautTest
+public class MongoIndexManagerTest {
+
+    private static final String ACTOR_PREFIX = "index_test_";
+
+    @Inject MongoIndexManager mongoIndexManager;
+
+    @Inject MongoConfiguration configuration;
+
+    @Inject MongoClient mongoClient;
+
+    @BeforeEach
+    void ensureIndexes() {
+        mongoIndexManager.ensureIndexes().blockingAwait();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        Single.fromPublisher(
+                        collection(configuration.getPlayerMotion())
+                                .deleteMany(regex("actorId", "^" + ACTOR_PREFIX)))
+                .blockingGet();
+        Single.fromPublisher(
+                        collection(configuration.getMobInstance())
+                                .deleteMany(regex("actorId", "^" + ACTOR_PREFIX)))
+                .blockingGet();
+    }
+
+    @Test
+    void everyDeclaredIndexExists() {
+        mongoIndexManager
+                .declarations()
+                .forEach(
+                        (collection, indexes) -> {
+                            List<String> existing =
+                                    Flowable.fromPublisher(collection(collection).listIndexes())
+                                            .map(index -> index.getString("name"))
+                                            .toList()
+                                            .blockingGet();
+
+                            indexes.forEach(
+                                    index ->
+                                            assertThat(existing)
+                                                    .contains(index.getOptions().getName()));
+                        });
+    }
+
+    @Test
+    void actorLookupsUseTheActorIdIndex() {
+        List.of(
+                        configuration.getActorStats(),
+                        configuration.getActorStatus(),
+                        configuration.getInventoryCollection())
+                .forEach(
+                        collection ->
+                                assertUsesIndex(
+                                        collection(collection),
+                                        eq("actorId", ACTOR_PREFIX + "1"),
+                                        MongoIndexManager.ACTOR_ID));
+    }
+
+    @Test
+    void itemInstanceLookupsUseTheItemInstanceIdIndex() {
+        assertUsesIndex(
+                collection(configuration.getDroppedItemsCollection()),
+                eq("itemInstanceId", "some_instance"),
+                MongoIndexManager.ITEM_INSTANCE_ID);
+        assertUsesIndex(
+                collection(configuration.getItemInstancesCollection()),
+                eq("itemInstanceId", "some_instance"),
+                MongoIndexManager.ITEM_INSTANCE_ID);
+    }
+
+    @Test
+    void nearbyPlayersQueryUsesTheCompoundLocationIndex() {
+        MongoCollection<Document> motions = collection(configuration.getPlayerMotion());
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            documents.add(
+                    new Document("actorId", ACTOR_PREFIX + i)
+                            .append("isOnline", i % 2 == 0)
+                            .append(
+                                    "motion",
+                                    new Document("map", i % 4 == 0 ? "map" : "other_map")
+                                            .append("x", i * 100)
+                                            .append("y", i * 100)));
+        }
+        Single.fromPublisher(motions.insertMany(documents)).blockingGet();
+
+        PlayerMotion playerMotion =
+                new PlayerMotion(ACTOR_PREFIX + "0", motion("map", 1000, 1000), true, null);
+
+        assertUsesIndex(
+                motions,
+                MongoDbQueryHelper.nearbyPlayersFilter(playerMotion, 1000),
+                MongoIndexManager.ONLINE_NEARBY);
+    }
+
+    @Test
+    void nearbyMobsQueryUsesTheCompoundLocationIndex() {
+        assertUsesIndex(
+                collection(configuration.getMobInstance()),
+                MongoDbQueryHelper.nearbyMobsFilter(new Location("map", 1000, 1000, 0), 2000),
+                MongoIndexManager.NEARBY);
+    }
+
+    private void assertUsesIndex(MongoCollection<Document> collection, Bson filter, String index) {
+        Document explain =
+                Single.fromPublisher(collection.find(filter).explain(Document.class)).blockingGet();
+        Document winningPlan =
+                explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+
+        List<String> stages = new ArrayList<>();
+        List<String> indexNames = new ArrayList<>();
+        collectPlan(winningPlan, stages, indexNames);
+
+        assertThat(stages).doesNotContain("COLLSCAN");
+        assertThat(indexNames).contains(index);
+    }
+
+    private static void collectPlan(Object node, List<String> stages, List<String> indexNames) {
+        // the plan is a tree of stages, its shape depends on the server version
+        if (node instanceof Document) {
+            ((Document) node)
+                    .forEach(
+                            (key, value) -> {
+                                if ("stage".equals(key)) {
+                                    stages.add(String.valueOf(value));
+                                } else if ("indexName".equals(key)) {
+                                    indexNames.add(String.valueOf(value));
+                                } else {
+                                    collectPlan(value, stages, indexNames);
+                                }
+                            });
+        } else if (node instanceof List) {
+            ((List<?>) node).forEach(child -> collectPlan(child, stages, indexNames));
+        }
+    }
+
+    private MongoCollection<Document> collection(String name) {
+        return mongoClient.getDatabase(configuration.getDatabaseName()).getCollection(name);
+    }
+
+    private static Motion motion(String map, int x, int y) {
+        Motion motion = new Motion();
+        motion.setMap(map);
+        motion.setX(x);
+        motion.setY(y);
+
+        return motion;
+    }
+}
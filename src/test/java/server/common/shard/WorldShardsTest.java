@@ -0,0 +1,90 @@
+package server.common.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.common.configuration.WorldShardConfiguration;
+
+public class WorldShardsTest {
+
+    private final WorldShards worldShards = new WorldShards();
+
+    @BeforeEach
+    void setUp() {
+        worldShards.configuration = new WorldShardConfiguration();
+        worldShards.configuration.setAssignments(Map.of("capital", 3));
+        worldShards.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        worldShards.stop();
+    }
+
+    @Test
+    void mapAlwaysBelongsToTheSameShard() {
+        assertThat(worldShards.getShardCount()).isEqualTo(4);
+        assertThat(worldShards.shardFor("forest")).isSameAs(worldShards.shardFor("forest"));
+        assertThat(worldShards.shardFor("capital").getId()).isEqualTo(3);
+        assertThat(worldShards.shardFor(null).getId()).isZero();
+    }
+
+    @Test
+    void workOfAMapRunsInOrderOnItsShardWorker() {
+        WorldShard shard = worldShards.shardFor("forest");
+        List<Integer> applied = new ArrayList<>();
+        Set<Boolean> onWorker = ConcurrentHashMap.newKeySet();
+
+        for (int i = 0; i < 100; i++) {
+            int step = i;
+            worldShards
+                    .run(
+                            "forest",
+                            () -> {
+                                onWorker.add(shard.isWorkerThread());
+                                applied.add(step);
+                            })
+                    .subscribe();
+        }
+        worldShards.run("forest", () -> {}).blockingAwait();
+
+        assertThat(onWorker).containsExactly(true);
+        assertThat(applied).hasSize(100).isSorted();
+        assertThat(shard.getTasks()).isEqualTo(101);
+    }
+
+    @Test
+    void updatesAreGroupedByMapAndAppliedOnTheirShards() {
+        Map<String, List<String>> groups = new ConcurrentHashMap<>();
+        Map<String, Boolean> onOwner = new ConcurrentHashMap<>();
+
+        worldShards
+                .runByMap(
+                        List.of("forest:a", "capital:b", "forest:c", ":d"),
+                        update -> update.startsWith(":") ? null : update.split(":")[0],
+                        group -> {
+                            String map = group.get(0).split(":")[0];
+                            groups.put(map, group);
+                            onOwner.put(
+                                    map,
+                                    worldShards
+                                            .shardFor(map.isEmpty() ? null : map)
+                                            .isWorkerThread());
+                        })
+                .blockingAwait();
+
+        assertThat(groups)
+                .containsOnly(
+                        Map.entry("forest", List.of("forest:a", "forest:c")),
+                        Map.entry("capital", List.of("capital:b")),
+                        Map.entry("", List.of(":d")));
+        assertThat(onOwner.values()).containsOnly(true);
+    }
+}
@@ -0,0 +1,72 @@
+package server.common.spatial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class SpatialGridTest {
+
+    private static final String MAP = "map";
+
+    @Test
+    void queryReturnsEntriesStrictlyWithinThreshold() {
+        SpatialGrid<String> grid = new SpatialGrid<>(100);
+        grid.upsert("a", MAP, 0, 0, "a");
+        grid.upsert("b", MAP, 99, -99, "b");
+        grid.upsert("c", MAP, 100, 0, "c");
+        grid.upsert("d", MAP, 10, 10, "d");
+
+        List<String> res = grid.query(MAP, 0, 0, 100);
+
+        assertThat(res).containsExactlyInAnyOrder("a", "b", "d");
+    }
+
+    @Test
+    void queryIsScopedToMapAndSkipsExcludedId() {
+        SpatialGrid<String> grid = new SpatialGrid<>(100);
+        grid.upsert("a", MAP, 0, 0, "a");
+        grid.upsert("b", MAP, 5, 5, "b");
+        grid.upsert("c", "other", 5, 5, "c");
+
+        assertThat(grid.query(MAP, 0, 0, 50, "a")).containsExactly("b");
+        assertThat(grid.query("missing", 0, 0, 50)).isEmpty();
+    }
+
+    @Test
+    void upsertMovesEntryBetweenCells() {
+        SpatialGrid<String> grid = new SpatialGrid<>(100);
+
+        assertThat(grid.upsert("a", MAP, 0, 0, "a")).isTrue();
+        assertThat(grid.upsert("a", MAP, 50, 50, "a")).isFalse();
+        assertThat(grid.upsert("a", MAP, -5_000, 5_000, "a")).isTrue();
+
+        assertThat(grid.query(MAP, 0, 0, 1_000)).isEmpty();
+        assertThat(grid.query(MAP, -5_000, 5_000, 10)).containsExactly("a");
+        assertThat(grid.size()).isEqualTo(1);
+    }
+
+    @Test
+    void largeQueryOnSparseMapFindsEntries() {
+        SpatialGrid<String> grid = new SpatialGrid<>(10);
+        grid.upsert("a", MAP, -90_000, 90_000, "a");
+        grid.upsert("b", MAP, 200_000, 0, "b");
+
+        assertThat(grid.query(MAP, 0, 0, 100_000)).containsExactly("a");
+    }
+
+    @Test
+    void removeAndRemoveIfDropEntries() {
+        SpatialGrid<String> grid = new SpatialGrid<>(100);
+        grid.upsert("a", MAP, 0, 0, "a");
+        grid.upsert("b", MAP, 1, 1, "b");
+        grid.upsert("c", MAP, 2, 2, "c");
+
+        assertThat(grid.remove("a")).isEqualTo("a");
+        assertThat(grid.removeIf("b"::equals)).containsExactly("b");
+
+        assertThat(grid.query(MAP, 0, 0, 100)).containsExactly("c");
+        assertThat(grid.contains("a")).isFalse();
+        assertThat(grid.get("c")).isEqualTo("c");
+    }
+}
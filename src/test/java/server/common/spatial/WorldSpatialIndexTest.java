@@ -0,0 +1,63 @@
+package server.common.spatial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import server.common.dto.Motion;
+import server.monster.server_integration.model.Monster;
+
+public class WorldSpatialIndexTest {
+
+    private final WorldSpatialIndex worldSpatialIndex = new WorldSpatialIndex();
+
+    @Test
+    void disconnectedPlayerIsNotIndexedAgainUntilItConnects() {
+        worldSpatialIndex.updatePlayerMotion("player1", motion());
+        worldSpatialIndex.removePlayer("player1");
+
+        // motion that was still in flight when the player left
+        worldSpatialIndex.updatePlayerMotion("player1", motion());
+
+        assertThat(worldSpatialIndex.getPlayers().contains("player1")).isFalse();
+        assertThat(worldSpatialIndex.isRemoved("player1")).isTrue();
+
+        worldSpatialIndex.playerConnected("player1");
+        worldSpatialIndex.updatePlayerMotion("player1", motion());
+
+        assertThat(worldSpatialIndex.getPlayers().contains("player1")).isTrue();
+    }
+
+    @Test
+    void deadMobIsNotIndexedAgain() {
+        String mobId = UUID.randomUUID().toString();
+        worldSpatialIndex.updateMob(mob(mobId));
+        worldSpatialIndex.removeMob(mobId);
+
+        worldSpatialIndex.updateMobMotion(mobId, motion());
+        worldSpatialIndex.updateMob(mob(mobId));
+
+        assertThat(worldSpatialIndex.getMobs().contains(mobId)).isFalse();
+    }
+
+    @Test
+    void evictedMobIsNotIndexedAgain() {
+        String mobId = UUID.randomUUID().toString();
+        worldSpatialIndex.updateMob(mob(mobId));
+
+        assertThat(worldSpatialIndex.evictMobsNotUpdatedSince(Instant.now().plusSeconds(1)))
+                .containsExactly(mobId);
+        worldSpatialIndex.updateMobMotion(mobId, motion());
+
+        assertThat(worldSpatialIndex.getMobs().contains(mobId)).isFalse();
+    }
+
+    private static Motion motion() {
+        return Motion.builder().map("map").x(10).y(20).z(30).build();
+    }
+
+    private static Monster mob(String mobId) {
+        return new Monster(null, mobId, motion(), Instant.now(), null);
+    }
+}
@@ -0,0 +1,109 @@
+package server.common.tick;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.common.configuration.WorldTickConfiguration;
+
+public class TimerWheelTest {
+
+    private final TimerWheel timerWheel = new TimerWheel();
+
+    private long tick;
+
+    @BeforeEach
+    void setUp() {
+        timerWheel.configuration = new WorldTickConfiguration();
+        timerWheel.dispatcher = Schedulers.trampoline();
+    }
+
+    @Test
+    void taskFiresOnceItsDelayHasPassed() {
+        AtomicInteger runs = new AtomicInteger();
+        timerWheel.schedule(runs::incrementAndGet, 120, TimeUnit.MILLISECONDS);
+
+        // 120ms rounds up to 3 full ticks after the one that picks the task up
+        advance(3);
+        assertThat(runs).hasValue(0);
+
+        advance(1);
+        assertThat(runs).hasValue(1);
+
+        advance(10);
+        assertThat(runs).hasValue(1);
+        assertThat(timerWheel.getPending()).isZero();
+    }
+
+    @Test
+    void delaysLongerThanOneRoundWaitForTheirRound() {
+        AtomicInteger runs = new AtomicInteger();
+        // 600 ticks, the wheel has 512 buckets
+        timerWheel.schedule(runs::incrementAndGet, 30, TimeUnit.SECONDS);
+
+        advance(600);
+        assertThat(runs).hasValue(0);
+
+        advance(1);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void cancelledTaskNeverRuns() {
+        AtomicInteger runs = new AtomicInteger();
+        TimerWheel.Timeout timeout =
+                timerWheel.schedule(runs::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+
+        advance(1);
+        assertThat(timeout.cancel()).isTrue();
+        advance(5);
+
+        assertThat(runs).hasValue(0);
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(timerWheel.getPending()).isZero();
+    }
+
+    @Test
+    void periodicTaskRunsUntilCancelled() {
+        AtomicInteger runs = new AtomicInteger();
+        TimerWheel.Timeout timeout =
+                timerWheel.scheduleAtFixedRate(
+                        runs::incrementAndGet, 100, 100, TimeUnit.MILLISECONDS);
+
+        advance(6);
+        assertThat(runs).hasValue(2);
+
+        timeout.cancel();
+        advance(6);
+
+        assertThat(runs).hasValue(2);
+        assertThat(timerWheel.getPending()).isZero();
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheWheel() {
+        AtomicInteger runs = new AtomicInteger();
+        timerWheel.schedule(
+                () -> {
+                    throw new IllegalStateException("boom");
+                },
+                50,
+                TimeUnit.MILLISECONDS);
+        timerWheel.schedule(runs::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+
+        advance(2);
+
+        assertThat(runs).hasValue(1);
+        assertThat(timerWheel.getFired()).isEqualTo(2);
+    }
+
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            timerWheel.onTick(++tick, Instant.now());
+        }
+    }
+}
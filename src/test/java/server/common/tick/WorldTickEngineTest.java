@@ -0,0 +1,59 @@
+package server.common.tick;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.common.configuration.WorldTickConfiguration;
+
+public class WorldTickEngineTest {
+
+    private final WorldTickEngine engine = new WorldTickEngine();
+    private final List<Long> ticked = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        engine.configuration = new WorldTickConfiguration();
+        engine.configuration.setRate(Duration.ofMillis(20));
+    }
+
+    @Test
+    void failingListenerDoesNotStopTheTick() {
+        engine.listeners =
+                List.of(
+                        (tick, now) -> {
+                            throw new IllegalStateException("boom");
+                        },
+                        (tick, now) -> ticked.add(tick));
+
+        engine.tick();
+        engine.tick();
+
+        assertThat(ticked).containsExactly(1L, 2L);
+        assertThat(engine.getTickCount()).isEqualTo(2);
+        assertThat(engine.getOverruns()).isZero();
+    }
+
+    @Test
+    void slowTickIsReportedAsOverrun() {
+        engine.listeners =
+                List.of(
+                        (tick, now) -> {
+                            try {
+                                Thread.sleep(40);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+
+        engine.tick();
+
+        assertThat(engine.getOverruns()).isEqualTo(1);
+        assertThat(engine.getLastTickNanos())
+                .isGreaterThanOrEqualTo(Duration.ofMillis(40).toNanos());
+        assertThat(engine.getMaxTickNanos()).isEqualTo(engine.getLastTickNanos());
+    }
+}
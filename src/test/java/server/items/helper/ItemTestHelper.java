@@ -2,6 +2,7 @@ package server.items.helper;
 
 import static com.mongodb.client.model.Filters.eq;
 import static com.mongodb.client.model.Filters.ne;
+import static com.mongodb.client.model.Updates.set;
 
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
@@ -13,12 +14,13 @@ import server.attribute.stats.types.StatsTypes;
 import server.common.configuration.MongoConfiguration;
 import server.common.dto.Location;
 import server.common.dto.Location2D;
+import server.common.spatial.WorldSpatialIndex;
 import server.items.equippable.model.EquippedItems;
 import server.items.inventory.model.CharacterItem;
 import server.items.inventory.model.Inventory;
-import server.items.inventory.repository.InventoryRepository;
 import server.items.inventory.service.InventoryService;
 import server.items.model.*;
+import server.items.service.ItemCatalog;
 import server.items.service.ItemService;
 import server.items.types.accessories.Belt;
 import server.items.types.accessories.Cape;
@@ -41,9 +43,11 @@ public class ItemTestHelper {
 
     @Inject ItemService itemService;
 
+    @Inject ItemCatalog itemCatalog;
+
     @Inject InventoryService inventoryService;
 
-    @Inject InventoryRepository inventoryRepository;
+    @Inject WorldSpatialIndex worldSpatialIndex;
 
     public ItemTestHelper(MongoConfiguration configuration, MongoClient mongoClient) {
         this.configuration = configuration;
@@ -54,9 +58,11 @@ public class ItemTestHelper {
     public void deleteAllItemData() {
         // this is for test purposes
         Single.fromPublisher(itemCollection.deleteMany(ne("category", "deleteAll"))).blockingGet();
+        itemCatalog.reload().blockingAwait();
 
         Single.fromPublisher(droppedItemCollection.deleteMany(ne("map", "deleteAll")))
                 .blockingGet();
+        worldSpatialIndex.getDroppedItems().clear();
 
         Single.fromPublisher(inventoryMongoCollection.deleteMany(ne("actorId", "deleteAll")))
                 .blockingGet();
@@ -75,8 +81,9 @@ public class ItemTestHelper {
     }
 
     public Item insertItem(Item item) {
+        // items written straight to the collection only reach the catalog on reload
         return Single.fromPublisher(itemCollection.insertOne(item))
-                .map(success -> item)
+                .flatMap(success -> itemCatalog.reload().toSingleDefault(item))
                 .blockingGet();
     }
 
@@ -116,12 +123,18 @@ public class ItemTestHelper {
                         inventory.getMaxSize(), inventory.getCharacterItems()));
         items.add(characterItem);
 
-        inventoryRepository.updateInventoryItems(actorId, items).blockingSubscribe();
+        Single.fromPublisher(
+                        inventoryMongoCollection.updateOne(
+                                eq("actorId", actorId), set("characterItems", items)))
+                .blockingGet();
+        // written around the service, drop its cached copy
+        inventoryService.evict(actorId);
 
         return characterItem;
     }
 
     public Inventory insertInventory(Inventory inventory) {
+        inventoryService.evict(inventory.getActorId());
         return Single.fromPublisher(inventoryMongoCollection.insertOne(inventory))
                 .map(success -> inventory)
                 .blockingGet();
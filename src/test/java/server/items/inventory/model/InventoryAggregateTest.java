@@ -0,0 +1,103 @@
+package server.items.inventory.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import server.common.dto.Location2D;
+import server.items.inventory.model.exceptions.InventoryException;
+import server.items.model.ItemInstance;
+
+public class InventoryAggregateTest {
+
+    private static final String ACTOR_ID = "test_character";
+
+    @Test
+    void itemsFillSlotsInOrderUntilInventoryIsFull() {
+        InventoryAggregate inventory = aggregate(new Location2D(2, 3), new ArrayList<>());
+
+        for (int i = 0; i < 6; i++) {
+            CharacterItem item = inventory.add(instance("item_" + i));
+            assertThat(item.getLocation()).isEqualTo(new Location2D(i / 3, i % 3));
+        }
+
+        assertThatThrownBy(() -> inventory.add(instance("item_6")))
+                .isInstanceOf(InventoryException.class);
+        assertThat(inventory.getVersion()).isEqualTo(6);
+    }
+
+    @Test
+    void removedAndEquippedItemsFreeTheirSlot() {
+        List<CharacterItem> items = new ArrayList<>();
+        items.add(item("first", new Location2D(0, 0)));
+        items.add(item("second", new Location2D(0, 1)));
+        items.add(item("equipped", new Location2D(-1, -1)));
+        InventoryAggregate inventory = aggregate(new Location2D(4, 10), items);
+
+        assertThat(inventory.nextFreeSlot()).isEqualTo(new Location2D(0, 2));
+
+        inventory.remove("first");
+        assertThat(inventory.nextFreeSlot()).isEqualTo(new Location2D(0, 0));
+
+        inventory.add(instance("third"));
+        inventory.markEquipped("second");
+        assertThat(inventory.nextFreeSlot()).isEqualTo(new Location2D(0, 1));
+
+        CharacterItem unequipped = inventory.moveToFreeSlot("equipped");
+        assertThat(unequipped.getLocation()).isEqualTo(new Location2D(0, 1));
+        assertThat(inventory.nextFreeSlot()).isEqualTo(new Location2D(0, 2));
+    }
+
+    @Test
+    void slotsPastTheFirstWordAreTracked() {
+        // 100 slots span two longs of the bitmap
+        List<CharacterItem> items = new ArrayList<>();
+        for (int i = 0; i < 99; i++) {
+            items.add(item("item_" + i, new Location2D(i / 10, i % 10)));
+        }
+        InventoryAggregate inventory = aggregate(new Location2D(10, 10), items);
+
+        assertThat(inventory.nextFreeSlot()).isEqualTo(new Location2D(9, 9));
+
+        inventory.add(instance("last"));
+        assertThatThrownBy(inventory::nextFreeSlot).isInstanceOf(InventoryException.class);
+    }
+
+    @Test
+    void unknownItemIsRejected() {
+        InventoryAggregate inventory = aggregate(new Location2D(2, 2), new ArrayList<>());
+
+        assertThatThrownBy(() -> inventory.remove("missing"))
+                .isInstanceOf(InventoryException.class);
+        assertThat(inventory.getVersion()).isZero();
+    }
+
+    @Test
+    void snapshotIsNotChangedByLaterMutations() {
+        InventoryAggregate inventory = aggregate(new Location2D(2, 2), new ArrayList<>());
+        inventory.add(instance("first"));
+
+        Inventory snapshot = inventory.toInventory();
+        inventory.moveToFreeSlot("first");
+        inventory.add(instance("second"));
+
+        assertThat(snapshot.getCharacterItems()).hasSize(1);
+        assertThat(snapshot.getCharacterItems().get(0).getLocation())
+                .isEqualTo(new Location2D(0, 0));
+        assertThat(snapshot.getVersion()).isEqualTo(1);
+    }
+
+    private static InventoryAggregate aggregate(Location2D maxSize, List<CharacterItem> items) {
+        return new InventoryAggregate(new Inventory(ACTOR_ID, items, 0, maxSize));
+    }
+
+    private static CharacterItem item(String itemInstanceId, Location2D location) {
+        return new CharacterItem(ACTOR_ID, location, instance(itemInstanceId));
+    }
+
+    private static ItemInstance instance(String itemInstanceId) {
+        return new ItemInstance(null, itemInstanceId, null);
+    }
+}
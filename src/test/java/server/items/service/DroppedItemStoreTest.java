@@ -0,0 +1,106 @@
+package server.items.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.result.DeleteResult;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import server.common.configuration.DroppedItemConfiguration;
+import server.common.configuration.WorldTickConfiguration;
+import server.common.dto.Location;
+import server.common.spatial.WorldSpatialIndex;
+import server.common.tick.TimerWheel;
+import server.items.model.DroppedItem;
+import server.items.repository.ItemRepository;
+import server.socket.service.ClientUpdatesService;
+
+public class DroppedItemStoreTest {
+
+    private final DroppedItemStore droppedItemStore = new DroppedItemStore();
+    private final TimerWheel timerWheel = new TimerWheel();
+
+    private final Location location = new Location("map", 10, 10, 0);
+
+    private long tick;
+
+    @BeforeEach
+    void setUp() {
+        timerWheel.configuration = new WorldTickConfiguration();
+        timerWheel.dispatcher = Schedulers.trampoline();
+
+        droppedItemStore.timerWheel = timerWheel;
+        droppedItemStore.worldSpatialIndex = new WorldSpatialIndex();
+        droppedItemStore.configuration = new DroppedItemConfiguration();
+        droppedItemStore.configuration.setTtl(Duration.ofMillis(200));
+        droppedItemStore.clientUpdatesService = mock(ClientUpdatesService.class);
+        droppedItemStore.itemRepository = mock(ItemRepository.class);
+        when(droppedItemStore.itemRepository.deleteDroppedItems(any()))
+                .thenReturn(Single.just(DeleteResult.acknowledged(2)));
+    }
+
+    @Test
+    void itemsExpiringTogetherAreRemovedInOneBatch() {
+        droppedItemStore.add(droppedItem("item1", Instant.now()));
+        droppedItemStore.add(droppedItem("item2", Instant.now()));
+
+        // 200ms rounds up to 4 ticks after the one that picks the timers up
+        advance(4);
+        assertThat(droppedItemStore.get("item1")).isNotNull();
+
+        advance(1);
+
+        ArgumentCaptor<List<String>> removed = ArgumentCaptor.forClass(List.class);
+        verify(droppedItemStore.clientUpdatesService, times(1))
+                .sendItemsRemovedUpdates(removed.capture());
+        assertThat(removed.getValue()).containsExactlyInAnyOrder("item1", "item2");
+        verify(droppedItemStore.itemRepository, times(1)).deleteDroppedItems(removed.getValue());
+        assertThat(droppedItemStore.get("item1")).isNull();
+        assertThat(droppedItemStore.getItemsNear(location, 100)).isEmpty();
+        assertThat(droppedItemStore.getExpiredCount()).isEqualTo(2);
+    }
+
+    @Test
+    void pickedUpItemDoesNotExpire() {
+        droppedItemStore.add(droppedItem("item1", Instant.now()));
+        droppedItemStore.remove("item1");
+
+        advance(10);
+
+        verify(droppedItemStore.clientUpdatesService, never()).sendItemsRemovedUpdates(any());
+        verify(droppedItemStore.itemRepository, never()).deleteDroppedItems(any());
+        assertThat(droppedItemStore.getLiveItems()).isZero();
+    }
+
+    @Test
+    void itemsPastTheirTtlOnLoadExpireRightAway() {
+        droppedItemStore.add(droppedItem("item1", Instant.now().minusSeconds(120)));
+
+        advance(2);
+
+        verify(droppedItemStore.itemRepository).deleteDroppedItems(List.of("item1"));
+    }
+
+    private DroppedItem droppedItem(String itemInstanceId, Instant droppedAt) {
+        return new DroppedItem(itemInstanceId, location, null, droppedAt);
+    }
+
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            long t = ++tick;
+            timerWheel.onTick(t, Instant.now());
+            droppedItemStore.onTick(t, Instant.now());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package server.items.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.items.helper.ItemTestHelper;
+import server.items.model.Item;
+import server.items.repository.ItemRepository;
+
+public class ItemCatalogTest {
+
+    private final ItemCatalog itemCatalog = new ItemCatalog();
+
+    private final Item weapon = ItemTestHelper.createTestItemOfType("WEAPON");
+    private final Item helm = ItemTestHelper.createTestItemOfType("HELM");
+
+    @BeforeEach
+    void setUp() {
+        itemCatalog.itemRepository = mock(ItemRepository.class);
+    }
+
+    @Test
+    void reloadSwapsInTheNewCatalog() {
+        when(itemCatalog.itemRepository.getAllItems()).thenReturn(Single.just(List.of(weapon)));
+        itemCatalog.reload().blockingAwait();
+        Map<String, Item> before = itemCatalog.getItems();
+
+        when(itemCatalog.itemRepository.getAllItems()).thenReturn(Single.just(List.of(helm)));
+        itemCatalog.reload().blockingAwait();
+
+        assertThat(before).containsOnlyKeys(weapon.getItemId());
+        assertThat(itemCatalog.get(helm.getItemId())).isSameAs(helm);
+        assertThat(itemCatalog.get(weapon.getItemId())).isNull();
+        assertThat(itemCatalog.getReloads()).isEqualTo(2);
+        assertThatThrownBy(() -> itemCatalog.getItems().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void catalogIsLoadedOnceConstructed() {
+        when(itemCatalog.itemRepository.getAllItems()).thenReturn(Single.just(List.of(weapon)));
+        when(itemCatalog.itemRepository.watchItems()).thenReturn(Flowable.never());
+
+        itemCatalog.load();
+
+        assertThat(itemCatalog.get(weapon.getItemId())).isSameAs(weapon);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedReloadKeepsWatchingForChanges() {
+        PublishProcessor<ChangeStreamDocument<Item>> changes = PublishProcessor.create();
+        when(itemCatalog.itemRepository.watchItems()).thenReturn(changes);
+        when(itemCatalog.itemRepository.getAllItems())
+                .thenReturn(
+                        Single.just(List.of(weapon)),
+                        Single.error(new RuntimeException("mongo down")),
+                        Single.just(List.of(helm)));
+        itemCatalog.load();
+
+        changes.onNext(mock(ChangeStreamDocument.class));
+        // the failing reload runs once the throttle window closes
+        verify(itemCatalog.itemRepository, timeout(3000).times(2)).getAllItems();
+        changes.onNext(mock(ChangeStreamDocument.class));
+
+        await().atMost(Duration.ofSeconds(3))
+                .untilAsserted(() -> assertThat(itemCatalog.get(helm.getItemId())).isNotNull());
+        assertThat(changes.hasSubscribers()).isTrue();
+    }
+
+    @Test
+    void olderReloadDoesNotOverwriteANewerOne() {
+        SingleSubject<List<Item>> slow = SingleSubject.create();
+        when(itemCatalog.itemRepository.getAllItems()).thenReturn(slow);
+        itemCatalog.reload().subscribe();
+
+        when(itemCatalog.itemRepository.getAllItems()).thenReturn(Single.just(List.of(helm)));
+        itemCatalog.reload().blockingAwait();
+        slow.onSuccess(List.of(weapon));
+
+        assertThat(itemCatalog.getItems()).containsOnlyKeys(helm.getItemId());
+    }
+}
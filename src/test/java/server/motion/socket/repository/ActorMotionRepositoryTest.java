@@ -1,6 +1,8 @@
 package server.motion.socket.repository;
 
+import com.mongodb.bulk.BulkWriteResult;
 import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.subjects.SingleSubject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -10,8 +12,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import server.attribute.stats.model.types.ClassTypes;
+import server.common.configuration.MotionWriteBehindConfiguration;
 import server.common.dto.Motion;
+import server.common.spatial.WorldSpatialIndex;
 import server.common.uuid.UUIDHelper;
 import server.monster.server_integration.model.Monster;
 import server.monster.server_integration.repository.MobRepository;
@@ -19,6 +24,8 @@ import server.motion.dto.PlayerMotion;
 import server.motion.repository.ActorMotionRepository;
 import server.motion.repository.PlayerMotionRepository;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -35,6 +42,13 @@ public class ActorMotionRepositoryTest {
     @Mock
     private MobRepository mobRepository;
 
+    @Spy
+    private WorldSpatialIndex worldSpatialIndex = new WorldSpatialIndex();
+
+    @Spy
+    private MotionWriteBehindConfiguration writeBehindConfiguration =
+            new MotionWriteBehindConfiguration();
+
     @InjectMocks
     private ActorMotionRepository actorMotionRepository;
 
@@ -72,6 +86,25 @@ public class ActorMotionRepositoryTest {
         Mockito.verifyNoInteractions(playerMotionRepository);
     }
 
+    @Test
+    public void testFetchActorMotions_IndexedActorsAreNotFetched() {
+        Motion indexed = Motion.builder().map("test1").x(10).y(20).z(30).build();
+        Motion stored = Motion.builder().map("test1").x(40).y(50).z(60).build();
+        worldSpatialIndex.updatePlayerMotion("CHARACTER_1", indexed);
+        when(playerMotionRepository.fetchPlayerMotion("CHARACTER_2"))
+                .thenReturn(Single.just(new PlayerMotion("CHARACTER_2", stored, null, null)));
+        when(playerMotionRepository.fetchPlayerMotion("CHARACTER_3"))
+                .thenReturn(Single.error(new RuntimeException("no motion")));
+
+        Map<String, Motion> motions = actorMotionRepository
+                .fetchActorMotions(List.of("CHARACTER_1", "CHARACTER_2", "CHARACTER_3"))
+                .blockingGet();
+
+        assertThat(motions).containsOnly(
+                Map.entry("CHARACTER_1", indexed), Map.entry("CHARACTER_2", stored));
+        verify(playerMotionRepository, never()).fetchPlayerMotion("CHARACTER_1");
+    }
+
     private static Stream<Arguments> actorIdToMotion() {
         return Stream.of(
                 Arguments.of(UUID.randomUUID().toString(), Motion.builder().map("test1").x(10).y(20).z(30).build()),
@@ -124,4 +157,81 @@ public class ActorMotionRepositoryTest {
         }
     }
 
+    @Test
+    public void testFlushDirtyMotionWritesInBatches() {
+        writeBehindConfiguration.setBatchSize(2);
+        when(playerMotionRepository.updateMotion(any(PlayerMotion.class)))
+                .thenReturn(Single.just(new PlayerMotion()));
+        when(playerMotionRepository.bulkUpdateMotion(any()))
+                .thenReturn(Single.just(mock(BulkWriteResult.class)));
+
+        for (String actorId : new String[] {"CHARACTER_1", "CHARACTER_2", "CHARACTER_3"}) {
+            // first update is written straight away, the rest are write-behind
+            actorMotionRepository.updateActorMotion(actorId, Motion.builder().map("test1").x(1).y(1).build());
+            actorMotionRepository.updateActorMotion(actorId, Motion.builder().map("test1").x(2).y(2).build());
+        }
+        verify(playerMotionRepository, times(3)).updateMotion(any(PlayerMotion.class));
+        assertThat(actorMotionRepository.getWriteBehindMetrics().getBacklog()).isEqualTo(3);
+
+        actorMotionRepository.flushDirtyMotion().blockingAwait();
+
+        verify(playerMotionRepository, times(2)).bulkUpdateMotion(any(Map.class));
+        verifyNoInteractions(mobRepository);
+        assertThat(actorMotionRepository.getWriteBehindMetrics().getBacklog()).isZero();
+        assertThat(actorMotionRepository.getWriteBehindMetrics().getWritten()).isEqualTo(3);
+        assertThat(actorMotionRepository.getWriteBehindMetrics().getBatches()).isEqualTo(2);
+        assertThat(actorMotionRepository.getWriteBehindMetrics().summary())
+                .startsWith("backlog 0, batches 2, written 3, failures 0");
+    }
+
+    @Test
+    public void testFailedFlushKeepsMotionDirty() {
+        when(mobRepository.updateMotionOnly(any(), any())).thenReturn(Single.just(new Monster()));
+        when(mobRepository.bulkUpdateMotion(any()))
+                .thenReturn(Single.error(new RuntimeException("mongo down")));
+        String mobId = UUID.randomUUID().toString();
+
+        actorMotionRepository.updateActorMotion(mobId, Motion.builder().map("test1").x(1).y(1).build());
+        actorMotionRepository.updateActorMotion(mobId, Motion.builder().map("test1").x(2).y(2).build());
+
+        actorMotionRepository.flushDirtyMotion().onErrorComplete().blockingAwait();
+
+        assertThat(actorMotionRepository.getWriteBehindMetrics().getFailures()).isEqualTo(1);
+        assertThat(actorMotionRepository.getWriteBehindMetrics().getBacklog()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFailedBatchDoesNotCancelTheOthers() {
+        writeBehindConfiguration.setBatchSize(1);
+        SingleSubject<BulkWriteResult> slowWrite = SingleSubject.create();
+        when(playerMotionRepository.updateMotion(any(PlayerMotion.class)))
+                .thenReturn(Single.just(new PlayerMotion()));
+        when(playerMotionRepository.bulkUpdateMotion(any()))
+                .thenReturn(Single.error(new RuntimeException("mongo down")), slowWrite);
+
+        for (String actorId : new String[] {"CHARACTER_1", "CHARACTER_2"}) {
+            actorMotionRepository.updateActorMotion(actorId, Motion.builder().map("test1").x(1).y(1).build());
+            actorMotionRepository.updateActorMotion(actorId, Motion.builder().map("test1").x(2).y(2).build());
+        }
+
+        actorMotionRepository.flushDirtyMotion().onErrorComplete().subscribe();
+        assertThat(slowWrite.hasObservers()).isTrue();
+        slowWrite.onError(new RuntimeException("mongo down"));
+
+        assertThat(actorMotionRepository.getWriteBehindMetrics().getFailures()).isEqualTo(2);
+        assertThat(actorMotionRepository.getWriteBehindMetrics().getBacklog()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRemovedMobIsNeitherIndexedNorStored() {
+        String mobId = UUID.randomUUID().toString();
+        worldSpatialIndex.removeMob(mobId);
+
+        actorMotionRepository.updateActorMotion(
+                mobId, Motion.builder().map("test1").x(1).y(1).build());
+        actorMotionRepository.flushDirtyMotion().blockingAwait();
+
+        assertThat(worldSpatialIndex.getMobs().contains(mobId)).isFalse();
+        verifyNoInteractions(mobRepository);
+    }
 }
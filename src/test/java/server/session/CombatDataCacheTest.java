@@ -0,0 +1,205 @@
+package server.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.combat.model.CombatData;
+import server.common.configuration.redis.PreEncodedValueCodec;
+import server.session.model.CacheDomains;
+import server.session.model.CacheKey;
+
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class CombatDataCacheTest {
+
+    private static final String ACTOR_ID = "CHARACTER_1";
+
+    private RedisClient redisClient;
+    private RedisCommands sync;
+    private RedisAsyncCommands async;
+    private CombatDataCache combatDataCache;
+
+    @BeforeEach
+    void setUp() {
+        redisClient = mock(RedisClient.class);
+        StatefulRedisConnection connection = mock(StatefulRedisConnection.class);
+        sync = mock(RedisCommands.class);
+        async = mock(RedisAsyncCommands.class);
+
+        when(redisClient.connect(any(RedisCodec.class))).thenReturn(connection);
+        when(redisClient.connectPubSub(any(RedisCodec.class)))
+                .thenReturn(mock(StatefulRedisPubSubConnection.class, RETURNS_DEEP_STUBS));
+        when(connection.sync()).thenReturn(sync);
+        when(connection.async()).thenReturn(async);
+        when(async.set(any(), any())).thenReturn(mock(RedisFuture.class));
+        when(async.del(any())).thenReturn(mock(RedisFuture.class));
+        when(async.publish(any(), any())).thenReturn(mock(RedisFuture.class));
+
+        combatDataCache = new CombatDataCache(redisClient);
+    }
+
+    @Test
+    void ownedCombatDataIsServedFromMemory() {
+        CombatData first = combatDataCache.get(ACTOR_ID);
+        first.setCombatState("COMBAT");
+        combatDataCache.put(ACTOR_ID, first);
+
+        CombatData second = combatDataCache.get(ACTOR_ID);
+
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        assertThat(combatDataCache.isOwner(ACTOR_ID)).isTrue();
+        verify(sync, times(1)).get(anyString());
+        verify(async, times(1)).set(anyString(), any());
+        // ownership is only announced once
+        verify(async, times(1)).publish(anyString(), anyString());
+    }
+
+    @Test
+    void callersNeverShareTheOwnedInstance() {
+        CombatData written = new CombatData(ACTOR_ID);
+        combatDataCache.put(ACTOR_ID, written);
+
+        // changes that are not put again stay with the caller
+        written.getTargets().add("mob");
+        combatDataCache.get(ACTOR_ID).getTargets().add("other mob");
+
+        assertThat(combatDataCache.get(ACTOR_ID).getTargets()).isEmpty();
+    }
+
+    @Test
+    void fetchDoesNotBlockAndIsEmptyWithoutCombatData() {
+        RedisFuture missing = mock(RedisFuture.class);
+        when(missing.whenComplete(any()))
+                .thenAnswer(
+                        invocation -> {
+                            ((BiConsumer) invocation.getArgument(0)).accept(null, null);
+                            return missing;
+                        });
+        when(async.get(anyString())).thenReturn(missing);
+
+        combatDataCache.fetch(ACTOR_ID).test().assertNoValues().assertComplete();
+
+        verify(sync, never()).get(anyString());
+    }
+
+    @Test
+    void fetchServesOwnedCombatDataFromMemory() {
+        CombatData written = new CombatData(ACTOR_ID);
+        combatDataCache.put(ACTOR_ID, written);
+
+        combatDataCache.fetch(ACTOR_ID).test().assertValue(written::equals);
+
+        verify(async, never()).get(anyString());
+    }
+
+    @Test
+    void fetchAllReadsEverythingNotOwnedWithOneMget() throws Exception {
+        combatDataCache.put(ACTOR_ID, new CombatData(ACTOR_ID));
+        CombatData mob = new CombatData("mob");
+        mob.setCombatState("COMBAT");
+        List<KeyValue<String, byte[]>> values =
+                List.of(
+                        KeyValue.just(CacheKey.of(CacheDomains.COMBAT_DATA, "mob"), encode(mob)),
+                        KeyValue.empty(CacheKey.of(CacheDomains.COMBAT_DATA, "gone")));
+        RedisFuture found = mock(RedisFuture.class);
+        when(found.whenComplete(any()))
+                .thenAnswer(
+                        invocation -> {
+                            ((BiConsumer) invocation.getArgument(0)).accept(values, null);
+                            return found;
+                        });
+        when(async.mget(
+                        CacheKey.of(CacheDomains.COMBAT_DATA, "mob"),
+                        CacheKey.of(CacheDomains.COMBAT_DATA, "gone")))
+                .thenReturn(found);
+
+        combatDataCache
+                .fetchAll(List.of(ACTOR_ID, "mob", "gone"))
+                .test()
+                .assertValue(
+                        combatData ->
+                                combatData.keySet().equals(Set.of(ACTOR_ID, "mob"))
+                                        && combatData.get("mob").equals(mob));
+
+        verify(async, never()).get(anyString());
+        verify(sync, never()).get(anyString());
+    }
+
+    @Test
+    void readsDoNotTakeOwnership() throws Exception {
+        when(sync.get(anyString())).thenReturn(encode(new CombatData(ACTOR_ID)));
+
+        combatDataCache.get(ACTOR_ID);
+        combatDataCache.get(ACTOR_ID);
+
+        assertThat(combatDataCache.isOwner(ACTOR_ID)).isFalse();
+        verify(sync, times(2)).get(anyString());
+        verify(async, never()).publish(anyString(), anyString());
+    }
+
+    @Test
+    void readsAndWritesShareOneConnection() {
+        verify(redisClient, times(1)).connect(any(PreEncodedValueCodec.class));
+    }
+
+    @Test
+    void claimFromAnotherNodeDropsLocalCopy() throws Exception {
+        combatDataCache.put(ACTOR_ID, new CombatData(ACTOR_ID));
+        CombatData fromOtherNode = new CombatData(ACTOR_ID);
+        fromOtherNode.setCombatState("COMBAT");
+        when(sync.get(anyString())).thenReturn(encode(fromOtherNode));
+
+        combatDataCache.onOwnershipClaimed("other-node|" + ACTOR_ID);
+
+        assertThat(combatDataCache.isOwner(ACTOR_ID)).isFalse();
+        assertThat(combatDataCache.get(ACTOR_ID).getCombatState()).isEqualTo("COMBAT");
+        // reading it back does not write the same value again
+        verify(async, times(1)).set(anyString(), any());
+    }
+
+    @Test
+    void ownClaimsAreIgnored() {
+        combatDataCache.put(ACTOR_ID, new CombatData(ACTOR_ID));
+
+        combatDataCache.onOwnershipClaimed(combatDataCache.getNodeId() + "|" + ACTOR_ID);
+
+        assertThat(combatDataCache.isOwner(ACTOR_ID)).isTrue();
+    }
+
+    @Test
+    void puttingNullReleasesAndDeletes() {
+        combatDataCache.put(ACTOR_ID, new CombatData(ACTOR_ID));
+
+        combatDataCache.put(ACTOR_ID, null);
+
+        assertThat(combatDataCache.isOwner(ACTOR_ID)).isFalse();
+        verify(async).del(anyString());
+    }
+
+    private static byte[] encode(CombatData combatData) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        return objectMapper.writeValueAsBytes(combatData);
+    }
+}
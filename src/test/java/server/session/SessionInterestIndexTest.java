@@ -0,0 +1,73 @@
+package server.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.micronaut.websocket.WebSocketSession;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class SessionInterestIndexTest {
+
+    private final SessionInterestIndex interestIndex = new SessionInterestIndex();
+
+    @Test
+    void observersFollowTrackAndUntrack() {
+        WebSocketSession session1 = mock(WebSocketSession.class);
+        WebSocketSession session2 = mock(WebSocketSession.class);
+
+        interestIndex.trackPlayers(session1, Set.of("player1", "player2"));
+        interestIndex.trackPlayers(session2, Set.of("player1"));
+        interestIndex.trackMobs(session2, Set.of("mob1"));
+
+        assertThat(interestIndex.getPlayerObservers("player1"))
+                .containsExactlyInAnyOrder(session1, session2);
+        assertThat(interestIndex.getMobObservers("mob1")).containsExactly(session2);
+        assertThat(interestIndex.getMobObservers("player1")).isEmpty();
+
+        interestIndex.untrackPlayers(session1, Set.of("player1", "player2"));
+
+        assertThat(interestIndex.getPlayerObservers("player1")).containsExactly(session2);
+        assertThat(interestIndex.getPlayerObservers("player2")).isEmpty();
+    }
+
+    @Test
+    void removeItemReturnsAndDropsObservers() {
+        WebSocketSession session = mock(WebSocketSession.class);
+        interestIndex.trackItems(session, Set.of("item1"));
+
+        assertThat(interestIndex.removeItem("item1")).containsExactly(session);
+        assertThat(interestIndex.getItemObservers("item1")).isEmpty();
+        assertThat(interestIndex.removeItem("item1")).isEmpty();
+    }
+
+    @Test
+    void registeredActorSessionsAreReturned() {
+        WebSocketSession session = mock(WebSocketSession.class);
+        interestIndex.registerActor(session, "actor1");
+        interestIndex.registerActor(session, null);
+
+        assertThat(interestIndex.getActorSessions("actor1")).containsExactly(session);
+        assertThat(interestIndex.getActorSessions(null)).isEmpty();
+    }
+
+    @Test
+    void actorsAreObservedWhileTrackedOrOwned() {
+        WebSocketSession session = mock(WebSocketSession.class);
+        interestIndex.trackPlayers(session, Set.of("player1"));
+        interestIndex.trackMobs(session, Set.of("mob1"));
+        interestIndex.registerActor(session, "player2");
+
+        assertThat(interestIndex.isObserved("player1")).isTrue();
+        assertThat(interestIndex.isObserved("mob1")).isTrue();
+        assertThat(interestIndex.isObserved("player2")).isTrue();
+        assertThat(interestIndex.isObserved("mob2")).isFalse();
+        assertThat(interestIndex.isObserved(null)).isFalse();
+        assertThat(interestIndex.isAnyObserved(List.of("mob2", "mob1"))).isTrue();
+
+        interestIndex.untrackMobs(session, Set.of("mob1"));
+
+        assertThat(interestIndex.isAnyObserved(List.of("mob2", "mob1"))).isFalse();
+    }
+}
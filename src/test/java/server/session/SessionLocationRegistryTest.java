@@ -0,0 +1,157 @@
+package server.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import server.common.configuration.NodeConfiguration;
+import server.common.dto.Motion;
+import server.common.spatial.WorldSpatialIndex;
+import server.session.model.SessionLocation;
+import server.session.producer.SessionLocationProducer;
+
+public class SessionLocationRegistryTest {
+
+    private final SessionLocationRegistry registry = new SessionLocationRegistry();
+
+    @BeforeEach
+    void setUp() {
+        registry.nodeConfiguration = new NodeConfiguration();
+        registry.nodeConfiguration.setId("node-a");
+        registry.sessionLocationProducer = mock(SessionLocationProducer.class);
+        registry.worldSpatialIndex = new WorldSpatialIndex();
+    }
+
+    @Test
+    void localSessionsArePublishedKeyedByActor() {
+        registry.register("player1", "session1");
+
+        ArgumentCaptor<SessionLocation> captor = ArgumentCaptor.forClass(SessionLocation.class);
+        verify(registry.sessionLocationProducer)
+                .sendSessionLocation(eq("player1"), captor.capture());
+        assertThat(captor.getValue().getNodeId()).isEqualTo("node-a");
+        assertThat(captor.getValue().isOnline()).isTrue();
+        assertThat(registry.isHostedHere("player1")).isTrue();
+
+        registry.release("player1", "session1");
+
+        verify(registry.sessionLocationProducer, times(2))
+                .sendSessionLocation(eq("player1"), captor.capture());
+        assertThat(captor.getValue().isOnline()).isFalse();
+        assertThat(registry.getNode("player1")).isNull();
+    }
+
+    @Test
+    void closingAnOlderSessionDoesNotReleaseTheNewOne() {
+        registry.register("player1", "session1");
+        registry.register("player1", "session2");
+
+        registry.release("player1", "session1");
+
+        assertThat(registry.isHostedHere("player1")).isTrue();
+    }
+
+    @Test
+    void remoteLogoutIsRemovedFromTheLocalIndex() {
+        registry.worldSpatialIndex.updatePlayerMotion("player1", motion());
+        registry.apply(location("player1", "node-b", "session1", true));
+        assertThat(registry.getNode("player1")).isEqualTo("node-b");
+
+        registry.apply(location("player1", "node-b", "session1", false));
+
+        assertThat(registry.getNode("player1")).isNull();
+        assertThat(registry.worldSpatialIndex.getPlayers().contains("player1")).isFalse();
+    }
+
+    @Test
+    void playerLoggingInAgainIsIndexedAgain() {
+        registry.apply(location("player1", "node-b", "session1", true));
+        registry.apply(location("player1", "node-b", "session1", false));
+        registry.worldSpatialIndex.updatePlayerMotion("player1", motion());
+        assertThat(registry.worldSpatialIndex.getPlayers().contains("player1")).isFalse();
+
+        registry.apply(location("player1", "node-b", "session2", true));
+        registry.worldSpatialIndex.updatePlayerMotion("player1", motion());
+
+        assertThat(registry.worldSpatialIndex.getPlayers().contains("player1")).isTrue();
+    }
+
+    @Test
+    void releaseOfAnOlderSessionElsewhereIsIgnored() {
+        registry.worldSpatialIndex.updatePlayerMotion("player1", motion());
+        registry.apply(location("player1", "node-b", "session1", true));
+        registry.register("player1", "session2");
+
+        registry.apply(location("player1", "node-b", "session1", false));
+
+        assertThat(registry.isHostedHere("player1")).isTrue();
+        assertThat(registry.worldSpatialIndex.getPlayers().contains("player1")).isTrue();
+    }
+
+    @Test
+    void recordsOfThisNodeAreNotReapplied() {
+        // left over from a previous run of this node
+        registry.apply(location("player1", "node-a", "session1", true));
+
+        assertThat(registry.getLocations()).isZero();
+        verify(registry.sessionLocationProducer, never()).sendSessionLocation(any(), any());
+    }
+
+    @Test
+    void localSessionsArePublishedAgainOnEveryHeartbeat() {
+        registry.register("player1", "session1");
+        Instant now = Instant.now();
+
+        registry.onTick(1, now);
+        registry.onTick(2, now.plusSeconds(1));
+        registry.onTick(3, now.plusSeconds(10));
+
+        verify(registry.sessionLocationProducer, times(3))
+                .sendSessionLocation(eq("player1"), any());
+    }
+
+    @Test
+    void remoteSessionsTimeOutWithoutAHeartbeat() {
+        registry.worldSpatialIndex.updatePlayerMotion("player1", motion());
+        registry.apply(location("player1", "node-b", "session1", true));
+
+        registry.onTick(1, Instant.now().plusSeconds(10));
+        assertThat(registry.getNode("player1")).isEqualTo("node-b");
+
+        registry.onTick(2, Instant.now().plusSeconds(31));
+        assertThat(registry.getNode("player1")).isNull();
+        assertThat(registry.worldSpatialIndex.getPlayers().contains("player1")).isFalse();
+    }
+
+    @Test
+    void timedOutRecordsAreNotApplied() {
+        // replayed on startup, published by a node that has not been heard of since
+        registry.apply(
+                new SessionLocation(
+                        "player1", "node-b", "session1", true, Instant.now().minusSeconds(60)));
+
+        assertThat(registry.getLocations()).isZero();
+    }
+
+    private static SessionLocation location(
+            String actorId, String nodeId, String sessionId, boolean online) {
+        return new SessionLocation(actorId, nodeId, sessionId, online, Instant.now());
+    }
+
+    private static Motion motion() {
+        Motion motion = new Motion();
+        motion.setMap("map");
+        motion.setX(0);
+        motion.setY(0);
+
+        return motion;
+    }
+}
@@ -0,0 +1,75 @@
+package server.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import server.socket.session.FakeSession;
+
+public class SessionStateTest {
+
+    @Test
+    void sameStateIsReturnedForSession() {
+        FakeSession session = new FakeSession();
+
+        SessionState state = SessionState.of(session);
+
+        assertThat(SessionState.of(session)).isSameAs(state);
+        assertThat(state.getActorId()).isEmpty();
+        assertThat(state.isPlayer()).isFalse();
+        assertThat(state.isServer()).isFalse();
+    }
+
+    @Test
+    void actorIdDecidesPlayerOrServer() {
+        FakeSession session = new FakeSession();
+
+        SessionState state = SessionState.identify(session, "character1", null);
+        assertThat(SessionState.of(session)).isSameAs(state);
+        assertThat(state.isPlayer()).isTrue();
+        assertThat(state.isServer()).isFalse();
+
+        assertThat(new SessionState(null, "server1").isServer()).isTrue();
+        assertThat(new SessionState(null, "server1").isPlayer()).isFalse();
+    }
+
+    @Test
+    void identifyingAgainKeepsKnownIdsAndTrackedState() {
+        FakeSession session = new FakeSession();
+        SessionState.of(session).setTrackingMobs(Set.of("mob1"));
+
+        SessionState.identify(session, "character1", null);
+        SessionState state = SessionState.identify(session, "", "server1");
+
+        assertThat(state.getActorId()).isEqualTo("character1");
+        assertThat(state.getServerName()).isEqualTo("server1");
+        assertThat(state.isPlayer()).isTrue();
+        assertThat(state.getTrackingMobs()).containsExactly("mob1");
+    }
+
+    @Test
+    void trackedSetsAreReplacedAsSnapshots() {
+        SessionState state = SessionState.of(new FakeSession());
+
+        Set<String> previous = state.getTrackingMobs();
+        state.setTrackingMobs(Set.of("mob1"));
+        state.addTrackingMobs(Set.of("mob2"));
+
+        assertThat(previous).isEmpty();
+        assertThat(state.getTrackingMobs()).containsExactlyInAnyOrder("mob1", "mob2");
+
+        state.setTrackingPlayers(Set.of("player1"));
+        assertThat(state.getTrackingPlayers()).containsExactly("player1");
+    }
+
+    @Test
+    void droppedItemsAreSyncedInPlace() {
+        SessionState state = SessionState.of(new FakeSession());
+        Set<String> tracked = state.getDroppedItems();
+
+        tracked.add("item1");
+        state.setDroppedItems(Set.of("item2", "item3"));
+
+        assertThat(tracked).containsExactlyInAnyOrder("item2", "item3");
+    }
+}
@@ -0,0 +1,44 @@
+package server.skills.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.websocket.WebSocketSession;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CombatSkillsServiceTest {
+
+    private final CombatSkillsService combatSkillsService = new CombatSkillsService();
+    private final WebSocketSession session = mock(WebSocketSession.class);
+
+    @BeforeEach
+    void setUp() {
+        combatSkillsService.skillRegistry = mock(SkillRegistry.class);
+        combatSkillsService.objectMapper = spy(new ObjectMapper());
+        when(combatSkillsService.skillRegistry.getSkills()).thenReturn(List.of());
+        when(session.sendAsync(anyString())).thenReturn(CompletableFuture.completedFuture(""));
+    }
+
+    @Test
+    void skillsResponseIsSerializedOncePerActor() throws Exception {
+        combatSkillsService.getActorAvailableSkills("CHARACTER_1", session);
+        combatSkillsService.getActorAvailableSkills("CHARACTER_1", session);
+
+        verify(session, times(2)).sendAsync(anyString());
+        verify(combatSkillsService.objectMapper, times(1)).writeValueAsString(any());
+
+        combatSkillsService.invalidateActorSkills("CHARACTER_1");
+        combatSkillsService.getActorAvailableSkills("CHARACTER_1", session);
+
+        verify(combatSkillsService.objectMapper, times(2)).writeValueAsString(any());
+    }
+}
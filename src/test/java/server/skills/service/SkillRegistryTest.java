@@ -0,0 +1,95 @@
+package server.skills.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.combat.model.CombatData;
+import server.skills.available.destruction.fire.Fireball;
+import server.skills.model.SkillCast;
+import server.skills.model.SkillTarget;
+
+public class SkillRegistryTest {
+
+    private final SkillRegistry skillRegistry = new SkillRegistry();
+
+    private final SkillCastPool skillCastPool = new SkillCastPool();
+
+    @BeforeEach
+    void setUp() {
+        skillRegistry.skillCastPool = skillCastPool;
+        skillRegistry.load();
+    }
+
+    @Test
+    void definitionsAreSharedAndLookedUpIgnoringCase() {
+        assertThat(skillRegistry.getSkill("Fireball"))
+                .isInstanceOf(Fireball.class)
+                .isSameAs(skillRegistry.getSkill("fireball"));
+        assertThat(skillRegistry.getSkill("Basic heal")).isNotNull();
+        assertThat(skillRegistry.getSkill("unknown")).isNull();
+        assertThat(skillRegistry.getSkill(null)).isNull();
+    }
+
+    @Test
+    void skillListIsShared() throws Exception {
+        assertThat(skillRegistry.getSkills()).isSameAs(skillRegistry.getSkills());
+
+        JsonNode skills = new ObjectMapper().valueToTree(skillRegistry.getSkills());
+        assertThat(skills).hasSize(2);
+        assertThat(skills.get(0).get("name").asText()).isEqualTo("Fireball");
+        assertThat(skills.get(0).get("castTime").asInt()).isEqualTo(1500);
+    }
+
+    @Test
+    void castContextsAreReused() {
+        SkillCast first = skillCastPool.acquire(null, new CombatData(), new SkillTarget(), null);
+        long generation = first.getGeneration();
+        skillCastPool.release(first, generation);
+        skillCastPool.release(first, generation);
+
+        SkillCast second = skillCastPool.acquire(null, new CombatData(), new SkillTarget(), null);
+        SkillCast third = skillCastPool.acquire(null, new CombatData(), new SkillTarget(), null);
+
+        assertThat(second).isSameAs(first);
+        assertThat(third).isNotSameAs(first);
+        assertThat(skillCastPool.getCreated()).isEqualTo(2);
+    }
+
+    @Test
+    void castInProgressIsKnownByCasterUntilReleased() {
+        SkillCast cast =
+                skillCastPool.acquire(
+                        skillRegistry.getSkill("fireball"),
+                        new CombatData("CHARACTER_1"),
+                        new SkillTarget(),
+                        null);
+
+        assertThat(skillCastPool.getActive("CHARACTER_1")).isSameAs(cast);
+
+        skillCastPool.release(cast, cast.getGeneration());
+
+        assertThat(skillCastPool.getActive("CHARACTER_1")).isNull();
+    }
+
+    @Test
+    void staleReferencesCannotActOnARecycledCast() {
+        SkillCast cast =
+                skillCastPool.acquire(null, new CombatData("CHARACTER_1"), new SkillTarget(), null);
+        long stale = cast.getGeneration();
+        skillCastPool.release(cast, stale);
+
+        SkillCast recycled =
+                skillCastPool.acquire(null, new CombatData("CHARACTER_2"), new SkillTarget(), null);
+        assertThat(recycled).isSameAs(cast);
+        assertThat(recycled.generationOf("CHARACTER_1")).isEqualTo(-1);
+
+        // e.g. a landing scheduled before the first release
+        skillCastPool.release(recycled, stale);
+
+        assertThat(recycled.isCurrent(stale)).isFalse();
+        assertThat(skillCastPool.getActive("CHARACTER_2")).isSameAs(recycled);
+    }
+}
@@ -0,0 +1,106 @@
+package server.socket.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micronaut.websocket.WebSocketSession;
+import io.reactivex.rxjava3.core.Flowable;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import server.attribute.stats.model.Stats;
+import server.common.dto.Motion;
+import server.monster.server_integration.model.Monster;
+import server.motion.dto.PlayerMotion;
+import server.socket.model.SocketResponse;
+import server.socket.model.SocketResponseSubscriber;
+import server.socket.model.SocketResponseType;
+
+public class OutboundCoalescerTest {
+
+    private final OutboundCoalescer outboundCoalescer = new OutboundCoalescer();
+
+    private WebSocketSession session;
+
+    @BeforeEach
+    void setUp() {
+        outboundCoalescer.socketResponseSubscriber = mock(SocketResponseSubscriber.class);
+        session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        doReturn(Flowable.empty()).when(session).send(any());
+    }
+
+    @Test
+    void onlyLatestMotionPerActorIsSentOncePerTick() {
+        for (int i = 0; i < 10; i++) {
+            outboundCoalescer.queuePlayerMotion(session, playerMotion("player1", i));
+            outboundCoalescer.queuePlayerMotion(session, playerMotion("player2", i));
+        }
+
+        outboundCoalescer.onTick(1, Instant.now());
+        outboundCoalescer.onTick(2, Instant.now());
+
+        SocketResponse response = sent(1);
+        assertThat(response.getMessageType())
+                .isEqualTo(SocketResponseType.PLAYER_MOTION_UPDATE.getType());
+        assertThat(response.getPlayerMotion()).containsOnlyKeys("player1", "player2");
+        assertThat(response.getPlayerMotion().get("player1").getMotion().getX()).isEqualTo(9);
+        assertThat(outboundCoalescer.getQueuedUpdates()).isEqualTo(20);
+        assertThat(outboundCoalescer.getSentFrames()).isEqualTo(1);
+    }
+
+    @Test
+    void mixedUpdatesAreMergedIntoSingleWorldUpdate() {
+        outboundCoalescer.queuePlayerMotion(session, playerMotion("player1", 1));
+        Monster monster = new Monster();
+        monster.setActorId("mob1");
+        outboundCoalescer.queueMonster(session, monster);
+        outboundCoalescer.queueStats(
+                session,
+                Stats.builder().actorId("mob1").derivedStats(Map.of("CURRENT_HP", 90.0)).build());
+        outboundCoalescer.queueStats(
+                session,
+                Stats.builder().actorId("mob1").derivedStats(Map.of("CURRENT_MP", 40.0)).build());
+
+        outboundCoalescer.onTick(1, Instant.now());
+
+        SocketResponse response = sent(1);
+        assertThat(response.getMessageType()).isEqualTo(SocketResponseType.WORLD_UPDATE.getType());
+        assertThat(response.getMonsters()).containsOnlyKeys("mob1");
+        assertThat(response.getActorStats().get("mob1").getDerivedStats())
+                .containsEntry("CURRENT_HP", 90.0)
+                .containsEntry("CURRENT_MP", 40.0);
+    }
+
+    @Test
+    void discardedOrClosedSessionsAreNotSentTo() {
+        outboundCoalescer.queuePlayerMotion(session, playerMotion("player1", 1));
+        outboundCoalescer.discard(session);
+        outboundCoalescer.onTick(1, Instant.now());
+
+        when(session.isOpen()).thenReturn(false);
+        outboundCoalescer.queuePlayerMotion(session, playerMotion("player1", 2));
+        outboundCoalescer.onTick(2, Instant.now());
+
+        verify(session, never()).send(any());
+    }
+
+    private SocketResponse sent(int times) {
+        ArgumentCaptor<SocketResponse> captor = ArgumentCaptor.forClass(SocketResponse.class);
+        verify(session, times(times)).send(captor.capture());
+        return captor.getValue();
+    }
+
+    private static PlayerMotion playerMotion(String actorId, int x) {
+        Motion motion = Motion.builder().map("map").x(x).y(0).z(0).build();
+        return new PlayerMotion(actorId, motion, true, Instant.now());
+    }
+}
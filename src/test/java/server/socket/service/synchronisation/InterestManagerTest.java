@@ -0,0 +1,171 @@
+package server.socket.service.synchronisation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micronaut.websocket.WebSocketSession;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.common.configuration.InterestConfiguration;
+import server.common.dto.Motion;
+import server.common.spatial.WorldSpatialIndex;
+import server.monster.server_integration.model.Monster;
+import server.motion.model.SessionParams;
+import server.session.SessionInterestIndex;
+import server.session.SessionState;
+
+public class InterestManagerTest {
+
+    private final InterestManager interestManager = new InterestManager();
+
+    private long tick;
+
+    @BeforeEach
+    void setUp() {
+        interestManager.worldSpatialIndex = new WorldSpatialIndex();
+        interestManager.interestIndex = new SessionInterestIndex();
+        interestManager.configuration = new InterestConfiguration();
+        interestManager.synchronisePlayerService = mock(SynchronisePlayerService.class);
+        interestManager.synchroniseMobService = mock(SynchroniseMobService.class);
+        interestManager.synchroniseDroppedItemsService =
+                mock(SynchroniseDroppedItemsService.class);
+    }
+
+    @Test
+    void idleSessionIsEvaluatedOnceAndThenCostsNothing() {
+        WebSocketSession observer = playerSession("observer", 0, 0);
+
+        for (int i = 0; i < 20; i++) {
+            tick();
+        }
+
+        verify(interestManager.synchronisePlayerService, times(1))
+                .handleSynchronisePlayers(any(), eq(observer));
+        verify(interestManager.synchroniseMobService, times(1))
+                .handleSynchroniseMobs(any(), eq(observer));
+        assertThat(interestManager.getEvaluations()).isEqualTo(1);
+        assertThat(interestManager.getTrackedObservers()).isEqualTo(1);
+    }
+
+    @Test
+    void observerIsEvaluatedAgainOnlyOnCellChangeOrPastTheHysteresis() {
+        WebSocketSession observer = playerSession("observer", 100, 900);
+        tick();
+
+        // 200 units within the same cell
+        interestManager.worldSpatialIndex.updatePlayerMotion("observer", motion(300, 900));
+        tick();
+        assertThat(interestManager.getEvaluations()).isEqualTo(1);
+
+        // a short step into the next cell
+        interestManager.worldSpatialIndex.updatePlayerMotion("observer", motion(300, 1_001));
+        tick();
+        assertThat(interestManager.getEvaluations()).isEqualTo(2);
+
+        // past the hysteresis from where it was evaluated, still in the same cell
+        interestManager.worldSpatialIndex.updatePlayerMotion("observer", motion(600, 1_001));
+        tick();
+        assertThat(interestManager.getEvaluations()).isEqualTo(3);
+        verify(interestManager.synchronisePlayerService, times(3))
+                .handleSynchronisePlayers(any(), eq(observer));
+    }
+
+    @Test
+    void arrivingPlayerIsSentOnlyToObserversInRange() {
+        WebSocketSession near = playerSession("near", 0, 0);
+        WebSocketSession far = playerSession("far", 100_000, 0);
+        tick();
+
+        interestManager.worldSpatialIndex.updatePlayerMotion("arriving", motion(5_000, 0));
+        tick();
+
+        verify(interestManager.synchronisePlayerService)
+                .addPlayers(near, Set.of("arriving"));
+        verify(interestManager.synchronisePlayerService, never()).addPlayers(eq(far), any());
+        // observers are not evaluated in full for someone else's move
+        assertThat(interestManager.getEvaluations()).isEqualTo(2);
+    }
+
+    @Test
+    void departedPlayerIsRemovedFromItsObservers() {
+        WebSocketSession observer = playerSession("observer", 0, 0);
+        interestManager.worldSpatialIndex.updatePlayerMotion("leaving", motion(1_000, 0));
+        tick();
+
+        interestManager.interestIndex.trackPlayers(observer, Set.of("leaving"));
+        SessionState.of(observer).setTrackingPlayers(Set.of("leaving"));
+        interestManager.worldSpatialIndex.removePlayer("leaving");
+        tick();
+
+        verify(interestManager.synchronisePlayerService)
+                .removePlayers(observer, Set.of("leaving"));
+    }
+
+    @Test
+    void mobMovingOutOfRangeIsRemovedFromItsObservers() {
+        String mobId = UUID.randomUUID().toString();
+        WebSocketSession observer = playerSession("observer", 0, 0);
+        interestManager.worldSpatialIndex.updateMob(mob(mobId, 500, 0));
+        tick();
+
+        interestManager.interestIndex.trackMobs(observer, Set.of(mobId));
+        SessionState.of(observer).setTrackingMobs(Set.of(mobId));
+        interestManager.worldSpatialIndex.updateMobMotion(mobId, motion(5_000, 0));
+        tick();
+
+        verify(interestManager.synchroniseMobService).removeMobs(observer, Set.of(mobId));
+    }
+
+    @Test
+    void closedSessionIsForgotten() {
+        WebSocketSession observer = playerSession("observer", 0, 0);
+        tick();
+
+        interestManager.removeSession(observer);
+        tick();
+
+        assertThat(interestManager.getTrackedObservers()).isZero();
+    }
+
+    private void tick() {
+        interestManager.onTick(++tick, Instant.now());
+    }
+
+    private WebSocketSession playerSession(String actorId, int x, int y) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        SessionState state = new SessionState(actorId, null);
+        when(session.getId()).thenReturn(actorId + "_session");
+        when(session.isOpen()).thenReturn(true);
+        when(session.get(SessionParams.SESSION_STATE.getType(), SessionState.class))
+                .thenReturn(Optional.of(state));
+
+        interestManager.worldSpatialIndex.updatePlayerMotion(actorId, motion(x, y));
+        interestManager.interestIndex.registerActor(session, actorId);
+        interestManager.register(session);
+
+        return session;
+    }
+
+    private static Monster mob(String actorId, int x, int y) {
+        return new Monster("mob", actorId, motion(x, y), Instant.now(), null);
+    }
+
+    private static Motion motion(int x, int y) {
+        Motion motion = new Motion();
+        motion.setMap("map");
+        motion.setX(x);
+        motion.setY(y);
+
+        return motion;
+    }
+}
@@ -1,29 +1,75 @@
 package server.socket.v2;
 
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micronaut.websocket.WebSocketSession;
 import jakarta.inject.Inject;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import server.common.dto.Motion;
+import server.common.spatial.WorldSpatialIndex;
 import server.motion.dto.PlayerMotion;
-import server.socket.model.SocketMessage;
+import server.motion.model.SessionParams;
+import server.session.SessionState;
 import server.socket.v1.base.CommunicationSocketTestBase;
+import server.socket.v2.codec.MotionFrameCodec;
 
 public class UDPServerTest extends CommunicationSocketTestBase {
 
+    // injected so the receive loop is running
     @Inject private UDPServer udpServer;
 
+    @Inject private WorldSpatialIndex worldSpatialIndex;
+
     private static final String CHARACTER_1 = "CHARACTER_1";
 
+    private static final String LOCALHOST = "127.0.0.1";
+
+    @AfterEach
+    void removeSession() {
+        udpServer.removeValidIp(LOCALHOST);
+        worldSpatialIndex.removePlayer(CHARACTER_1);
+    }
+
     @Test
     void testWeCanReceiveMessage() {
+        // the frame goes out through the pooled send path and comes back in on the same port
+        udpServer.addValidIp(LOCALHOST, playerSession(CHARACTER_1));
+        Motion motion = createBaseMotion();
+        motion.setX(150);
+
+        udpServer.sendMotion(
+                new InetSocketAddress(LOCALHOST, UDPServer.UDP_PORT),
+                MotionFrameCodec.PLAYER_MOTION,
+                CHARACTER_1,
+                1,
+                motion);
+
+        await().timeout(Duration.ofSeconds(TIMEOUT))
+                .until(
+                        () -> {
+                            PlayerMotion indexed = worldSpatialIndex.getPlayers().get(CHARACTER_1);
+                            return indexed != null
+                                    && indexed.getMotion().getX() == 150
+                                    && MAP_1.equals(indexed.getMotion().getMap());
+                        });
+    }
+
+    private WebSocketSession playerSession(String actorId) {
+        // the map is not in the frame, it comes from the motion known for the session
+        SessionState state = new SessionState(actorId, null);
+        state.setMotion(createBaseMotion());
 
-        SocketMessage testMessage = new SocketMessage();
-        testMessage.setUpdateType("TEST_UPDATE_TYPE");
-        testMessage.setActorId(CHARACTER_1);
-        PlayerMotion playerMotion = new PlayerMotion();
-        playerMotion.setMotion(createBaseMotion());
-        playerMotion.setActorId(CHARACTER_1);
-        testMessage.setPlayerMotion(playerMotion);
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.get(SessionParams.SESSION_STATE.getType(), SessionState.class))
+                .thenReturn(Optional.of(state));
 
-        udpServer.send(testMessage);
+        return session;
     }
     //
     //    @Test
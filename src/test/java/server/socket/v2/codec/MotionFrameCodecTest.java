@@ -0,0 +1,77 @@
+package server.socket.v2.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import server.common.dto.Motion;
+
+public class MotionFrameCodecTest {
+
+    @Test
+    void motionRoundTripsThroughFrame() {
+        Motion motion = new Motion("map", 12_345, -67_890, 250, 10, -20, 359, 400, -600, 0, true);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        MotionFrameCodec.encode(buffer, MotionFrameCodec.PLAYER_MOTION, 42, 65_535, motion);
+        buffer.flip();
+
+        assertThat(buffer.remaining()).isEqualTo(MotionFrameCodec.FRAME_SIZE).isLessThan(40);
+
+        MotionFrame frame = new MotionFrame();
+        assertThat(MotionFrameCodec.decode(buffer, frame)).isTrue();
+
+        assertThat(frame.getOpcode()).isEqualTo(MotionFrameCodec.PLAYER_MOTION);
+        assertThat(frame.getHandle()).isEqualTo(42);
+        assertThat(frame.getSequence()).isEqualTo(65_535);
+        assertThat(frame.toMotion("map")).isEqualTo(motion);
+    }
+
+    @Test
+    void outOfRangeValuesAreClamped() {
+        Motion motion = new Motion("map", 0, 0, 0, null, null, null, 100_000, -100_000, 0, null);
+        ByteBuffer buffer = ByteBuffer.allocate(MotionFrameCodec.FRAME_SIZE);
+
+        MotionFrameCodec.encode(buffer, MotionFrameCodec.MOB_MOTION, 1, 1, motion);
+        buffer.flip();
+        MotionFrame frame = new MotionFrame();
+        MotionFrameCodec.decode(buffer, frame);
+
+        assertThat(frame.getVx()).isEqualTo(Short.MAX_VALUE);
+        assertThat(frame.getVy()).isEqualTo(Short.MIN_VALUE);
+        assertThat(frame.getPitch()).isZero();
+        assertThat(frame.isFalling()).isFalse();
+    }
+
+    @Test
+    void jsonPayloadIsNotDecodedAsFrame() {
+        String json = "{\"updateType\":\"PLAYER_MOTION\"}";
+        ByteBuffer buffer = ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(MotionFrameCodec.decode(buffer, new MotionFrame())).isFalse();
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    void handlesResolveUntilReleasedAndRejectStaleSequences() {
+        ActorHandleRegistry registry = new ActorHandleRegistry();
+        int handle = registry.handleFor("actor1");
+
+        assertThat(registry.handleFor("actor1")).isEqualTo(handle);
+        assertThat(registry.actorFor(handle)).isEqualTo("actor1");
+
+        assertThat(registry.acceptSequence(handle, 65_534)).isTrue();
+        // wraps around
+        assertThat(registry.acceptSequence(handle, 2)).isTrue();
+        assertThat(registry.acceptSequence(handle, 65_535)).isFalse();
+        assertThat(registry.acceptSequence(handle, 2)).isFalse();
+
+        registry.release("actor1");
+        int reused = registry.handleFor("actor2");
+
+        assertThat(reused).isNotEqualTo(handle);
+        assertThat(registry.actorFor(handle)).isNull();
+        assertThat(registry.actorFor(reused)).isEqualTo("actor2");
+    }
+}
@@ -6,9 +6,11 @@ import com.mongodb.client.model.Filters;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.reactivex.rxjava3.core.Single;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.List;
 import server.common.configuration.MongoConfiguration;
+import server.common.spatial.WorldSpatialIndex;
 import server.monster.server_integration.model.Monster;
 import server.motion.dto.PlayerMotion;
 import server.motion.model.PlayerMotionList;
@@ -21,6 +23,8 @@ public class PlayerMotionUtil {
     MongoCollection<PlayerMotion> motionCollection;
     MongoCollection<Monster> monsterMongoCollection;
 
+    @Inject WorldSpatialIndex worldSpatialIndex;
+
     public PlayerMotionUtil(MongoConfiguration configuration, MongoClient mongoClient) {
         this.configuration = configuration;
         this.mongoClient = mongoClient;
@@ -29,21 +33,25 @@ public class PlayerMotionUtil {
 
     public void deleteAllPlayerMotionData() {
         Single.fromPublisher(motionCollection.deleteMany(ne("actorId", "deleteAll"))).blockingGet();
+        worldSpatialIndex.getPlayers().clear();
     }
 
     public void deleteMotionForPlayers(List<String> actorIds) {
         Single.fromPublisher(motionCollection.deleteMany(Filters.all("actorId", actorIds)))
                 .blockingGet();
+        actorIds.forEach(worldSpatialIndex::removePlayer);
     }
 
     public void deleteAllMobInstanceData() {
         Single.fromPublisher(monsterMongoCollection.deleteMany(ne("actorId", "deleteAll")))
                 .blockingGet();
+        worldSpatialIndex.getMobs().clear();
     }
 
     public void deleteMobInstancesWithIds(List<String> actorIds) {
         Single.fromPublisher(monsterMongoCollection.deleteMany(Filters.all("actorId", actorIds)))
                 .blockingGet();
+        actorIds.forEach(worldSpatialIndex::removeMob);
     }
 
     public static boolean playerMotionListEquals(PlayerMotionList pml1, PlayerMotionList pml2) {